@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2023 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -58,6 +58,7 @@ import org.eclipse.core.filebuffers.LocationKind;
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.MappedFileDocument;
 import org.eclipse.jface.text.source.IAnnotationModel;
 
 /**
@@ -207,20 +208,22 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 
 		IDocument original= null;
 		fStatus= null;
+		boolean mapped= fDocument instanceof MappedFileDocument;
 
 		try {
-			original= fManager.createEmptyDocument(getLocationOrName(), LocationKind.LOCATION);
+			if (!mapped)
+				original= fManager.createEmptyDocument(getLocationOrName(), LocationKind.LOCATION);
 			cacheEncodingState();
-			setDocumentContent(original, fFileStore, fEncoding, fHasBOM, monitor);
+			if (!mapped)
+				setDocumentContent(original, fFileStore, fEncoding, fHasBOM, monitor);
 		} catch (CoreException x) {
 			fStatus= x.getStatus();
 		}
 
-		if (original == null)
+		if (original == null && !mapped)
 			return;
 
-		String originalContents= original.get();
-		boolean replaceContents= !originalContents.equals(fDocument.get());
+		boolean replaceContents= mapped || !original.get().equals(fDocument.get());
 
 		if (!replaceContents && !fCanBeSaved)
 			return;
@@ -230,7 +233,10 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 
 			if (replaceContents)  {
 				fManager.fireBufferContentAboutToBeReplaced(this);
-				fDocument.set(original.get());
+				if (mapped)
+					reloadMappedDocument();
+				else
+					fDocument.set(original.get());
 			}
 
 			boolean fireDirtyStateChanged= fCanBeSaved;
@@ -305,9 +311,12 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 	@Override
 	protected void initializeFileBufferContent(IProgressMonitor monitor) throws CoreException {
 		try {
-			fDocument= fManager.createEmptyDocument(getLocationOrName(), LocationKind.LOCATION);
 			cacheEncodingState();
-			setDocumentContent(fDocument, fFileStore, fEncoding, fHasBOM, monitor);
+			fDocument= fManager.createMappedDocument(fFileStore, fEncoding, getLocationOrName(), LocationKind.LOCATION);
+			if (fDocument == null) {
+				fDocument= fManager.createEmptyDocument(getLocationOrName(), LocationKind.LOCATION);
+				setDocumentContent(fDocument, fFileStore, fEncoding, fHasBOM, monitor);
+			}
 		} catch (CoreException x) {
 			fDocument= fManager.createEmptyDocument(getLocationOrName(), LocationKind.LOCATION);
 			fStatus= x.getStatus();
@@ -524,6 +533,18 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 		}
 	}
 
+	/**
+	 * Maps the file of the memory-mapped document of this buffer again.
+	 */
+	private void reloadMappedDocument() {
+		try {
+			((MappedFileDocument) fDocument).reload();
+		} catch (IOException x) {
+			String msg= x.getMessage() == null ? "" : x.getMessage(); //$NON-NLS-1$
+			fStatus= new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IStatus.OK, msg, x);
+		}
+	}
+
 	/**
 	 * Checks whether the given file is synchronized with the local file system.
 	 * If the file has been changed, a <code>CoreException</code> is thrown.
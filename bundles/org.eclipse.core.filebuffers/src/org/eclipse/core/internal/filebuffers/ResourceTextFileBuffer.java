@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -50,6 +50,7 @@ import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.MappedFileDocument;
 import org.eclipse.jface.text.source.IAnnotationModel;
 import org.eclipse.osgi.util.NLS;
 
@@ -232,8 +233,11 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 			}
 
 
-			fDocument= getManager().createEmptyDocument(fFile);
-			setDocumentContent(fDocument, fFile, fEncoding);
+			fDocument= getManager().createMappedDocument(fFile, fEncoding);
+			if (fDocument == null) {
+				fDocument= getManager().createEmptyDocument(fFile);
+				setDocumentContent(fDocument, fFile, fEncoding);
+			}
 
 		} catch (CoreException x) {
 			fDocument= getManager().createEmptyDocument(fFile);
@@ -420,18 +424,20 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 	@Override
 	protected void handleFileContentChanged(boolean revert, boolean updateModificationStamp) throws CoreException {
 
-		IDocument document= getManager().createEmptyDocument(fFile);
+		boolean mapped= fDocument instanceof MappedFileDocument;
+		IDocument document= mapped ? null : getManager().createEmptyDocument(fFile);
 		IStatus status= null;
 
 		try {
 			cacheEncodingState();
-			setDocumentContent(document, fFile, fEncoding);
+			if (!mapped)
+				setDocumentContent(document, fFile, fEncoding);
 		} catch (CoreException x) {
 			status= x.getStatus();
 		}
 
-		String newContent= document.get();
-		boolean replaceContent= updateModificationStamp || !newContent.equals(fDocument.get());
+		String newContent= mapped ? null : document.get();
+		boolean replaceContent= mapped || updateModificationStamp || !newContent.equals(fDocument.get());
 
 		if (replaceContent)
 			fManager.fireBufferContentAboutToBeReplaced(this);
@@ -439,7 +445,14 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 		removeFileBufferContentListeners();
 		fSynchronizationStamp= fFile.getModificationStamp();
 		if (replaceContent) {
-			if (fDocument instanceof IDocumentExtension4)
+			if (mapped) {
+				try {
+					((MappedFileDocument) fDocument).reload();
+				} catch (IOException x) {
+					String message= (x.getMessage() != null ? x.getMessage() : ""); //$NON-NLS-1$
+					status= new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IStatus.OK, message, x);
+				}
+			} else if (fDocument instanceof IDocumentExtension4)
 				((IDocumentExtension4)fDocument).set(newContent, fSynchronizationStamp);
 			else
 				fDocument.set(newContent);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2011 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,8 +14,11 @@
  *******************************************************************************/
 package org.eclipse.core.internal.filebuffers;
 
+import java.net.URI;
 import java.util.ArrayList;
 
+import org.eclipse.core.filesystem.EFS;
+
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.ILog;
@@ -132,6 +135,39 @@ public class ResourceTextFileBufferManager extends TextFileBufferManager {
 		else
 			document= new SynchronizableDocument();
 
+		setUpDocument(document, file);
+		return document;
+	}
+
+	/**
+	 * Creates a read-only memory-mapped document for the given file if it is local, its encoding
+	 * is supported and its size reaches the threshold for memory-mapped documents. The document is
+	 * set up like the documents created by {@link #createEmptyDocument(IFile)}.
+	 *
+	 * @param file the file
+	 * @param encoding the encoding of the file or <code>null</code> for the default encoding
+	 * @return the document or <code>null</code> if the file should not be memory-mapped
+	 * @throws CoreException if mapping the file fails
+	 */
+	IDocument createMappedDocument(IFile file, String encoding) throws CoreException {
+		URI uri= file.getLocationURI();
+		if (uri == null)
+			return null;
+
+		IDocument document= mapFile(EFS.getStore(uri), encoding);
+		if (document != null)
+			setUpDocument(document, file);
+		return document;
+	}
+
+	/**
+	 * Sets the initial line delimiter of the given document and runs the document setup
+	 * participants for the given file.
+	 *
+	 * @param document the document to set up
+	 * @param file the file
+	 */
+	private void setUpDocument(final IDocument document, final IFile file) {
 		// Set the initial line delimiter
 		if (document instanceof IDocumentExtension4) {
 			String initalLineDelimiter= getLineDelimiterPreference(file);
@@ -165,8 +201,6 @@ public class ResourceTextFileBufferManager extends TextFileBufferManager {
 				SafeRunner.run(runnable);
 			}
 		}
-
-		return document;
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,8 +14,10 @@
  *******************************************************************************/
 package org.eclipse.core.internal.filebuffers;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -55,6 +57,8 @@ import org.eclipse.core.filebuffers.LocationKind;
 
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.MappedFileDocument;
+import org.eclipse.jface.text.MappedFileTextStore;
 import org.eclipse.jface.text.source.IAnnotationModel;
 
 
@@ -72,6 +76,13 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 
 	protected static final IContentType TEXT_CONTENT_TYPE= Platform.getContentTypeManager().getContentType(IContentTypeManager.CT_TEXT);
 
+	/**
+	 * The size in bytes from which on local files are opened as read-only memory-mapped documents,
+	 * taken from the <code>org.eclipse.core.filebuffers.mappedDocumentThreshold</code> system
+	 * property. A negative value, the default, disables memory-mapped documents.
+	 */
+	private static final long MAPPED_DOCUMENT_THRESHOLD= Long.getLong("org.eclipse.core.filebuffers.mappedDocumentThreshold", -1).longValue(); //$NON-NLS-1$
+
 	private Map<IPath, AbstractFileBuffer> fFilesBuffers= new HashMap<>();
 	private Map<IFileStore, FileStoreFileBuffer> fFileStoreFileBuffers= new HashMap<>();
 	private List<IFileBufferListener> fFileBufferListeners= new ArrayList<>();
@@ -443,6 +454,76 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 		if (location == null)
 			return document;
 
+		setUpDocument(document, location, locationKind);
+		return document;
+	}
+
+	/**
+	 * Creates a read-only memory-mapped document for the given file store if the file is local, its
+	 * encoding is supported by {@link MappedFileTextStore} and its size reaches the threshold given by
+	 * the <code>org.eclipse.core.filebuffers.mappedDocumentThreshold</code> system property. The
+	 * document is set up like the documents created by {@link #createEmptyDocument(IPath, LocationKind)}.
+	 *
+	 * @param fileStore the file store
+	 * @param encoding the encoding of the file or <code>null</code> for the default encoding
+	 * @param location the location of the file or <code>null</code>
+	 * @param locationKind the kind of the given location
+	 * @return the document or <code>null</code> if the file should not be memory-mapped
+	 * @throws CoreException if mapping the file fails
+	 */
+	IDocument createMappedDocument(IFileStore fileStore, String encoding, IPath location, LocationKind locationKind) throws CoreException {
+		IDocument document= mapFile(fileStore, encoding);
+		if (document != null && location != null)
+			setUpDocument(document, location, locationKind);
+		return document;
+	}
+
+	/**
+	 * Maps the given file store if it should be opened as a memory-mapped document.
+	 *
+	 * @param fileStore the file store
+	 * @param encoding the encoding of the file or <code>null</code> for the default encoding
+	 * @return the document or <code>null</code> if the file should not be memory-mapped
+	 * @throws CoreException if mapping the file fails
+	 */
+	MappedFileDocument mapFile(IFileStore fileStore, String encoding) throws CoreException {
+		if (MAPPED_DOCUMENT_THRESHOLD < 0 || fileStore == null)
+			return null;
+
+		IFileInfo info= fileStore.fetchInfo();
+		if (!info.exists() || info.isDirectory() || info.getLength() < MAPPED_DOCUMENT_THRESHOLD)
+			return null;
+
+		Charset charset;
+		try {
+			charset= Charset.forName(encoding != null ? encoding : getDefaultEncoding());
+		} catch (IllegalArgumentException x) {
+			return null;
+		}
+		if (!MappedFileTextStore.isSupported(charset))
+			return null;
+
+		File file= fileStore.toLocalFile(EFS.NONE, null);
+		if (file == null)
+			return null;
+
+		try {
+			return new MappedFileDocument(file.toPath(), charset);
+		} catch (IOException x) {
+			String message= (x.getMessage() != null ? x.getMessage() : ""); //$NON-NLS-1$
+			throw new CoreException(new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IStatus.OK, message, x));
+		}
+	}
+
+	/**
+	 * Sets the initial line delimiter of the given document and runs the document setup
+	 * participants for the given location.
+	 *
+	 * @param document the document to set up
+	 * @param location the location of the file
+	 * @param locationKind the kind of the given location
+	 */
+	private void setUpDocument(final IDocument document, final IPath location, final LocationKind locationKind) {
 		// Set the initial line delimiter
 		if (document instanceof IDocumentExtension4) {
 			String initalLineDelimiter= getLineDelimiterPreference(location, locationKind);
@@ -476,8 +557,6 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 				SafeRunner.run(runnable);
 			}
 		}
-
-		return document;
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2021 Avaloq Evolution AG and others.
+ * Copyright (c) 2009, 2026 Avaloq Evolution AG and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -36,8 +36,11 @@ import org.eclipse.jface.viewers.ISelectionProvider;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.BlockTextSelection;
+import org.eclipse.jface.text.DocumentRewriteSession;
+import org.eclipse.jface.text.DocumentRewriteSessionType;
 import org.eclipse.jface.text.IBlockTextSelection;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IMultiTextSelection;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.IRewriteTarget;
@@ -424,8 +427,9 @@ public final class SelectionProcessor {
 				if (edit instanceof MultiTextEdit) {
 					int offsetDelta= 0;
 					List<IRegion> afterEdit= new ArrayList<>(Math.min(edit.getLength(), selection.getLength()));
-					for (int i= 0; i < Math.min(edit.getChildrenSize(), selection.getLength()); i++) {
-						ReplaceEdit currentEdit= (ReplaceEdit) edit.getChildren()[i];
+					TextEdit[] children= edit.getChildren();
+					for (int i= 0; i < Math.min(children.length, selection.getLength()); i++) {
+						ReplaceEdit currentEdit= (ReplaceEdit) children[i];
 						offsetDelta+= currentEdit.getText().length() - currentEdit.getRegion().getLength();
 						afterEdit.add(new Region(currentEdit.getOffset() + offsetDelta, 0));
 					}
@@ -939,7 +943,7 @@ public final class SelectionProcessor {
 		if (complex && fRewriteTarget != null)
 			fRewriteTarget.beginCompoundChange();
 		try {
-			edit.apply(fDocument, TextEdit.UPDATE_REGIONS);
+			apply(edit);
 			if (fSelectionProvider != null) {
 				ISelection empty= makeDeleteSelection(selection);
 				fSelectionProvider.setSelection(empty);
@@ -964,7 +968,7 @@ public final class SelectionProcessor {
 			fRewriteTarget.beginCompoundChange();
 		try {
 			ISelection newSelection= makeBackspaceSelection(selection);
-			edit.apply(fDocument, TextEdit.UPDATE_REGIONS);
+			apply(edit);
 			if (fSelectionProvider != null) {
 				fSelectionProvider.setSelection(newSelection);
 			}
@@ -988,7 +992,7 @@ public final class SelectionProcessor {
 		if (complex && fRewriteTarget != null)
 			fRewriteTarget.beginCompoundChange();
 		try {
-			edit.apply(fDocument, TextEdit.UPDATE_REGIONS);
+			apply(edit);
 
 			if (fSelectionProvider != null) {
 				ISelection empty= makeReplaceSelection(selection, replacement);
@@ -1000,6 +1004,50 @@ public final class SelectionProcessor {
 		}
 	}
 
+	/**
+	 * Applies the given edit to the document. An edit of more than 25 ranges, e.g. typing into a
+	 * selection of many ranges, is applied in a document rewrite session, so that the rewrite
+	 * session listeners like the partitioners update once instead of after every range. For an
+	 * edit of more than 1000 ranges, the viewer also turns off redraw and repairs its presentation
+	 * once when the session ends. The ranges of the widget selection are collapsed to the caret
+	 * while the edit is applied so that the widget does not update all of them on every change;
+	 * the callers set the resulting selection afterwards, and the ranges are restored if the edit
+	 * cannot be applied.
+	 *
+	 * @param edit the edit to apply
+	 * @throws BadLocationException if the edit is not valid on the document
+	 */
+	private void apply(TextEdit edit) throws BadLocationException {
+		int size= edit.getChildrenSize();
+		DocumentRewriteSession rewriteSession= null;
+		int[] selectionRanges= null;
+		if (size > 25 && fDocument instanceof IDocumentExtension4
+				&& ((IDocumentExtension4) fDocument).getActiveRewriteSession() == null) {
+			DocumentRewriteSessionType sessionType= size > 1000 ? DocumentRewriteSessionType.UNRESTRICTED : DocumentRewriteSessionType.UNRESTRICTED_SMALL;
+			rewriteSession= ((IDocumentExtension4) fDocument).startRewriteSession(sessionType);
+			if (fStyledText != null && fSelectionProvider != null) {
+				int[] ranges= fStyledText.getSelectionRanges();
+				if (ranges.length > 2) {
+					selectionRanges= ranges;
+					fStyledText.setSelection(fStyledText.getCaretOffset());
+				}
+			}
+		}
+		try {
+			try {
+				edit.apply(fDocument, TextEdit.UPDATE_REGIONS);
+			} finally {
+				if (rewriteSession != null)
+					((IDocumentExtension4) fDocument).stopRewriteSession(rewriteSession);
+			}
+		} catch (BadLocationException e) {
+			// the edit is validated before it changes the document, so the ranges are still valid
+			if (selectionRanges != null)
+				fStyledText.setSelectionRanges(selectionRanges);
+			throw e;
+		}
+	}
+
 	/**
 	 * Returns the text regions covered by the given selection.
 	 *
@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.internal.text;
+
+import org.eclipse.jface.text.AbstractDocument;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DefaultLineTracker;
+import org.eclipse.jface.text.IDocumentSnapshot;
+import org.eclipse.jface.text.ILineTracker;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITextStore;
+
+
+/**
+ * A read-only document on top of a document snapshot, used to scan a document in the
+ * background. The document has no partitioner, all modifications throw an
+ * <code>UnsupportedOperationException</code>.
+ *
+ * @see org.eclipse.jface.text.IDocumentExtension5#getSnapshot()
+ */
+public class SnapshotDocument extends AbstractDocument {
+
+	/**
+	 * Text store reading from the snapshot.
+	 */
+	private static class SnapshotTextStore implements ITextStore {
+
+		/** The snapshot */
+		private final IDocumentSnapshot fSnapshot;
+
+		SnapshotTextStore(IDocumentSnapshot snapshot) {
+			fSnapshot= snapshot;
+		}
+
+		@Override
+		public char get(int offset) {
+			return fSnapshot.charAt(offset);
+		}
+
+		@Override
+		public String get(int offset, int length) {
+			return fSnapshot.subSequence(offset, offset + length).toString();
+		}
+
+		@Override
+		public int getLength() {
+			return fSnapshot.length();
+		}
+
+		@Override
+		public void replace(int offset, int length, String text) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void set(String text) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	/**
+	 * Line tracker answering from the line information of the snapshot.
+	 */
+	private static class SnapshotLineTracker implements ILineTracker {
+
+		/** The snapshot */
+		private final IDocumentSnapshot fSnapshot;
+		/** The legal line delimiters of the original document */
+		private final String[] fLegalLineDelimiters;
+
+		SnapshotLineTracker(IDocumentSnapshot snapshot, String[] legalLineDelimiters) {
+			fSnapshot= snapshot;
+			fLegalLineDelimiters= legalLineDelimiters;
+		}
+
+		@Override
+		public String[] getLegalLineDelimiters() {
+			return fLegalLineDelimiters;
+		}
+
+		@Override
+		public String getLineDelimiter(int line) throws BadLocationException {
+			return fSnapshot.getLineDelimiter(line);
+		}
+
+		@Override
+		public int computeNumberOfLines(String text) {
+			return new DefaultLineTracker().computeNumberOfLines(text);
+		}
+
+		@Override
+		public int getNumberOfLines() {
+			return fSnapshot.getNumberOfLines();
+		}
+
+		@Override
+		public int getNumberOfLines(int offset, int length) throws BadLocationException {
+			if (length == 0)
+				return 1;
+			return fSnapshot.getLineOfOffset(offset + length) - fSnapshot.getLineOfOffset(offset) + 1;
+		}
+
+		@Override
+		public int getLineOffset(int line) throws BadLocationException {
+			return fSnapshot.getLineOffset(line);
+		}
+
+		@Override
+		public int getLineLength(int line) throws BadLocationException {
+			return fSnapshot.getLineLength(line);
+		}
+
+		@Override
+		public int getLineNumberOfOffset(int offset) throws BadLocationException {
+			return fSnapshot.getLineOfOffset(offset);
+		}
+
+		@Override
+		public IRegion getLineInformationOfOffset(int offset) throws BadLocationException {
+			return fSnapshot.getLineInformationOfOffset(offset);
+		}
+
+		@Override
+		public IRegion getLineInformation(int line) throws BadLocationException {
+			return fSnapshot.getLineInformation(line);
+		}
+
+		@Override
+		public void replace(int offset, int length, String text) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void set(String text) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	/**
+	 * Creates a new document on top of the given snapshot.
+	 *
+	 * @param snapshot the snapshot
+	 * @param legalLineDelimiters the legal line delimiters of the document the snapshot has been
+	 *            taken from
+	 */
+	public SnapshotDocument(IDocumentSnapshot snapshot, String[] legalLineDelimiters) {
+		setTextStore(new SnapshotTextStore(snapshot));
+		setLineTracker(new SnapshotLineTracker(snapshot, legalLineDelimiters));
+		completeInitialization();
+	}
+}
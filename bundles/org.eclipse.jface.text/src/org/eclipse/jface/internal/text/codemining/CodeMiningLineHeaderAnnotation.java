@@ -1,5 +1,5 @@
 /**
- *  Copyright (c) 2017, 2022 Angelo ZERR.
+ *  Copyright (c) 2017, 2026 Angelo ZERR.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -100,6 +100,11 @@ public class CodeMiningLineHeaderAnnotation extends LineHeaderAnnotation impleme
 
 	@Override
 	public void update(List<ICodeMining> minings, IProgressMonitor monitor) {
+		if (fMinings.equals(minings)) {
+			// the same minings are rendered again, keep them and their resolved state
+			fMonitor= monitor;
+			return;
+		}
 		if (fResolvedMinings == null || (fResolvedMinings.length != minings.size())) {
 			// size of resolved minings are different from size of minings to update, initialize it with size of minings to update
 			fResolvedMinings= new ICodeMining[minings.size()];
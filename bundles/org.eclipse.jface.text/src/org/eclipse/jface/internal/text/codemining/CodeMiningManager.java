@@ -1,5 +1,5 @@
 /**
- *  Copyright (c) 2017 Angelo ZERR.
+ *  Copyright (c) 2017, 2026 Angelo ZERR and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -13,8 +13,11 @@
  */
 package org.eclipse.jface.internal.text.codemining;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -22,11 +25,14 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.osgi.framework.Bundle;
 
+import org.eclipse.swt.custom.StyledText;
 import org.eclipse.swt.graphics.Rectangle;
 
 import org.eclipse.core.runtime.Assert;
@@ -36,23 +42,144 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 
+import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
-import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITextListener;
+import org.eclipse.jface.text.IViewportListener;
+import org.eclipse.jface.text.JFaceTextUtil;
 import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.Region;
+import org.eclipse.jface.text.TextEvent;
 import org.eclipse.jface.text.codemining.ICodeMining;
 import org.eclipse.jface.text.codemining.ICodeMiningProvider;
+import org.eclipse.jface.text.codemining.ICodeMiningProviderExtension;
 import org.eclipse.jface.text.codemining.LineHeaderCodeMining;
+import org.eclipse.jface.text.source.ILineRange;
 import org.eclipse.jface.text.source.ISourceViewer;
+import org.eclipse.jface.text.source.LineRange;
 import org.eclipse.jface.text.source.inlined.AbstractInlinedAnnotation;
 import org.eclipse.jface.text.source.inlined.InlinedAnnotationSupport;
 
 /**
  * Code Mining manager implementation.
+ * <p>
+ * The code minings of providers which implement {@link ICodeMiningProviderExtension} are only
+ * requested for the lines around the viewport, and requested again for further lines when these
+ * become visible. Their results are cached by line for the modification stamp of the document they
+ * were computed for. Requests still in flight are canceled when the document changes, and
+ * viewport scoped requests also when the viewport moves on. Optionally, every provider gets a time
+ * budget after which its result is no longer waited for, see {@link #setProviderTimeout(long)}.
+ * </p>
  *
  * @since 3.13
  */
 public class CodeMiningManager implements Runnable {
 
+	/**
+	 * Request of code minings from the providers.
+	 */
+	private static class MiningRequest {
+
+		/**
+		 * The progress monitor passed to the providers.
+		 */
+		final IProgressMonitor fMonitor= new CancellationExceptionMonitor();
+
+		/**
+		 * The futures of the providers.
+		 */
+		final List<CompletableFuture<?>> fFutures= new ArrayList<>();
+
+		/**
+		 * Tells whether the request was made because the viewport moved.
+		 */
+		final boolean fIsViewportScoped;
+
+		MiningRequest(boolean isViewportScoped) {
+			fIsViewportScoped= isViewportScoped;
+		}
+
+		void cancel() {
+			fMonitor.setCanceled(true);
+			fFutures.forEach(f -> f.cancel(true));
+		}
+	}
+
+	/**
+	 * The code minings computed for one modification stamp of a document. Guarded by itself.
+	 */
+	private static class MiningCache {
+
+		/**
+		 * The document the code minings were computed for.
+		 */
+		final IDocument fDocument;
+
+		/**
+		 * The modification stamp of the document the code minings were computed for.
+		 */
+		final long fStamp;
+
+		/**
+		 * The code minings of the providers which compute them for the whole document.
+		 */
+		final List<ICodeMining> fDocumentMinings= new ArrayList<>();
+
+		/**
+		 * The code minings of the viewport scoped providers by line.
+		 */
+		final Map<Integer, List<ICodeMining>> fLineMinings= new HashMap<>();
+
+		/**
+		 * The lines for which the viewport scoped providers delivered their code minings.
+		 */
+		final Map<ICodeMiningProvider, BitSet> fCoveredLines= new HashMap<>();
+
+		MiningCache(IDocument document) {
+			fDocument= document;
+			fStamp= getModificationStamp(document);
+		}
+
+		/**
+		 * Tells whether the cached code minings still belong to the given document. Changes of
+		 * documents without modification stamp are only noticed by the {@link Listener}.
+		 *
+		 * @param document the document of the viewer
+		 * @return <code>true</code> if the cache is valid for the given document
+		 */
+		boolean isValid(IDocument document) {
+			return document == fDocument && (fStamp == IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP || getModificationStamp(document) == fStamp);
+		}
+
+		BitSet getCoveredLines(ICodeMiningProvider provider) {
+			return fCoveredLines.computeIfAbsent(provider, p -> new BitSet());
+		}
+	}
+
+	/**
+	 * Cancels the requests when the document changes and requests the code minings of the
+	 * visible lines when the viewport changes.
+	 */
+	private class Listener implements ITextListener, IViewportListener {
+
+		@Override
+		public void textChanged(TextEvent event) {
+			if (event.getDocumentEvent() != null) {
+				fCache= null;
+				cancelRequests(false);
+			}
+			captureRequestedLines();
+		}
+
+		@Override
+		public void viewportChanged(int verticalOffset) {
+			captureRequestedLines();
+			requestVisibleLines();
+		}
+	}
+
 	/**
 	 * The source viewer
 	 */
@@ -73,6 +200,39 @@ public class CodeMiningManager implements Runnable {
 	 */
 	private IProgressMonitor fMonitor;
 
+	/**
+	 * The code minings computed for the current content of the document, <code>null</code> if
+	 * none.
+	 */
+	private volatile MiningCache fCache;
+
+	/**
+	 * The requests still in flight. Guarded by itself.
+	 */
+	private final List<MiningRequest> fRequests= new ArrayList<>();
+
+	/**
+	 * The time budget of a code mining provider in milliseconds, <code>0</code> for no time budget.
+	 */
+	private volatile long fProviderTimeout;
+
+	/**
+	 * The lines to request from the viewport scoped providers, <code>null</code> if unknown. They
+	 * are captured in the UI thread whenever the viewport or the text changes, since the requests
+	 * are usually made from the reconciler thread.
+	 */
+	private volatile ILineRange fRequestedLines;
+
+	/**
+	 * The code mining annotations rendered last.
+	 */
+	private Set<AbstractInlinedAnnotation> fAnnotations= Collections.emptySet();
+
+	/**
+	 * The listener for document and viewport changes.
+	 */
+	private final Listener fListener= new Listener();
+
 	/**
 	 * Constructor of codemining manager with the given arguments.
 	 *
@@ -88,6 +248,21 @@ public class CodeMiningManager implements Runnable {
 		fViewer= viewer;
 		fInlinedAnnotationSupport= inlinedAnnotationSupport;
 		setCodeMiningProviders(codeMiningProviders);
+		fViewer.addTextListener(fListener);
+		fViewer.addViewportListener(fListener);
+		captureRequestedLines();
+	}
+
+	/**
+	 * Sets the time budget of each code mining provider. When a provider does not deliver its code
+	 * minings in time, they are not waited for in this request, the provider's future is canceled
+	 * and a warning is logged. The provider is asked again by the next request. By default there is
+	 * no time budget.
+	 *
+	 * @param timeout the time budget in milliseconds, <code>0</code> for no time budget
+	 */
+	public void setProviderTimeout(long timeout) {
+		fProviderTimeout= timeout;
 	}
 
 	/**
@@ -108,9 +283,13 @@ public class CodeMiningManager implements Runnable {
 	 */
 	public void uninstall() {
 		cancel();
+		fCache= null;
+		fViewer.removeTextListener(fListener);
+		fViewer.removeViewportListener(fListener);
 		if (fInlinedAnnotationSupport != null) {
 			fInlinedAnnotationSupport.updateAnnotations(Collections.emptySet());
 		}
+		fAnnotations= Collections.emptySet();
 	}
 
 	/**
@@ -135,18 +314,240 @@ public class CodeMiningManager implements Runnable {
 	private void updateCodeMinings() {
 		// Refresh the code minings by using the new progress monitor.
 		fMonitor= new CancellationExceptionMonitor();
-		IProgressMonitor monitor= fMonitor;
-		// Collect the code minings for the viewer
-		getCodeMinings(fViewer, fCodeMiningProviders, monitor).thenAccept(symbols -> {
+		IDocument document= fViewer.getDocument();
+		if (document == null) {
+			return;
+		}
+		// An explicit update discards the cached code minings since the providers may know better now
+		MiningCache cache= new MiningCache(document);
+		fCache= cache;
+		ILineRange lines= null;
+		if (hasViewportScopedProviders()) {
+			captureRequestedLines();
+			lines= getRequestedLines(document);
+		}
+		request(cache, lines, false);
+	}
+
+	/**
+	 * Requests the code minings of the lines around the viewport from the viewport scoped
+	 * providers, unless all of them are cached already.
+	 */
+	private void requestVisibleLines() {
+		MiningCache cache= fCache;
+		if (cache == null || !hasViewportScopedProviders() || !cache.isValid(fViewer.getDocument())) {
+			return;
+		}
+		ILineRange lines= getRequestedLines(cache.fDocument);
+		if (lines == null) {
+			return;
+		}
+		int first= Integer.MAX_VALUE;
+		int last= -1;
+		synchronized (cache) {
+			int end= lines.getStartLine() + lines.getNumberOfLines() - 1;
+			for (ICodeMiningProvider provider : fCodeMiningProviders) {
+				if (provider instanceof ICodeMiningProviderExtension) {
+					BitSet covered= cache.getCoveredLines(provider);
+					int firstUncovered= covered.nextClearBit(lines.getStartLine());
+					if (firstUncovered <= end) {
+						first= Math.min(first, firstUncovered);
+						last= Math.max(last, covered.previousClearBit(end));
+					}
+				}
+			}
+		}
+		if (first > last) {
+			return;
+		}
+		// the lines requested for the last viewport position may not be needed anymore
+		cancelRequests(true);
+		request(cache, new LineRange(first, last - first + 1), true);
+	}
+
+	/**
+	 * Requests code minings from the providers and renders them together with the cached code
+	 * minings when all providers delivered or exceeded their time budget.
+	 *
+	 * @param cache the cache to put the code minings in
+	 * @param lines the lines to request from the viewport scoped providers, <code>null</code> for
+	 *            none
+	 * @param isViewportScoped <code>true</code> to request from the viewport scoped providers
+	 *            only, <code>false</code> to also request from the other providers
+	 */
+	private void request(MiningCache cache, ILineRange lines, boolean isViewportScoped) {
+		IRegion region= lines != null ? toRegion(cache.fDocument, lines) : null;
+		MiningRequest request= new MiningRequest(isViewportScoped);
+		Map<ICodeMiningProvider, CompletableFuture<List<? extends ICodeMining>>> futures= new LinkedHashMap<>();
+		for (ICodeMiningProvider provider : fCodeMiningProviders) {
+			CompletableFuture<List<? extends ICodeMining>> future;
+			if (provider instanceof ICodeMiningProviderExtension) {
+				if (region == null) {
+					continue;
+				}
+				future= ((ICodeMiningProviderExtension) provider).provideCodeMinings(fViewer, region, request.fMonitor);
+			} else if (!isViewportScoped) {
+				future= provider.provideCodeMinings(fViewer, request.fMonitor);
+			} else {
+				continue;
+			}
+			if (future == null) {
+				future= CompletableFuture.completedFuture(Collections.emptyList());
+			}
+			request.fFutures.add(future);
+			futures.put(provider, withTimeBudget(provider, future));
+		}
+		synchronized (fRequests) {
+			fRequests.add(request);
+		}
+		CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[futures.size()])).thenRun(() -> {
+			synchronized (fRequests) {
+				fRequests.remove(request);
+			}
 			// check if request was canceled.
-			monitor.isCanceled();
-			// then group code minings by lines position
-			Map<Position, List<ICodeMining>> groups= groupByLines(symbols, fCodeMiningProviders);
-			// resolve and render code minings
-			renderCodeMinings(groups, fViewer, monitor);
+			request.fMonitor.isCanceled();
+			if (cache != fCache || !cache.isValid(fViewer.getDocument())) {
+				return;
+			}
+			synchronized (cache) {
+				futures.forEach((provider, future) -> {
+					List<? extends ICodeMining> minings= future.join();
+					if (provider instanceof ICodeMiningProviderExtension) {
+						addLineMinings(cache, provider, lines, minings);
+					} else if (minings != null) {
+						cache.fDocumentMinings.addAll(minings);
+					}
+				});
+			}
+			renderCodeMinings(cache);
 		});
 	}
 
+	/**
+	 * Adds the code minings a viewport scoped provider delivered for the given lines to the cache.
+	 *
+	 * @param cache the cache
+	 * @param provider the provider
+	 * @param lines the requested lines
+	 * @param minings the code minings, <code>null</code> if the provider exceeded its time budget
+	 */
+	private static void addLineMinings(MiningCache cache, ICodeMiningProvider provider, ILineRange lines, List<? extends ICodeMining> minings) {
+		if (minings == null) {
+			return;
+		}
+		BitSet covered= cache.getCoveredLines(provider);
+		int first= lines.getStartLine();
+		int last= first + lines.getNumberOfLines() - 1;
+		for (ICodeMining mining : minings) {
+			int line;
+			try {
+				line= cache.fDocument.getLineOfOffset(mining.getPosition().getOffset());
+			} catch (BadLocationException e) {
+				line= -1;
+			}
+			if (line >= first && line <= last && !covered.get(line)) {
+				cache.fLineMinings.computeIfAbsent(Integer.valueOf(line), l -> new ArrayList<>()).add(mining);
+			} else {
+				mining.dispose();
+			}
+		}
+		covered.set(first, last + 1);
+	}
+
+	/**
+	 * Wraps the given future of a provider so that it completes with <code>null</code> when the
+	 * provider exceeds its time budget and with an empty list when the provider fails.
+	 *
+	 * @param provider the provider
+	 * @param future the future of the provider
+	 * @return the wrapped future
+	 */
+	private CompletableFuture<List<? extends ICodeMining>> withTimeBudget(ICodeMiningProvider provider, CompletableFuture<List<? extends ICodeMining>> future) {
+		CompletableFuture<List<? extends ICodeMining>> result= future.thenApply(Function.identity());
+		long timeout= fProviderTimeout;
+		if (timeout > 0) {
+			result.orTimeout(timeout, TimeUnit.MILLISECONDS);
+		}
+		return result.exceptionally(e -> {
+			if (e instanceof TimeoutException) {
+				future.cancel(true);
+				logCodeMiningProviderTimeout(provider, timeout);
+				return null;
+			}
+			logCodeMiningProviderException(e);
+			return Collections.emptyList();
+		});
+	}
+
+	private boolean hasViewportScopedProviders() {
+		return fCodeMiningProviders.stream().anyMatch(ICodeMiningProviderExtension.class::isInstance);
+	}
+
+	/**
+	 * Captures the lines to request from the viewport scoped providers if called in the UI thread.
+	 * Otherwise the lines captured last are kept.
+	 */
+	private void captureRequestedLines() {
+		StyledText textWidget= fViewer.getTextWidget();
+		if (textWidget != null && !textWidget.isDisposed() && textWidget.getDisplay().getThread() == Thread.currentThread()) {
+			fRequestedLines= computeRequestedLines();
+		}
+	}
+
+	/**
+	 * Computes the lines to request from the viewport scoped providers: the visible lines and one
+	 * page above and below them. Must be called in the UI thread.
+	 *
+	 * @return the lines to request or <code>null</code> if there are no visible lines
+	 */
+	private ILineRange computeRequestedLines() {
+		IDocument document= fViewer.getDocument();
+		ILineRange visible= JFaceTextUtil.getVisibleModelLines(fViewer);
+		if (document == null || visible == null || visible.getStartLine() < 0 || visible.getNumberOfLines() <= 0) {
+			return null;
+		}
+		int pageSize= visible.getNumberOfLines();
+		int first= Math.max(0, visible.getStartLine() - pageSize);
+		int last= Math.min(document.getNumberOfLines() - 1, visible.getStartLine() + 2 * pageSize - 1);
+		return new LineRange(first, last - first + 1);
+	}
+
+	/**
+	 * Returns the captured lines to request, limited to the lines of the given document since they
+	 * may have been captured for an older content of the document.
+	 *
+	 * @param document the document
+	 * @return the lines to request or <code>null</code> if none
+	 */
+	private ILineRange getRequestedLines(IDocument document) {
+		ILineRange lines= fRequestedLines;
+		if (lines == null) {
+			return null;
+		}
+		int end= Math.min(lines.getStartLine() + lines.getNumberOfLines(), document.getNumberOfLines());
+		if (lines.getStartLine() >= end) {
+			return null;
+		}
+		return new LineRange(lines.getStartLine(), end - lines.getStartLine());
+	}
+
+	private static IRegion toRegion(IDocument document, ILineRange lines) {
+		try {
+			int offset= document.getLineOffset(lines.getStartLine());
+			IRegion last= document.getLineInformation(lines.getStartLine() + lines.getNumberOfLines() - 1);
+			return new Region(offset, last.getOffset() + last.getLength() - offset);
+		} catch (BadLocationException e) {
+			return new Region(0, document.getLength());
+		}
+	}
+
+	private static long getModificationStamp(IDocument document) {
+		if (document instanceof IDocumentExtension4) {
+			return ((IDocumentExtension4) document).getModificationStamp();
+		}
+		return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+
 	/**
 	 * Cancel the codemining process.
 	 */
@@ -155,6 +556,25 @@ public class CodeMiningManager implements Runnable {
 		if (fMonitor != null) {
 			fMonitor.setCanceled(true);
 		}
+		cancelRequests(false);
+	}
+
+	/**
+	 * Cancels the requests still in flight.
+	 *
+	 * @param viewportScopedOnly <code>true</code> to only cancel the requests made because the
+	 *            viewport moved
+	 */
+	private void cancelRequests(boolean viewportScopedOnly) {
+		synchronized (fRequests) {
+			fRequests.removeIf(request -> {
+				if (viewportScopedOnly && !request.fIsViewportScoped) {
+					return false;
+				}
+				request.cancel();
+				return true;
+			});
+		}
 	}
 
 	private static void logCodeMiningProviderException(Throwable e) {
@@ -173,28 +593,16 @@ public class CodeMiningManager implements Runnable {
 		}
 	}
 
-	/**
-	 * Return the list of {@link CompletableFuture} which provides the list of {@link ICodeMining}
-	 * for the given <code>viewer</code> by using the given providers.
-	 *
-	 * @param viewer    the text viewer.
-	 * @param providers the CodeMining list providers.
-	 * @param monitor   the progress monitor.
-	 * @return the list of {@link CompletableFuture} which provides the list of {@link ICodeMining}
-	 *         for the given <code>viewer</code> by using the given providers.
-	 */
-	private static CompletableFuture<List<? extends ICodeMining>> getCodeMinings(ITextViewer viewer,
-			List<ICodeMiningProvider> providers, IProgressMonitor monitor) {
-		List<CompletableFuture<List<? extends ICodeMining>>> com= providers.stream()
-				.map(provider -> provider.provideCodeMinings(viewer, monitor))
-				.filter(c -> c != null)
-				.map(future -> future.exceptionally(e -> {
-					logCodeMiningProviderException(e);
-					return Collections.emptyList();
-				}))
-				.collect(Collectors.toList());
-		return CompletableFuture.allOf(com.toArray(new CompletableFuture[com.size()])).thenApply(
-				v -> com.stream().map(CompletableFuture::join).flatMap(java.util.Collection::stream).collect(Collectors.toList()));
+	private static void logCodeMiningProviderTimeout(ICodeMiningProvider provider, long timeout) {
+		String message= "Code mining provider " + provider.getClass().getName() + " exceeded its time budget of " + timeout + " ms"; //$NON-NLS-1$ //$NON-NLS-2$
+		String PLUGIN_ID= "org.eclipse.jface.text"; //$NON-NLS-1$
+		Bundle plugin= Platform.getBundle(PLUGIN_ID);
+		if (plugin != null) {
+			ILog log= ILog.of(plugin);
+			log.log(new Status(IStatus.WARNING, PLUGIN_ID, IStatus.OK, message, null));
+		} else {
+			System.err.println(message);
+		}
 	}
 
 	/**
@@ -224,6 +632,23 @@ public class CodeMiningManager implements Runnable {
 				Collectors.mapping(Function.identity(), Collectors.toList())));
 	}
 
+	/**
+	 * Render the cached code minings.
+	 *
+	 * @param cache the cache
+	 */
+	private void renderCodeMinings(MiningCache cache) {
+		List<ICodeMining> minings;
+		synchronized (cache) {
+			minings= new ArrayList<>(cache.fDocumentMinings);
+			cache.fLineMinings.values().forEach(minings::addAll);
+		}
+		// then group code minings by lines position
+		Map<Position, List<ICodeMining>> groups= groupByLines(minings, fCodeMiningProviders);
+		// resolve and render code minings
+		renderCodeMinings(groups, fViewer, fMonitor);
+	}
+
 	/**
 	 * Render the codemining grouped by line position.
 	 *
@@ -231,7 +656,7 @@ public class CodeMiningManager implements Runnable {
 	 * @param viewer  the viewer
 	 * @param monitor the progress monitor
 	 */
-	private void renderCodeMinings(Map<Position, List<ICodeMining>> groups, ISourceViewer viewer,
+	private synchronized void renderCodeMinings(Map<Position, List<ICodeMining>> groups, ISourceViewer viewer,
 			IProgressMonitor monitor) {
 		// check if request was canceled.
 		monitor.isCanceled();
@@ -241,6 +666,15 @@ public class CodeMiningManager implements Runnable {
 			// done.
 			return;
 		}
+		// index the existing annotations by position, looking each up in the inlined annotation
+		// support is quadratic
+		Map<Long, AbstractInlinedAnnotation> existingAnnotations= new HashMap<>();
+		for (AbstractInlinedAnnotation ann : fAnnotations) {
+			Position position= ann.getPosition();
+			if (!position.isDeleted()) {
+				existingAnnotations.putIfAbsent(toKey(position), ann);
+			}
+		}
 		Set<ICodeMiningAnnotation> annotationsToRedraw= new HashSet<>();
 		Set<AbstractInlinedAnnotation> currentAnnotations= new HashSet<>();
 		// Loop for grouped code minings
@@ -252,7 +686,7 @@ public class CodeMiningManager implements Runnable {
 			List<ICodeMining> minings= g.getValue();
 			boolean inLineHeader= !minings.isEmpty() ? (minings.get(0) instanceof LineHeaderCodeMining) : true;
 			// Try to find existing annotation
-			AbstractInlinedAnnotation ann= fInlinedAnnotationSupport.findExistingAnnotation(pos);
+			AbstractInlinedAnnotation ann= existingAnnotations.get(toKey(pos));
 			if (ann == null) {
 				// The annotation doesn't exists, create it.
 				ann= inLineHeader ? new CodeMiningLineHeaderAnnotation(pos, viewer) : new CodeMiningLineContentAnnotation(pos, viewer);
@@ -266,10 +700,15 @@ public class CodeMiningManager implements Runnable {
 		// check if request was canceled.
 		monitor.isCanceled();
 		fInlinedAnnotationSupport.updateAnnotations(currentAnnotations);
+		fAnnotations= currentAnnotations;
 		// redraw the existing codemining annotations since their content can change
 		annotationsToRedraw.stream().forEach(ICodeMiningAnnotation::redraw);
 	}
 
+	private static Long toKey(Position position) {
+		return Long.valueOf(((long) position.getOffset() << 32) | position.getLength());
+	}
+
 	/**
 	 * Returns <code>true</code> if the given mining has a non empty label and <code>false</code>
 	 * otherwise.
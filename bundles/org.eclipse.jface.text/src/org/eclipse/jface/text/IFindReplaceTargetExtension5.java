@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import org.eclipse.swt.graphics.Point;
+
+/**
+ * Extension interface for {@link org.eclipse.jface.text.IFindReplaceTarget}.
+ * <p>
+ * Allows clients to search the text of the target outside of the UI thread and to highlight the
+ * matches in the target. Offsets used with this interface are offsets of the document returned
+ * by {@link #getDocument()}. They differ from the offsets used by
+ * {@link IFindReplaceTarget#findAndSelect(int, String, boolean, boolean, boolean)} and
+ * {@link IFindReplaceTarget#getSelection()} if the target does not show the whole document, e.g.
+ * if parts of it are folded or a visible region is set.
+ * </p>
+ *
+ * @since 3.25
+ */
+public interface IFindReplaceTargetExtension5 {
+
+	/**
+	 * Returns the document whose text is searched by this target, including the parts of it that
+	 * are currently not shown. The document may only be accessed in the UI thread, clients that
+	 * search in the background have to search a copy of its text.
+	 *
+	 * @return the document or <code>null</code> if there is none
+	 */
+	IDocument getDocument();
+
+	/**
+	 * Returns the region of the document that is currently shown by this target.
+	 *
+	 * @return the region of the visible lines
+	 */
+	IRegion getViewport();
+
+	/**
+	 * Returns the selection of this target in document offsets.
+	 *
+	 * @return a point with the offset as x and the length as y
+	 */
+	Point getDocumentSelection();
+
+	/**
+	 * Selects the given regions of the document and reveals the first one. Parts of the regions
+	 * that are currently not shown, e.g. because they are folded, are made visible if possible.
+	 *
+	 * @param regions the non-empty array of non-overlapping regions sorted by offset
+	 * @return <code>true</code> if the regions have been selected, <code>false</code> if one of
+	 *         them cannot be shown by this target
+	 */
+	boolean selectAndReveal(IRegion[] regions);
+
+	/**
+	 * Highlights the given matches, replacing the matches highlighted before. Matches that are
+	 * currently not shown are not highlighted. The highlighting is removed when the document
+	 * changes or the find/replace session ends.
+	 *
+	 * @param matches the non-overlapping matches sorted by offset, or <code>null</code> to remove
+	 *            the highlighting
+	 */
+	void setHighlightedMatches(IRegion[] matches);
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -48,6 +48,8 @@ import org.eclipse.swt.events.KeyListener;
 import org.eclipse.swt.events.MouseAdapter;
 import org.eclipse.swt.events.MouseEvent;
 import org.eclipse.swt.events.MouseListener;
+import org.eclipse.swt.events.PaintEvent;
+import org.eclipse.swt.events.PaintListener;
 import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.events.SelectionListener;
 import org.eclipse.swt.events.VerifyEvent;
@@ -762,10 +764,135 @@ public class TextViewer extends Viewer implements
 		}
 	}
 
+	/**
+	 * Highlights the matches of a find operation with a box around each match. The matches are
+	 * given in model offsets and mapped to the widget when they are painted, matches that are not
+	 * shown are skipped. Only the matches inside the painted lines are looked up and at most
+	 * {@link #MAX_PAINTED_MATCHES} matches are looked at per paint event, so that painting does not
+	 * depend on the total number of matches. The highlighting is removed on the first change of the
+	 * document.
+	 *
+	 * @since 3.25
+	 */
+	class FindMatchHighlighter implements PaintListener, IDocumentListener {
+
+		/** The maximal number of matches looked at per paint event. */
+		private static final int MAX_PAINTED_MATCHES= 2000;
+
+		/** The matches in model offsets, sorted by offset. */
+		private final IRegion[] fMatches;
+		/** The document the matches refer to. */
+		private IDocument fDocument;
+
+		/**
+		 * Creates a new highlighter for the given matches.
+		 *
+		 * @param matches the matches in model offsets, sorted by offset
+		 */
+		public FindMatchHighlighter(IRegion[] matches) {
+			fMatches= matches;
+		}
+
+		/**
+		 * Installs this highlighter. The highlighter registers itself as paint listener of the
+		 * widget and as listener of the viewer's document.
+		 */
+		public void install() {
+			fDocument= getDocument();
+			if (fDocument != null)
+				fDocument.addDocumentListener(this);
+			fTextWidget.addPaintListener(this);
+			fTextWidget.redraw();
+		}
+
+		/**
+		 * Uninstalls this highlighter.
+		 * @see #install()
+		 */
+		public void uninstall() {
+			if (fDocument != null) {
+				fDocument.removeDocumentListener(this);
+				fDocument= null;
+			}
+			if (fTextWidget != null && !fTextWidget.isDisposed()) {
+				fTextWidget.removePaintListener(this);
+				fTextWidget.redraw();
+			}
+		}
+
+		@Override
+		public void paintControl(PaintEvent event) {
+			int charCount= fTextWidget.getCharCount();
+			if (charCount == 0 || event.height <= 0)
+				return;
+
+			int topLine= fTextWidget.getLineIndex(event.y);
+			int bottomLine= fTextWidget.getLineIndex(event.y + event.height - 1);
+
+			GC gc= event.gc;
+			gc.setForeground(fTextWidget.getSelectionBackground());
+			int examined= 0;
+			for (int line= topLine; line <= bottomLine && examined < MAX_PAINTED_MATCHES; line++) {
+				int lineStart= fTextWidget.getOffsetAtLine(line);
+				int lineEnd= line + 1 < fTextWidget.getLineCount() ? fTextWidget.getOffsetAtLine(line + 1) : charCount;
+				IRegion modelLine= widgetRange2ModelRange(new Region(lineStart, lineEnd - lineStart));
+				if (modelLine == null)
+					continue;
+
+				int modelLineEnd= modelLine.getOffset() + modelLine.getLength();
+				for (int i= findFirstMatch(modelLine.getOffset()); i < fMatches.length && examined < MAX_PAINTED_MATCHES; i++) {
+					IRegion match= fMatches[i];
+					if (match.getOffset() >= modelLineEnd)
+						break;
+					examined++;
+					IRegion widgetMatch= modelRange2WidgetRange(match);
+					if (widgetMatch == null)
+						continue;
+					// matches spanning several lines are painted line by line
+					int matchStart= Math.max(widgetMatch.getOffset(), lineStart);
+					int matchEnd= Math.min(widgetMatch.getOffset() + widgetMatch.getLength(), lineEnd);
+					if (matchEnd <= matchStart)
+						continue;
+					Rectangle bounds= fTextWidget.getTextBounds(matchStart, matchEnd - 1);
+					gc.drawRectangle(bounds.x, bounds.y, bounds.width - 1, bounds.height - 1);
+				}
+			}
+		}
+
+		/**
+		 * Returns the index of the first match that ends after the given offset.
+		 *
+		 * @param offset the model offset
+		 * @return the index of the match or the number of matches if there is none
+		 */
+		private int findFirstMatch(int offset) {
+			int low= 0;
+			int high= fMatches.length;
+			while (low < high) {
+				int mid= (low + high) >>> 1;
+				if (fMatches[mid].getOffset() + fMatches[mid].getLength() <= offset)
+					low= mid + 1;
+				else
+					high= mid;
+			}
+			return low;
+		}
+
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+			// the matches are not updated, they are removed once the document has changed
+		}
+
+		@Override
+		public void documentChanged(DocumentEvent event) {
+			uninstall();
+		}
+	}
+
 	/**
 	 * This viewer's find/replace target.
 	 */
-	class FindReplaceTarget implements IFindReplaceTarget, IFindReplaceTargetExtension, IFindReplaceTargetExtension3, IFindReplaceTargetExtension4 {
+	class FindReplaceTarget implements IFindReplaceTarget, IFindReplaceTargetExtension, IFindReplaceTargetExtension3, IFindReplaceTargetExtension4, IFindReplaceTargetExtension5 {
 
 		/** The range for this target. */
 		private FindReplaceRange fRange;
@@ -778,6 +905,11 @@ public class TextViewer extends Viewer implements
 		 * @since 3.1
 		 */
 		private DocumentRewriteSession fRewriteSession;
+		/**
+		 * The highlighter of the matches, <code>null</code> if no matches are highlighted.
+		 * @since 3.25
+		 */
+		private FindMatchHighlighter fMatchHighlighter;
 
 		@Override
 		public String getSelectionText() {
@@ -867,6 +999,7 @@ public class TextViewer extends Viewer implements
 				fRange.uninstall();
 				fRange= null;
 			}
+			setHighlightedMatches(null);
 		}
 
 		@Override
@@ -912,6 +1045,63 @@ public class TextViewer extends Viewer implements
 			TextViewer.this.setSelectedRanges(Arrays.stream(widgetRegions).map(TextViewer.this::widgetRange2ModelRange).toArray(IRegion[]::new));
 		}
 
+		@Override
+		public IDocument getDocument() {
+			return TextViewer.this.getDocument();
+		}
+
+		@Override
+		public IRegion getViewport() {
+			int start= fTextWidget.getOffsetAtLine(JFaceTextUtil.getPartialTopIndex(fTextWidget));
+			int bottom= JFaceTextUtil.getPartialBottomIndex(fTextWidget);
+			int end= bottom + 1 < fTextWidget.getLineCount() ? fTextWidget.getOffsetAtLine(bottom + 1) : fTextWidget.getCharCount();
+			IRegion viewport= widgetRange2ModelRange(new Region(start, end - start));
+			return viewport != null ? viewport : new Region(0, 0);
+		}
+
+		@Override
+		public Point getDocumentSelection() {
+			return TextViewer.this.getSelectedRange();
+		}
+
+		@Override
+		public boolean selectAndReveal(IRegion[] regions) {
+			for (IRegion region : regions) {
+				if (!isShown(region)) {
+					if (TextViewer.this instanceof ITextViewerExtension5)
+						((ITextViewerExtension5) TextViewer.this).exposeModelRange(region);
+					if (!isShown(region))
+						return false;
+				}
+			}
+			TextViewer.this.setSelectedRanges(regions);
+			revealRange(regions[0].getOffset(), regions[0].getLength());
+			return true;
+		}
+
+		/**
+		 * Tells whether the given model range is completely shown by the widget.
+		 *
+		 * @param modelRange the model range
+		 * @return <code>true</code> if no part of the range is hidden
+		 */
+		private boolean isShown(IRegion modelRange) {
+			IRegion widgetRange= modelRange2WidgetRange(modelRange);
+			return widgetRange != null && widgetRange.getLength() == modelRange.getLength();
+		}
+
+		@Override
+		public void setHighlightedMatches(IRegion[] matches) {
+			if (fMatchHighlighter != null) {
+				fMatchHighlighter.uninstall();
+				fMatchHighlighter= null;
+			}
+			if (matches != null && matches.length > 0 && fTextWidget != null && !fTextWidget.isDisposed()) {
+				fMatchHighlighter= new FindMatchHighlighter(matches);
+				fMatchHighlighter.install();
+			}
+		}
+
 		@Override
 		public void setScope(IRegion scope) {
 			if (fRange != null)
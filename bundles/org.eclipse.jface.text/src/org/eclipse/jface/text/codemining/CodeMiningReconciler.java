@@ -1,5 +1,5 @@
 /**
- *  Copyright (c) 2017, 2021 Angelo ZERR.
+ *  Copyright (c) 2017, 2026 Angelo ZERR.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -31,6 +31,7 @@ public class CodeMiningReconciler extends Reconciler {
 	public CodeMiningReconciler() {
 		super.setIsIncrementalReconciler(false);
 		this.setReconcilingStrategy(new CodeMiningStrategy(() -> getTextViewer()), IDocument.DEFAULT_CONTENT_TYPE);
+		setUseSharedScheduler(true);
 	}
 
 	@Override
@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.codemining;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITextViewer;
+
+/**
+ * Extension interface for {@link ICodeMiningProvider}.
+ * <p>
+ * Adds the ability to compute the code minings of a part of the document only. Providers that
+ * implement this interface are asked for the code minings of the lines around the viewport of the
+ * viewer, and asked again for further lines when these become visible, instead of being asked for
+ * the code minings of the whole document.
+ * </p>
+ *
+ * @since 3.25
+ */
+public interface ICodeMiningProviderExtension {
+
+	/**
+	 * Computes the code minings of the lines that intersect the given region. Code minings outside
+	 * of these lines may be returned, but are ignored. The same rules as for
+	 * {@link ICodeMiningProvider#provideCodeMinings(ITextViewer, IProgressMonitor)} apply.
+	 *
+	 * @param viewer the viewer in which the command was invoked.
+	 * @param region the document region covering the lines to compute the code minings for
+	 * @param monitor A progress monitor.
+	 * @return An array of future of code minings that resolves to such. The lack of a result can be
+	 *         signaled by returning null, or an empty array.
+	 */
+	CompletableFuture<List<? extends ICodeMining>> provideCodeMinings(ITextViewer viewer, IRegion region, IProgressMonitor monitor);
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016 Red Hat Inc. and others.
+ * Copyright (c) 2016, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -70,6 +70,29 @@ class AsyncCompletionProposalPopup extends CompletionProposalPopup {
 
 	private PopupVisibleTimer fPopupVisibleTimer= new PopupVisibleTimer();
 
+	/**
+	 * The list of computed proposals {@link #fStreamFiltered} was computed from while the
+	 * computation was still pending.
+	 */
+	private List<ICompletionProposal> fStreamSource;
+
+	/**
+	 * The proposals of {@link #fStreamSource} that were valid at {@link #fStreamFilterOffset}, in
+	 * the order they were computed and without the {@link ComputingProposal}.
+	 */
+	private List<ICompletionProposal> fStreamFiltered;
+
+	/**
+	 * The offset {@link #fStreamFiltered} was filtered for.
+	 */
+	private int fStreamFilterOffset;
+
+	/**
+	 * The number of proposals of {@link #fStreamSource}, without the {@link ComputingProposal},
+	 * that were validated for {@link #fStreamFiltered}.
+	 */
+	private int fStreamValidatedCount;
+
 	private static final class ComputingProposal implements ICompletionProposal, ICompletionProposalExtension {
 
 		private final int fOffset;
@@ -260,11 +283,19 @@ class AsyncCompletionProposalPopup extends CompletionProposalPopup {
 						if (!stillComputing && callback != null) {
 							callback.accept(fComputedProposals);
 						} else {
-							boolean hasProposals= (stillComputing && fComputedProposals.size() > 1)
-									|| (!stillComputing && !fComputedProposals.isEmpty());
+							List<ICompletionProposal> proposals= null;
+							if (fFilterOffset != offset) {
+								// the user typed since the invocation, only merge the proposals still valid
+								proposals= filterComputedProposals(fFilterOffset, null);
+							}
+							if (proposals == null) {
+								proposals= fComputedProposals;
+							}
+							boolean hasProposals= (stillComputing && proposals.size() > 1)
+									|| (!stillComputing && !proposals.isEmpty());
 
 							if ((autoActivated && hasProposals) || !autoActivated) {
-								setProposals(fComputedProposals, false);
+								setProposals(proposals, false);
 								displayProposals(true);
 							} else if (isValid(fProposalShell) && (!fProposalShell.isVisible() || !hasProposals) && remaining.get() == 0) {
 								hide(); // we only tear down if the popup is not visible or it is visible but has no proposals.
@@ -346,18 +377,71 @@ class AsyncCompletionProposalPopup extends CompletionProposalPopup {
 	@Override
 	protected List<ICompletionProposal> computeFilteredProposals(int offset, DocumentEvent event) {
 		if (fAggregatedPopulateFuture != null && !fAggregatedPopulateFuture.isDone()) {
-			// user typed a char & computation still pending -> let all futures complete then invoke "filterProposals" upon completion
+			// user typed a char & computation still pending -> filter the proposals computed so far,
+			// the others are filtered when they arrive
+			List<ICompletionProposal> filtered= filterComputedProposals(offset, event);
+			if (filtered != null) {
+				return filtered;
+			}
+			// some proposals cannot be validated -> let all futures complete then invoke "filterProposals" upon completion
 			fAggregatedPopulateFuture.thenRun(this::filterProposals);
 			return fComputedProposals;
 		}
 		return super.computeFilteredProposals(offset, event);
 	}
 
+	/**
+	 * Returns the proposals computed so far that are valid at the given offset. If the offset did
+	 * not move backwards since the last call for the same computation, only the proposals valid at
+	 * that time and the ones computed since are validated.
+	 *
+	 * @param offset the offset
+	 * @param event the merged document event, may be <code>null</code>
+	 * @return the valid proposals, preceded by the {@link ComputingProposal} if the computation is
+	 *         still pending, or <code>null</code> if the proposals cannot be filtered here
+	 */
+	private List<ICompletionProposal> filterComputedProposals(int offset, DocumentEvent event) {
+		List<ICompletionProposal> source= fComputedProposals;
+		if (source == null || offset < fInvocationOffset) {
+			return null;
+		}
+		List<ICompletionProposal> computed= new ArrayList<>(source);
+		ICompletionProposal computingProposal= null;
+		if (!computed.isEmpty() && computed.get(0) instanceof ComputingProposal) {
+			computingProposal= computed.remove(0);
+		}
+
+		List<ICompletionProposal> candidates;
+		if (source == fStreamSource && offset >= fStreamFilterOffset && fStreamValidatedCount <= computed.size()) {
+			candidates= new ArrayList<>(fStreamFiltered);
+			candidates.addAll(computed.subList(fStreamValidatedCount, computed.size()));
+		} else {
+			candidates= computed;
+		}
+		List<ICompletionProposal> filtered= validateProposals(candidates, offset, event);
+		if (filtered == null) {
+			return null;
+		}
+		fStreamSource= source;
+		fStreamFiltered= filtered;
+		fStreamFilterOffset= offset;
+		fStreamValidatedCount= computed.size();
+
+		List<ICompletionProposal> result= new ArrayList<>(filtered.size() + 1);
+		if (computingProposal != null) {
+			result.add(computingProposal);
+		}
+		result.addAll(filtered);
+		return result;
+	}
+
 	@Override
 	public void hide() {
 		fPopupVisibleTimer.stop();
 		super.hide();
 		cancelFutures();
+		fStreamSource= null;
+		fStreamFiltered= null;
 	}
 
 	protected List<CompletableFuture<List<ICompletionProposal>>> buildCompletionFuturesOrJobs(int invocationOffset) {
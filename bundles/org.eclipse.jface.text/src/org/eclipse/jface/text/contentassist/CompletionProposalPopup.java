@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,7 +24,9 @@ import static org.eclipse.jface.util.Util.isValid;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.osgi.util.TextProcessor;
@@ -450,6 +452,30 @@ class CompletionProposalPopup implements IContentAssistListener {
 	 */
 	boolean fIsInitialSort;
 
+	/**
+	 * The number of proposals that are ranked when a large list of proposals is sorted. The
+	 * remaining proposals are only ranked when one of them is about to be shown.
+	 *
+	 * @since 3.25
+	 */
+	static final int PARTIAL_SORT_SIZE= 100;
+
+	/**
+	 * The list of proposals of which only the first {@link #fSortedCount} proposals are sorted, or
+	 * <code>null</code> if none. The remaining proposals rank behind them and keep their original
+	 * order until they are sorted by {@link #ensureSorted(List, int)}.
+	 *
+	 * @since 3.25
+	 */
+	private List<ICompletionProposal> fPartiallySortedProposals;
+
+	/**
+	 * The number of sorted proposals at the start of {@link #fPartiallySortedProposals}.
+	 *
+	 * @since 3.25
+	 */
+	private int fSortedCount;
+
 	/**
 	 * Creates a new completion proposal popup for the given elements.
 	 *
@@ -864,6 +890,7 @@ class CompletionProposalPopup implements IContentAssistListener {
 
 		List<ICompletionProposal> proposals= fFilteredProposals;
 		if (0 <= index && index < proposals.size()) {
+			ensureSorted(proposals, index);
 			ICompletionProposal current= proposals.get(index);
 
 			String displayString;
@@ -1178,6 +1205,8 @@ class CompletionProposalPopup implements IContentAssistListener {
 			}
 
 			if (fSorter != null && !fIsInitialSort) {
+				// sort a copy, the given list may still be extended by proposal computations
+				proposals= new ArrayList<>(proposals);
 				sortProposals(proposals);
 			}
 			fIsInitialSort= false;
@@ -1451,6 +1480,7 @@ class CompletionProposalPopup implements IContentAssistListener {
 			return;
 		}
 
+		ensureSorted(proposals, index);
 		ICompletionProposal proposal= proposals.get(index);
 		if (proposal instanceof ICompletionProposalExtension2 && fViewer != null)
 			((ICompletionProposalExtension2) proposal).selected(fViewer, smartToggle);
@@ -1561,6 +1591,31 @@ class CompletionProposalPopup implements IContentAssistListener {
 			return null;
 		}
 
+		List<ICompletionProposal> filtered= validateProposals(proposals, offset, event);
+		if (filtered == null) {
+			// restore original behavior
+			fIsFilteredSubset= false;
+			fInvocationOffset= offset;
+			fContentAssistant.fireSessionRestartEvent();
+			fComputedProposals= computeProposals(fInvocationOffset);
+			return fComputedProposals;
+		}
+
+		return filtered;
+	}
+
+	/**
+	 * Returns the proposals of the given list that are still valid at the given offset, in the
+	 * order of the given list.
+	 *
+	 * @param proposals the proposals to validate
+	 * @param offset the offset
+	 * @param event the merged document event
+	 * @return the valid proposals or <code>null</code> if one of the proposals does not support
+	 *         validation
+	 * @since 3.25
+	 */
+	List<ICompletionProposal> validateProposals(List<ICompletionProposal> proposals, int offset, DocumentEvent event) {
 		IDocument document= fContentAssistSubjectControlAdapter.getDocument();
 		int length= proposals.size();
 		List<ICompletionProposal> filtered= new ArrayList<>(length);
@@ -1585,15 +1640,9 @@ class CompletionProposalPopup implements IContentAssistListener {
 					// Make sure that poorly behaved completion proposers do not break filtering.
 				}
 			} else {
-				// restore original behavior
-				fIsFilteredSubset= false;
-				fInvocationOffset= offset;
-				fContentAssistant.fireSessionRestartEvent();
-				fComputedProposals= computeProposals(fInvocationOffset);
-				return fComputedProposals;
+				return null;
 			}
 		}
-
 		return filtered;
 	}
 
@@ -1694,6 +1743,7 @@ class CompletionProposalPopup implements IContentAssistListener {
 	 * @since 3.0
 	 */
 	boolean completeCommonPrefix() {
+		ensureSorted(fFilteredProposals, fFilteredProposals.size() - 1);
 
 		// 0: insert single proposals
 		if (fFilteredProposals.size() == 1) {
@@ -2021,12 +2071,70 @@ class CompletionProposalPopup implements IContentAssistListener {
 
 	/**
 	 * Sorts the given proposal array.
+	 * <p>
+	 * If there are many proposals, only the first {@link #PARTIAL_SORT_SIZE} proposals are ranked
+	 * and moved to the start of the list. The others are sorted by
+	 * {@link #ensureSorted(List, int)} when one of them is about to be shown. The resulting order
+	 * is the same as the one of a full stable sort.
+	 * </p>
 	 *
 	 * @param proposals the new proposals to display in the popup window
 	 * @throws NullPointerException if no sorter has been set
 	 * @since 3.8
 	 */
 	void sortProposals(final List<ICompletionProposal> proposals) {
-		proposals.sort(fSorter::compare);
+		int size= proposals.size();
+		if (size <= 2 * PARTIAL_SORT_SIZE) {
+			proposals.sort(fSorter::compare);
+			return;
+		}
+
+		ICompletionProposal[] array= proposals.toArray(new ICompletionProposal[size]);
+		// break ties by the original index to be consistent with a stable sort
+		Comparator<Integer> order= (a, b) -> {
+			int result= fSorter.compare(array[a.intValue()], array[b.intValue()]);
+			return result != 0 ? result : Integer.compare(a.intValue(), b.intValue());
+		};
+		PriorityQueue<Integer> worstFirst= new PriorityQueue<>(PARTIAL_SORT_SIZE + 1, order.reversed());
+		for (int i= 0; i < size; i++) {
+			Integer index= Integer.valueOf(i);
+			if (worstFirst.size() < PARTIAL_SORT_SIZE) {
+				worstFirst.add(index);
+			} else if (order.compare(index, worstFirst.peek()) < 0) {
+				worstFirst.poll();
+				worstFirst.add(index);
+			}
+		}
+		Integer[] best= worstFirst.toArray(new Integer[PARTIAL_SORT_SIZE]);
+		Arrays.sort(best, order);
+
+		boolean[] isBest= new boolean[size];
+		int next= 0;
+		for (Integer index : best) {
+			proposals.set(next++, array[index.intValue()]);
+			isBest[index.intValue()]= true;
+		}
+		for (int i= 0; i < size; i++) {
+			if (!isBest[i])
+				proposals.set(next++, array[i]);
+		}
+		fPartiallySortedProposals= proposals;
+		fSortedCount= PARTIAL_SORT_SIZE;
+	}
+
+	/**
+	 * Makes sure the given list of proposals is sorted up to the given index if it was only
+	 * partially sorted by {@link #sortProposals(List)}.
+	 *
+	 * @param proposals the proposals
+	 * @param index the index of the proposal about to be shown
+	 * @since 3.25
+	 */
+	void ensureSorted(List<ICompletionProposal> proposals, int index) {
+		if (proposals != null && proposals == fPartiallySortedProposals && index >= fSortedCount) {
+			if (fSorter != null)
+				proposals.subList(fSortedCount, proposals.size()).sort(fSorter::compare);
+			fPartiallySortedProposals= null;
+		}
 	}
 }
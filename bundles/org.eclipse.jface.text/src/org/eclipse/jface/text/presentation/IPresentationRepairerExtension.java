@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.presentation;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.TextPresentation;
+
+
+/**
+ * Extension interface for {@link IPresentationRepairer}. Allows to repair the
+ * presentation on a document other than the one set with
+ * {@link IPresentationRepairer#setDocument(IDocument)}.
+ * <p>
+ * A {@link PresentationReconciler} in background repair mode only uses repairers
+ * implementing this interface, see
+ * {@link PresentationReconciler#setBackgroundRepair(boolean)}. It then calls
+ * {@link #createPresentation(TextPresentation, ITypedRegion, IDocument)} from a
+ * background thread with a read-only copy of the viewer's document. Calls are
+ * never concurrent, but implementers must neither access the UI nor the
+ * document set with {@link IPresentationRepairer#setDocument(IDocument)} from
+ * this method.
+ * </p>
+ *
+ * @since 3.25
+ */
+public interface IPresentationRepairerExtension {
+
+	/**
+	 * Fills the given presentation with the style ranges which repair the
+	 * presentation damage described by the given region of the given document.
+	 *
+	 * @param presentation the text presentation to be filled by this repairer
+	 * @param damage the damage to be repaired
+	 * @param document the document to read from
+	 */
+	void createPresentation(TextPresentation presentation, ITypedRegion damage, IDocument document);
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,13 +14,27 @@
 
 package org.eclipse.jface.text.presentation;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.swt.custom.StyleRange;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.widgets.Display;
 
 import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.ILog;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+
+import org.eclipse.jface.internal.text.SnapshotDocument;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.BadPositionCategoryException;
@@ -29,6 +43,8 @@ import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.DocumentPartitioningChangedEvent;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentExtension3;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.IDocumentExtension5;
 import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.IDocumentPartitioningListener;
 import org.eclipse.jface.text.IDocumentPartitioningListenerExtension;
@@ -40,6 +56,7 @@ import org.eclipse.jface.text.ITextListener;
 import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.ITextViewerExtension5;
 import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.TextEvent;
 import org.eclipse.jface.text.TextPresentation;
@@ -56,6 +73,10 @@ import org.eclipse.jface.text.TypedPosition;
  * document change rather than just the portion overlapping with the viewer's
  * viewport.
  * <p>
+ * Alternatively, the presentation can be repaired in the background, see
+ * {@link #setBackgroundRepair(boolean)}.
+ * </p>
+ * <p>
  * Usually, clients instantiate this class and configure it before using it.
  * </p>
  */
@@ -64,6 +85,93 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	/** Prefix of the name of the position category for tracking damage regions. */
 	protected final static String TRACKED_PARTITION= "__reconciler_tracked_partition"; //$NON-NLS-1$
 
+	/**
+	 * The number of characters initially repaired by one background repair step.
+	 * @since 3.25
+	 */
+	private static final int INITIAL_CHUNK_SIZE= 16 * 1024;
+	/**
+	 * The minimal number of characters repaired by one background repair step.
+	 * @since 3.25
+	 */
+	private static final int MIN_CHUNK_SIZE= 2 * 1024;
+	/**
+	 * The maximal number of characters repaired by one background repair step.
+	 * @since 3.25
+	 */
+	private static final int MAX_CHUNK_SIZE= 256 * 1024;
+	/**
+	 * The time in milliseconds the UI thread should at most spend applying the result of one
+	 * background repair step.
+	 * @since 3.25
+	 */
+	private static final long UI_TIME_BUDGET= 10;
+	/**
+	 * The time in milliseconds the document must not have been modified before a new snapshot is
+	 * taken for the background repair. Snapshots can be expensive, see
+	 * {@link IDocumentExtension5}, so a burst of modifications should only cause one.
+	 * @since 3.25
+	 */
+	private static final int SNAPSHOT_DELAY= 50;
+
+	/**
+	 * The executor running the background repair steps of all presentation reconcilers.
+	 * @since 3.25
+	 */
+	private static final ExecutorService fgExecutor= new ThreadPoolExecutor(0, 1, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+		Thread thread= new Thread(r, "Presentation Reconciler"); //$NON-NLS-1$
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * One step of the background repair. It is prepared in the UI thread, its presentation is
+	 * computed in the background and applied in the UI thread.
+	 * @since 3.25
+	 */
+	private static class BackgroundRepair implements Runnable {
+
+		/** The document whose presentation is repaired */
+		private final IDocument fDocument;
+		/** The modification stamp of the document when the step has been prepared */
+		private final long fModificationStamp;
+		/** The region to be repaired */
+		private final IRegion fDamage;
+		/** The partitioning of the damaged region */
+		private final ITypedRegion[] fPartitioning;
+		/** The repairers of the partitions, <code>null</code> for partitions without repairer */
+		private final IPresentationRepairerExtension[] fRepairers;
+		/** The read-only copy of the document the presentation is computed on */
+		private final IDocument fSnapshotDocument;
+		/** The computed presentation or <code>null</code> if the computation failed */
+		private volatile TextPresentation fPresentation;
+
+		BackgroundRepair(IDocument document, long modificationStamp, IRegion damage, ITypedRegion[] partitioning, IPresentationRepairerExtension[] repairers, IDocument snapshotDocument) {
+			fDocument= document;
+			fModificationStamp= modificationStamp;
+			fDamage= damage;
+			fPartitioning= partitioning;
+			fRepairers= repairers;
+			fSnapshotDocument= snapshotDocument;
+		}
+
+		@Override
+		public void run() {
+			try {
+				TextPresentation presentation= new TextPresentation(fDamage, 1000);
+				for (int i= 0; i < fPartitioning.length; i++) {
+					if (fRepairers[i] != null)
+						fRepairers[i].createPresentation(presentation, fPartitioning[i], fSnapshotDocument);
+				}
+				fPresentation= presentation;
+			} catch (RuntimeException e) {
+				String PLUGIN_ID= "org.eclipse.jface.text"; //$NON-NLS-1$
+				ILog log= ILog.of(Platform.getBundle(PLUGIN_ID));
+				log.log(new Status(IStatus.ERROR, PLUGIN_ID, IStatus.OK, "Unexpected runtime error while repairing the presentation", e)); //$NON-NLS-1$
+			}
+		}
+	}
+
 
 	/**
 	 * Internal listener class.
@@ -92,6 +200,13 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 					oldDocument.removePositionUpdater(fPositionUpdater);
 					oldDocument.removePositionCategory(fPositionCategory);
 
+					if (oldDocument == fPendingDocument) {
+						fRunningRepair= null;
+						fSnapshotDocument= null;
+						fPendingDocument= null;
+						fPendingDamage.clear();
+					}
+
 				} catch (BadPositionCategoryException x) {
 					// should not happened for former input documents;
 				}
@@ -112,6 +227,9 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 				newDocument.addPositionCategory(fPositionCategory);
 				newDocument.addPositionUpdater(fPositionUpdater);
 
+				if (fBackgroundRepair && newDocument instanceof IDocumentExtension4 && newDocument instanceof IDocumentExtension5)
+					fPendingDocument= newDocument;
+
 				newDocument.addDocumentPartitioningListener(this);
 				newDocument.addDocumentListener(this);
 				fViewer.addTextListener(this);
@@ -151,6 +269,8 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 		public void documentAboutToBeChanged(DocumentEvent e) {
 
 			fDocumentChanging= true;
+			if (e.getDocument() == fPendingDocument)
+				updatePendingDamage(e);
 			if (fCachedRedrawState) {
 				try {
 					int offset= e.getOffset() + e.getLength();
@@ -265,6 +385,51 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	 * @since 3.0
 	 */
 	private String fPartitioning;
+	/**
+	 * Whether the presentation is repaired in the background.
+	 * @since 3.25
+	 */
+	private boolean fBackgroundRepair= false;
+	/**
+	 * The document whose damage is tracked for the background repair or <code>null</code>.
+	 * @since 3.25
+	 */
+	private IDocument fPendingDocument;
+	/**
+	 * The disjoint regions of the pending document which still have to be repaired in the
+	 * background, sorted by offset. They are updated by this reconciler when the document
+	 * changes, not by a position updater of the document.
+	 * @since 3.25
+	 */
+	private final List<Position> fPendingDamage= new ArrayList<>();
+	/**
+	 * Starts the next background repair step once the document has not been modified for
+	 * {@link #SNAPSHOT_DELAY}.
+	 * @since 3.25
+	 */
+	private final Runnable fRepairStarter= this::startBackgroundRepair;
+	/**
+	 * The background repair step in progress or <code>null</code>.
+	 * @since 3.25
+	 */
+	private BackgroundRepair fRunningRepair;
+	/**
+	 * The read-only copy of the pending document used by the background repair steps or
+	 * <code>null</code>.
+	 * @since 3.25
+	 */
+	private IDocument fSnapshotDocument;
+	/**
+	 * The modification stamp of the pending document when the snapshot document has been
+	 * created.
+	 * @since 3.25
+	 */
+	private long fSnapshotModificationStamp;
+	/**
+	 * The number of characters repaired by the next background repair step.
+	 * @since 3.25
+	 */
+	private int fChunkSize= INITIAL_CHUNK_SIZE;
 
 	/**
 	 * Creates a new presentation reconciler. There are no damagers or repairers
@@ -289,6 +454,32 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 		fPartitioning= partitioning;
 	}
 
+	/**
+	 * Sets whether the presentation is repaired in the background. Must be called before this
+	 * presentation reconciler is installed. The default is <code>false</code>.
+	 * <p>
+	 * In background mode, the repairers create the presentation on a background thread using a
+	 * read-only snapshot of the viewer's document, see {@link IPresentationRepairerExtension}.
+	 * The damage overlapping with the viewer's viewport is repaired first, the remaining damage
+	 * afterwards. The results are applied in small steps, so that the UI thread stays responsive
+	 * for large documents, and results computed for an outdated snapshot are discarded and
+	 * computed again.
+	 * </p>
+	 * <p>
+	 * The presentation is still repaired synchronously if not all registered repairers implement
+	 * {@link IPresentationRepairerExtension} or if the document does not implement
+	 * {@link IDocumentExtension4} and {@link IDocumentExtension5}. The damage is always computed
+	 * synchronously, and {@link #createPresentation(IRegion, IDocument)} is not used by the
+	 * background repair.
+	 * </p>
+	 *
+	 * @param backgroundRepair <code>true</code> to repair the presentation in the background
+	 * @since 3.25
+	 */
+	public void setBackgroundRepair(boolean backgroundRepair) {
+		fBackgroundRepair= backgroundRepair;
+	}
+
 	/*
 	 * @see org.eclipse.jface.text.presentation.IPresentationReconcilerExtension#geDocumenttPartitioning()
 	 * @since 3.0
@@ -546,6 +737,11 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	 */
 	private void processDamage(IRegion damage, IDocument document) {
 		if (damage != null && damage.getLength() > 0) {
+			if (canRepairInBackground(document)) {
+				addPendingDamage(damage);
+				scheduleBackgroundRepair(document);
+				return;
+			}
 			TextPresentation p= createPresentation(damage, document);
 			if (p != null)
 				applyTextRegionCollection(p);
@@ -562,6 +758,264 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 		fViewer.changeTextPresentation(presentation, false);
 	}
 
+	/**
+	 * Returns whether the damage of the given document can be repaired in the background.
+	 *
+	 * @param document the document
+	 * @return <code>true</code> if the damage can be repaired in the background
+	 * @since 3.25
+	 */
+	private boolean canRepairInBackground(IDocument document) {
+		if (document != fPendingDocument || fRepairers == null || fRepairers.isEmpty())
+			return false;
+		for (IPresentationRepairer repairer : fRepairers.values()) {
+			if (!(repairer instanceof IPresentationRepairerExtension))
+				return false;
+		}
+		StyledText textWidget= fViewer.getTextWidget();
+		return textWidget != null && !textWidget.isDisposed();
+	}
+
+	/**
+	 * Adds the given damage to the damage to be repaired in the background.
+	 *
+	 * @param damage the damage
+	 * @since 3.25
+	 */
+	private void addPendingDamage(IRegion damage) {
+		int start= damage.getOffset();
+		int end= start + damage.getLength();
+		int index= 0;
+		while (index < fPendingDamage.size() && fPendingDamage.get(index).getOffset() + fPendingDamage.get(index).getLength() < start)
+			index++;
+		while (index < fPendingDamage.size() && fPendingDamage.get(index).getOffset() <= end) {
+			Position position= fPendingDamage.remove(index);
+			start= Math.min(start, position.getOffset());
+			end= Math.max(end, position.getOffset() + position.getLength());
+		}
+		fPendingDamage.add(index, new Position(start, end - start));
+	}
+
+	/**
+	 * Removes the given repaired region from the damage to be repaired in the background.
+	 *
+	 * @param repaired the repaired region
+	 * @since 3.25
+	 */
+	private void removePendingDamage(IRegion repaired) {
+		int start= repaired.getOffset();
+		int end= start + repaired.getLength();
+		for (int i= fPendingDamage.size() - 1; i >= 0; i--) {
+			Position position= fPendingDamage.get(i);
+			int positionEnd= position.getOffset() + position.getLength();
+			if (position.getOffset() >= end || positionEnd <= start)
+				continue;
+			fPendingDamage.remove(i);
+			if (end < positionEnd)
+				fPendingDamage.add(i, new Position(end, positionEnd - end));
+			if (position.getOffset() < start)
+				fPendingDamage.add(i, new Position(position.getOffset(), start - position.getOffset()));
+		}
+	}
+
+	/**
+	 * Adapts the damage to be repaired in the background to the given change of the pending
+	 * document. Damage after the change is shifted, damage overlapping or touching the change is
+	 * extended to cover the inserted text. This is called before the document is changed, so that
+	 * the damage is up to date when the viewer reports the change.
+	 *
+	 * @param e the document event describing the change
+	 * @since 3.25
+	 */
+	private void updatePendingDamage(DocumentEvent e) {
+		if (fPendingDamage.isEmpty())
+			return;
+
+		int offset= e.getOffset();
+		int end= offset + e.getLength();
+		int textLength= e.getText() == null ? 0 : e.getText().length();
+		int delta= textLength - e.getLength();
+
+		List<Position> pending= new ArrayList<>(fPendingDamage);
+		fPendingDamage.clear();
+		for (Position position : pending) {
+			int start= position.getOffset();
+			int positionEnd= start + position.getLength();
+			if (start > end) {
+				start+= delta;
+				positionEnd+= delta;
+			} else if (positionEnd >= offset) {
+				start= Math.min(start, offset);
+				positionEnd= Math.max(positionEnd + delta, offset + textLength);
+			}
+			if (start < positionEnd)
+				addPendingDamage(new Region(start, positionEnd - start));
+		}
+	}
+
+	/**
+	 * Returns the region to be repaired by the next background repair step. Damage overlapping
+	 * with the viewport comes first, then the damage below and finally the damage above the
+	 * viewport. The region is at most about as large as the current chunk size and ends at a
+	 * line boundary, unless the line is longer than the chunk size.
+	 *
+	 * @param document the document
+	 * @return the region to be repaired next or <code>null</code> if there is no more damage
+	 * @throws BadLocationException if the pending damage is out of sync with the document
+	 * @since 3.25
+	 */
+	private IRegion getNextChunk(IDocument document) throws BadLocationException {
+		fPendingDamage.removeIf(position -> position.getLength() == 0);
+		if (fPendingDamage.isEmpty())
+			return null;
+
+		int top= Math.max(0, fViewer.getTopIndexStartOffset());
+		int bottom= Math.max(top, fViewer.getBottomIndexEndOffset() + 1);
+
+		Position below= null;
+		Position above= null;
+		for (Position position : fPendingDamage) {
+			int start= position.getOffset();
+			int end= start + position.getLength();
+			if (start < bottom && top < end) {
+				start= Math.max(start, top);
+				return new Region(start, getChunkEnd(document, start, end) - start);
+			}
+			if (start >= bottom && below == null)
+				below= position;
+			if (end <= top)
+				above= position;
+		}
+
+		if (below != null) {
+			int start= below.getOffset();
+			return new Region(start, getChunkEnd(document, start, start + below.getLength()) - start);
+		}
+
+		int end= above.getOffset() + above.getLength();
+		int start= end - fChunkSize;
+		if (start > above.getOffset())
+			start= Math.max(above.getOffset(), document.getLineOffset(document.getLineOfOffset(start)));
+		else
+			start= above.getOffset();
+		return new Region(start, end - start);
+	}
+
+	/**
+	 * Returns the end of a chunk starting at the given offset. The chunk is extended to the next
+	 * line boundary.
+	 *
+	 * @param document the document
+	 * @param start the start offset of the chunk
+	 * @param end the end offset of the damage containing the chunk
+	 * @return the end offset of the chunk
+	 * @throws BadLocationException if the offsets are invalid in the given document
+	 * @since 3.25
+	 */
+	private int getChunkEnd(IDocument document, int start, int end) throws BadLocationException {
+		if (end - start <= fChunkSize)
+			return end;
+		int line= document.getLineOfOffset(start + fChunkSize);
+		return Math.min(end, document.getLineOffset(line) + document.getLineLength(line));
+	}
+
+	/**
+	 * Schedules the next background repair step unless one is already in progress. If the
+	 * snapshot of the document is outdated, the step is started once the document has not been
+	 * modified for {@link #SNAPSHOT_DELAY}, and the new snapshot is only taken then.
+	 *
+	 * @param document the document whose presentation is repaired
+	 * @since 3.25
+	 */
+	private void scheduleBackgroundRepair(IDocument document) {
+		if (fRunningRepair != null || fPendingDamage.isEmpty())
+			return;
+
+		if (fSnapshotDocument != null && fSnapshotModificationStamp == ((IDocumentExtension4) document).getModificationStamp())
+			startBackgroundRepair();
+		else
+			fViewer.getTextWidget().getDisplay().timerExec(SNAPSHOT_DELAY, fRepairStarter);
+	}
+
+	/**
+	 * Starts the next background repair step of the pending document, taking a new snapshot of
+	 * the document if the current one is outdated.
+	 *
+	 * @since 3.25
+	 */
+	private void startBackgroundRepair() {
+		IDocument document= fPendingDocument;
+		if (fRunningRepair != null || document == null || !canRepairInBackground(document))
+			return;
+
+		BackgroundRepair repair;
+		try {
+			IRegion chunk= getNextChunk(document);
+			if (chunk == null)
+				return;
+
+			long modificationStamp= ((IDocumentExtension4) document).getModificationStamp();
+			if (fSnapshotDocument == null || fSnapshotModificationStamp != modificationStamp) {
+				fSnapshotDocument= new SnapshotDocument(((IDocumentExtension5) document).getSnapshot(), document.getLegalLineDelimiters());
+				fSnapshotModificationStamp= modificationStamp;
+			}
+
+			ITypedRegion[] partitioning= TextUtilities.computePartitioning(document, getDocumentPartitioning(), chunk.getOffset(), chunk.getLength(), false);
+			IPresentationRepairerExtension[] repairers= new IPresentationRepairerExtension[partitioning.length];
+			for (int i= 0; i < partitioning.length; i++) {
+				IPresentationRepairer repairer= getRepairer(partitioning[i].getType());
+				if (repairer instanceof IPresentationRepairerExtension)
+					repairers[i]= (IPresentationRepairerExtension) repairer;
+			}
+			repair= new BackgroundRepair(document, modificationStamp, chunk, partitioning, repairers, fSnapshotDocument);
+		} catch (BadLocationException x) {
+			return;
+		}
+
+		Display display= fViewer.getTextWidget().getDisplay();
+		fRunningRepair= repair;
+		fgExecutor.execute(() -> {
+			repair.run();
+			if (!display.isDisposed())
+				display.asyncExec(() -> backgroundRepairDone(repair));
+		});
+	}
+
+	/**
+	 * Applies the result of the given background repair step if it is still up to date and
+	 * starts the next step. Outdated results are discarded, their damage remains pending.
+	 *
+	 * @param repair the finished background repair step
+	 * @since 3.25
+	 */
+	private void backgroundRepairDone(BackgroundRepair repair) {
+		if (repair != fRunningRepair)
+			return;
+		fRunningRepair= null;
+
+		IDocument document= repair.fDocument;
+		StyledText textWidget= fViewer.getTextWidget();
+		if (textWidget == null || textWidget.isDisposed() || document != fViewer.getDocument())
+			return;
+
+		TextPresentation presentation= repair.fPresentation;
+		if (presentation == null) {
+			// the repairers failed, do not try again
+			removePendingDamage(repair.fDamage);
+		} else if (((IDocumentExtension4) document).getModificationStamp() == repair.fModificationStamp) {
+			long start= System.currentTimeMillis();
+			applyTextRegionCollection(presentation);
+			removePendingDamage(repair.fDamage);
+			long time= System.currentTimeMillis() - start;
+			if (time > UI_TIME_BUDGET)
+				fChunkSize= Math.max(MIN_CHUNK_SIZE, fChunkSize / 2);
+			else if (time < UI_TIME_BUDGET / 4 && repair.fDamage.getLength() >= fChunkSize)
+				fChunkSize= Math.min(MAX_CHUNK_SIZE, fChunkSize * 2);
+		}
+
+		scheduleBackgroundRepair(document);
+	}
+
 	/**
 	 * Returns the partition for the given offset in the given document.
 	 *
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,11 @@ import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.events.FocusAdapter;
+import org.eclipse.swt.events.FocusEvent;
+import org.eclipse.swt.events.FocusListener;
+
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentListener;
@@ -39,6 +44,10 @@ import org.eclipse.jface.text.ITextViewer;
  * It is the clients responsibility to stop a reconciler using its {@link #uninstall()}
  * method. Unstopped reconcilers do not free their resources.
  * <p>
+ * Instead of a dedicated background thread, a reconciler can use a bounded pool of worker threads
+ * shared with other reconcilers, see {@link #setUseSharedScheduler(boolean)}.
+ * </p>
+ * <p>
  * It is subclass responsibility to specify how dirty regions are processed.
  * </p>
  *
@@ -49,11 +58,76 @@ import org.eclipse.jface.text.ITextViewer;
  */
 abstract public class AbstractReconciler implements IReconciler {
 
+	/**
+	 * The reconciling activity, run either by a dedicated background thread or by the shared
+	 * {@link ReconcilerScheduler}.
+	 *
+	 * @since 3.25
+	 */
+	interface BackgroundActivity {
+
+		/**
+		 * Returns whether a reconciling strategy is active right now.
+		 *
+		 * @return <code>true</code> if a activity is active
+		 */
+		boolean isActive();
+
+		/**
+		 * Returns whether some changes need to be processed.
+		 *
+		 * @return <code>true</code> if changes wait to be processed
+		 */
+		boolean isDirty();
+
+		/**
+		 * Returns whether the activity has been started and not yet been canceled or terminated.
+		 *
+		 * @return <code>true</code> if the activity is alive
+		 */
+		boolean isAlive();
+
+		/**
+		 * Returns whether the calling thread currently runs this activity.
+		 *
+		 * @return <code>true</code> if called from this activity
+		 */
+		boolean isCurrentThread();
+
+		/**
+		 * Starts the activity.
+		 *
+		 * @throws IllegalThreadStateException if the activity has already been started
+		 */
+		void start();
+
+		/**
+		 * Cancels the activity.
+		 */
+		void cancel();
+
+		/**
+		 * Suspends the caller of this method until the activity has emptied the dirty region
+		 * queue.
+		 */
+		void suspendCallerWhileDirty();
+
+		/**
+		 * Resets the activity as the text viewer has been changed.
+		 */
+		void reset();
+
+		/**
+		 * Stops waiting for further changes, see {@link AbstractReconciler#signalWaitForFinish()}.
+		 */
+		void wakeUp();
+	}
+
 
 	/**
 	 * Background thread for the reconciling activity.
 	 */
-	class BackgroundThread extends Thread {
+	class BackgroundThread extends Thread implements BackgroundActivity {
 
 		/** Has the reconciler been canceled. */
 		private boolean fCanceled= false;
@@ -81,6 +155,7 @@ abstract public class AbstractReconciler implements IReconciler {
 		 *
 		 * @return <code>true</code> if a activity is active
 		 */
+		@Override
 		public boolean isActive() {
 			return fIsActive;
 		}
@@ -91,13 +166,20 @@ abstract public class AbstractReconciler implements IReconciler {
 		 * @return <code>true</code> if changes wait to be processed
 		 * @since 3.0
 		 */
+		@Override
 		public synchronized boolean isDirty() {
 			return fIsDirty;
 		}
 
+		@Override
+		public boolean isCurrentThread() {
+			return Thread.currentThread() == this;
+		}
+
 		/**
 		 * Cancels the background thread.
 		 */
+		@Override
 		public void cancel() {
 			fCanceled= true;
 			IProgressMonitor pm= fProgressMonitor;
@@ -112,25 +194,15 @@ abstract public class AbstractReconciler implements IReconciler {
 		 * Suspends the caller of this method until this background thread has
 		 * emptied the dirty region queue.
 		 */
+		@Override
 		public void suspendCallerWhileDirty() {
-			AbstractReconciler.this.signalWaitForFinish();
-			boolean isDirty;
-			do {
-				synchronized (fDirtyRegionQueue) {
-					isDirty= fDirtyRegionQueue.getSize() > 0;
-					if (isDirty) {
-						try {
-							fDirtyRegionQueue.wait();
-						} catch (InterruptedException x) {
-						}
-					}
-				}
-			} while (isDirty);
+			waitWhileDirty();
 		}
 
 		/**
 		 * Reset the background thread as the text viewer has been changed,
 		 */
+		@Override
 		public void reset() {
 
 			if (fDelay > 0) {
@@ -158,6 +230,13 @@ abstract public class AbstractReconciler implements IReconciler {
 			reconcilerReset();
 		}
 
+		@Override
+		public void wakeUp() {
+			synchronized (fDirtyRegionQueue) {
+				fDirtyRegionQueue.notifyAll(); // notify AbstractReconciler#delay about waitFinish
+			}
+		}
+
 		/**
 		 * The background activity. Waits until there is something in the
 		 * queue managing the changes that have been applied to the text viewer.
@@ -220,6 +299,166 @@ abstract public class AbstractReconciler implements IReconciler {
 		}
 	}
 
+	/**
+	 * Reconciling activity run by the shared {@link ReconcilerScheduler}. The dirty regions are
+	 * processed as by the {@link BackgroundThread}, but instead of waiting for further changes, the
+	 * activity schedules its next run and returns the worker thread to the scheduler.
+	 *
+	 * @since 3.25
+	 */
+	class SharedActivity extends ReconcilerScheduler.Task implements BackgroundActivity {
+
+		/** Has the reconciler been canceled. */
+		private volatile boolean fCanceled= false;
+		/** Has the activity been started. */
+		private volatile boolean fStarted= false;
+		/** Has the initial process been run. */
+		private boolean fInitialized= false;
+		/** Some changes need to be processed. */
+		private boolean fIsDirty= false;
+		/** Is a reconciling strategy active. */
+		private volatile boolean fIsActive= false;
+		/** The worker thread running this activity or <code>null</code>. */
+		private volatile Thread fWorker;
+
+		@Override
+		long getPriority() {
+			return fFocusStamp;
+		}
+
+		@Override
+		Object getDocument() {
+			return fDocument;
+		}
+
+		@Override
+		public boolean isActive() {
+			return fIsActive;
+		}
+
+		@Override
+		public synchronized boolean isDirty() {
+			return fIsDirty;
+		}
+
+		@Override
+		public boolean isAlive() {
+			return fStarted && !fCanceled;
+		}
+
+		@Override
+		public boolean isCurrentThread() {
+			return Thread.currentThread() == fWorker;
+		}
+
+		@Override
+		public synchronized void start() {
+			if (fStarted)
+				throw new IllegalThreadStateException();
+			fStarted= true;
+			schedule();
+		}
+
+		@Override
+		public void cancel() {
+			fCanceled= true;
+			ReconcilerScheduler.getDefault().cancel(this);
+			IProgressMonitor pm= fProgressMonitor;
+			if (pm != null)
+				pm.setCanceled(true);
+			synchronized (fDirtyRegionQueue) {
+				fDirtyRegionQueue.notifyAll();
+			}
+		}
+
+		@Override
+		public void suspendCallerWhileDirty() {
+			waitWhileDirty();
+		}
+
+		@Override
+		public void reset() {
+			synchronized (this) {
+				fIsDirty= true;
+			}
+			synchronized (fDirtyRegionQueue) {
+				fDirtyRegionQueue.notifyAll();
+			}
+
+			informNotFinished();
+			reconcilerReset();
+			schedule();
+		}
+
+		@Override
+		public void wakeUp() {
+			if (isAlive() && ReconcilerScheduler.getDefault().isScheduled(this))
+				schedule();
+		}
+
+		/**
+		 * Schedules the next run after the reconciler delay, or immediately if the reconciler
+		 * should finish as soon as possible.
+		 */
+		private void schedule() {
+			if (!fCanceled)
+				ReconcilerScheduler.getDefault().schedule(this, waitFinish ? 0 : fDelay);
+		}
+
+		/**
+		 * Runs {@link AbstractReconciler#initialProcess()} on the first run, afterwards removes the
+		 * first change from the queue and processes it.
+		 */
+		@Override
+		public void run() {
+			if (fCanceled)
+				return;
+
+			fWorker= Thread.currentThread();
+			try {
+				if (!fInitialized) {
+					fInitialized= true;
+					initialProcess();
+				} else if (!isDirty()) {
+					waitFinish= false; //signalWaitForFinish() was called but nothing todo
+					return;
+				} else {
+					DirtyRegion r= null;
+					synchronized (fDirtyRegionQueue) {
+						r= fDirtyRegionQueue.removeNextDirtyRegion();
+					}
+
+					fIsActive= true;
+
+					fProgressMonitor.setCanceled(false);
+
+					process(r);
+
+					synchronized (fDirtyRegionQueue) {
+						if (0 == fDirtyRegionQueue.getSize()) {
+							synchronized (this) {
+								fIsDirty= fProgressMonitor.isCanceled();
+							}
+							fDirtyRegionQueue.notifyAll();
+						}
+					}
+
+					fIsActive= false;
+				}
+
+				if (isDirty())
+					schedule();
+
+			} catch (RuntimeException | Error x) {
+				// like a dying background thread, the reconciler stops working
+				fCanceled= true;
+				throw x;
+			} finally {
+				fWorker= null;
+			}
+		}
+	}
+
 	/**
 	 * Internal document listener and text input listener.
 	 */
@@ -233,7 +472,7 @@ abstract public class AbstractReconciler implements IReconciler {
 		public void documentChanged(DocumentEvent e) {
 
 			if (fThread.isActive() || !fThread.isDirty() && fThread.isAlive()) {
-				if (!fIsAllowedToModifyDocument && Thread.currentThread() == fThread)
+				if (!fIsAllowedToModifyDocument && fThread.isCurrentThread())
 					throw new UnsupportedOperationException("The reconciler thread is not allowed to modify the document"); //$NON-NLS-1$
 				aboutToBeReconciledInternal();
 			}
@@ -297,8 +536,8 @@ abstract public class AbstractReconciler implements IReconciler {
 
 	/** Queue to manage the changes applied to the text viewer. */
 	private DirtyRegionQueue fDirtyRegionQueue;
-	/** The background thread. */
-	private BackgroundThread fThread;
+	/** The background activity. */
+	private BackgroundActivity fThread;
 	/** Internal document and text input listener. */
 	private Listener fListener;
 	/** The background thread delay. */
@@ -314,6 +553,22 @@ abstract public class AbstractReconciler implements IReconciler {
 	 * @since 3.2
 	 */
 	private boolean fIsAllowedToModifyDocument= true;
+	/**
+	 * Tells whether this reconciler uses the shared scheduler instead of its own background thread.
+	 * @since 3.25
+	 */
+	private boolean fUseSharedScheduler= Boolean.getBoolean("org.eclipse.jface.text.reconciler.useSharedScheduler"); //$NON-NLS-1$
+	/**
+	 * Stamp of the last focus gain of the text viewer, used to prioritize the reconciling of the
+	 * most recently focused viewer in the shared scheduler.
+	 * @since 3.25
+	 */
+	private volatile long fFocusStamp;
+	/**
+	 * The focus listener updating the focus stamp, or <code>null</code>.
+	 * @since 3.25
+	 */
+	private FocusListener fFocusListener;
 
 
 	/** The text viewer's document. */
@@ -391,6 +646,23 @@ abstract public class AbstractReconciler implements IReconciler {
 		fIsAllowedToModifyDocument= isAllowedToModify;
 	}
 
+	/**
+	 * Tells the reconciler whether it should be run by a bounded pool of worker threads shared
+	 * with other reconcilers instead of by its own background thread. The shared workers run the
+	 * reconciler of the most recently focused text viewer first. This method has to be called
+	 * before the reconciler is installed.
+	 * <p>
+	 * The default is given by the system property
+	 * <code>org.eclipse.jface.text.reconciler.useSharedScheduler</code>.
+	 * </p>
+	 *
+	 * @param useSharedScheduler <code>true</code> to use the shared scheduler
+	 * @since 3.25
+	 */
+	public void setUseSharedScheduler(boolean useSharedScheduler) {
+		fUseSharedScheduler= useSharedScheduler;
+	}
+
 	/**
 	 * Sets the progress monitor of this reconciler.
 	 *
@@ -449,7 +721,21 @@ abstract public class AbstractReconciler implements IReconciler {
 		synchronized (this) {
 			if (fThread != null)
 				return;
-			fThread= new BackgroundThread(getClass().getName());
+			fThread= fUseSharedScheduler ? new SharedActivity() : new BackgroundThread(getClass().getName());
+		}
+
+		if (fUseSharedScheduler) {
+			fFocusStamp= ReconcilerScheduler.nextStamp();
+			StyledText textWidget= textViewer.getTextWidget();
+			if (textWidget != null && !textWidget.isDisposed()) {
+				fFocusListener= new FocusAdapter() {
+					@Override
+					public void focusGained(FocusEvent e) {
+						fFocusStamp= ReconcilerScheduler.nextStamp();
+					}
+				};
+				textWidget.addFocusListener(fFocusListener);
+			}
 		}
 
 		fDirtyRegionQueue= new DirtyRegionQueue();
@@ -481,9 +767,16 @@ abstract public class AbstractReconciler implements IReconciler {
 			}
 			fListener= null;
 
+			if (fFocusListener != null) {
+				StyledText textWidget= fViewer.getTextWidget();
+				if (textWidget != null && !textWidget.isDisposed())
+					textWidget.removeFocusListener(fFocusListener);
+				fFocusListener= null;
+			}
+
 			synchronized (this) {
 				// http://dev.eclipse.org/bugs/show_bug.cgi?id=19135
-				BackgroundThread bt= fThread;
+				BackgroundActivity bt= fThread;
 				fThread= null;
 				bt.cancel();
 			}
@@ -548,8 +841,31 @@ abstract public class AbstractReconciler implements IReconciler {
 	public void signalWaitForFinish() {
 		synchronized (fDirtyRegionQueue) {
 			waitFinish= true;
-			fDirtyRegionQueue.notifyAll(); // notify AbstractReconciler#delay about waitFinish
 		}
+		BackgroundActivity activity= fThread;
+		if (activity != null)
+			activity.wakeUp();
+	}
+
+	/**
+	 * Suspends the caller of this method until the dirty region queue is empty.
+	 *
+	 * @since 3.25
+	 */
+	private void waitWhileDirty() {
+		signalWaitForFinish();
+		boolean isDirty;
+		do {
+			synchronized (fDirtyRegionQueue) {
+				isDirty= fDirtyRegionQueue.getSize() > 0;
+				if (isDirty) {
+					try {
+						fDirtyRegionQueue.wait();
+					} catch (InterruptedException x) {
+					}
+				}
+			}
+		} while (isDirty);
 	}
 
 	private void informNotFinished() {
@@ -635,12 +951,15 @@ abstract public class AbstractReconciler implements IReconciler {
 
 	/**
 	 * Tells whether the code is running in this reconciler's
-	 * background thread.
+	 * background thread, or in a worker of the shared scheduler
+	 * currently running this reconciler.
 	 *
 	 * @return <code>true</code> if running in this reconciler's background thread
 	 * @since 3.4
+	 * @see #setUseSharedScheduler(boolean)
 	 */
 	protected boolean isRunningInReconcilerThread() {
-		return Thread.currentThread() == fThread;
+		BackgroundActivity activity= fThread;
+		return activity != null && activity.isCurrentThread();
 	}
 }
@@ -0,0 +1,268 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.reconciler;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.ILog;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+
+
+/**
+ * Scheduler shared by all reconcilers which do not use a dedicated background thread, see
+ * {@link AbstractReconciler#setUseSharedScheduler(boolean)}. A bounded number of daemon worker
+ * threads runs the tasks of all these reconcilers.
+ * <p>
+ * Each task is pending at most once: scheduling a pending task again only moves its due time, and
+ * scheduling a running task makes it pending again as soon as its current run is finished. A task
+ * is never run by two workers at the same time. Among the due tasks, the one with the highest
+ * priority is run first.
+ * </p>
+ * <p>
+ * Pending tasks are kept per document. Scheduling a task also moves the pending tasks of the same
+ * document back to its due time, so that the work of all reconcilers of a document is run once the
+ * document has not been changed for their delay.
+ * </p>
+ */
+final class ReconcilerScheduler {
+
+	/**
+	 * A unit of work managed by the scheduler.
+	 */
+	static abstract class Task implements Runnable {
+
+		/** The time in nanoseconds at which the task is due. */
+		private long fDueTime;
+		/** Whether the task waits to be run. */
+		private boolean fPending;
+		/** Whether the task is being run. */
+		private boolean fRunning;
+		/** Whether the task has been scheduled while being run. */
+		private boolean fRescheduled;
+		/** The key under which the task is pending. */
+		private Object fKey;
+
+		/**
+		 * Returns the priority of this task. Due tasks with a higher priority are run first.
+		 *
+		 * @return the priority of this task
+		 */
+		abstract long getPriority();
+
+		/**
+		 * Returns the document this task works on.
+		 *
+		 * @return the document of this task or <code>null</code> if none
+		 */
+		abstract Object getDocument();
+	}
+
+	/** The maximal number of worker threads. */
+	private static final int MAX_WORKERS= Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+
+	/** The shared instance. */
+	private static final ReconcilerScheduler fgInstance= new ReconcilerScheduler(MAX_WORKERS);
+
+	/** The source of increasing stamps, e.g. to prioritize the most recently focused viewer. */
+	private static final AtomicLong fgStamp= new AtomicLong();
+
+	/** The maximal number of worker threads of this scheduler. */
+	private final int fMaxWorkers;
+	/** The pending tasks by document. */
+	private final Map<Object, List<Task>> fPending= new LinkedHashMap<>();
+	/** The number of started worker threads. */
+	private int fWorkers;
+	/** The number of worker threads waiting for a due task. */
+	private int fIdleWorkers;
+
+
+	/**
+	 * Returns the scheduler shared by all reconcilers.
+	 *
+	 * @return the shared scheduler
+	 */
+	static ReconcilerScheduler getDefault() {
+		return fgInstance;
+	}
+
+	/**
+	 * Returns a stamp which is greater than all previously returned stamps.
+	 *
+	 * @return a new stamp
+	 */
+	static long nextStamp() {
+		return fgStamp.incrementAndGet();
+	}
+
+	/**
+	 * Creates a new scheduler.
+	 *
+	 * @param maxWorkers the maximal number of worker threads
+	 */
+	ReconcilerScheduler(int maxWorkers) {
+		fMaxWorkers= maxWorkers;
+	}
+
+	/**
+	 * Schedules the given task to be run after the given delay. If the task is already pending,
+	 * its due time is replaced.
+	 *
+	 * @param task the task to schedule
+	 * @param delay the delay in milliseconds
+	 */
+	synchronized void schedule(Task task, long delay) {
+		long dueTime= System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delay));
+		task.fDueTime= dueTime;
+		if (task.fRunning) {
+			task.fRescheduled= true;
+			return;
+		}
+		if (!task.fPending)
+			addPending(task);
+		for (Task other : fPending.get(task.fKey)) {
+			if (other.fDueTime - dueTime < 0)
+				other.fDueTime= dueTime;
+		}
+		if (fIdleWorkers == 0 && fWorkers < fMaxWorkers)
+			startWorker();
+		notifyAll();
+	}
+
+	/**
+	 * Removes the given task from this scheduler. A run in progress is not interrupted.
+	 *
+	 * @param task the task to remove
+	 */
+	synchronized void cancel(Task task) {
+		task.fRescheduled= false;
+		if (task.fPending)
+			removePending(task);
+	}
+
+	/**
+	 * Returns whether the given task is pending or being run.
+	 *
+	 * @param task the task
+	 * @return <code>true</code> if the task is pending or being run
+	 */
+	synchronized boolean isScheduled(Task task) {
+		return task.fPending || task.fRunning;
+	}
+
+	private void addPending(Task task) {
+		Object document= task.getDocument();
+		task.fKey= document != null ? document : task;
+		task.fPending= true;
+		fPending.computeIfAbsent(task.fKey, key -> new ArrayList<>()).add(task);
+	}
+
+	private void removePending(Task task) {
+		List<Task> tasks= fPending.get(task.fKey);
+		tasks.remove(task);
+		if (tasks.isEmpty())
+			fPending.remove(task.fKey);
+		task.fPending= false;
+		task.fKey= null;
+	}
+
+	private void startWorker() {
+		fWorkers++;
+		Thread worker= new Thread(this::work, "Reconciler Worker #" + fWorkers); //$NON-NLS-1$
+		worker.setPriority(Thread.MIN_PRIORITY);
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	/**
+	 * The loop of a worker thread. If a task throws an error, the worker dies and a new worker is
+	 * started for the remaining pending tasks.
+	 */
+	private void work() {
+		try {
+			while (true) {
+				Task task= takeDueTask();
+				try {
+					task.run();
+				} catch (RuntimeException e) {
+					String PLUGIN_ID= "org.eclipse.jface.text"; //$NON-NLS-1$
+					ILog log= ILog.of(Platform.getBundle(PLUGIN_ID));
+					log.log(new Status(IStatus.ERROR, PLUGIN_ID, IStatus.OK, "Unexpected runtime error while reconciling", e)); //$NON-NLS-1$
+				} finally {
+					synchronized (this) {
+						task.fRunning= false;
+						if (task.fRescheduled) {
+							task.fRescheduled= false;
+							addPending(task);
+							notifyAll();
+						}
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			// the worker stops
+		} finally {
+			synchronized (this) {
+				fWorkers--;
+				if (!fPending.isEmpty() && fIdleWorkers == 0)
+					startWorker();
+			}
+		}
+	}
+
+	/**
+	 * Waits for a due task, marks it as running and returns it.
+	 *
+	 * @return the due task with the highest priority
+	 * @throws InterruptedException if the worker thread is interrupted
+	 */
+	private synchronized Task takeDueTask() throws InterruptedException {
+		while (true) {
+			long now= System.nanoTime();
+			long wait= Long.MAX_VALUE;
+			Task task= null;
+			for (List<Task> tasks : fPending.values()) {
+				for (Task candidate : tasks) {
+					long remaining= candidate.fDueTime - now;
+					if (remaining > 0)
+						wait= Math.min(wait, remaining);
+					else if (task == null || candidate.getPriority() > task.getPriority())
+						task= candidate;
+				}
+			}
+
+			if (task != null) {
+				removePending(task);
+				task.fRunning= true;
+				return task;
+			}
+
+			fIdleWorkers++;
+			try {
+				if (wait == Long.MAX_VALUE)
+					wait();
+				else
+					TimeUnit.NANOSECONDS.timedWait(this, wait);
+			} finally {
+				fIdleWorkers--;
+			}
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,9 +16,18 @@ package org.eclipse.jface.text.rules;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.ILog;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+
+import org.eclipse.jface.internal.text.SnapshotDocument;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.BadPositionCategoryException;
@@ -26,6 +35,7 @@ import org.eclipse.jface.text.DefaultPositionUpdater;
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.DocumentRewriteSession;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension5;
 import org.eclipse.jface.text.IDocumentPartitioner;
 import org.eclipse.jface.text.IDocumentPartitionerExtension;
 import org.eclipse.jface.text.IDocumentPartitionerExtension2;
@@ -54,6 +64,16 @@ import org.eclipse.jface.text.TypedRegion;
  * {@link #clearPositionCache()} after modifying the partitioner's positions.
  * The cached positions may be accessed through {@link #getPositions()}.
  * </p>
+ * <p>
+ * After a document change, the partitioning is repaired starting at the changed
+ * partition. The repair stops as soon as the scanner is back in the state of the
+ * previous run, i.e. at a line start behind the change which is outside of any
+ * partition in both runs, or at a partition which is unchanged.
+ * </p>
+ * <p>
+ * The initial partitioning of large documents can be computed in the background,
+ * see {@link #setBackgroundInitialization(boolean)}.
+ * </p>
  *
  * @see IPartitionTokenScanner
  * @since 3.1
@@ -97,6 +117,116 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	 * someone requests partition information.
 	 */
 	private Position[] fCachedPositions= null;
+	/**
+	 * Whether the initial partitioning of large documents is computed in the background.
+	 * @since 3.25
+	 */
+	private boolean fBackgroundInitialization= false;
+	/**
+	 * The offset up to which the document has been partitioned or <code>-1</code> if the
+	 * document has been partitioned completely. The scanner is in its default state at this
+	 * offset.
+	 * @since 3.25
+	 */
+	private int fPartitionedEnd= -1;
+	/**
+	 * The background scan partitioning the document behind {@link #fPartitionedEnd} or
+	 * <code>null</code>.
+	 * @since 3.25
+	 */
+	private BackgroundScan fBackgroundScan;
+
+	/**
+	 * The length from which on the initial partitioning of a document is computed in the
+	 * background.
+	 * @since 3.25
+	 */
+	private static final int BACKGROUND_INITIALIZATION_THRESHOLD= 1024 * 1024;
+	/**
+	 * The number of characters scanned in one step of the initial partitioning.
+	 * @since 3.25
+	 */
+	private static final int SCAN_CHUNK_SIZE= 64 * 1024;
+
+	/**
+	 * The executor running the background scans of all partitioners.
+	 * @since 3.25
+	 */
+	private static final ExecutorService fgExecutor= new ThreadPoolExecutor(0, 1, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+		Thread thread= new Thread(r, "Document Partitioner"); //$NON-NLS-1$
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * Scans a snapshot of the document behind the partitioned range in the background. The
+	 * scanner is only used while holding its lock. The found partitions are added to the document
+	 * by the document's thread, see {@link FastPartitioner#mergeBackgroundScan()}.
+	 * @since 3.25
+	 */
+	private class BackgroundScan implements Runnable {
+
+		/** The read-only copy of the document */
+		private final IDocument fSnapshotDocument;
+		/** The offset at which the scan starts */
+		private final int fStart;
+		/** The found partitions which have not been merged yet, guarded by <code>this</code> */
+		private final List<TypedPosition> fFound= new ArrayList<>();
+		/** The offset up to which the snapshot has been scanned, guarded by <code>this</code> */
+		private int fScannedEnd;
+		/** The offset up to which the found partitions have been merged */
+		private int fMergedEnd;
+		/** The difference between document and snapshot offsets behind the partitioned range */
+		private int fDelta;
+		/** Whether the scan has been canceled */
+		private volatile boolean fCanceled;
+
+		BackgroundScan(IDocument snapshotDocument, int start) {
+			fSnapshotDocument= snapshotDocument;
+			fStart= start;
+			fScannedEnd= start;
+			fMergedEnd= start;
+		}
+
+		@Override
+		public void run() {
+			try {
+				int offset= fStart;
+				int length= fSnapshotDocument.getLength();
+				while (!fCanceled && offset < length) {
+					List<TypedPosition> found= new ArrayList<>();
+					int end= offset;
+					synchronized (fScanner) {
+						if (fCanceled)
+							break;
+						fScanner.setRange(fSnapshotDocument, offset, length - offset);
+						IToken token= fScanner.nextToken();
+						while (!token.isEOF()) {
+							String contentType= getTokenContentType(token);
+							if (isSupportedContentType(contentType))
+								found.add(new TypedPosition(fScanner.getTokenOffset(), fScanner.getTokenLength(), contentType));
+							end= fScanner.getTokenOffset() + fScanner.getTokenLength();
+							if (end - offset >= SCAN_CHUNK_SIZE)
+								break;
+							token= fScanner.nextToken();
+						}
+						if (token.isEOF())
+							end= length;
+					}
+					synchronized (this) {
+						fFound.addAll(found);
+						fScannedEnd= end;
+					}
+					offset= end;
+				}
+			} catch (RuntimeException e) {
+				String PLUGIN_ID= "org.eclipse.jface.text"; //$NON-NLS-1$
+				ILog log= ILog.of(Platform.getBundle(PLUGIN_ID));
+				log.log(new Status(IStatus.ERROR, PLUGIN_ID, IStatus.OK, "Unexpected runtime error while partitioning the document", e)); //$NON-NLS-1$
+			}
+		}
+	}
+
 	/** Debug option for cache consistency checking. */
 	private static final boolean CHECK_CACHE_CONSISTENCY= "true".equalsIgnoreCase(Platform.getDebugOption("org.eclipse.jface.text/debug/FastPartitioner/PositionCache"));  //$NON-NLS-1$//$NON-NLS-2$;
 
@@ -114,6 +244,32 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 		fPositionUpdater= new DefaultPositionUpdater(fPositionCategory);
 	}
 
+	/**
+	 * Sets whether the initial partitioning of large documents is computed in the background.
+	 * Must be called before this partitioner is connected to a document. The default is
+	 * <code>false</code>.
+	 * <p>
+	 * If enabled, the initialization of a large document which implements
+	 * {@link IDocumentExtension5} only partitions the beginning of the document. The remainder is
+	 * scanned in the background on a snapshot of the document, and the found partitions are added
+	 * the next time this partitioner is used. Queries which reach behind the range partitioned so
+	 * far scan synchronously up to the queried offset, so that the region shown first does not
+	 * wait for the complete document. Until the document is partitioned completely,
+	 * {@link #getPositions()} only returns the partitions found so far.
+	 * </p>
+	 * <p>
+	 * The background scan uses the partitioner's scanner while holding its lock. Subclasses which
+	 * use {@link #fScanner} themselves must synchronize on it.
+	 * </p>
+	 *
+	 * @param backgroundInitialization <code>true</code> to compute the initial partitioning of
+	 *            large documents in the background
+	 * @since 3.25
+	 */
+	public void setBackgroundInitialization(boolean backgroundInitialization) {
+		fBackgroundInitialization= backgroundInitialization;
+	}
+
 	@Override
 	public String[] getManagingPositionCategories() {
 		return new String[] { fPositionCategory };
@@ -149,6 +305,8 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	protected final void checkInitialization() {
 		if (!fIsInitialized)
 			initialize();
+		else if (fPartitionedEnd != -1)
+			mergeBackgroundScan();
 	}
 
 	/**
@@ -160,25 +318,181 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	protected void initialize() {
 		fIsInitialized= true;
 		clearPositionCache();
-		fScanner.setRange(fDocument, 0, fDocument.getLength());
+		cancelBackgroundScan();
+		fPartitionedEnd= -1;
 
-		try {
-			IToken token= fScanner.nextToken();
-			while (!token.isEOF()) {
+		if (fBackgroundInitialization && fDocument instanceof IDocumentExtension5 && fDocument.getLength() > BACKGROUND_INITIALIZATION_THRESHOLD) {
+			fPartitionedEnd= 0;
+			partitionUpTo(SCAN_CHUNK_SIZE, false);
+			return;
+		}
+
+		synchronized (fScanner) {
+			fScanner.setRange(fDocument, 0, fDocument.getLength());
 
-				String contentType= getTokenContentType(token);
+			try {
+				IToken token= fScanner.nextToken();
+				while (!token.isEOF()) {
 
-				if (isSupportedContentType(contentType)) {
-					TypedPosition p= new TypedPosition(fScanner.getTokenOffset(), fScanner.getTokenLength(), contentType);
-					fDocument.addPosition(fPositionCategory, p);
+					String contentType= getTokenContentType(token);
+
+					if (isSupportedContentType(contentType)) {
+						TypedPosition p= new TypedPosition(fScanner.getTokenOffset(), fScanner.getTokenLength(), contentType);
+						fDocument.addPosition(fPositionCategory, p);
+					}
+
+					token= fScanner.nextToken();
 				}
+			} catch (BadLocationException x) {
+				// cannot happen as offsets come from scanner
+			} catch (BadPositionCategoryException x) {
+				// cannot happen if document has been connected before
+			}
+		}
+	}
+
+	/**
+	 * Makes sure that the document is partitioned behind the given offset. If the document is
+	 * partially partitioned, the found partitions of the background scan are added first, and if
+	 * they do not suffice, the document is scanned synchronously.
+	 *
+	 * @param offset the offset
+	 * @param nextPartition <code>true</code> if additionally the partition which contains the
+	 *            offset or follows it must be known
+	 * @since 3.25
+	 */
+	private void partitionUpTo(int offset, boolean nextPartition) {
+		if (fPartitionedEnd == -1)
+			return;
 
-				token= fScanner.nextToken();
+		mergeBackgroundScan();
+		try {
+			if (!isPartitionedUpTo(offset, nextPartition)) {
+				cancelBackgroundScan();
+				synchronized (fScanner) {
+					int documentLength= fDocument.getLength();
+					fScanner.setRange(fDocument, fPartitionedEnd, documentLength - fPartitionedEnd);
+
+					int end= fPartitionedEnd;
+					boolean found= false;
+					IToken token= fScanner.nextToken();
+					while (!token.isEOF()) {
+						String contentType= getTokenContentType(token);
+						int start= fScanner.getTokenOffset();
+						int length= fScanner.getTokenLength();
+						end= start + length;
+						if (isSupportedContentType(contentType)) {
+							fDocument.addPosition(fPositionCategory, new TypedPosition(start, length, contentType));
+							found= found || end > offset;
+						}
+						if (end > offset && (found || !nextPartition))
+							break;
+						token= fScanner.nextToken();
+					}
+					fPartitionedEnd= token.isEOF() ? -1 : end;
+				}
 			}
 		} catch (BadLocationException x) {
 			// cannot happen as offsets come from scanner
 		} catch (BadPositionCategoryException x) {
 			// cannot happen if document has been connected before
+		} finally {
+			clearPositionCache();
+		}
+
+		if (fPartitionedEnd != -1 && fBackgroundScan == null)
+			startBackgroundScan();
+	}
+
+	/**
+	 * Returns whether the document is partitioned behind the given offset.
+	 *
+	 * @param offset the offset
+	 * @param nextPartition <code>true</code> if additionally the partition which contains the
+	 *            offset or follows it must be known
+	 * @return <code>true</code> if the partitioning is known
+	 * @throws BadPositionCategoryException if the document is not connected
+	 * @since 3.25
+	 */
+	private boolean isPartitionedUpTo(int offset, boolean nextPartition) throws BadPositionCategoryException {
+		if (fPartitionedEnd == -1)
+			return true;
+		if (offset >= fPartitionedEnd)
+			return false;
+		if (!nextPartition)
+			return true;
+		Position[] category= getPositions();
+		if (category.length == 0)
+			return false;
+		Position last= category[category.length - 1];
+		return last.getOffset() + last.getLength() > offset;
+	}
+
+	/**
+	 * Starts scanning the document behind the partitioned range in the background.
+	 *
+	 * @since 3.25
+	 */
+	private void startBackgroundScan() {
+		if (!(fDocument instanceof IDocumentExtension5))
+			return;
+		IDocument snapshotDocument= new SnapshotDocument(((IDocumentExtension5) fDocument).getSnapshot(), fDocument.getLegalLineDelimiters());
+		fBackgroundScan= new BackgroundScan(snapshotDocument, fPartitionedEnd);
+		fgExecutor.execute(fBackgroundScan);
+	}
+
+	/**
+	 * Cancels the background scan, if any.
+	 *
+	 * @since 3.25
+	 */
+	private void cancelBackgroundScan() {
+		if (fBackgroundScan != null) {
+			fBackgroundScan.fCanceled= true;
+			fBackgroundScan= null;
+		}
+	}
+
+	/**
+	 * Adds the partitions found by the background scan so far to the document and extends the
+	 * partitioned range accordingly.
+	 *
+	 * @since 3.25
+	 */
+	private void mergeBackgroundScan() {
+		BackgroundScan scan= fBackgroundScan;
+		if (scan == null)
+			return;
+
+		List<TypedPosition> found;
+		int scannedEnd;
+		synchronized (scan) {
+			found= new ArrayList<>(scan.fFound);
+			scan.fFound.clear();
+			scannedEnd= scan.fScannedEnd;
+		}
+		if (scannedEnd == scan.fMergedEnd)
+			return;
+
+		try {
+			for (TypedPosition p : found) {
+				p.setOffset(p.getOffset() + scan.fDelta);
+				fDocument.addPosition(fPositionCategory, p);
+			}
+		} catch (BadLocationException x) {
+			// cannot happen as the snapshot matches the document behind the partitioned range
+		} catch (BadPositionCategoryException x) {
+			// cannot happen if document has been connected before
+		} finally {
+			clearPositionCache();
+		}
+
+		scan.fMergedEnd= scannedEnd;
+		if (scannedEnd == scan.fSnapshotDocument.getLength()) {
+			fPartitionedEnd= -1;
+			fBackgroundScan= null;
+		} else {
+			fPartitionedEnd= scannedEnd + scan.fDelta;
 		}
 	}
 
@@ -193,6 +507,9 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 
 		Assert.isTrue(fDocument.containsPositionCategory(fPositionCategory));
 
+		cancelBackgroundScan();
+		fPartitionedEnd= -1;
+
 		try {
 			fDocument.removePositionCategory(fPositionCategory);
 		} catch (BadPositionCategoryException x) {
@@ -216,6 +533,9 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 			fStartOffset= -1;
 			fEndOffset= -1;
 			fDeleteOffset= -1;
+
+			if (fPartitionedEnd != -1)
+				mergeBackgroundScan();
 		}
 	}
 
@@ -303,6 +623,23 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 			String contentType= null;
 			int newLength= e.getText() == null ? 0 : e.getText().length();
 
+			if (fPartitionedEnd != -1) {
+				if (e.getOffset() >= fPartitionedEnd) {
+					// the change is behind the partitioned range
+					cancelBackgroundScan();
+					return null;
+				}
+				if (e.getOffset() + e.getLength() <= fPartitionedEnd) {
+					int delta= newLength - e.getLength();
+					fPartitionedEnd+= delta;
+					if (fBackgroundScan != null)
+						fBackgroundScan.fDelta+= delta;
+				} else {
+					fPartitionedEnd= e.getOffset() + newLength;
+					cancelBackgroundScan();
+				}
+			}
+
 			int first= fDocument.computeIndexInCategory(fPositionCategory, reparseStart);
 			if (first > 0)	{
 				TypedPosition partition= (TypedPosition) category[first - 1];
@@ -336,59 +673,72 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 			clearPositionCache();
 			category= getPositions();
 
-			fScanner.setPartialRange(fDocument, reparseStart, fDocument.getLength() - reparseStart, contentType, partitionStart);
-
 			int behindLastScannedPosition= reparseStart;
-			IToken token= fScanner.nextToken();
+			synchronized (fScanner) {
+				fScanner.setPartialRange(fDocument, reparseStart, fDocument.getLength() - reparseStart, contentType, partitionStart);
 
-			while (!token.isEOF()) {
+				IToken token= fScanner.nextToken();
 
-				contentType= getTokenContentType(token);
+				while (!token.isEOF()) {
 
-				if (!isSupportedContentType(contentType)) {
-					token= fScanner.nextToken();
-					continue;
-				}
+					contentType= getTokenContentType(token);
 
-				int start= fScanner.getTokenOffset();
-				int length= fScanner.getTokenLength();
+					if (!isSupportedContentType(contentType)) {
+						int end= fScanner.getTokenOffset() + fScanner.getTokenLength();
+						if (isResynchronized(category, end, e.getOffset() + newLength))
+							return completeRepair(category, first, end);
+						token= fScanner.nextToken();
+						continue;
+					}
 
-				behindLastScannedPosition= start + length;
-				int lastScannedPosition= behindLastScannedPosition - 1;
+					int start= fScanner.getTokenOffset();
+					int length= fScanner.getTokenLength();
 
-				// remove all affected positions
-				while (first < category.length) {
-					TypedPosition p= (TypedPosition) category[first];
-					if (lastScannedPosition >= p.offset + p.length ||
-							(p.overlapsWith(start, length) &&
-							 	(!fDocument.containsPosition(fPositionCategory, start, length) ||
-							 	 !contentType.equals(p.getType())))) {
+					behindLastScannedPosition= start + length;
+					int lastScannedPosition= behindLastScannedPosition - 1;
 
-						rememberRegion(p.offset, p.length);
-						fDocument.removePosition(fPositionCategory, p);
-						++ first;
+					// remove all affected positions
+					while (first < category.length) {
+						TypedPosition p= (TypedPosition) category[first];
+						if (lastScannedPosition >= p.offset + p.length ||
+								(p.overlapsWith(start, length) &&
+								 	(!fDocument.containsPosition(fPositionCategory, start, length) ||
+								 	 !contentType.equals(p.getType())))) {
 
-					} else
-						break;
-				}
+							rememberRegion(p.offset, p.length);
+							fDocument.removePosition(fPositionCategory, p);
+							++ first;
 
-				// if position already exists and we have scanned at least the
-				// area covered by the event, we are done
-				if (fDocument.containsPosition(fPositionCategory, start, length)) {
-					if (lastScannedPosition >= e.getOffset() + newLength)
-						return createRegion();
-					++ first;
-				} else {
-					// insert the new type position
-					try {
-						fDocument.addPosition(fPositionCategory, new TypedPosition(start, length, contentType));
-						rememberRegion(start, length);
-					} catch (BadPositionCategoryException x) {
-					} catch (BadLocationException x) {
+						} else
+							break;
 					}
+
+					// if position already exists and we have scanned at least the
+					// area covered by the event, we are done
+					if (fDocument.containsPosition(fPositionCategory, start, length)) {
+						if (lastScannedPosition >= e.getOffset() + newLength)
+							return createRegion();
+						++ first;
+					} else {
+						// insert the new type position
+						try {
+							fDocument.addPosition(fPositionCategory, new TypedPosition(start, length, contentType));
+							rememberRegion(start, length);
+						} catch (BadPositionCategoryException x) {
+						} catch (BadLocationException x) {
+						}
+						if (isResynchronized(category, behindLastScannedPosition, e.getOffset() + newLength))
+							return completeRepair(category, first, behindLastScannedPosition);
+					}
+
+					token= fScanner.nextToken();
 				}
+			}
 
-				token= fScanner.nextToken();
+			if (fPartitionedEnd != -1) {
+				// the document has been scanned up to its end
+				fPartitionedEnd= -1;
+				cancelBackgroundScan();
 			}
 
 			first= fDocument.computeIndexInCategory(fPositionCategory, behindLastScannedPosition);
@@ -461,6 +811,7 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	@Override
 	public String getContentType(int offset) {
 		checkInitialization();
+		partitionUpTo(offset, false);
 
 		TypedPosition p= findClosestPosition(offset);
 		if (p != null && p.includes(offset))
@@ -478,6 +829,7 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	@Override
 	public ITypedRegion getPartition(int offset) {
 		checkInitialization();
+		partitionUpTo(offset, true);
 
 		try {
 
@@ -618,6 +970,7 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	@Override
 	public ITypedRegion[] computePartitioning(int offset, int length, boolean includeZeroLengthPartitions) {
 		checkInitialization();
+		partitionUpTo(offset + length, false);
 		List<TypedRegion> list= new ArrayList<>();
 
 		try {
@@ -716,6 +1069,69 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 		return j;
 	}
 
+	/**
+	 * Returns whether the repair of a change can stop at the given offset, i.e. whether the
+	 * partitioning behind the offset is the same as before the change. This is the case if the
+	 * offset is behind the range partitioned so far, or if it is a line start behind the change
+	 * which is not contained in a previous partition. Partitions always start scanning in the
+	 * default state at such checkpoints, so the remainder of the previous scan is reused.
+	 * <p>
+	 * If the offset is behind the partitioned range, the range is extended up to the offset.
+	 * </p>
+	 *
+	 * @param category the positions of the partitioner's category before the repair
+	 * @param offset the offset behind the last scanned token
+	 * @param changeEnd the end offset of the change
+	 * @return <code>true</code> if the repair can stop at the offset
+	 * @throws BadLocationException if the offset is invalid
+	 * @since 3.25
+	 */
+	private boolean isResynchronized(Position[] category, int offset, int changeEnd) throws BadLocationException {
+		if (fPartitionedEnd != -1 && offset >= fPartitionedEnd) {
+			if (offset > fPartitionedEnd)
+				cancelBackgroundScan();
+			if (offset == fDocument.getLength()) {
+				fPartitionedEnd= -1;
+				cancelBackgroundScan();
+			} else {
+				fPartitionedEnd= offset;
+			}
+			return true;
+		}
+
+		if (offset <= changeEnd || fDocument.getLineOffset(fDocument.getLineOfOffset(offset)) != offset)
+			return false;
+
+		// previous partitions are checked whether removed by the repair or not
+		int index= getFirstIndexStartingAfterOffset(category, offset) - 1;
+		if (index < 0)
+			return true;
+		Position p= category[index];
+		return p.getOffset() + p.getLength() <= offset;
+	}
+
+	/**
+	 * Completes the repair of a change which stops at the given offset by removing the previous
+	 * partitions in front of the offset which have not been found again.
+	 *
+	 * @param category the positions of the partitioner's category before the repair
+	 * @param first the index of the first position not yet handled by the repair
+	 * @param offset the offset at which the repair stops
+	 * @return the changed partitioning region
+	 * @throws BadPositionCategoryException if the document is not connected
+	 * @since 3.25
+	 */
+	private IRegion completeRepair(Position[] category, int first, int offset) throws BadPositionCategoryException {
+		while (first < category.length) {
+			TypedPosition p= (TypedPosition) category[first++];
+			if (p.getOffset() >= offset)
+				break;
+			rememberRegion(p.offset, p.length);
+			fDocument.removePosition(fPositionCategory, p);
+		}
+		return createRegion();
+	}
+
 	/**
 	 * Returns the index of the first position which starts at or after the given offset.
 	 *
@@ -771,6 +1187,8 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	 */
 	protected final void flushRewriteSession() {
 		fActiveRewriteSession= null;
+		cancelBackgroundScan();
+		fPartitionedEnd= -1;
 
 		// remove all position belonging to the partitioner position category
 		try {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,9 @@
 package org.eclipse.jface.text.rules;
 
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.eclipse.core.runtime.Assert;
 
 import org.eclipse.jface.text.BadLocationException;
@@ -54,6 +57,29 @@ public class RuleBasedScanner implements ICharacterScanner, ITokenScanner {
 	/** Internal setting for the un-initialized column cache. */
 	protected static final int UNDEFINED= -1;
 
+	/**
+	 * The number of characters for which the candidate rules are looked up in a table.
+	 * @since 3.25
+	 */
+	private static final int DISPATCH_TABLE_SIZE= 256;
+	/**
+	 * The rules from which {@link #fDispatchTable} has been computed. The table is only computed
+	 * by {@link #setRules(IRule...)}; if {@link #fRules} has been assigned otherwise, all rules
+	 * are evaluated at every offset.
+	 * @since 3.25
+	 */
+	private IRule[] fDispatchRules;
+	/**
+	 * The rules which can match at a character, by character.
+	 * @since 3.25
+	 */
+	private IRule[][] fDispatchTable;
+	/**
+	 * The rules which can match at a character outside of {@link #fDispatchTable}.
+	 * @since 3.25
+	 */
+	private IRule[] fOtherCharacterRules;
+
 	/**
 	 * Creates a new rule based scanner which does not have any rule.
 	 */
@@ -69,6 +95,7 @@ public class RuleBasedScanner implements ICharacterScanner, ITokenScanner {
 		if (rules != null) {
 			fRules= new IRule[rules.length];
 			System.arraycopy(rules, 0, fRules, 0, rules.length);
+			computeDispatchTable();
 		} else
 			fRules= null;
 	}
@@ -161,7 +188,7 @@ public class RuleBasedScanner implements ICharacterScanner, ITokenScanner {
 		fColumn= UNDEFINED;
 
 		if (fRules != null) {
-			for (IRule fRule : fRules) {
+			for (IRule fRule : getCandidateRules()) {
 				IToken token= (fRule.evaluate(this));
 				if (!token.isUndefined())
 					return token;
@@ -173,6 +200,84 @@ public class RuleBasedScanner implements ICharacterScanner, ITokenScanner {
 		return fDefaultReturnToken;
 	}
 
+	/**
+	 * Returns the rules which can match at the current offset, in the order of
+	 * {@link #fRules}.
+	 *
+	 * @return the candidate rules
+	 * @since 3.25
+	 */
+	private IRule[] getCandidateRules() {
+		if (fDispatchRules != fRules)
+			return fRules;
+
+		int c= read();
+		unread();
+		if (c == EOF)
+			return fRules;
+		if (c < DISPATCH_TABLE_SIZE)
+			return fDispatchTable[c];
+		return fOtherCharacterRules;
+	}
+
+	/**
+	 * Computes the candidate rules for each character from the rules set by
+	 * {@link #setRules(IRule...)}.
+	 *
+	 * @since 3.25
+	 */
+	private void computeDispatchTable() {
+		fDispatchRules= fRules;
+		fDispatchTable= new IRule[DISPATCH_TABLE_SIZE][];
+		List<IRule> candidates= new ArrayList<>(fRules.length);
+		for (int c= 0; c < DISPATCH_TABLE_SIZE; c++) {
+			candidates.clear();
+			for (IRule rule : fRules) {
+				if (canStartWith(rule, (char) c))
+					candidates.add(rule);
+			}
+			fDispatchTable[c]= candidates.toArray(new IRule[candidates.size()]);
+		}
+
+		candidates.clear();
+		for (IRule rule : fRules) {
+			if (!(isPatternRule(rule) && ((PatternRule) rule).fStartSequence[0] < DISPATCH_TABLE_SIZE))
+				candidates.add(rule);
+		}
+		fOtherCharacterRules= candidates.toArray(new IRule[candidates.size()]);
+	}
+
+	/**
+	 * Returns whether the given rule can match at the given character. Rules whose match depends
+	 * on a detector are assumed to match at every character.
+	 *
+	 * @param rule the rule
+	 * @param c the character
+	 * @return <code>false</code> if the rule never matches at the character
+	 * @since 3.25
+	 */
+	private static boolean canStartWith(IRule rule, char c) {
+		if (isPatternRule(rule))
+			return ((PatternRule) rule).fStartSequence[0] == c;
+		if (rule.getClass() == NumberRule.class)
+			return Character.isDigit(c);
+		return true;
+	}
+
+	/**
+	 * Returns whether the given rule is one of the known pattern rules, which only match at the
+	 * first character of their start sequence.
+	 *
+	 * @param rule the rule
+	 * @return <code>true</code> if the rule is a known pattern rule
+	 * @since 3.25
+	 */
+	private static boolean isPatternRule(IRule rule) {
+		Class<?> ruleClass= rule.getClass();
+		return ruleClass == PatternRule.class || ruleClass == SingleLineRule.class || ruleClass == MultiLineRule.class
+				|| ruleClass == EndOfLineRule.class || ruleClass == WordPatternRule.class;
+	}
+
 	@Override
 	public int read() {
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,10 +17,12 @@ package org.eclipse.jface.text.source;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -316,6 +318,14 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 	 * @since 3.4
 	 */
 	private static final Object HIGHLIGHTING= new Object();
+	/**
+	 * The maximal number of separate line ranges that are invalidated after an
+	 * incremental update. If more ranges are affected, the range spanning all
+	 * of them is invalidated instead.
+	 *
+	 * @since 3.25
+	 */
+	private static final int MAX_DAMAGED_REGIONS= 32;
 
 	/**
 	 * The presentation information (decoration) for an annotation.  Each such
@@ -408,6 +418,28 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 	 * @since 3.3
 	 */
 	private Position fTotalDrawRange= null;
+	/**
+	 * The line ranges covering the changed highlight annotations of the
+	 * incremental update in progress or <code>null</code> if
+	 * {@link #fCurrentHighlightAnnotationRange} has to be used. Cleared once
+	 * {@link #updatePainting(AnnotationModelEvent)} has used it.
+	 * @since 3.25
+	 */
+	private List<IRegion> fCurrentHighlightDamage= null;
+	/**
+	 * The line ranges covering the changed drawn annotations of the
+	 * incremental update in progress or <code>null</code> if the clipping
+	 * region has to be computed. Cleared once
+	 * {@link #updatePainting(AnnotationModelEvent)} has used it.
+	 * @since 3.25
+	 */
+	private List<IRegion> fCurrentDrawDamage= null;
+	/**
+	 * The annotation model events received from non-UI threads that have not
+	 * been painted yet. Guarded by itself.
+	 * @since 3.25
+	 */
+	private final List<AnnotationModelEvent> fPendingEvents= new ArrayList<>();
 	/**
 	 * The text input listener.
 	 * @since 3.0
@@ -555,6 +587,9 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 		int drawRangeStart= Integer.MAX_VALUE;
 		int drawRangeEnd= -1;
 
+		List<Position> highlightDamage= new ArrayList<>();
+		List<Position> drawDamage= new ArrayList<>();
+
 		Map<Annotation, Decoration> decorationsMap;
 		Map<Annotation, Decoration> highlightedDecorationsMap;
 
@@ -601,6 +636,7 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 					if (position != null) {
 						highlightAnnotationRangeStart= Math.min(highlightAnnotationRangeStart, position.offset);
 						highlightAnnotationRangeEnd= Math.max(highlightAnnotationRangeEnd, position.offset + position.length);
+						highlightDamage.add(position);
 					}
 				}
 				decoration= decorationsMap.remove(annotation);
@@ -610,6 +646,7 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 					if (position != null) {
 						drawRangeStart= Math.min(drawRangeStart, position.offset);
 						drawRangeEnd= Math.max(drawRangeEnd, position.offset + position.length);
+						drawDamage.add(position);
 					}
 				}
 
@@ -631,6 +668,7 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 						if (removedDecoration != null) {
 							highlightAnnotationRangeStart= Math.min(highlightAnnotationRangeStart, removedDecoration.fPosition.offset);
 							highlightAnnotationRangeEnd= Math.max(highlightAnnotationRangeEnd, removedDecoration.fPosition.offset + removedDecoration.fPosition.length);
+							highlightDamage.add(removedDecoration.fPosition);
 						}
 					}
 
@@ -654,16 +692,19 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 					if (isHighlighting) {
 						highlightAnnotationRangeStart= Math.min(highlightAnnotationRangeStart, position.offset);
 						highlightAnnotationRangeEnd= Math.max(highlightAnnotationRangeEnd, position.offset + position.length);
+						highlightDamage.add(position);
 					}
 					if (usesDrawingStrategy) {
 						drawRangeStart= Math.min(drawRangeStart, position.offset);
 						drawRangeEnd= Math.max(drawRangeEnd, position.offset + position.length);
+						drawDamage.add(position);
 					}
 				} else {
 					Decoration removedDecoration= highlightedDecorationsMap.remove(annotation);
 					if (removedDecoration != null) {
 						highlightAnnotationRangeStart= Math.min(highlightAnnotationRangeStart, removedDecoration.fPosition.offset);
 						highlightAnnotationRangeEnd= Math.max(highlightAnnotationRangeEnd, removedDecoration.fPosition.offset + removedDecoration.fPosition.length);
+						highlightDamage.add(removedDecoration.fPosition);
 					}
 				}
 
@@ -691,24 +732,102 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 					decorationsMap.put(annotation, pp);
 					drawRangeStart= Math.min(drawRangeStart, pp.fPosition.offset);
 					drawRangeEnd= Math.max(drawRangeEnd, pp.fPosition.offset + pp.fPosition.length);
+					drawDamage.add(pp.fPosition);
 				} else if (pp.fPaintingStrategy instanceof ITextStyleStrategy) {
 					highlightedDecorationsMap.put(annotation, pp);
 					highlightAnnotationRangeStart= Math.min(highlightAnnotationRangeStart, pp.fPosition.offset);
 					highlightAnnotationRangeEnd= Math.max(highlightAnnotationRangeEnd, pp.fPosition.offset + pp.fPosition.length);
+					highlightDamage.add(pp.fPosition);
 				}
 
 			}
 		}
 
+		List<IRegion> drawLineRanges= isWorldChange ? null : computeLineRanges(drawDamage, document);
+		List<IRegion> highlightLineRanges= isWorldChange ? null : computeLineRanges(highlightDamage, document);
+
 		synchronized (fDecorationMapLock) {
 			fDecorationsMap= decorationsMap;
 			updateDrawRanges(drawRangeStart, drawRangeEnd, isWorldChange);
+			fCurrentDrawDamage= drawLineRanges;
 		}
 
 		synchronized (fHighlightedDecorationsMapLock) {
 			fHighlightedDecorationsMap= highlightedDecorationsMap;
 			updateHighlightRanges(highlightAnnotationRangeStart, highlightAnnotationRangeEnd, isWorldChange);
+			fCurrentHighlightDamage= highlightLineRanges;
+		}
+	}
+
+	/**
+	 * Computes the sorted, disjoint line ranges of the given document that
+	 * cover the given positions.
+	 *
+	 * @param positions the positions
+	 * @param document the document
+	 * @return the line ranges or <code>null</code> if there are more than
+	 *         {@link #MAX_DAMAGED_REGIONS} of them
+	 * @since 3.25
+	 */
+	private static List<IRegion> computeLineRanges(List<Position> positions, IDocument document) {
+		int[] starts= new int[positions.size()];
+		int[] ends= new int[positions.size()];
+		int length= document.getLength();
+		for (int i= 0; i < starts.length; i++) {
+			Position position= positions.get(i);
+			// removed annotations may have stale positions
+			starts[i]= Math.min(position.offset, length);
+			ends[i]= Math.min(position.offset + position.length, length);
+		}
+		Integer[] order= new Integer[starts.length];
+		for (int i= 0; i < order.length; i++)
+			order[i]= Integer.valueOf(i);
+		Arrays.sort(order, (i, j) -> Integer.compare(starts[i], starts[j]));
+
+		List<IRegion> ranges= new ArrayList<>();
+		int rangeStart= -1;
+		int rangeEnd= -1;
+		try {
+			for (Integer index : order) {
+				int start= document.getLineInformationOfOffset(starts[index]).getOffset();
+				int end= ends[index];
+				if (start <= rangeEnd) {
+					if (end > rangeEnd)
+						rangeEnd= lineEnd(document, end);
+					continue;
+				}
+				if (rangeStart != -1) {
+					if (ranges.size() == MAX_DAMAGED_REGIONS)
+						return null;
+					ranges.add(new Region(rangeStart, rangeEnd - rangeStart));
+				}
+				rangeStart= start;
+				rangeEnd= lineEnd(document, end);
+			}
+		} catch (BadLocationException x) {
+			return null;
+		}
+		if (rangeStart != -1) {
+			if (ranges.size() == MAX_DAMAGED_REGIONS)
+				return null;
+			ranges.add(new Region(rangeStart, rangeEnd - rangeStart));
 		}
+		return ranges;
+	}
+
+	/**
+	 * Returns the end offset of the line containing the given offset, including
+	 * its delimiter.
+	 *
+	 * @param document the document
+	 * @param offset the offset
+	 * @return the end offset of the line
+	 * @throws BadLocationException if the offset is invalid in the document
+	 * @since 3.25
+	 */
+	private static int lineEnd(IDocument document, int offset) throws BadLocationException {
+		int line= document.getLineOfOffset(offset);
+		return document.getLineOffset(line) + document.getLineLength(line);
 	}
 
 	/**
@@ -952,22 +1071,34 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 			invalidateTextPresentation();
 
 		enablePainting();
+
+		// later draw requests must not be limited to the damage of this update
+		synchronized (fDecorationMapLock) {
+			fCurrentDrawDamage= null;
+		}
+		synchronized (fHighlightedDecorationsMapLock) {
+			fCurrentHighlightDamage= null;
+		}
 	}
 
 	private void invalidateTextPresentation() {
-		IRegion r= null;
+		List<IRegion> regions= null;
 		synchronized (fHighlightedDecorationsMapLock) {
-			if (fCurrentHighlightAnnotationRange != null)
-				r= new Region(fCurrentHighlightAnnotationRange.getOffset(), fCurrentHighlightAnnotationRange.getLength());
+			if (fCurrentHighlightDamage != null)
+				regions= fCurrentHighlightDamage;
+			else if (fCurrentHighlightAnnotationRange != null)
+				regions= Collections.singletonList(new Region(fCurrentHighlightAnnotationRange.getOffset(), fCurrentHighlightAnnotationRange.getLength()));
 		}
-		if (r == null)
+		if (regions == null || regions.isEmpty())
 			return;
 
 		if (fSourceViewer instanceof ITextViewerExtension2) {
-			if (DEBUG)
-				System.out.println("AP: invalidating offset: " + r.getOffset() + ", length= " + r.getLength()); //$NON-NLS-1$ //$NON-NLS-2$
+			for (IRegion r : regions) {
+				if (DEBUG)
+					System.out.println("AP: invalidating offset: " + r.getOffset() + ", length= " + r.getLength()); //$NON-NLS-1$ //$NON-NLS-2$
 
-			((ITextViewerExtension2)fSourceViewer).invalidateTextPresentation(r.getOffset(), r.getLength());
+				((ITextViewerExtension2)fSourceViewer).invalidateTextPresentation(r.getOffset(), r.getLength());
+			}
 
 		} else {
 			fSourceViewer.invalidateTextPresentation();
@@ -1070,11 +1201,86 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 			// changes any more. If the document gets modified between
 			// now and running the posted runnable, the position information
 			// is not accurate any longer.
-			textWidgetDisplay.asyncExec(() -> {
-				if (fTextWidget != null && !fTextWidget.isDisposed())
-					updatePainting(event);
-			});
+			boolean post;
+			synchronized (fPendingEvents) {
+				// events arriving before the posted runnable is run are painted by it
+				post= fPendingEvents.isEmpty();
+				fPendingEvents.add(event);
+			}
+			if (post) {
+				textWidgetDisplay.asyncExec(() -> {
+					AnnotationModelEvent pendingEvent= takePendingEvents();
+					if (fTextWidget != null && !fTextWidget.isDisposed())
+						updatePainting(pendingEvent);
+				});
+			}
+		}
+	}
+
+	/**
+	 * Removes the pending annotation model events and merges them into one.
+	 *
+	 * @return the merged event, <code>null</code> if one of the events was
+	 *         <code>null</code>
+	 * @since 3.25
+	 */
+	private AnnotationModelEvent takePendingEvents() {
+		AnnotationModelEvent[] events;
+		synchronized (fPendingEvents) {
+			events= fPendingEvents.toArray(new AnnotationModelEvent[fPendingEvents.size()]);
+			fPendingEvents.clear();
+		}
+		return mergeEvents(events);
+	}
+
+	/**
+	 * Merges the given annotation model events into one. Annotations added and
+	 * removed again within the events are dropped, changes of annotations added
+	 * within the events are reported as additions.
+	 *
+	 * @param events the events in the order they were received, not empty
+	 * @return the merged event, <code>null</code> if one of the events was
+	 *         <code>null</code>
+	 * @since 3.25
+	 */
+	private static AnnotationModelEvent mergeEvents(AnnotationModelEvent[] events) {
+		if (events.length == 1)
+			return events[0];
+
+		Set<Annotation> added= new HashSet<>();
+		Set<Annotation> removed= new HashSet<>();
+		Set<Annotation> changed= new HashSet<>();
+		AnnotationModelEvent worldChange= null;
+		for (AnnotationModelEvent event : events) {
+			if (event == null)
+				return null;
+			if (event.isWorldChange()) {
+				// the whole model is read when the world change is painted
+				worldChange= event;
+				continue;
+			}
+			for (Annotation annotation : event.getRemovedAnnotations()) {
+				changed.remove(annotation);
+				if (!added.remove(annotation))
+					removed.add(annotation);
+			}
+			for (Annotation annotation : event.getChangedAnnotations()) {
+				if (!added.contains(annotation) && !removed.contains(annotation))
+					changed.add(annotation);
+			}
+			added.addAll(Arrays.asList(event.getAddedAnnotations()));
 		}
+		if (worldChange != null)
+			return worldChange;
+
+		AnnotationModelEvent merged= new AnnotationModelEvent(events[events.length - 1].getAnnotationModel(), false);
+		for (Annotation annotation : removed)
+			merged.annotationRemoved(annotation);
+		for (Annotation annotation : changed)
+			merged.annotationChanged(annotation);
+		for (Annotation annotation : added)
+			merged.annotationAdded(annotation);
+		return merged;
 	}
 
 	/**
@@ -1273,6 +1479,10 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 			fAnnotationType2PaintingStrategyId= null;
 		}
 
+		synchronized (fPendingEvents) {
+			fPendingEvents.clear();
+		}
+
 		fTextWidget= null;
 		fSourceViewer= null;
 		fAnnotationAccess= null;
@@ -1347,12 +1557,20 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 			return;
 		}
 
-		IRegion clippingRegion= computeClippingRegion(event, false);
-		if (clippingRegion == null)
+		List<IRegion> clippingRegions= null;
+		if (event == null) {
+			synchronized (fDecorationMapLock) {
+				clippingRegions= fCurrentDrawDamage;
+			}
+		}
+		if (clippingRegions == null) {
+			IRegion clippingRegion= computeClippingRegion(event, false);
+			if (clippingRegion == null)
+				return;
+			clippingRegions= Collections.singletonList(clippingRegion);
+		} else if (clippingRegions.isEmpty()) {
 			return;
-
-		int vOffset= clippingRegion.getOffset();
-		int vLength= clippingRegion.getLength();
+		}
 
 		final GC gc= event != null ? event.gc : null;
 
@@ -1363,6 +1581,22 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 			decorations.addAll(fDecorationsMap.entrySet());
 		}
 
+		for (IRegion clippingRegion : clippingRegions)
+			drawDecorations(decorations, gc, clippingRegion);
+	}
+
+	/**
+	 * Draws the given decorations that touch the given clipping region, layer by layer.
+	 *
+	 * @param decorations the decorations
+	 * @param gc the graphical context or <code>null</code>
+	 * @param clippingRegion the clipping region in model coordinates
+	 * @since 3.25
+	 */
+	private void drawDecorations(Collection<Entry<Annotation, Decoration>> decorations, GC gc, IRegion clippingRegion) {
+		int vOffset= clippingRegion.getOffset();
+		int vLength= clippingRegion.getLength();
+
 		/*
 		 * Create a new list of annotations to be drawn, since removing from decorations is more
 		 * expensive. One bucket per drawing layer. Use linked lists as addition is cheap here.
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -34,7 +34,6 @@ import org.eclipse.swt.events.MouseListener;
 import org.eclipse.swt.graphics.Cursor;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.GC;
-import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.widgets.Canvas;
@@ -65,11 +64,34 @@ public class AnnotationRulerColumn implements IVerticalRulerColumn, IVerticalRul
 	/**
 	 * Internal listener class.
 	 */
-	class AnnotationsListener implements IAnnotationModelListener {
+	class AnnotationsListener implements IAnnotationModelListener, IAnnotationModelListenerExtension {
 		@Override
 		public void modelChanged(IAnnotationModel model) {
+			fBuffer.invalidate();
 			postRedraw();
 		}
+
+		@Override
+		public void modelChanged(AnnotationModelEvent event) {
+			// the previous positions of changed annotations are not known
+			if (event.isWorldChange() || event.getChangedAnnotations().length > 0) {
+				fBuffer.invalidate();
+			} else {
+				for (Annotation annotation : event.getRemovedAnnotations())
+					invalidate(event.getPositionOfRemovedAnnotation(annotation));
+				IAnnotationModel model= event.getAnnotationModel();
+				for (Annotation annotation : event.getAddedAnnotations())
+					invalidate(model.getPosition(annotation));
+			}
+			postRedraw();
+		}
+
+		private void invalidate(Position position) {
+			if (position != null)
+				fBuffer.invalidate(position.getOffset(), position.getLength());
+			else
+				fBuffer.invalidate();
+		}
 	}
 
 	/**
@@ -126,8 +148,11 @@ public class AnnotationRulerColumn implements IVerticalRulerColumn, IVerticalRul
 	private IAnnotationModel fModel;
 	/** Cache for the actual scroll position in pixels */
 	private int fScrollPos;
-	/** The buffer for double buffering */
-	private Image fBuffer;
+	/**
+	 * The buffer for double buffering, retained between paints.
+	 * @since 3.25
+	 */
+	private final RulerBuffer fBuffer= new RulerBuffer();
 	/** The internal listener */
 	private AnnotationsListener fAnnotationListener= new AnnotationsListener();
 	/** The width of this vertical ruler */
@@ -487,10 +512,7 @@ public class AnnotationRulerColumn implements IVerticalRulerColumn, IVerticalRul
 		if (fModel != null)
 			fModel.removeAnnotationModelListener(fAnnotationListener);
 
-		if (fBuffer != null) {
-			fBuffer.dispose();
-			fBuffer= null;
-		}
+		fBuffer.dispose();
 
 		fConfiguredAnnotationTypes.clear();
 		fAllowedAnnotationTypes.clear();
@@ -504,37 +526,13 @@ public class AnnotationRulerColumn implements IVerticalRulerColumn, IVerticalRul
 	 * @param dest the GC to draw into
 	 */
 	private void doubleBufferPaint(GC dest) {
-
-		Point size= fCanvas.getSize();
-
-		if (size.x <= 0 || size.y <= 0)
-			return;
-
-		if (fBuffer != null) {
-			Rectangle r= fBuffer.getBounds();
-			if (r.width != size.x || r.height != size.y) {
-				fBuffer.dispose();
-				fBuffer= null;
-			}
-		}
-		if (fBuffer == null)
-			fBuffer= new Image(fCanvas.getDisplay(), size.x, size.y);
-
-		GC gc= new GC(fBuffer);
-		gc.setFont(fCachedTextWidget.getFont());
-		try {
-			gc.setBackground(fCanvas.getBackground());
-			gc.fillRectangle(0, 0, size.x, size.y);
-
+		fBuffer.paint(dest, fCanvas, fCachedTextViewer, fCanvas.getBackground(), gc -> {
+			gc.setFont(fCachedTextWidget.getFont());
 			if (fCachedTextViewer instanceof ITextViewerExtension5)
 				doPaint1(gc);
 			else
 				doPaint(gc);
-		} finally {
-			gc.dispose();
-		}
-
-		dest.drawImage(fBuffer, 0, 0);
+		});
 	}
 
 	/**
@@ -804,13 +802,23 @@ public class AnnotationRulerColumn implements IVerticalRulerColumn, IVerticalRul
 		if (fCanvas != null && !fCanvas.isDisposed()) {
 			Display d= fCanvas.getDisplay();
 			if (d != null) {
-				d.asyncExec(this::redraw);
+				d.asyncExec(this::repaint);
 			}
 		}
 	}
 
 	@Override
 	public void redraw() {
+		fBuffer.invalidate();
+		repaint();
+	}
+
+	/**
+	 * Paints the changes since the last paint.
+	 *
+	 * @since 3.25
+	 */
+	private void repaint() {
 		if (fCanvas != null && !fCanvas.isDisposed()) {
 			if (VerticalRuler.AVOID_NEW_GC) {
 				fCanvas.redraw();
@@ -837,6 +845,7 @@ public class AnnotationRulerColumn implements IVerticalRulerColumn, IVerticalRul
 			if (fModel != null)
 				fModel.addAnnotationModelListener(fAnnotationListener);
 
+			fBuffer.invalidate();
 			postRedraw();
 		}
 	}
@@ -870,6 +879,7 @@ public class AnnotationRulerColumn implements IVerticalRulerColumn, IVerticalRul
 	public void addAnnotationType(Object annotationType) {
 		fConfiguredAnnotationTypes.add(annotationType);
 		fAllowedAnnotationTypes.clear();
+		fBuffer.invalidate();
 	}
 
 	@Override
@@ -893,6 +903,7 @@ public class AnnotationRulerColumn implements IVerticalRulerColumn, IVerticalRul
 	public void removeAnnotationType(Object annotationType) {
 		fConfiguredAnnotationTypes.remove(annotationType);
 		fAllowedAnnotationTypes.clear();
+		fBuffer.invalidate();
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,9 +21,6 @@ import org.eclipse.swt.events.MouseMoveListener;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.GC;
-import org.eclipse.swt.graphics.Image;
-import org.eclipse.swt.graphics.Point;
-import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.widgets.Canvas;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
@@ -87,7 +84,7 @@ public final class ChangeRulerColumn implements IChangeRulerColumn, IRevisionRul
 		@Override
 		public void viewportChanged(int verticalPosition) {
 			if (verticalPosition != fScrollPos)
-				redraw();
+				repaint();
 		}
 
 		@Override
@@ -139,8 +136,11 @@ public final class ChangeRulerColumn implements IChangeRulerColumn, IRevisionRul
 
 	/** Cache for the actual scroll position in pixels */
 	private int fScrollPos;
-	/** The buffer for double buffering */
-	private Image fBuffer;
+	/**
+	 * The buffer for double buffering, retained between paints.
+	 * @since 3.25
+	 */
+	private final RulerBuffer fBuffer= new RulerBuffer();
 	/** Indicates whether this column reacts on text change events */
 	private boolean fSensitiveToTextChanges= false;
 
@@ -224,10 +224,7 @@ public final class ChangeRulerColumn implements IChangeRulerColumn, IRevisionRul
 			fCachedTextViewer.removeTextListener(fInternalListener);
 		}
 
-		if (fBuffer != null) {
-			fBuffer.dispose();
-			fBuffer= null;
-		}
+		fBuffer.dispose();
 	}
 
 	/**
@@ -236,35 +233,10 @@ public final class ChangeRulerColumn implements IChangeRulerColumn, IRevisionRul
 	 * @param dest the GC to draw into
 	 */
 	private void doubleBufferPaint(GC dest) {
-
-		Point size= fCanvas.getSize();
-
-		if (size.x <= 0 || size.y <= 0)
-			return;
-
-		if (fBuffer != null) {
-			Rectangle r= fBuffer.getBounds();
-			if (r.width != size.x || r.height != size.y) {
-				fBuffer.dispose();
-				fBuffer= null;
-			}
-		}
-		if (fBuffer == null)
-			fBuffer= new Image(fCanvas.getDisplay(), size.x, size.y);
-
-		GC gc= new GC(fBuffer);
-		gc.setFont(fCanvas.getFont());
-
-		try {
-			gc.setBackground(getBackground());
-			gc.fillRectangle(0, 0, size.x, size.y);
-
+		fBuffer.paint(dest, fCanvas, fCachedTextViewer, getBackground(), gc -> {
+			gc.setFont(fCanvas.getFont());
 			doPaint(gc);
-		} finally {
-			gc.dispose();
-		}
-
-		dest.drawImage(fBuffer, 0, 0);
+		});
 	}
 
 	/**
@@ -312,7 +284,16 @@ public final class ChangeRulerColumn implements IChangeRulerColumn, IRevisionRul
 
 	@Override
 	public void redraw() {
+		fBuffer.invalidate();
+		repaint();
+	}
 
+	/**
+	 * Paints the changes since the last paint.
+	 *
+	 * @since 3.25
+	 */
+	private void repaint() {
 		if (fCachedTextViewer != null && fCanvas != null && !fCanvas.isDisposed()) {
 			if (VerticalRuler.AVOID_NEW_GC) {
 				fCanvas.redraw();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.jface.text.source;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -45,6 +46,7 @@ import org.eclipse.swt.widgets.ScrollBar;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextListener;
 import org.eclipse.jface.text.ITextViewer;
@@ -405,6 +407,18 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 	private Canvas fHeader;
 	/** The buffer for double buffering */
 	private Image fBuffer;
+	/**
+	 * Tells whether {@link #fBuffer} can be reused as is when painting. Changes of the
+	 * annotations, the configuration or the visible document invalidate it.
+	 * @since 3.25
+	 */
+	private volatile boolean fIsBufferValid;
+	/**
+	 * The document modification stamp, text widget line count and client area height that
+	 * {@link #fBuffer} was painted for.
+	 * @since 3.25
+	 */
+	private long[] fBufferKey;
 	/** The internal listener */
 	private InternalListener fInternalListener= new InternalListener();
 	/** The width of this vertical ruler */
@@ -676,6 +690,15 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 				fBuffer= null;
 			}
 		}
+
+		long[] key= computeBufferKey();
+		if (fBuffer != null && fIsBufferValid && key != null && Arrays.equals(key, fBufferKey)) {
+			dest.drawImage(fBuffer, 0, 0);
+			return;
+		}
+		fIsBufferValid= true;
+		fBufferKey= key;
+
 		if (fBuffer == null)
 			fBuffer= new Image(fCanvas.getDisplay(), size.x, size.y);
 
@@ -695,6 +718,21 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 		dest.drawImage(fBuffer, 0, 0);
 	}
 
+	/**
+	 * Computes the state of the text viewer the painted buffer depends on besides the
+	 * annotations and the configuration of this ruler.
+	 *
+	 * @return the key of the buffer or <code>null</code> if it must not be reused
+	 * @since 3.25
+	 */
+	private long[] computeBufferKey() {
+		IDocument document= fTextViewer.getDocument();
+		if (!(document instanceof IDocumentExtension4))
+			return null;
+		StyledText textWidget= fTextViewer.getTextWidget();
+		return new long[] { ((IDocumentExtension4) document).getModificationStamp(), textWidget.getLineCount(), textWidget.getClientArea().height };
+	}
+
 	private void cacheAnnotations() {
 		fCachedAnnotations.clear();
 		if (fModel != null) {
@@ -882,6 +920,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 
 	 @Override
 	public void update() {
+		fIsBufferValid= false;
 		if (fCanvas != null && !fCanvas.isDisposed()) {
 			Display d= fCanvas.getDisplay();
 			if (d != null) {
@@ -902,6 +941,8 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 		if (fTextViewer == null || fModel == null)
 			return;
 
+		fIsBufferValid= false;
+
 		if (fCanvas != null && !fCanvas.isDisposed()) {
 			if (VerticalRuler.AVOID_NEW_GC) {
 				fCanvas.redraw();
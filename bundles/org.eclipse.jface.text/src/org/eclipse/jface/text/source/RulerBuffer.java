@@ -0,0 +1,251 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.source;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.widgets.Canvas;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.ITextViewerExtension5;
+import org.eclipse.jface.text.JFaceTextUtil;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.Region;
+
+/**
+ * Retained image of a vertical ruler column that shows information for the visible lines of a
+ * text viewer.
+ * <p>
+ * The image is kept between paints together with the visible widget lines, their model lines and
+ * pixels, and the modification stamp of the document it was painted for. When only the viewport
+ * moved, the still visible part of the image is copied and only the uncovered strip is painted.
+ * Dirty document ranges reported with {@link #invalidate(int, int)} only cause the lines they
+ * cover to be painted. Everything else causes the whole image to be painted.
+ * </p>
+ * <p>
+ * Painting happens in the UI thread, invalidation may happen in any thread.
+ * </p>
+ *
+ * @since 3.25
+ */
+final class RulerBuffer {
+
+	/** The image, <code>null</code> if not yet created or disposed. */
+	private Image fImage;
+	/** Tells whether the image shows the lines described by the fields below. */
+	private boolean fIsValid;
+	/** The document modification stamp the image was painted for. */
+	private long fStamp;
+	/** The background color the image was painted with. */
+	private Color fBackground;
+	/** The first widget line shown in the image. */
+	private int fTopLine;
+	/** The model lines of the widget lines shown in the image. */
+	private int[] fModelLines= new int[0];
+	/**
+	 * The pixels of the widget lines shown in the image relative to the image, with one
+	 * additional entry for the bottom of the last line.
+	 */
+	private int[] fLinePixels= new int[0];
+	/** The dirty document ranges not yet painted. Guarded by itself. */
+	private final List<Position> fDirtyRanges= new ArrayList<>();
+
+	/**
+	 * Marks the whole image as invalid.
+	 */
+	void invalidate() {
+		synchronized (fDirtyRanges) {
+			fIsValid= false;
+			fDirtyRanges.clear();
+		}
+	}
+
+	/**
+	 * Marks the lines covering the given document range as invalid.
+	 *
+	 * @param offset the offset of the range
+	 * @param length the length of the range
+	 */
+	void invalidate(int offset, int length) {
+		synchronized (fDirtyRanges) {
+			if (fIsValid)
+				fDirtyRanges.add(new Position(offset, length));
+		}
+	}
+
+	/**
+	 * Updates the image and draws it into the given GC.
+	 *
+	 * @param dest the GC to draw into
+	 * @param canvas the canvas of the ruler column
+	 * @param viewer the text viewer the ruler column belongs to
+	 * @param background the background color of the ruler column
+	 * @param painter paints the visible lines into the given GC; it may rely on the GC's clipping
+	 *            to only paint the lines that are actually needed
+	 */
+	void paint(GC dest, Canvas canvas, ITextViewer viewer, Color background, Consumer<GC> painter) {
+		Point size= canvas.getSize();
+		if (size.x <= 0 || size.y <= 0)
+			return;
+
+		if (fImage != null) {
+			Rectangle r= fImage.getBounds();
+			if (r.width != size.x || r.height != size.y) {
+				fImage.dispose();
+				fImage= null;
+			}
+		}
+		if (fImage == null) {
+			fImage= new Image(canvas.getDisplay(), size.x, size.y);
+			invalidate();
+		}
+
+		List<Position> dirtyRanges;
+		boolean isValid;
+		synchronized (fDirtyRanges) {
+			isValid= fIsValid;
+			dirtyRanges= new ArrayList<>(fDirtyRanges);
+			fDirtyRanges.clear();
+			fIsValid= true;
+		}
+
+		StyledText textWidget= viewer.getTextWidget();
+		int topLine= JFaceTextUtil.getPartialTopIndex(textWidget);
+		int bottomLine= Math.max(topLine, JFaceTextUtil.getPartialBottomIndex(textWidget));
+		int[] modelLines= new int[bottomLine - topLine + 1];
+		int[] linePixels= new int[modelLines.length + 1];
+		for (int i= 0; i < modelLines.length; i++) {
+			modelLines[i]= JFaceTextUtil.widgetLine2ModelLine(viewer, topLine + i);
+			linePixels[i]= textWidget.getLinePixel(topLine + i);
+		}
+		linePixels[modelLines.length]= textWidget.getLinePixel(Math.min(bottomLine + 1, textWidget.getLineCount()));
+		long stamp= getModificationStamp(viewer.getDocument());
+
+		GC gc= new GC(fImage);
+		try {
+			int shift= Integer.MIN_VALUE;
+			if (isValid && stamp == fStamp && stamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP && background.equals(fBackground))
+				shift= computeShift(topLine, modelLines, linePixels);
+
+			if (shift == Integer.MIN_VALUE || Math.abs(shift) >= size.y) {
+				paintArea(gc, 0, size.y, size.x, background, painter);
+			} else {
+				if (shift < 0) {
+					gc.copyArea(0, -shift, size.x, size.y + shift, 0, 0);
+					paintArea(gc, size.y + shift, -shift, size.x, background, painter);
+				} else if (shift > 0) {
+					gc.copyArea(0, 0, size.x, size.y - shift, 0, shift);
+					paintArea(gc, 0, shift, size.x, background, painter);
+				}
+				for (Position range : dirtyRanges)
+					paintRange(gc, viewer, range, size, background, painter);
+			}
+		} finally {
+			gc.dispose();
+		}
+
+		fStamp= stamp;
+		fBackground= background;
+		fTopLine= topLine;
+		fModelLines= modelLines;
+		fLinePixels= linePixels;
+
+		dest.drawImage(fImage, 0, 0);
+	}
+
+	/**
+	 * Computes by how many pixels the lines shown in the image moved.
+	 *
+	 * @param topLine the first visible widget line
+	 * @param modelLines the model lines of the visible widget lines
+	 * @param linePixels the pixels of the visible widget lines
+	 * @return the shift or {@link Integer#MIN_VALUE} if the lines still visible did not move
+	 *         uniformly or changed
+	 */
+	private int computeShift(int topLine, int[] modelLines, int[] linePixels) {
+		int first= Math.max(topLine, fTopLine);
+		int last= Math.min(topLine + modelLines.length, fTopLine + fModelLines.length) - 1;
+		if (first > last)
+			return Integer.MIN_VALUE;
+
+		int shift= linePixels[first - topLine] - fLinePixels[first - fTopLine];
+		for (int line= first; line <= last; line++) {
+			if (modelLines[line - topLine] != fModelLines[line - fTopLine])
+				return Integer.MIN_VALUE;
+			if (linePixels[line + 1 - topLine] - fLinePixels[line + 1 - fTopLine] != shift)
+				return Integer.MIN_VALUE;
+		}
+		return shift;
+	}
+
+	private void paintRange(GC gc, ITextViewer viewer, Position range, Point size, Color background, Consumer<GC> painter) {
+		IRegion widgetRange;
+		if (viewer instanceof ITextViewerExtension5) {
+			widgetRange= ((ITextViewerExtension5) viewer).modelRange2WidgetRange(new Region(range.getOffset(), range.getLength()));
+		} else {
+			IRegion visible= viewer.getVisibleRegion();
+			int start= Math.max(range.getOffset(), visible.getOffset());
+			int end= Math.min(range.getOffset() + range.getLength(), visible.getOffset() + visible.getLength());
+			widgetRange= start <= end ? new Region(start - visible.getOffset(), end - start) : null;
+		}
+		if (widgetRange == null)
+			return;
+
+		StyledText textWidget= viewer.getTextWidget();
+		int charCount= textWidget.getCharCount();
+		int startLine= textWidget.getLineAtOffset(Math.min(widgetRange.getOffset(), charCount));
+		int endLine= textWidget.getLineAtOffset(Math.min(widgetRange.getOffset() + widgetRange.getLength(), charCount));
+		int y= textWidget.getLinePixel(startLine);
+		int bottom= textWidget.getLinePixel(endLine + 1);
+		if (bottom <= 0 || y >= size.y)
+			return;
+		paintArea(gc, y, bottom - y, size.x, background, painter);
+	}
+
+	private static void paintArea(GC gc, int y, int height, int width, Color background, Consumer<GC> painter) {
+		gc.setClipping(0, y, width, height);
+		gc.setBackground(background);
+		gc.fillRectangle(0, y, width, height);
+		painter.accept(gc);
+		gc.setClipping((Rectangle) null);
+	}
+
+	private static long getModificationStamp(IDocument document) {
+		if (document instanceof IDocumentExtension4)
+			return ((IDocumentExtension4) document).getModificationStamp();
+		return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+
+	/**
+	 * Disposes the image.
+	 */
+	void dispose() {
+		if (fImage != null) {
+			fImage.dispose();
+			fImage= null;
+		}
+		invalidate();
+	}
+}
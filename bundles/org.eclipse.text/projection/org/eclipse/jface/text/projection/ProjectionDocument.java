@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -351,6 +351,7 @@ public class ProjectionDocument extends AbstractDocument {
 				Segment segment= createSegmentFor(fragment, index);
 				segment.markForStretch();
 			}
+			fMapping.projectionChanged();
 
 			getTracker().replace(event.getOffset(), event.getLength(), event.getText());
 			super.fireDocumentChanged(event);
@@ -366,12 +367,16 @@ public class ProjectionDocument extends AbstractDocument {
 	 * @param offsetInMaster the offset of the range in the master document
 	 * @param lengthInMaster the length of the range in the master document
 	 * @return the fragment representing the given master document range
+	 * @throws BadLocationException in case the given offset is invalid in the master document
+	 * @throws BadPositionCategoryException in case the fragment category is invalid
 	 */
-	private Fragment findFragment(int offsetInMaster, int lengthInMaster) {
-		Position[] fragments= getFragments();
-		for (Position fragment : fragments) {
-			Fragment f = (Fragment) fragment;
-			if (f.getOffset() <= offsetInMaster && offsetInMaster + lengthInMaster <= f.getOffset() + f.getLength())
+	private Fragment findFragment(int offsetInMaster, int lengthInMaster) throws BadLocationException, BadPositionCategoryException {
+		Position[] fragments= fMapping.getFragments();
+		// fragments are ordered and disjoint, only the ones starting at or before the range can contain it
+		int index= fMasterDocument.computeIndexInCategory(fFragmentsCategory, offsetInMaster);
+		for (int i= Math.max(0, index - 1); i < fragments.length && fragments[i].getOffset() <= offsetInMaster; i++) {
+			Fragment f= (Fragment) fragments[i];
+			if (offsetInMaster + lengthInMaster <= f.getOffset() + f.getLength())
 				return f;
 		}
 		return null;
@@ -432,6 +437,7 @@ public class ProjectionDocument extends AbstractDocument {
 				fragment.setLength(offsetInMaster - fragment.getOffset());
 				fragment.segment.setLength(imageRegion.getOffset() - fragment.segment.getOffset());
 			}
+			fMapping.projectionChanged();
 
 			getTracker().replace(event.getOffset(), event.getLength(), event.getText());
 			super.fireDocumentChanged(event);
@@ -868,12 +874,11 @@ public class ProjectionDocument extends AbstractDocument {
 			ProjectionDocumentEvent event= new ProjectionDocumentEvent(this, 0, fMapping.getImageLength(), fMasterDocument.get(offsetInMaster, lengthInMaster), offsetInMaster, lengthInMaster);
 			super.fireDocumentAboutToBeChanged(event);
 
-			Position[] fragments= getFragments();
-			for (Position fragment1 : fragments) {
-				Fragment fragment = (Fragment) fragment1;
-				fMasterDocument.removePosition(fFragmentsCategory, fragment);
-				removePosition(fSegmentsCategory, fragment.segment);
-			}
+			// drop all fragments and segments at once instead of removing them one by one
+			fMasterDocument.removePositionCategory(fFragmentsCategory);
+			fMasterDocument.addPositionCategory(fFragmentsCategory);
+			removePositionCategory(fSegmentsCategory);
+			addPositionCategory(fSegmentsCategory);
 
 			Fragment fragment= new Fragment(offsetInMaster, lengthInMaster);
 			Segment segment= new Segment(0, 0);
@@ -881,6 +886,7 @@ public class ProjectionDocument extends AbstractDocument {
 			fragment.segment= segment;
 			fMasterDocument.addPosition(fFragmentsCategory, fragment);
 			addPosition(fSegmentsCategory, segment);
+			fMapping.projectionChanged();
 
 			getTracker().set(fMasterDocument.get(offsetInMaster, lengthInMaster));
 			super.fireDocumentChanged(event);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -36,7 +36,8 @@ import org.eclipse.core.runtime.SafeRunner;
  * interfaces {@link org.eclipse.jface.text.IDocumentExtension},
  * {@link org.eclipse.jface.text.IDocumentExtension2},
  * {@link org.eclipse.jface.text.IDocumentExtension3},
- * {@link org.eclipse.jface.text.IDocumentExtension4}, as well as
+ * {@link org.eclipse.jface.text.IDocumentExtension4},
+ * {@link org.eclipse.jface.text.IDocumentExtension5}, as well as
  * {@link org.eclipse.jface.text.IRepairableDocument}.
  * <p>
  *
@@ -59,7 +60,7 @@ import org.eclipse.core.runtime.SafeRunner;
  * @see org.eclipse.jface.text.ITextStore
  * @see org.eclipse.jface.text.ILineTracker
  */
-public abstract class AbstractDocument implements IDocument, IDocumentExtension, IDocumentExtension2, IDocumentExtension3, IDocumentExtension4, IRepairableDocument, IRepairableDocumentExtension {
+public abstract class AbstractDocument implements IDocument, IDocumentExtension, IDocumentExtension2, IDocumentExtension3, IDocumentExtension4, IDocumentExtension5, IRepairableDocument, IRepairableDocumentExtension {
 
 	/**
 	 * Tells whether this class is in debug mode.
@@ -292,7 +293,7 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	 */
 	protected void completeInitialization() {
 		addPositionCategory(DEFAULT_CATEGORY);
-		addPositionUpdater(new DefaultPositionUpdater(DEFAULT_CATEGORY));
+		addPositionUpdater(new DefaultPositionUpdater(DEFAULT_CATEGORY, true));
 	}
 
 
@@ -351,7 +352,7 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		List<Position> endPositions= fEndPositions.get(category);
 		if (endPositions == null)
 			throw new BadPositionCategoryException();
-		endPositions.add(computeIndexInPositionList(endPositions, position.offset + position.length - 1, false), position);
+		endPositions.add(computeIndexInPositionList(endPositions, getOffset(false, position), false), position);
 	}
 
 	@Override
@@ -1001,7 +1002,7 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		int size= positions.size();
 
 		//Assume position is somewhere near it was before
-		int index= computeIndexInPositionList(positions, orderedByOffset ? position.offset : position.offset + position.length - 1, orderedByOffset);
+		int index= computeIndexInPositionList(positions, getOffset(orderedByOffset, position), orderedByOffset);
 		if (index < size && positions.get(index) == position) {
 			positions.remove(index);
 			return;
@@ -1073,6 +1074,36 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		return fModificationStamp;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The content of the snapshot is shared with the text store if it implements
+	 * {@link ITextStoreExtension}, otherwise it is copied. The line information is shared with an
+	 * {@link ArrayLineTracker}, otherwise it is computed from the content when the snapshot is
+	 * first asked for it.
+	 * </p>
+	 *
+	 * @since 3.14
+	 */
+	@Override
+	public IDocumentSnapshot getSnapshot() {
+		ITextStore store= getStore();
+		CharSequence content;
+		if (store instanceof ITextStoreExtension)
+			content= ((ITextStoreExtension) store).getSnapshot();
+		else
+			content= store.get(0, store.getLength());
+
+		ILineTracker tracker= getTracker();
+		ILineTracker lines= null;
+		if (tracker instanceof ArrayLineTracker)
+			lines= ((ArrayLineTracker) tracker).createSnapshot();
+		else if (tracker instanceof MappedFileLineTracker)
+			lines= tracker;
+
+		return new DocumentSnapshot(content, getModificationStamp(), lines, tracker.getLegalLineDelimiters());
+	}
+
 	@Override
 	public void replace(int pos, int length, String text, long modificationStamp) throws BadLocationException {
 		if ((0 > pos) || (0 > length) || (pos + length > getLength()))
@@ -1131,6 +1162,70 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		fireDocumentChanged(e);
 	}
 
+	/**
+	 * Replaces the text store and the line tracker of this document with the given ones and
+	 * notifies the listeners like {@link #set(String)}. Used by documents whose text store cannot
+	 * be {@link ITextStore#set(String) set}.
+	 * <p>
+	 * The text of the event is only read from the new store when {@link DocumentEvent#getText()}
+	 * is called, its {@link DocumentEvent#fText} field is <code>null</code> until then. Listeners
+	 * that do not need the text, like the {@link DefaultPositionUpdater}, therefore never copy the
+	 * content of the store.
+	 * </p>
+	 *
+	 * @param store the new text store
+	 * @param tracker the new line tracker
+	 */
+	void setContent(ITextStore store, ILineTracker tracker) {
+		DocumentEvent e= new ContentReplacedEvent(this, getStore().getLength(), store);
+		fireDocumentAboutToBeChanged(e);
+
+		setTextStore(store);
+		setLineTracker(tracker);
+
+		fModificationStamp= getNextModificationStamp();
+		e.fModificationStamp= fModificationStamp;
+
+		fireDocumentChanged(e);
+	}
+
+	/**
+	 * The event of {@link AbstractDocument#setContent(ITextStore, ILineTracker)}, which reads its
+	 * text from the new text store on demand.
+	 */
+	private static class ContentReplacedEvent extends DocumentEvent {
+
+		/** The new text store */
+		private final ITextStore fNewStore;
+		/** The length of the new text */
+		private final int fTextLength;
+
+		/**
+		 * Creates a new event replacing the whole document with the content of the given store.
+		 *
+		 * @param document the changed document
+		 * @param length the length of the replaced text
+		 * @param newStore the new text store
+		 */
+		ContentReplacedEvent(IDocument document, int length, ITextStore newStore) {
+			super(document, 0, length, null);
+			fNewStore= newStore;
+			fTextLength= newStore.getLength();
+		}
+
+		@Override
+		public String getText() {
+			if (fText == null)
+				fText= fNewStore.get(0, fTextLength);
+			return fText;
+		}
+
+		@Override
+		int getTextLength() {
+			return fTextLength;
+		}
+	}
+
 	/**
 	 * Updates all positions of all categories to the change described by the
 	 * document event. All registered document updaters are called in the
@@ -1682,6 +1777,108 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		return positions.subList(indexStart, indexEnd);
 	}
 
+	/**
+	 * Returns all positions of the given category whose end offset (<code>offset + length</code>)
+	 * is greater than or equal to the given offset. These are the only positions that can be
+	 * affected by a change at that offset; all other positions are located completely before it.
+	 * <p>
+	 * The positions are looked up in the list of positions ordered by their end positions,
+	 * therefore this method performs in <i>O(log n + k)</i> where <var>k</var> is the number of
+	 * returned positions. The list must be ordered, see {@link #ensureEndPositionsOrdered(String)}.
+	 * </p>
+	 *
+	 * @param category the position category
+	 * @param offset the offset
+	 * @return all positions of the given category which end at or after the given offset, ordered
+	 *         by their end positions
+	 * @throws BadPositionCategoryException if category is undefined in this document
+	 */
+	Position[] getPositionsEndingAtOrAfter(String category, int offset) throws BadPositionCategoryException {
+		if (category == null)
+			throw new BadPositionCategoryException();
+
+		List<Position> positions= fEndPositions.get(category);
+		if (positions == null)
+			throw new BadPositionCategoryException();
+
+		int index= computeIndexInEndPositions(positions, offset);
+		int size= positions.size();
+		List<Position> list= new ArrayList<>(size - index);
+		for (int i= index; i < size; i++) {
+			Position position= positions.get(i);
+			if (position.offset + position.length >= offset)
+				list.add(position);
+		}
+		return list.toArray(new Position[list.size()]);
+	}
+
+	/**
+	 * Returns the index of the first position in the given list ordered by end positions which
+	 * ends at or after the given offset, empty positions located right before the offset
+	 * included.
+	 *
+	 * @param endPositions the positions ordered by their end positions
+	 * @param offset the offset
+	 * @return the index of the first position ending at or after the offset
+	 */
+	private int computeIndexInEndPositions(List<Position> endPositions, int offset) {
+		// the end list is ordered by the last character, which is offset - 1 for positions ending at offset
+		return computeIndexInPositionList(endPositions, offset - 1, false);
+	}
+
+	/**
+	 * Returns the number of positions of the given category that end before the given offset.
+	 * Used by {@link DefaultPositionUpdater} to restore the order of the positions it has updated
+	 * with {@link #sortEndPositions(String, int)}.
+	 *
+	 * @param category the position category
+	 * @param offset the offset
+	 * @return the number of positions ending before the offset
+	 * @throws BadPositionCategoryException if category is undefined in this document
+	 */
+	int countPositionsEndingBefore(String category, int offset) throws BadPositionCategoryException {
+		List<Position> positions= fEndPositions.get(category);
+		if (positions == null)
+			throw new BadPositionCategoryException();
+		return computeIndexInEndPositions(positions, offset);
+	}
+
+	/**
+	 * Sorts the list of positions of the given category ordered by end positions if it is not
+	 * ordered anymore. Positions can be changed directly or by any position updater, which does not
+	 * update the lists of this document.
+	 *
+	 * @param category the position category
+	 */
+	void ensureEndPositionsOrdered(String category) {
+		List<Position> positions= fEndPositions.get(category);
+		if (positions == null)
+			return;
+		int previous= Integer.MIN_VALUE;
+		for (Position position : positions) {
+			int end= getOffset(false, position);
+			if (end < previous) {
+				sortEndPositions(category, 0);
+				return;
+			}
+			previous= end;
+		}
+	}
+
+	/**
+	 * Sorts the positions of the given category that follow the given index in the list ordered by
+	 * end positions. An update can change the order of the end positions of the positions it
+	 * adapts, the positions that are not adapted keep their order.
+	 *
+	 * @param category the position category
+	 * @param index the index of the first position to sort
+	 */
+	void sortEndPositions(String category, int index) {
+		List<Position> positions= fEndPositions.get(category);
+		if (positions != null && index < positions.size() - 1)
+			positions.subList(index, positions.size()).sort((p1, p2) -> Integer.compare(getOffset(false, p1), getOffset(false, p2)));
+	}
+
 	/**
 	 * Logs the given exception by reusing the code in {@link SafeRunner}.
 	 *
@@ -0,0 +1,721 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+
+/**
+ * A line tracker for very large documents which considers "\n", "\r" and "\r\n" as line
+ * delimiters, like {@link DefaultLineTracker}.
+ * <p>
+ * Instead of one object per line, the line start offsets are kept in blocks of primitive arrays.
+ * Each block stores the start offsets of up to about a thousand lines relative to the start of
+ * the block, and the start offset and first line of every block are kept in a prefix sum over the
+ * blocks. {@link #set(String)} scans large texts for line delimiters in parallel using the common
+ * fork-join pool.
+ * </p>
+ * <p>
+ * <strong>Performance:</strong> Let <var>n</var> be the number of lines and <var>b</var> the
+ * number of blocks, then queries perform in <i>O(log n)</i>. A replace performs in <i>O(b)</i> plus
+ * the length of the inserted text, where the work per block is a single addition, and
+ * {@link #set(String)} performs in <i>O(n)</i>.
+ * </p>
+ * <p>
+ * Snapshots of a document using this tracker share the blocks with the tracker, which copies a
+ * block before it modifies it for the first time after a snapshot was taken.
+ * </p>
+ * <p>
+ * The tracker stays up to date during rewrite sessions.
+ * </p>
+ * <p>
+ * This class is not intended to be subclassed.
+ * </p>
+ *
+ * @see DefaultLineTracker
+ * @since 3.14
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public class ArrayLineTracker implements ILineTracker, ILineTrackerExtension {
+
+	/** Delimiter kind of a line without delimiter */
+	private static final byte NONE= 0;
+	/** Delimiter kind of a line ending with "\r" */
+	private static final byte CR= 1;
+	/** Delimiter kind of a line ending with "\n" */
+	private static final byte LF= 2;
+	/** Delimiter kind of a line ending with "\r\n" */
+	private static final byte CRLF= 3;
+
+	/** The number of lines of the blocks created by {@link #set(String)} */
+	private static final int BLOCK_SIZE= 1024;
+	/** The number of lines a block can hold before it is split */
+	private static final int BLOCK_CAPACITY= BLOCK_SIZE + BLOCK_SIZE / 4;
+	/** The minimal number of characters scanned by a single fork-join task */
+	private static final int SCAN_SEGMENT_SIZE= 256 * 1024;
+
+	/**
+	 * A block of consecutive lines.
+	 */
+	private static final class Block {
+		/** The start offsets of the lines relative to the start of the block */
+		final int[] fStarts;
+		/** The delimiter kinds of the lines */
+		final byte[] fDelimiters;
+		/** The number of lines in this block */
+		int fSize;
+		/** The number of characters in this block */
+		int fLength;
+		/** Whether this block is referenced by a snapshot and must not be modified */
+		boolean fShared;
+
+		Block(int capacity) {
+			fStarts= new int[capacity];
+			fDelimiters= new byte[capacity];
+		}
+
+		Block copy() {
+			Block block= new Block(fStarts.length);
+			System.arraycopy(fStarts, 0, block.fStarts, 0, fSize);
+			System.arraycopy(fDelimiters, 0, block.fDelimiters, 0, fSize);
+			block.fSize= fSize;
+			block.fLength= fLength;
+			return block;
+		}
+
+		int getLineEnd(int index) {
+			return index + 1 < fSize ? fStarts[index + 1] : fLength;
+		}
+
+		/**
+		 * Returns the index of the line containing the given offset.
+		 *
+		 * @param offset the offset relative to the block start
+		 * @return the line index in this block
+		 */
+		int findLine(int offset) {
+			int low= 0;
+			int high= fSize - 1;
+			while (low < high) {
+				int mid= (low + high + 1) >>> 1;
+				if (fStarts[mid] <= offset)
+					low= mid;
+				else
+					high= mid - 1;
+			}
+			return low;
+		}
+	}
+
+	/**
+	 * The line delimiters found in a part of a text, described by the offset after each delimiter
+	 * and its kind.
+	 */
+	private static final class Delimiters {
+		int[] fEnds;
+		byte[] fKinds;
+		int fSize;
+
+		Delimiters(int capacity) {
+			fEnds= new int[Math.max(capacity, 16)];
+			fKinds= new byte[fEnds.length];
+		}
+
+		void add(int end, byte kind) {
+			if (fSize == fEnds.length) {
+				int[] ends= new int[fSize * 2];
+				System.arraycopy(fEnds, 0, ends, 0, fSize);
+				fEnds= ends;
+				byte[] kinds= new byte[fSize * 2];
+				System.arraycopy(fKinds, 0, kinds, 0, fSize);
+				fKinds= kinds;
+			}
+			fEnds[fSize]= end;
+			fKinds[fSize]= kind;
+			fSize++;
+		}
+
+		/**
+		 * Adds the line delimiters in the given range of the given text. A "\r" directly before
+		 * <code>to</code> is only recorded if it is not followed by "\n" in the text.
+		 *
+		 * @param text the text
+		 * @param from the start of the range
+		 * @param to the end of the range
+		 */
+		void scan(CharSequence text, int from, int to) {
+			// String.indexOf is considerably faster than inspecting each character, the range is
+			// copied so that the search does not continue beyond its end
+			String range= from == 0 && to == text.length() && text instanceof String ? (String) text : text.subSequence(from, to).toString();
+			int cr= range.indexOf('\r');
+			int lf= range.indexOf('\n');
+			while (cr != -1 || lf != -1) {
+				if (lf != -1 && (cr == -1 || lf < cr)) {
+					int index= from + lf;
+					char previous= lf > 0 ? range.charAt(lf - 1) : index > 0 ? text.charAt(index - 1) : 0;
+					add(index + 1, previous == '\r' ? CRLF : LF);
+					lf= range.indexOf('\n', lf + 1);
+				} else {
+					int index= from + cr;
+					char next= cr + 1 < range.length() ? range.charAt(cr + 1) : index + 1 < text.length() ? text.charAt(index + 1) : 0;
+					if (next != '\n')
+						add(index + 1, CR);
+					cr= range.indexOf('\r', cr + 1);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Scans a range of a text for line delimiters, splitting large ranges into parallel tasks.
+	 */
+	private static final class ScanTask extends RecursiveAction {
+		private static final long serialVersionUID= 1L;
+
+		private final CharSequence fText;
+		private final Delimiters[] fResults;
+		private final int fFirstSegment;
+		private final int fLastSegment;
+
+		ScanTask(CharSequence text, Delimiters[] results, int firstSegment, int lastSegment) {
+			fText= text;
+			fResults= results;
+			fFirstSegment= firstSegment;
+			fLastSegment= lastSegment;
+		}
+
+		@Override
+		protected void compute() {
+			if (fFirstSegment == fLastSegment) {
+				int from= fFirstSegment * SCAN_SEGMENT_SIZE;
+				int to= Math.min(from + SCAN_SEGMENT_SIZE, fText.length());
+				Delimiters delimiters= new Delimiters((to - from) / 32);
+				delimiters.scan(fText, from, to);
+				fResults[fFirstSegment]= delimiters;
+			} else {
+				int middle= (fFirstSegment + fLastSegment) >>> 1;
+				invokeAll(new ScanTask(fText, fResults, fFirstSegment, middle), new ScanTask(fText, fResults, middle + 1, fLastSegment));
+			}
+		}
+	}
+
+	/** The blocks of lines, never empty */
+	private Block[] fBlocks;
+	/** The number of blocks */
+	private int fBlockCount;
+	/** The start offset of each block */
+	private int[] fBlockOffsets;
+	/** The number of the first line of each block */
+	private int[] fBlockLines;
+	/** The length of the tracked text */
+	private int fTextLength;
+	/** The number of lines, i.e. the number of line delimiters plus one */
+	private int fLineCount;
+	/** The line delimiters of the text inserted by the current replace operation */
+	private Delimiters fInserted= new Delimiters(16);
+	/** The active rewrite session or <code>null</code> */
+	private DocumentRewriteSession fActiveRewriteSession;
+
+	/**
+	 * Creates a new line tracker for an empty text.
+	 */
+	public ArrayLineTracker() {
+		set(""); //$NON-NLS-1$
+	}
+
+	/**
+	 * Creates an unmodifiable copy of the given tracker which shares the blocks of the given
+	 * tracker, see {@link #createSnapshot()}.
+	 *
+	 * @param tracker the tracker to copy
+	 */
+	private ArrayLineTracker(ArrayLineTracker tracker) {
+		for (int i= 0; i < tracker.fBlockCount; i++)
+			tracker.fBlocks[i].fShared= true;
+		fBlocks= Arrays.copyOf(tracker.fBlocks, tracker.fBlockCount);
+		fBlockCount= tracker.fBlockCount;
+		fBlockOffsets= Arrays.copyOf(tracker.fBlockOffsets, tracker.fBlockCount);
+		fBlockLines= Arrays.copyOf(tracker.fBlockLines, tracker.fBlockCount);
+		fTextLength= tracker.fTextLength;
+		fLineCount= tracker.fLineCount;
+	}
+
+	/**
+	 * Returns a copy of this tracker for a document snapshot. The blocks are shared between both
+	 * trackers and copied by this tracker before they are modified, so a snapshot is created in
+	 * <i>O(b)</i>. The returned tracker must not be modified.
+	 *
+	 * @return an unmodifiable copy of this tracker
+	 */
+	ArrayLineTracker createSnapshot() {
+		return new ArrayLineTracker(this);
+	}
+
+	@Override
+	public String[] getLegalLineDelimiters() {
+		return TextUtilities.copy(DefaultLineTracker.DELIMITERS);
+	}
+
+	@Override
+	public String getLineDelimiter(int line) throws BadLocationException {
+		checkLine(line);
+		if (line == fLineCount)
+			return null;
+		int block= findBlockOfLine(line);
+		switch (fBlocks[block].fDelimiters[line - fBlockLines[block]]) {
+			case CR:
+				return DefaultLineTracker.DELIMITERS[0];
+			case LF:
+				return DefaultLineTracker.DELIMITERS[1];
+			case CRLF:
+				return DefaultLineTracker.DELIMITERS[2];
+			default:
+				return null;
+		}
+	}
+
+	@Override
+	public int computeNumberOfLines(String text) {
+		int count= 0;
+		for (int i= 0, length= text.length(); i < length; i++) {
+			char c= text.charAt(i);
+			if (c == '\n' || c == '\r' && (i + 1 == length || text.charAt(i + 1) != '\n'))
+				count++;
+		}
+		return count;
+	}
+
+	@Override
+	public int getNumberOfLines() {
+		return fLineCount;
+	}
+
+	@Override
+	public int getNumberOfLines(int offset, int length) throws BadLocationException {
+		if (offset < 0 || length < 0 || offset + length > fTextLength)
+			throw new BadLocationException();
+		if (length == 0)
+			return 1;
+		return getLineNumberOfOffset(offset + length) - getLineNumberOfOffset(offset) + 1;
+	}
+
+	@Override
+	public int getLineOffset(int line) throws BadLocationException {
+		if (line < 0 || line >= fLineCount)
+			throw new BadLocationException();
+		return getLineStart(line);
+	}
+
+	@Override
+	public int getLineLength(int line) throws BadLocationException {
+		checkLine(line);
+		if (line == fLineCount)
+			return 0;
+		int block= findBlockOfLine(line);
+		int index= line - fBlockLines[block];
+		Block b= fBlocks[block];
+		return b.getLineEnd(index) - b.fStarts[index];
+	}
+
+	@Override
+	public int getLineNumberOfOffset(int offset) throws BadLocationException {
+		if (offset < 0)
+			throw new BadLocationException("Negative offset : " + offset); //$NON-NLS-1$
+		if (offset > fTextLength)
+			throw new BadLocationException("Offset > length: " + offset + " > " + fTextLength); //$NON-NLS-1$ //$NON-NLS-2$
+		int block= findBlockOfOffset(offset);
+		return fBlockLines[block] + fBlocks[block].findLine(offset - fBlockOffsets[block]);
+	}
+
+	@Override
+	public IRegion getLineInformationOfOffset(int offset) throws BadLocationException {
+		return getLineInformation(getLineNumberOfOffset(offset));
+	}
+
+	@Override
+	public IRegion getLineInformation(int line) throws BadLocationException {
+		checkLine(line);
+		if (line == fLineCount)
+			return new Region(fTextLength, 0);
+		int block= findBlockOfLine(line);
+		int index= line - fBlockLines[block];
+		Block b= fBlocks[block];
+		int start= b.fStarts[index];
+		int end= b.getLineEnd(index) - getDelimiterLength(b.fDelimiters[index]);
+		return new Region(fBlockOffsets[block] + start, end - start);
+	}
+
+	@Override
+	public void set(String text) {
+		setText(text != null ? text : ""); //$NON-NLS-1$
+	}
+
+	/**
+	 * Sets the tracked text like {@link #set(String)} without requiring a string. Used to compute
+	 * the line information of a document snapshot.
+	 *
+	 * @param text the new text
+	 */
+	void setText(CharSequence text) {
+		Delimiters[] segments;
+		int segmentCount= (text.length() + SCAN_SEGMENT_SIZE - 1) / SCAN_SEGMENT_SIZE;
+		if (segmentCount > 1) {
+			segments= new Delimiters[segmentCount];
+			ForkJoinPool.commonPool().invoke(new ScanTask(text, segments, 0, segmentCount - 1));
+		} else {
+			Delimiters delimiters= new Delimiters(16);
+			delimiters.scan(text, 0, text.length());
+			segments= new Delimiters[] { delimiters };
+		}
+
+		int delimiterCount= 0;
+		for (Delimiters segment : segments)
+			delimiterCount += segment.fSize;
+
+		fLineCount= delimiterCount + 1;
+		fTextLength= text.length();
+		fBlockCount= (fLineCount + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		fBlocks= new Block[fBlockCount];
+		fBlockOffsets= new int[fBlockCount];
+		fBlockLines= new int[fBlockCount];
+
+		int line= 0;
+		int lineStart= 0;
+		for (Delimiters segment : segments) {
+			for (int i= 0; i < segment.fSize; i++) {
+				appendLine(line++, lineStart, segment.fKinds[i]);
+				lineStart= segment.fEnds[i];
+			}
+		}
+		appendLine(line, lineStart, NONE);
+		fBlocks[fBlockCount - 1].fLength= fTextLength - fBlockOffsets[fBlockCount - 1];
+	}
+
+	/**
+	 * Appends a line while the blocks are built by {@link #set(String)}.
+	 *
+	 * @param line the number of the line
+	 * @param lineStart the start offset of the line
+	 * @param kind the delimiter kind of the line
+	 */
+	private void appendLine(int line, int lineStart, byte kind) {
+		int blockIndex= line / BLOCK_SIZE;
+		int index= line % BLOCK_SIZE;
+		if (index == 0) {
+			fBlocks[blockIndex]= new Block(BLOCK_CAPACITY);
+			fBlockOffsets[blockIndex]= lineStart;
+			fBlockLines[blockIndex]= line;
+			if (blockIndex > 0)
+				fBlocks[blockIndex - 1].fLength= lineStart - fBlockOffsets[blockIndex - 1];
+		}
+		Block block= fBlocks[blockIndex];
+		block.fStarts[index]= lineStart - fBlockOffsets[blockIndex];
+		block.fDelimiters[index]= kind;
+		block.fSize++;
+	}
+
+	@Override
+	public void replace(int offset, int length, String text) throws BadLocationException {
+		if (offset < 0 || length < 0 || offset + length > fTextLength)
+			throw new BadLocationException();
+		if (text == null)
+			text= ""; //$NON-NLS-1$
+
+		int end= offset + length;
+		int startLine= getLineNumberOfOffset(offset);
+		int endLine= getLineNumberOfOffset(end);
+
+		// a "\r" right before the change may become part of a "\r\n" delimiter
+		int firstLine= startLine;
+		boolean pendingCR;
+		if (startLine > 0 && offset == getLineStart(startLine) && getDelimiter(startLine - 1) == CR) {
+			firstLine= startLine - 1;
+			pendingCR= true;
+		} else {
+			pendingCR= getDelimiter(startLine) == CRLF && offset == getLineEnd(startLine) - 1;
+		}
+
+		int regionStart= getLineStart(firstLine);
+		Delimiters inserted= fInserted;
+		inserted.fSize= 0;
+
+		int position= offset - regionStart;
+		for (int i= 0, n= text.length(); i < n; i++, position++) {
+			char c= text.charAt(i);
+			if (pendingCR) {
+				pendingCR= false;
+				if (c == '\n') {
+					inserted.add(position + 1, CRLF);
+					continue;
+				}
+				inserted.add(position, CR);
+			}
+			if (c == '\n')
+				inserted.add(position + 1, LF);
+			else if (c == '\r')
+				pendingCR= true;
+		}
+
+		// the rest of the last line, which may start with the "\n" of a "\r\n" delimiter
+		byte lastDelimiter= getDelimiter(endLine);
+		int tailLength= getLineEnd(endLine) - end;
+		boolean tailIsLF= tailLength == 1 && (lastDelimiter == LF || lastDelimiter == CRLF);
+		if (pendingCR) {
+			if (tailIsLF) {
+				inserted.add(position + 1, CRLF);
+				lastDelimiter= NONE;
+			} else {
+				inserted.add(position, CR);
+			}
+		}
+		if (lastDelimiter != NONE)
+			inserted.add(position + tailLength, tailIsLF ? LF : lastDelimiter);
+
+		int regionLength= position + tailLength;
+		boolean trailingLine= getDelimiter(endLine) == NONE;
+		replaceLines(firstLine, endLine, regionLength, inserted, trailingLine);
+		fTextLength += text.length() - length;
+
+		if (inserted.fEnds.length > BLOCK_SIZE)
+			fInserted= new Delimiters(16);
+	}
+
+	/**
+	 * Replaces the given range of lines with the lines described by the given delimiters.
+	 *
+	 * @param firstLine the first line to replace
+	 * @param lastLine the last line to replace
+	 * @param regionLength the length of the new lines
+	 * @param delimiters the delimiters of the new lines, relative to the start of the first line
+	 * @param trailingLine <code>true</code> if the new lines end with a line without delimiter
+	 */
+	private void replaceLines(int firstLine, int lastLine, int regionLength, Delimiters delimiters, boolean trailingLine) {
+		int newLines= delimiters.fSize + (trailingLine ? 1 : 0);
+		int firstBlock= findBlockOfLine(firstLine);
+		int lastBlock= findBlockOfLine(lastLine);
+		int firstIndex= firstLine - fBlockLines[firstBlock];
+		int lastIndex= lastLine - fBlockLines[lastBlock];
+
+		Block block= fBlocks[firstBlock];
+		int regionStart= block.fStarts[firstIndex];
+		int tailCount= fBlocks[lastBlock].fSize - lastIndex - 1;
+
+		if (firstBlock == lastBlock && firstIndex + newLines + tailCount <= block.fStarts.length) {
+			// update the block in place
+			if (block.fShared) {
+				block= block.copy();
+				fBlocks[firstBlock]= block;
+			}
+			int oldRegionLength= block.getLineEnd(lastIndex) - regionStart;
+			int delta= regionLength - oldRegionLength;
+			int tailStart= lastIndex + 1;
+			int newTailStart= firstIndex + newLines;
+			System.arraycopy(block.fStarts, tailStart, block.fStarts, newTailStart, tailCount);
+			System.arraycopy(block.fDelimiters, tailStart, block.fDelimiters, newTailStart, tailCount);
+			for (int i= newTailStart, n= newTailStart + tailCount; i < n; i++)
+				block.fStarts[i] += delta;
+			writeLines(block, firstIndex, regionStart, delimiters, trailingLine);
+			block.fSize= newTailStart + tailCount;
+			block.fLength += delta;
+		} else {
+			// collect the remaining and new lines of the affected blocks and split them into new blocks
+			Block last= fBlocks[lastBlock];
+			int count= firstIndex + newLines + tailCount;
+			Block merged= new Block(count);
+			System.arraycopy(block.fStarts, 0, merged.fStarts, 0, firstIndex);
+			System.arraycopy(block.fDelimiters, 0, merged.fDelimiters, 0, firstIndex);
+			writeLines(merged, firstIndex, regionStart, delimiters, trailingLine);
+			int lastStart= fBlockOffsets[lastBlock] - fBlockOffsets[firstBlock];
+			int delta= regionStart + regionLength - (lastStart + last.getLineEnd(lastIndex));
+			for (int i= 0; i < tailCount; i++) {
+				int index= firstIndex + newLines + i;
+				merged.fStarts[index]= lastStart + last.fStarts[lastIndex + 1 + i] + delta;
+				merged.fDelimiters[index]= last.fDelimiters[lastIndex + 1 + i];
+			}
+			merged.fSize= count;
+			merged.fLength= lastStart + last.fLength + delta;
+
+			replaceBlocks(firstBlock, lastBlock, split(merged));
+		}
+
+		fLineCount += newLines - (lastLine - firstLine + 1);
+		updateBlockPrefix(firstBlock);
+	}
+
+	/**
+	 * Writes the lines described by the given delimiters into the given block.
+	 *
+	 * @param block the block
+	 * @param index the index of the first line to write
+	 * @param start the start offset of the first line relative to the block
+	 * @param delimiters the delimiters of the lines, relative to the first line
+	 * @param trailingLine whether to write a line without delimiter after the last delimiter
+	 */
+	private static void writeLines(Block block, int index, int start, Delimiters delimiters, boolean trailingLine) {
+		int lineStart= start;
+		for (int i= 0; i < delimiters.fSize; i++, index++) {
+			block.fStarts[index]= lineStart;
+			block.fDelimiters[index]= delimiters.fKinds[i];
+			lineStart= start + delimiters.fEnds[i];
+		}
+		if (trailingLine) {
+			block.fStarts[index]= lineStart;
+			block.fDelimiters[index]= NONE;
+		}
+	}
+
+	/**
+	 * Splits the given block into blocks of {@link #BLOCK_SIZE} lines.
+	 *
+	 * @param block the block to split
+	 * @return the new blocks
+	 */
+	private static Block[] split(Block block) {
+		int count= (block.fSize + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		Block[] blocks= new Block[count];
+		for (int i= 0; i < count; i++) {
+			int from= i * BLOCK_SIZE;
+			int size= Math.min(BLOCK_SIZE, block.fSize - from);
+			int offset= block.fStarts[from];
+			Block b= new Block(BLOCK_CAPACITY);
+			for (int j= 0; j < size; j++)
+				b.fStarts[j]= block.fStarts[from + j] - offset;
+			System.arraycopy(block.fDelimiters, from, b.fDelimiters, 0, size);
+			b.fSize= size;
+			b.fLength= (from + size < block.fSize ? block.fStarts[from + size] : block.fLength) - offset;
+			blocks[i]= b;
+		}
+		return blocks;
+	}
+
+	/**
+	 * Replaces the given range of blocks with the given blocks.
+	 *
+	 * @param first the first block to replace
+	 * @param last the last block to replace
+	 * @param blocks the new blocks
+	 */
+	private void replaceBlocks(int first, int last, Block[] blocks) {
+		int count= fBlockCount - (last - first + 1) + blocks.length;
+		if (count > fBlocks.length) {
+			int capacity= Math.max(count, fBlocks.length * 3 / 2);
+			Block[] newBlocks= new Block[capacity];
+			System.arraycopy(fBlocks, 0, newBlocks, 0, first);
+			System.arraycopy(fBlocks, last + 1, newBlocks, first + blocks.length, fBlockCount - last - 1);
+			fBlocks= newBlocks;
+			int[] offsets= new int[capacity];
+			System.arraycopy(fBlockOffsets, 0, offsets, 0, first + 1);
+			fBlockOffsets= offsets;
+			int[] lines= new int[capacity];
+			System.arraycopy(fBlockLines, 0, lines, 0, first + 1);
+			fBlockLines= lines;
+		} else {
+			System.arraycopy(fBlocks, last + 1, fBlocks, first + blocks.length, fBlockCount - last - 1);
+			for (int i= count; i < fBlockCount; i++)
+				fBlocks[i]= null;
+		}
+		System.arraycopy(blocks, 0, fBlocks, first, blocks.length);
+		fBlockCount= count;
+	}
+
+	/**
+	 * Recomputes the start offset and first line of all blocks after the given block.
+	 *
+	 * @param block the last block whose start offset and first line are valid
+	 */
+	private void updateBlockPrefix(int block) {
+		int offset= fBlockOffsets[block];
+		int line= fBlockLines[block];
+		for (int i= block; i < fBlockCount - 1; i++) {
+			offset += fBlocks[i].fLength;
+			line += fBlocks[i].fSize;
+			fBlockOffsets[i + 1]= offset;
+			fBlockLines[i + 1]= line;
+		}
+	}
+
+	@Override
+	public void startRewriteSession(DocumentRewriteSession session) throws IllegalStateException {
+		if (fActiveRewriteSession != null)
+			throw new IllegalStateException("Rewrite session is already active: " + fActiveRewriteSession); //$NON-NLS-1$
+		fActiveRewriteSession= session;
+	}
+
+	@Override
+	public void stopRewriteSession(DocumentRewriteSession session, String text) {
+		// all changes have already been applied
+		if (fActiveRewriteSession == session)
+			fActiveRewriteSession= null;
+	}
+
+	/**
+	 * Checks the given line number like {@link DefaultLineTracker} does: the line after the last
+	 * line is accepted if the text does not end with a line delimiter.
+	 *
+	 * @param line the line number
+	 * @throws BadLocationException if the line is not valid
+	 */
+	private void checkLine(int line) throws BadLocationException {
+		int maxLine= getLineStart(fLineCount - 1) < fTextLength ? fLineCount : fLineCount - 1;
+		if (line < 0 || line > maxLine)
+			throw new BadLocationException();
+	}
+
+	private int getLineStart(int line) {
+		int block= findBlockOfLine(line);
+		return fBlockOffsets[block] + fBlocks[block].fStarts[line - fBlockLines[block]];
+	}
+
+	private int getLineEnd(int line) {
+		int block= findBlockOfLine(line);
+		return fBlockOffsets[block] + fBlocks[block].getLineEnd(line - fBlockLines[block]);
+	}
+
+	private byte getDelimiter(int line) {
+		int block= findBlockOfLine(line);
+		return fBlocks[block].fDelimiters[line - fBlockLines[block]];
+	}
+
+	private static int getDelimiterLength(byte kind) {
+		return kind == CRLF ? 2 : kind == NONE ? 0 : 1;
+	}
+
+	private int findBlockOfLine(int line) {
+		int low= 0;
+		int high= fBlockCount - 1;
+		while (low < high) {
+			int mid= (low + high + 1) >>> 1;
+			if (fBlockLines[mid] <= line)
+				low= mid;
+			else
+				high= mid - 1;
+		}
+		return low;
+	}
+
+	private int findBlockOfOffset(int offset) {
+		int low= 0;
+		int high= fBlockCount - 1;
+		while (low < high) {
+			int mid= (low + high + 1) >>> 1;
+			if (fBlockOffsets[mid] <= offset)
+				low= mid;
+			else
+				high= mid - 1;
+		}
+		return low;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2012 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,13 +24,18 @@ import org.eclipse.core.runtime.Assert;
  * supplied in the constructor.
  * </p>
  * <p>
+ * Until the first modification, {@link #getSnapshot()} shares the initial content. Afterwards the
+ * modifiable store is asked for a snapshot if it implements {@link ITextStoreExtension}, otherwise
+ * its content is copied.
+ * </p>
+ * <p>
  * This class is not intended to be subclassed.
  * </p>
  *
  * @since 3.2
  * @noextend This class is not intended to be subclassed by clients.
  */
-public class CopyOnWriteTextStore implements ITextStore {
+public class CopyOnWriteTextStore implements ITextStore, ITextStoreExtension {
 
 	/**
 	 * An unmodifiable String based text store. It is not possible to modify the initial content.
@@ -143,6 +148,20 @@ public class CopyOnWriteTextStore implements ITextStore {
 		fTextStore.replace(offset, length, text);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @since 3.14
+	 */
+	@Override
+	public CharSequence getSnapshot() {
+		if (fTextStore instanceof StringTextStore)
+			return ((StringTextStore) fTextStore).fText;
+		if (fTextStore instanceof ITextStoreExtension)
+			return ((ITextStoreExtension) fTextStore).getSnapshot();
+		return fTextStore.get(0, fTextStore.getLength());
+	}
+
 	@Override
 	public void set(String text) {
 		fTextStore= new StringTextStore(text);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -38,6 +38,17 @@ package org.eclipse.jface.text;
  * the replaced text and afterwards inserting the new text. Thus, a position is shrunken and can
  * then be shifted (if the replaced text overlaps the offset of the position).</li>
  * </ul>
+ * <p>
+ * Positions which end before the offset of a change are not affected by that change. An updater
+ * created with {@link #DefaultPositionUpdater(String, boolean) skipPrecedingPositions} does not
+ * adapt these positions at all if the document is an {@link AbstractDocument}, so that the work
+ * per change mostly depends on the number of positions overlapping or following it. Such an
+ * updater first verifies in a single pass that the positions are still ordered by their end
+ * offsets, which is not the case if a position has been changed directly or by another updater,
+ * and sorts them again if necessary. The default updater of {@link AbstractDocument} skips the
+ * preceding positions.
+ * </p>
+ * <p>
  * This class can be used as is or be adapted by subclasses. Fields are protected to allow
  * subclasses direct access. Because of the frequency with which position updaters are used this is
  * a performance decision.
@@ -46,6 +57,11 @@ public class DefaultPositionUpdater implements IPositionUpdater {
 
 	/** The position category the updater draws responsible for */
 	private final String fCategory;
+	/**
+	 * Tells whether positions ending before a change are skipped.
+	 * @since 3.14
+	 */
+	private final boolean fSkipPrecedingPositions;
 
 	/** Caches the currently investigated position */
 	protected Position fPosition;
@@ -68,7 +84,26 @@ public class DefaultPositionUpdater implements IPositionUpdater {
 	 * @param category the category the updater is responsible for
 	 */
 	public DefaultPositionUpdater(String category) {
+		this(category, false);
+	}
+
+	/**
+	 * Creates a new default position updater for the given category.
+	 * <p>
+	 * If <code>skipPrecedingPositions</code> is <code>true</code>, positions which end before the
+	 * offset of a change are not visited by {@link #update(DocumentEvent)} if the document is an
+	 * {@link AbstractDocument}. Subclasses passing <code>true</code> must not change these
+	 * positions in <code>adaptTo*</code> or <code>notDeleted</code>, like the implementations
+	 * of this class.
+	 * </p>
+	 *
+	 * @param category the category the updater is responsible for
+	 * @param skipPrecedingPositions <code>true</code> to skip the positions ending before a change
+	 * @since 3.14
+	 */
+	public DefaultPositionUpdater(String category, boolean skipPrecedingPositions) {
 		fCategory= category;
+		fSkipPrecedingPositions= skipPrecedingPositions;
 	}
 
 	/**
@@ -209,10 +244,23 @@ public class DefaultPositionUpdater implements IPositionUpdater {
 
 			fOffset= event.getOffset();
 			fLength= event.getLength();
-			fReplaceLength= (event.getText() == null ? 0 : event.getText().length());
+			fReplaceLength= event.getTextLength();
 			fDocument= event.getDocument();
 
-			Position[] category= fDocument.getPositions(fCategory);
+			AbstractDocument document= null;
+			if (fSkipPrecedingPositions && fDocument instanceof AbstractDocument)
+				document= (AbstractDocument) fDocument;
+
+			Position[] category;
+			int unchanged= 0;
+			if (document != null) {
+				document.ensureEndPositionsOrdered(fCategory);
+				unchanged= document.countPositionsEndingBefore(fCategory, fOffset);
+				category= document.getPositionsEndingAtOrAfter(fCategory, fOffset);
+			} else {
+				category= fDocument.getPositions(fCategory);
+			}
+
 			for (Position element : category) {
 
 				fPosition= element;
@@ -223,6 +271,10 @@ public class DefaultPositionUpdater implements IPositionUpdater {
 					adaptToReplace();
 			}
 
+			// the adapted positions still end at or after the offset, but not necessarily in the same order
+			if (document != null)
+				document.sortEndPositions(fCategory, unchanged);
+
 		} catch (BadPositionCategoryException x) {
 			// do nothing
 		} finally {
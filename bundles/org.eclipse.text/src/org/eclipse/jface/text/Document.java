@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -37,7 +37,10 @@ package org.eclipse.jface.text;
  * </p>
  * <p>
  * See {@link GapTextStore} and <code>TreeLineTracker</code> for algorithmic behavior of the used
- * document structures.
+ * document structures. Use {@link #Document(String, ITextStore)} to select a different text store,
+ * e.g. a {@link PieceTableTextStore} for documents of several hundred megabytes, and
+ * {@link #Document(String, ITextStore, ILineTracker)} to also select a different line tracker, e.g.
+ * an {@link ArrayLineTracker} for documents with millions of lines.
  * </p>
  *
  * @see org.eclipse.jface.text.GapTextStore
@@ -68,6 +71,42 @@ public class Document extends AbstractDocument {
 		completeInitialization();
 	}
 
+	/**
+	 * Creates a new document with the given initial content which uses the given text store.
+	 * Unlike the other constructors, the text store is used as is, i.e. it is not wrapped inside a
+	 * {@link CopyOnWriteTextStore}. This allows to select a text store that better suits the
+	 * expected document size and editing pattern, e.g. a {@link PieceTableTextStore} for very large
+	 * documents.
+	 *
+	 * @param initialContent the document's initial content
+	 * @param textStore the text store to use, must be empty
+	 * @since 3.14
+	 */
+	public Document(String initialContent, ITextStore textStore) {
+		this(initialContent, textStore, new DefaultLineTracker());
+	}
+
+	/**
+	 * Creates a new document with the given initial content which uses the given text store and
+	 * line tracker. The text store is used as is, i.e. it is not wrapped inside a
+	 * {@link CopyOnWriteTextStore}. For documents with millions of lines, an
+	 * {@link ArrayLineTracker} needs considerably less memory than the default line tracker.
+	 *
+	 * @param initialContent the document's initial content
+	 * @param textStore the text store to use, must be empty
+	 * @param lineTracker the line tracker to use, must be empty and must consider the same line
+	 *            delimiters as {@link DefaultLineTracker}
+	 * @since 3.14
+	 */
+	public Document(String initialContent, ITextStore textStore, ILineTracker lineTracker) {
+		super();
+		setTextStore(textStore);
+		setLineTracker(lineTracker);
+		getStore().set(initialContent);
+		getTracker().set(initialContent);
+		completeInitialization();
+	}
+
 	@Override
 	public boolean isLineInformationRepairNeeded(int offset, int length, String text) throws BadLocationException {
 		if ((0 > offset) || (0 > length) || (offset + length > getLength()))
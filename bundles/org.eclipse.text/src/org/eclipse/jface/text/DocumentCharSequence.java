@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+
+/**
+ * A live character sequence view of a document, used as input for regular expression matching.
+ * The characters of an {@link AbstractDocument} are read directly from its text store, without
+ * copying the content and without the range checks of {@link IDocument#getChar(int)}. Other
+ * documents are accessed through {@link IDocument#getChar(int)}. The view can also wrap another
+ * character sequence, like an {@link IDocumentSnapshot}, to make its accesses cancelable.
+ * <p>
+ * If a progress monitor is given, accessing the characters throws an
+ * <code>OperationCanceledException</code> once the monitor is canceled. This allows to cancel a
+ * long running match, which only calls back into its input.
+ * </p>
+ */
+class DocumentCharSequence implements CharSequence {
+
+	/** The mask of the access count at which the progress monitor is checked */
+	private static final int CANCEL_CHECK_MASK= 0xFFFF;
+
+	/** The document or <code>null</code> if a character sequence is wrapped */
+	private final IDocument fDocument;
+	/** The wrapped character sequence or <code>null</code> */
+	private final CharSequence fText;
+	/** The document as abstract document or <code>null</code> */
+	private final AbstractDocument fAbstractDocument;
+	/** The progress monitor or <code>null</code> */
+	private final IProgressMonitor fMonitor;
+	/** The number of character accesses */
+	private int fAccessCount;
+
+	/**
+	 * Creates a new view of the given document.
+	 *
+	 * @param document the document
+	 * @param monitor the progress monitor used to cancel accesses, or <code>null</code>
+	 */
+	DocumentCharSequence(IDocument document, IProgressMonitor monitor) {
+		fDocument= document;
+		fText= null;
+		fAbstractDocument= document instanceof AbstractDocument ? (AbstractDocument) document : null;
+		fMonitor= monitor;
+	}
+
+	/**
+	 * Creates a new view of the given character sequence.
+	 *
+	 * @param text the character sequence
+	 * @param monitor the progress monitor used to cancel accesses, or <code>null</code>
+	 */
+	DocumentCharSequence(CharSequence text, IProgressMonitor monitor) {
+		fDocument= null;
+		fText= text;
+		fAbstractDocument= null;
+		fMonitor= monitor;
+	}
+
+	/**
+	 * Throws an <code>OperationCanceledException</code> if the progress monitor is canceled.
+	 *
+	 * @throws OperationCanceledException if the monitor is canceled
+	 */
+	void checkCanceled() {
+		if (fMonitor != null && fMonitor.isCanceled())
+			throw new OperationCanceledException();
+	}
+
+	@Override
+	public int length() {
+		if (fText != null)
+			return fText.length();
+		return fAbstractDocument != null ? fAbstractDocument.getStore().getLength() : fDocument.getLength();
+	}
+
+	@Override
+	public char charAt(int index) {
+		if ((++fAccessCount & CANCEL_CHECK_MASK) == 0)
+			checkCanceled();
+		if (fText != null)
+			return fText.charAt(index);
+		if (fAbstractDocument != null)
+			return fAbstractDocument.getStore().get(index);
+		try {
+			return fDocument.getChar(index);
+		} catch (BadLocationException e) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if (start < 0 || end < start || end > length())
+			throw new IndexOutOfBoundsException();
+		if (fText != null)
+			return fText.subSequence(start, end);
+		if (fAbstractDocument != null)
+			return fAbstractDocument.getStore().get(start, end - start);
+		try {
+			return fDocument.get(start, end - start);
+		} catch (BadLocationException e) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+
+	@Override
+	public String toString() {
+		if (fText != null)
+			return fText.toString();
+		return fDocument.get();
+	}
+}
@@ -120,6 +120,16 @@ public class DocumentEvent {
 		return fText;
 	}
 
+	/**
+	 * Returns the length of the inserted text. Unlike {@link #getText()} this does not require the
+	 * text of events whose text is only computed on demand.
+	 *
+	 * @return the length of the inserted text, <code>0</code> if there is no text
+	 */
+	int getTextLength() {
+		return fText == null ? 0 : fText.length();
+	}
+
 	/**
 	 * Returns the document's modification stamp at the
 	 * time when this event was sent.
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+/**
+ * The snapshot returned by {@link AbstractDocument#getSnapshot()}. The content is an immutable
+ * character sequence provided by the text store. The line information is either provided by an
+ * unmodifiable line tracker or computed from the content on first access, in the thread reading
+ * the snapshot.
+ */
+class DocumentSnapshot implements IDocumentSnapshot {
+
+	/** The content */
+	private final CharSequence fContent;
+	/** The modification stamp of the document */
+	private final long fModificationStamp;
+	/** The legal line delimiters of the document */
+	private final String[] fLegalLineDelimiters;
+	/** The line information, <code>null</code> until computed */
+	private ILineTracker fLineTracker;
+
+	/**
+	 * Creates a new snapshot.
+	 *
+	 * @param content the immutable content
+	 * @param modificationStamp the modification stamp of the document
+	 * @param lineTracker an unmodifiable line tracker for the content or <code>null</code> if the
+	 *            line information is to be computed from the content
+	 * @param legalLineDelimiters the legal line delimiters of the document
+	 */
+	DocumentSnapshot(CharSequence content, long modificationStamp, ILineTracker lineTracker, String[] legalLineDelimiters) {
+		fContent= content;
+		fModificationStamp= modificationStamp;
+		fLineTracker= lineTracker;
+		fLegalLineDelimiters= legalLineDelimiters;
+	}
+
+	@Override
+	public int length() {
+		return fContent.length();
+	}
+
+	@Override
+	public char charAt(int index) {
+		return fContent.charAt(index);
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		return fContent.subSequence(start, end);
+	}
+
+	@Override
+	public String toString() {
+		return fContent.toString();
+	}
+
+	@Override
+	public long getModificationStamp() {
+		return fModificationStamp;
+	}
+
+	@Override
+	public String get(int offset, int length) throws BadLocationException {
+		if (offset < 0 || length < 0 || offset + length > fContent.length())
+			throw new BadLocationException();
+		return fContent.subSequence(offset, offset + length).toString();
+	}
+
+	@Override
+	public int getNumberOfLines() {
+		return getLineTracker().getNumberOfLines();
+	}
+
+	@Override
+	public int getLineOfOffset(int offset) throws BadLocationException {
+		return getLineTracker().getLineNumberOfOffset(offset);
+	}
+
+	@Override
+	public int getLineOffset(int line) throws BadLocationException {
+		return getLineTracker().getLineOffset(line);
+	}
+
+	@Override
+	public int getLineLength(int line) throws BadLocationException {
+		return getLineTracker().getLineLength(line);
+	}
+
+	@Override
+	public String getLineDelimiter(int line) throws BadLocationException {
+		return getLineTracker().getLineDelimiter(line);
+	}
+
+	@Override
+	public IRegion getLineInformation(int line) throws BadLocationException {
+		return getLineTracker().getLineInformation(line);
+	}
+
+	@Override
+	public IRegion getLineInformationOfOffset(int offset) throws BadLocationException {
+		return getLineTracker().getLineInformationOfOffset(offset);
+	}
+
+	/**
+	 * Returns the line information of this snapshot, computing it if necessary.
+	 *
+	 * @return the line tracker, which must not be modified
+	 */
+	private synchronized ILineTracker getLineTracker() {
+		if (fLineTracker == null) {
+			if (new HashSet<>(Arrays.asList(fLegalLineDelimiters)).equals(new HashSet<>(Arrays.asList(DefaultLineTracker.DELIMITERS)))) {
+				ArrayLineTracker tracker= new ArrayLineTracker();
+				tracker.setText(fContent);
+				fLineTracker= tracker;
+			} else {
+				ILineTracker tracker= new ConfigurableLineTracker(fLegalLineDelimiters);
+				tracker.set(fContent.toString());
+				fLineTracker= tracker;
+			}
+		}
+		return fLineTracker;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,11 +15,15 @@
  *******************************************************************************/
 package org.eclipse.jface.text;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 
 
 /**
@@ -80,6 +84,12 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 	 */
 	private int fRetainCaseMode;
 
+	/**
+	 * The view of the adapted document used as input of the matcher.
+	 * @since 3.14
+	 */
+	private final DocumentCharSequence fText;
+
 	/**
 	 * Constructs a new find replace document adapter.
 	 *
@@ -88,6 +98,7 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 	public FindReplaceDocumentAdapter(IDocument document) {
 		Assert.isNotNull(document);
 		fDocument= document;
+		fText= new DocumentCharSequence(document, null);
 	}
 
 	/**
@@ -159,21 +170,8 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 			if (startOffset < 0 || startOffset > length())
 				throw new BadLocationException();
 
-			int patternFlags= 0;
-
-			if (regExSearch) {
-				patternFlags |= Pattern.MULTILINE;
-				findString= substituteLinebreak(findString);
-			}
-
-			if (!caseSensitive)
-				patternFlags |= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
-
-			if (!regExSearch)
-				findString= asRegPattern(findString);
-
-			if (wholeWord)
-				findString= "\\b" + findString + "\\b"; //$NON-NLS-1$ //$NON-NLS-2$
+			int patternFlags= getPatternFlags(caseSensitive, regExSearch);
+			findString= getPatternString(findString, wholeWord, regExSearch);
 
 			fFindReplaceMatchOffset= startOffset;
 			if (fFindReplaceMatcher != null && fFindReplaceMatcher.pattern().pattern().equals(findString) && fFindReplaceMatcher.pattern().flags() == patternFlags) {
@@ -184,7 +182,7 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 				// fFindReplaceMatcher.reset();
 			} else {
 				Pattern pattern= Pattern.compile(findString, patternFlags);
-				fFindReplaceMatcher= pattern.matcher(this);
+				fFindReplaceMatcher= pattern.matcher(fText);
 			}
 		}
 
@@ -262,6 +260,155 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 		return null;
 	}
 
+	/**
+	 * Returns all matches of the given string in this adapter's document. The document is
+	 * searched in a single pass from its start to its end, reading its content without copying
+	 * it. Empty matches are ignored, like in {@link #find(int, String, boolean, boolean, boolean, boolean)}.
+	 * <p>
+	 * The document must not be modified during the search.
+	 * </p>
+	 *
+	 * @param findString the string to find
+	 * @param caseSensitive indicates whether lower and upper case should be distinguished
+	 * @param wholeWord indicates whether the findString should be limited by white spaces as
+	 * 			defined by Character.isWhiteSpace. Must not be used in combination with <code>regExSearch</code>.
+	 * @param regExSearch if <code>true</code> findString represents a regular expression
+	 * 			Must not be used in combination with <code>wholeWord</code>.
+	 * @param monitor the progress monitor used to cancel the search, or <code>null</code>
+	 * @return the regions of all matches in document order, an empty array if there is no match
+	 * @throws PatternSyntaxException if a regular expression has invalid syntax
+	 * @throws OperationCanceledException if the search has been canceled
+	 * @since 3.14
+	 */
+	public IRegion[] findAll(String findString, boolean caseSensitive, boolean wholeWord, boolean regExSearch, IProgressMonitor monitor) {
+		List<IRegion> regions= new ArrayList<>();
+		matchAll(new DocumentCharSequence(fDocument, monitor), findString, caseSensitive, wholeWord, regExSearch, regions);
+		return regions.toArray(new IRegion[regions.size()]);
+	}
+
+	/**
+	 * Returns all matches of the given string in the given text, like
+	 * {@link #findAll(String, boolean, boolean, boolean, IProgressMonitor)} does for a document.
+	 * This allows to search an immutable view of a document, e.g. an {@link IDocumentSnapshot},
+	 * in a background thread without copying it.
+	 *
+	 * @param text the text to search
+	 * @param findString the string to find
+	 * @param caseSensitive indicates whether lower and upper case should be distinguished
+	 * @param wholeWord indicates whether the findString should be limited by white spaces as
+	 * 			defined by Character.isWhiteSpace. Must not be used in combination with <code>regExSearch</code>.
+	 * @param regExSearch if <code>true</code> findString represents a regular expression
+	 * 			Must not be used in combination with <code>wholeWord</code>.
+	 * @param monitor the progress monitor used to cancel the search, or <code>null</code>
+	 * @return the regions of all matches in text order, an empty array if there is no match
+	 * @throws PatternSyntaxException if a regular expression has invalid syntax
+	 * @throws OperationCanceledException if the search has been canceled
+	 * @since 3.14
+	 */
+	public static IRegion[] findAll(CharSequence text, String findString, boolean caseSensitive, boolean wholeWord, boolean regExSearch, IProgressMonitor monitor) {
+		Assert.isNotNull(text);
+		List<IRegion> regions= new ArrayList<>();
+		matchAll(new DocumentCharSequence(text, monitor), findString, caseSensitive, wholeWord, regExSearch, regions);
+		return regions.toArray(new IRegion[regions.size()]);
+	}
+
+	/**
+	 * Returns the number of matches of the given string in this adapter's document. This is
+	 * the number of regions returned by {@link #findAll(String, boolean, boolean, boolean, IProgressMonitor)},
+	 * without creating them.
+	 *
+	 * @param findString the string to find
+	 * @param caseSensitive indicates whether lower and upper case should be distinguished
+	 * @param wholeWord indicates whether the findString should be limited by white spaces as
+	 * 			defined by Character.isWhiteSpace. Must not be used in combination with <code>regExSearch</code>.
+	 * @param regExSearch if <code>true</code> findString represents a regular expression
+	 * 			Must not be used in combination with <code>wholeWord</code>.
+	 * @param monitor the progress monitor used to cancel the search, or <code>null</code>
+	 * @return the number of matches
+	 * @throws PatternSyntaxException if a regular expression has invalid syntax
+	 * @throws OperationCanceledException if the search has been canceled
+	 * @since 3.14
+	 */
+	public int countAll(String findString, boolean caseSensitive, boolean wholeWord, boolean regExSearch, IProgressMonitor monitor) {
+		return matchAll(new DocumentCharSequence(fDocument, monitor), findString, caseSensitive, wholeWord, regExSearch, null);
+	}
+
+	/**
+	 * Finds all non-empty matches of the given string in a single pass over the given text.
+	 *
+	 * @param text the text, canceled by the progress monitor of the search
+	 * @param findString the string to find
+	 * @param caseSensitive indicates whether lower and upper case should be distinguished
+	 * @param wholeWord indicates whether the findString should be limited by white spaces
+	 * @param regExSearch if <code>true</code> findString represents a regular expression
+	 * @param regions the list to add the match regions to, or <code>null</code>
+	 * @return the number of matches
+	 * @since 3.14
+	 */
+	private static int matchAll(DocumentCharSequence text, String findString, boolean caseSensitive, boolean wholeWord, boolean regExSearch, List<IRegion> regions) {
+		Assert.isTrue(!(regExSearch && wholeWord));
+		if (findString == null || findString.isEmpty())
+			return 0;
+
+		Pattern pattern= Pattern.compile(getPatternString(findString, wholeWord, regExSearch), getPatternFlags(caseSensitive, regExSearch));
+		Matcher matcher= pattern.matcher(text);
+		int count= 0;
+		try {
+			while (matcher.find()) {
+				int start= matcher.start();
+				int end= matcher.end();
+				if (end > start) {
+					count++;
+					if (regions != null)
+						regions.add(new Region(start, end - start));
+				}
+				text.checkCanceled();
+			}
+		} catch (StackOverflowError e) {
+			String message= TextMessages.getString("FindReplaceDocumentAdapter.patternTooComplex"); //$NON-NLS-1$
+			throw new PatternSyntaxException(message, findString, -1);
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the pattern flags for the given search options.
+	 *
+	 * @param caseSensitive indicates whether lower and upper case should be distinguished
+	 * @param regExSearch whether the find string is a regular expression
+	 * @return the pattern flags
+	 * @since 3.14
+	 */
+	private static int getPatternFlags(boolean caseSensitive, boolean regExSearch) {
+		int patternFlags= 0;
+		if (regExSearch)
+			patternFlags |= Pattern.MULTILINE;
+		if (!caseSensitive)
+			patternFlags |= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+		return patternFlags;
+	}
+
+	/**
+	 * Returns the regular expression for the given find string and search options.
+	 *
+	 * @param findString the string to find
+	 * @param wholeWord indicates whether the findString should be limited by white spaces
+	 * @param regExSearch whether the find string is a regular expression
+	 * @return the regular expression
+	 * @throws PatternSyntaxException if \R is used at an illegal position
+	 * @since 3.14
+	 */
+	private static String getPatternString(String findString, boolean wholeWord, boolean regExSearch) {
+		if (regExSearch)
+			findString= substituteLinebreak(findString);
+		else
+			findString= asRegPattern(findString);
+
+		if (wholeWord)
+			findString= "\\b" + findString + "\\b"; //$NON-NLS-1$ //$NON-NLS-2$
+		return findString;
+	}
+
 	/**
 	 * Substitutes \R in a regex find pattern with {@code (?>\r\n?|\n)}
 	 *
@@ -270,7 +417,7 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 	 * @throws PatternSyntaxException if \R is added at an illegal position (e.g. in a character set)
 	 * @since 3.4
 	 */
-	private String substituteLinebreak(String findString) throws PatternSyntaxException {
+	private static String substituteLinebreak(String findString) throws PatternSyntaxException {
 		int length= findString.length();
 		StringBuilder buf= new StringBuilder(length);
 
@@ -563,7 +710,7 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 	 * @param string the non-regex pattern
 	 * @return the string converted to a regex pattern
 	 */
-	private String asRegPattern(String string) {
+	private static String asRegPattern(String string) {
 		StringBuilder out= new StringBuilder(string.length());
 		boolean quoting= false;
 
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+
+/**
+ * Extension interface for {@link org.eclipse.jface.text.IDocument}. It adds
+ * immutable snapshots of the document content which can be read by background
+ * threads without synchronizing with the thread modifying the document.
+ * <p>
+ * The cost of taking a snapshot depends on the text store of the document. A
+ * store implementing {@link ITextStoreExtension} in a sharing way, like the
+ * {@link PieceTableTextStore}, shares its content with the snapshot. Otherwise
+ * the whole text is copied, which takes <i>O(n)</i>. This is the case for a
+ * {@link Document} with the default text store once it has been modified: the
+ * first snapshot after each modification copies the text. Clients which need
+ * snapshots of frequently changing documents should therefore not take one per
+ * modification, but coalesce them, e.g. by taking one when their background
+ * work starts.
+ * </p>
+ *
+ * @see IDocumentSnapshot
+ * @since 3.14
+ */
+public interface IDocumentExtension5 {
+
+	/**
+	 * Returns an immutable snapshot of the current content and line structure of
+	 * this document. Later changes of the document do not affect the snapshot.
+	 * <p>
+	 * This method must be called from the thread that modifies the document, or
+	 * while holding the document's lock object if there is one. The returned
+	 * snapshot can then be passed to and read by any thread.
+	 * </p>
+	 *
+	 * @return a snapshot of this document
+	 */
+	IDocumentSnapshot getSnapshot();
+}
@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+
+/**
+ * An immutable view of the content of a document at a certain point in time.
+ * The characters of the snapshot are accessed through the
+ * <code>CharSequence</code> interface, the line structure through the line
+ * methods which behave like the ones of {@link IDocument}.
+ * <p>
+ * Snapshots are thread-safe and never change. Whether creating a snapshot
+ * copies the text depends on the text store of the document:
+ * {@link PieceTableTextStore}, {@link MappedFileTextStore} and
+ * {@link CopyOnWriteTextStore} until its first modification share their content
+ * with the snapshot. The snapshots of a {@link MappedFileDocument} can no longer
+ * be read once the document has been {@link MappedFileDocument#reload() reloaded}.
+ * </p>
+ * <p>
+ * This interface is not intended to be implemented by clients.
+ * </p>
+ *
+ * @see IDocumentExtension5#getSnapshot()
+ * @since 3.14
+ * @noimplement This interface is not intended to be implemented by clients.
+ */
+public interface IDocumentSnapshot extends CharSequence {
+
+	/**
+	 * Returns the modification stamp of the document at the time the snapshot was
+	 * taken.
+	 *
+	 * @return the modification stamp or
+	 *         {@link IDocumentExtension4#UNKNOWN_MODIFICATION_STAMP}
+	 */
+	long getModificationStamp();
+
+	/**
+	 * Returns the number of lines of the snapshot.
+	 *
+	 * @return the number of lines
+	 * @see IDocument#getNumberOfLines()
+	 */
+	int getNumberOfLines();
+
+	/**
+	 * Returns the number of the line at which the character of the specified
+	 * position is located.
+	 *
+	 * @param offset the offset, may be the length of the snapshot
+	 * @return the number of the line
+	 * @throws BadLocationException if the offset is invalid in this snapshot
+	 * @see IDocument#getLineOfOffset(int)
+	 */
+	int getLineOfOffset(int offset) throws BadLocationException;
+
+	/**
+	 * Determines the offset of the first character of the given line.
+	 *
+	 * @param line the line of interest
+	 * @return the offset of the line
+	 * @throws BadLocationException if the line number is invalid in this snapshot
+	 * @see IDocument#getLineOffset(int)
+	 */
+	int getLineOffset(int line) throws BadLocationException;
+
+	/**
+	 * Returns the length of the given line including the line's delimiter.
+	 *
+	 * @param line the line of interest
+	 * @return the length of the line
+	 * @throws BadLocationException if the line number is invalid in this snapshot
+	 * @see IDocument#getLineLength(int)
+	 */
+	int getLineLength(int line) throws BadLocationException;
+
+	/**
+	 * Returns the line delimiter of the given line, <code>null</code> if the line
+	 * is not delimited.
+	 *
+	 * @param line the line of interest
+	 * @return the line's delimiter or <code>null</code>
+	 * @throws BadLocationException if the line number is invalid in this snapshot
+	 * @see IDocument#getLineDelimiter(int)
+	 */
+	String getLineDelimiter(int line) throws BadLocationException;
+
+	/**
+	 * Describes the given line excluding the line's delimiter.
+	 *
+	 * @param line the line of interest
+	 * @return a line description
+	 * @throws BadLocationException if the line number is invalid in this snapshot
+	 * @see IDocument#getLineInformation(int)
+	 */
+	IRegion getLineInformation(int line) throws BadLocationException;
+
+	/**
+	 * Describes the line containing the given offset excluding the line's
+	 * delimiter.
+	 *
+	 * @param offset the offset whose line should be described
+	 * @return a region describing the line
+	 * @throws BadLocationException if the offset is invalid in this snapshot
+	 * @see IDocument#getLineInformationOfOffset(int)
+	 */
+	IRegion getLineInformationOfOffset(int offset) throws BadLocationException;
+
+	/**
+	 * Returns the text of the given range.
+	 *
+	 * @param offset the offset of the range
+	 * @param length the length of the range
+	 * @return the text of the range
+	 * @throws BadLocationException if the range is invalid in this snapshot
+	 */
+	String get(int offset, int length) throws BadLocationException;
+}
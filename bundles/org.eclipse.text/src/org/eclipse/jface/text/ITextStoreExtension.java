@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+
+/**
+ * Extension interface for {@link org.eclipse.jface.text.ITextStore}. Adds the
+ * ability to take immutable snapshots of the stored text, which are used by
+ * {@link AbstractDocument#getSnapshot()}.
+ *
+ * @since 3.14
+ */
+public interface ITextStoreExtension {
+
+	/**
+	 * Returns an immutable view of the current content of this text store. Later
+	 * modifications of the store must not affect the returned sequence, which
+	 * must be safe to read from any thread. Implementations should share their
+	 * content with the snapshot instead of copying it.
+	 *
+	 * @return the current content
+	 */
+	CharSequence getSnapshot();
+}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+
+
+/**
+ * A read-only document whose content is a memory-mapped file. Neither the content nor the line
+ * information is kept on the heap, which allows to open files that are too large for a
+ * {@link Document}.
+ * <p>
+ * The document cannot be modified: {@link #replace(int, int, String, long)} and
+ * {@link #set(String, long)} throw an <code>UnsupportedOperationException</code> without
+ * notifying any listeners. Positions, partitioners and listeners are supported as usual. Use
+ * {@link #reload()} after the file has been changed; this is reported like {@link #set(String)}.
+ * </p>
+ * <p>
+ * This class is not intended to be subclassed.
+ * </p>
+ *
+ * @see MappedFileTextStore
+ * @since 3.14
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public class MappedFileDocument extends AbstractDocument {
+
+	/**
+	 * Creates a new document for the given file.
+	 *
+	 * @param path the file
+	 * @param charset the charset of the file, must be
+	 *            {@link MappedFileTextStore#isSupported(Charset) supported}
+	 * @throws IOException if the file cannot be mapped
+	 */
+	public MappedFileDocument(Path path, Charset charset) throws IOException {
+		super();
+		MappedFileTextStore store= new MappedFileTextStore(path, charset);
+		setTextStore(store);
+		setLineTracker(new MappedFileLineTracker(store));
+		completeInitialization();
+	}
+
+	/**
+	 * Returns the mapped file.
+	 *
+	 * @return the mapped file
+	 */
+	public Path getPath() {
+		return ((MappedFileTextStore) getStore()).getPath();
+	}
+
+	/**
+	 * Maps the file again and replaces the content of the document like {@link #set(String)}: the
+	 * positions are updated, the modification stamp changes and the listeners are notified about
+	 * the change of the whole document.
+	 * <p>
+	 * The new text of the file is not put into the document event. It is only read from the file
+	 * when a listener calls {@link DocumentEvent#getText()}; {@link DocumentEvent#fText} is
+	 * <code>null</code> until then. Listeners that only need to know that the document has been
+	 * replaced should re-read the parts of the document they are interested in instead.
+	 * </p>
+	 * <p>
+	 * The mapping of the previous content is released once the listeners have been notified,
+	 * snapshots taken before cannot be read anymore.
+	 * </p>
+	 *
+	 * @throws IOException if the file cannot be mapped, in which case the document is not changed
+	 */
+	public void reload() throws IOException {
+		MappedFileTextStore oldStore= (MappedFileTextStore) getStore();
+		MappedFileTextStore store= new MappedFileTextStore(getPath(), oldStore.getCharset());
+		setContent(store, new MappedFileLineTracker(store));
+		oldStore.release();
+	}
+
+	@Override
+	public void replace(int pos, int length, String text, long modificationStamp) throws BadLocationException {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void set(String text, long modificationStamp) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean isLineInformationRepairNeeded(int offset, int length, String text) throws BadLocationException {
+		return false;
+	}
+
+	@Override
+	public void repairLineInformation() {
+		// the line information is always computed from the content
+	}
+}
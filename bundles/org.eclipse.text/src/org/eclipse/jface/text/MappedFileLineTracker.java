@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+
+/**
+ * A read-only line tracker for the content of a {@link MappedFileTextStore}. Line information is
+ * computed from the chunk index of the store, so that no per line data is kept in memory. The
+ * tracker behaves like a {@link DefaultLineTracker} for the same content.
+ * <p>
+ * {@link #replace(int, int, String)} throws an <code>UnsupportedOperationException</code>,
+ * {@link #set(String)} is ignored as the content is defined by the store.
+ * </p>
+ */
+class MappedFileLineTracker implements ILineTracker {
+
+	/** The text store providing the content */
+	private final MappedFileTextStore fStore;
+
+	/**
+	 * Creates a new line tracker for the given store.
+	 *
+	 * @param store the text store
+	 */
+	MappedFileLineTracker(MappedFileTextStore store) {
+		fStore= store;
+	}
+
+	@Override
+	public String[] getLegalLineDelimiters() {
+		return TextUtilities.copy(DefaultLineTracker.DELIMITERS);
+	}
+
+	@Override
+	public String getLineDelimiter(int line) throws BadLocationException {
+		checkLine(line);
+		if (line >= fStore.getNumberOfDelimiters())
+			return null;
+		int end= fStore.getDelimiterEnd(line + 1);
+		if (fStore.get(end - 1) == '\n')
+			return end >= 2 && fStore.get(end - 2) == '\r' ? "\r\n" : "\n"; //$NON-NLS-1$ //$NON-NLS-2$
+		return "\r"; //$NON-NLS-1$
+	}
+
+	@Override
+	public int computeNumberOfLines(String text) {
+		int count= 0;
+		for (int i= 0, length= text.length(); i < length; i++) {
+			char c= text.charAt(i);
+			if (c == '\n' || c == '\r' && (i + 1 == length || text.charAt(i + 1) != '\n'))
+				count++;
+		}
+		return count;
+	}
+
+	@Override
+	public int getNumberOfLines() {
+		return fStore.getNumberOfDelimiters() + 1;
+	}
+
+	@Override
+	public int getNumberOfLines(int offset, int length) throws BadLocationException {
+		if (offset < 0 || length < 0 || offset + length > fStore.getLength())
+			throw new BadLocationException();
+		if (length == 0)
+			return 1;
+		return fStore.getNumberOfDelimitersBefore(offset + length) - fStore.getNumberOfDelimitersBefore(offset) + 1;
+	}
+
+	@Override
+	public int getLineOffset(int line) throws BadLocationException {
+		if (line < 0 || line > fStore.getNumberOfDelimiters())
+			throw new BadLocationException();
+		return getLineStart(line);
+	}
+
+	@Override
+	public int getLineLength(int line) throws BadLocationException {
+		checkLine(line);
+		if (line > fStore.getNumberOfDelimiters())
+			return 0;
+		return getLineEnd(line) - getLineStart(line);
+	}
+
+	@Override
+	public int getLineNumberOfOffset(int offset) throws BadLocationException {
+		if (offset < 0)
+			throw new BadLocationException("Negative offset : " + offset); //$NON-NLS-1$
+		if (offset > fStore.getLength())
+			throw new BadLocationException("Offset > length: " + offset + " > " + fStore.getLength()); //$NON-NLS-1$ //$NON-NLS-2$
+		return fStore.getNumberOfDelimitersBefore(offset);
+	}
+
+	@Override
+	public IRegion getLineInformationOfOffset(int offset) throws BadLocationException {
+		return getLineInformation(getLineNumberOfOffset(offset));
+	}
+
+	@Override
+	public IRegion getLineInformation(int line) throws BadLocationException {
+		checkLine(line);
+		if (line > fStore.getNumberOfDelimiters())
+			return new Region(fStore.getLength(), 0);
+		int start= getLineStart(line);
+		String delimiter= getLineDelimiter(line);
+		int end= getLineEnd(line) - (delimiter == null ? 0 : delimiter.length());
+		return new Region(start, end - start);
+	}
+
+	@Override
+	public void replace(int offset, int length, String text) throws BadLocationException {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void set(String text) {
+		// the content is defined by the store
+	}
+
+	/**
+	 * Checks the given line number like {@link DefaultLineTracker} does: the line after the last
+	 * line is accepted if the content does not end with a line delimiter.
+	 *
+	 * @param line the line number
+	 * @throws BadLocationException if the line is not valid
+	 */
+	private void checkLine(int line) throws BadLocationException {
+		int delimiters= fStore.getNumberOfDelimiters();
+		int maxLine= getLineStart(delimiters) < fStore.getLength() ? delimiters + 1 : delimiters;
+		if (line < 0 || line > maxLine)
+			throw new BadLocationException();
+	}
+
+	private int getLineStart(int line) {
+		return line == 0 ? 0 : fStore.getDelimiterEnd(line);
+	}
+
+	private int getLineEnd(int line) {
+		return line < fStore.getNumberOfDelimiters() ? fStore.getDelimiterEnd(line + 1) : fStore.getLength();
+	}
+}
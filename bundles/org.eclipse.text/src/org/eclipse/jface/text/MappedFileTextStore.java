@@ -0,0 +1,465 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.Assert;
+
+
+/**
+ * A read-only text store whose content is a memory-mapped file.
+ * <p>
+ * The file is divided into chunks of about 64 KB. When the store is created, the chunks are
+ * decoded once in sequence to record the character offset and the number of line delimiters at
+ * the start of each chunk; the decoded text is not retained. Afterwards, text is decoded on demand
+ * and only a small number of recently used chunks is kept in memory, so that the heap used by the
+ * store does not depend on the file size.
+ * </p>
+ * <p>
+ * The store only supports single byte charsets and UTF-8, see {@link #isSupported(Charset)}. A UTF-8
+ * byte order mark at the start of the file is skipped. The content must not be modified by other
+ * processes while the store is in use, create a new store after the file has been changed.
+ * </p>
+ * <p>
+ * {@link #replace(int, int, String)} and {@link #set(String)} throw an
+ * <code>UnsupportedOperationException</code>.
+ * </p>
+ * <p>
+ * This class is not intended to be subclassed.
+ * </p>
+ *
+ * @see MappedFileDocument
+ * @since 3.14
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public class MappedFileTextStore implements ITextStore, ITextStoreExtension {
+
+	/** The number of bytes per chunk */
+	private static final int CHUNK_SIZE= 64 * 1024;
+	/** The number of bytes per mapped segment, excluding the overlap with the next segment */
+	private static final long SEGMENT_SIZE= 1L << 30;
+	/** The number of decoded chunks kept in memory */
+	private static final int CACHE_SIZE= 16;
+
+	/** The mapped file */
+	private final Path fPath;
+	/** The charset of the file */
+	private final Charset fCharset;
+
+	/** The mapped segments of the file, each overlapping the next by two chunks */
+	private MappedByteBuffer[] fSegments;
+	/** The byte offset of each chunk, plus the file size as last element */
+	private long[] fChunkByteOffsets;
+	/** The character offset of each chunk, plus the content length as last element */
+	private int[] fChunkOffsets;
+	/**
+	 * The number of line delimiters ending at or before the start of each chunk, plus the total
+	 * number of line delimiters as last element.
+	 */
+	private int[] fChunkLines;
+	/** The number of chunks */
+	private int fChunkCount;
+
+	/** The recently used decoded chunks, in access order */
+	private final Map<Integer, char[]> fCache= new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, char[]> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+
+	/**
+	 * Returns whether files using the given charset can be mapped by this text store.
+	 *
+	 * @param charset the charset
+	 * @return <code>true</code> if the charset is UTF-8 or a single byte charset
+	 */
+	public static boolean isSupported(Charset charset) {
+		if (StandardCharsets.UTF_8.equals(charset))
+			return true;
+		return charset.canEncode() && charset.newEncoder().maxBytesPerChar() == 1f;
+	}
+
+	/**
+	 * Creates a text store for the given file and maps and indexes the file.
+	 *
+	 * @param path the file
+	 * @param charset the charset of the file, must be {@link #isSupported(Charset) supported}
+	 * @throws IOException if the file cannot be mapped or has more than
+	 *             {@link Integer#MAX_VALUE} characters
+	 */
+	public MappedFileTextStore(Path path, Charset charset) throws IOException {
+		Assert.isNotNull(path);
+		Assert.isLegal(isSupported(charset));
+		fPath= path;
+		fCharset= charset;
+		map();
+	}
+
+	/**
+	 * Returns the mapped file.
+	 *
+	 * @return the mapped file
+	 */
+	public Path getPath() {
+		return fPath;
+	}
+
+	/**
+	 * Returns the charset of the mapped file.
+	 *
+	 * @return the charset
+	 */
+	public Charset getCharset() {
+		return fCharset;
+	}
+
+	@Override
+	public synchronized char get(int offset) {
+		if (offset < 0 || offset >= getLength())
+			throw new IndexOutOfBoundsException("offset: " + offset); //$NON-NLS-1$
+		int chunk= findChunk(offset);
+		return getChunk(chunk)[offset - fChunkOffsets[chunk]];
+	}
+
+	@Override
+	public synchronized String get(int offset, int length) {
+		if (offset < 0 || length < 0 || offset + length > getLength())
+			throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length); //$NON-NLS-1$ //$NON-NLS-2$
+		if (length == 0)
+			return ""; //$NON-NLS-1$
+
+		char[] result= new char[length];
+		int end= offset + length;
+		int position= offset;
+		int chunk= findChunk(offset);
+		while (position < end) {
+			char[] chars= getChunk(chunk);
+			int chunkOffset= fChunkOffsets[chunk];
+			int count= Math.min(end, fChunkOffsets[chunk + 1]) - position;
+			System.arraycopy(chars, position - chunkOffset, result, position - offset, count);
+			position += count;
+			chunk++;
+		}
+		return new String(result);
+	}
+
+	@Override
+	public synchronized int getLength() {
+		return fChunkOffsets[fChunkCount];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * As this store cannot be modified, the snapshot is a view of this store. It cannot be read
+	 * anymore once the store has been released by {@link MappedFileDocument#reload()}.
+	 * </p>
+	 */
+	@Override
+	public CharSequence getSnapshot() {
+		return new CharSequence() {
+			@Override
+			public int length() {
+				return getLength();
+			}
+
+			@Override
+			public char charAt(int index) {
+				return get(index);
+			}
+
+			@Override
+			public String subSequence(int start, int end) {
+				return get(start, end - start);
+			}
+
+			@Override
+			public String toString() {
+				return get(0, getLength());
+			}
+		};
+	}
+
+	@Override
+	public void replace(int offset, int length, String text) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void set(String text) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Releases the mapping of the file and the decoded chunks. The mapped memory is freed as soon
+	 * as the garbage collector has collected the buffers. Reading the content of this store
+	 * afterwards throws an <code>IllegalStateException</code>.
+	 */
+	synchronized void release() {
+		fSegments= null;
+		fCache.clear();
+	}
+
+	/**
+	 * Returns the number of line delimiters in the content.
+	 *
+	 * @return the number of line delimiters
+	 */
+	synchronized int getNumberOfDelimiters() {
+		return fChunkLines[fChunkCount];
+	}
+
+	/**
+	 * Returns the number of line delimiters which end at or before the given offset.
+	 *
+	 * @param offset the offset, <code>0 &lt;= offset &lt;= getLength()</code>
+	 * @return the number of line delimiters ending at or before the offset
+	 */
+	synchronized int getNumberOfDelimitersBefore(int offset) {
+		if (offset == getLength())
+			return getNumberOfDelimiters();
+
+		int chunk= findChunk(offset);
+		int chunkOffset= fChunkOffsets[chunk];
+		char[] chars= getChunk(chunk);
+		int count= fChunkLines[chunk];
+		for (int i= 0, n= offset - chunkOffset; i < n; i++) {
+			if (isDelimiterEnd(chunk, chars, i))
+				count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the offset right after the given line delimiter.
+	 *
+	 * @param delimiter the number of the delimiter, <code>1 &lt;= delimiter &lt;=
+	 *            getNumberOfDelimiters()</code>
+	 * @return the end offset of the delimiter
+	 */
+	synchronized int getDelimiterEnd(int delimiter) {
+		// the last chunk in which fewer delimiters end before the chunk start
+		int low= 0;
+		int high= fChunkCount - 1;
+		while (low < high) {
+			int mid= (low + high + 1) >>> 1;
+			if (fChunkLines[mid] < delimiter)
+				low= mid;
+			else
+				high= mid - 1;
+		}
+
+		char[] chars= getChunk(low);
+		int count= fChunkLines[low];
+		for (int i= 0; i < chars.length; i++) {
+			if (isDelimiterEnd(low, chars, i) && ++count == delimiter)
+				return fChunkOffsets[low] + i + 1;
+		}
+		throw new IllegalStateException();
+	}
+
+	/**
+	 * Returns whether the given character of the given chunk is the last character of a line
+	 * delimiter.
+	 *
+	 * @param chunk the chunk
+	 * @param chars the decoded chunk
+	 * @param index the index in the chunk
+	 * @return <code>true</code> if a line delimiter ends after the character
+	 */
+	private boolean isDelimiterEnd(int chunk, char[] chars, int index) {
+		char c= chars[index];
+		if (c == '\n')
+			return true;
+		if (c != '\r')
+			return false;
+		if (index + 1 < chars.length)
+			return chars[index + 1] != '\n';
+		if (chunk + 1 < fChunkCount)
+			return getChunk(chunk + 1)[0] != '\n';
+		return true;
+	}
+
+	/**
+	 * Returns the chunk containing the given offset.
+	 *
+	 * @param offset the offset, <code>0 &lt;= offset &lt; getLength()</code>
+	 * @return the index of the chunk
+	 */
+	private int findChunk(int offset) {
+		int low= 0;
+		int high= fChunkCount - 1;
+		while (low < high) {
+			int mid= (low + high + 1) >>> 1;
+			if (fChunkOffsets[mid] <= offset)
+				low= mid;
+			else
+				high= mid - 1;
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the decoded characters of the given chunk.
+	 *
+	 * @param chunk the index of the chunk
+	 * @return the characters of the chunk
+	 */
+	private char[] getChunk(int chunk) {
+		char[] chars= fCache.get(chunk);
+		if (chars == null) {
+			if (fSegments == null)
+				throw new IllegalStateException("Text store has been released: " + fPath); //$NON-NLS-1$
+			CharBuffer buffer= CharBuffer.allocate(fChunkOffsets[chunk + 1] - fChunkOffsets[chunk]);
+			decode(chunk, newDecoder(), buffer);
+			chars= buffer.array();
+			fCache.put(chunk, chars);
+		}
+		return chars;
+	}
+
+	private CharsetDecoder newDecoder() {
+		return fCharset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+
+	/**
+	 * Decodes the given chunk into the given buffer.
+	 *
+	 * @param chunk the index of the chunk
+	 * @param decoder the decoder to use
+	 * @param buffer the buffer, large enough for the decoded chunk
+	 */
+	private void decode(int chunk, CharsetDecoder decoder, CharBuffer buffer) {
+		long start= fChunkByteOffsets[chunk];
+		int segment= (int) (start / SEGMENT_SIZE);
+		int index= (int) (start - segment * SEGMENT_SIZE);
+		ByteBuffer bytes= fSegments[segment].slice(index, (int) (fChunkByteOffsets[chunk + 1] - start));
+
+		decoder.reset();
+		decoder.decode(bytes, buffer, true);
+		decoder.flush(buffer);
+	}
+
+	private byte getByte(long position) {
+		int segment= (int) (position / SEGMENT_SIZE);
+		return fSegments[segment].get((int) (position - segment * SEGMENT_SIZE));
+	}
+
+	/**
+	 * Maps the file and builds the chunk index.
+	 *
+	 * @throws IOException if the file cannot be mapped or has more than
+	 *             {@link Integer#MAX_VALUE} characters
+	 */
+	private void map() throws IOException {
+		long size;
+		try (FileChannel channel= FileChannel.open(fPath, StandardOpenOption.READ)) {
+			size= channel.size();
+			int segments= (int) ((size + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+			fSegments= new MappedByteBuffer[segments];
+			for (int i= 0; i < segments; i++) {
+				long start= i * SEGMENT_SIZE;
+				fSegments[i]= channel.map(MapMode.READ_ONLY, start, Math.min(size - start, SEGMENT_SIZE + 2 * CHUNK_SIZE));
+			}
+		}
+
+		boolean utf8= StandardCharsets.UTF_8.equals(fCharset);
+		long start= 0;
+		if (utf8 && size >= 3 && getByte(0) == (byte) 0xEF && getByte(1) == (byte) 0xBB && getByte(2) == (byte) 0xBF)
+			start= 3;
+
+		int capacity= (int) ((size - start + CHUNK_SIZE - 1) / CHUNK_SIZE) + 1;
+		long[] byteOffsets= new long[capacity];
+		int count= 0;
+		long position= start;
+		while (position < size) {
+			byteOffsets[count++]= position;
+			long next= Math.min(position + CHUNK_SIZE, size);
+			if (utf8) {
+				// do not split multi-byte sequences, i.e. do not start a chunk with a continuation byte
+				for (int i= 0; i < 3 && next < size && next - 1 > position && (getByte(next) & 0xC0) == 0x80; i++)
+					next--;
+			}
+			position= next;
+			if (count == byteOffsets.length) {
+				long[] grown= new long[count * 2];
+				System.arraycopy(byteOffsets, 0, grown, 0, count);
+				byteOffsets= grown;
+			}
+		}
+		byteOffsets[count]= size;
+
+		fChunkCount= count;
+		fChunkByteOffsets= byteOffsets;
+		fChunkOffsets= new int[count + 1];
+		fChunkLines= new int[count + 1];
+
+		CharsetDecoder decoder= newDecoder();
+		CharBuffer buffer= CharBuffer.allocate(CHUNK_SIZE + 4);
+		long length= 0;
+		int lines= 0;
+		boolean pendingCR= false;
+		for (int chunk= 0; chunk < count; chunk++) {
+			buffer.clear();
+			decode(chunk, decoder, buffer);
+			int chars= buffer.position();
+			char[] array= buffer.array();
+
+			if (pendingCR && (chars == 0 || array[0] != '\n'))
+				lines++;
+			fChunkOffsets[chunk]= (int) length;
+			fChunkLines[chunk]= lines;
+
+			for (int i= 0; i < chars - 1; i++) {
+				char c= array[i];
+				if (c == '\n' || c == '\r' && array[i + 1] != '\n')
+					lines++;
+			}
+			pendingCR= false;
+			if (chars > 0) {
+				char last= array[chars - 1];
+				if (last == '\n')
+					lines++;
+				else if (last == '\r')
+					pendingCR= true;
+			}
+
+			length += chars;
+			if (length > Integer.MAX_VALUE)
+				throw new IOException("File has more than " + Integer.MAX_VALUE + " characters: " + fPath); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		if (pendingCR)
+			lines++;
+
+		fChunkOffsets[count]= (int) length;
+		fChunkLines[count]= lines;
+	}
+}
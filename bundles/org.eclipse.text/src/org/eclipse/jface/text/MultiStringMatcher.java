@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 Paul Pazderski, Thomas Wolf, and others.
+ * Copyright (c) 2019, 2026 Paul Pazderski, Thomas Wolf, and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.jface.text;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -23,7 +25,12 @@ import java.util.stream.Collectors;
 
 /**
  * Fast matcher to find the occurrences of any of a fixed set of constant strings. Supports finding
- * all (possibly overlapping) matches, or only the leftmost longest match.
+ * all (possibly overlapping) matches, only the leftmost longest match, or all leftmost longest
+ * non-overlapping matches.
+ * <p>
+ * A matcher may ignore the case of characters, and it may be compiled into transition tables for
+ * faster matching of large texts, see {@link #builder(boolean, boolean)}.
+ * </p>
  *
  * @since 3.9
  */
@@ -91,8 +98,12 @@ public class MultiStringMatcher {
 
 		private MultiStringMatcher m;
 
-		BuilderImpl() {
+		private final boolean compile;
+
+		BuilderImpl(boolean ignoreCase, boolean compile) {
 			m= new MultiStringMatcher();
+			m.ignoreCase= ignoreCase;
+			this.compile= compile;
 		}
 
 		private void check() {
@@ -128,6 +139,12 @@ public class MultiStringMatcher {
 				};
 			}
 			result.buildLinks();
+			if (compile) {
+				CompiledMatcher compiled= CompiledMatcher.create(result);
+				if (compiled != null) {
+					return compiled;
+				}
+			}
 			return result;
 		}
 	}
@@ -138,7 +155,30 @@ public class MultiStringMatcher {
 	 * @return the {@link Builder}
 	 */
 	public static Builder builder() {
-		return new BuilderImpl();
+		return new BuilderImpl(false, false);
+	}
+
+	/**
+	 * Creates an initially empty {@link Builder} for a {@link MultiStringMatcher} with the given
+	 * options.
+	 * <p>
+	 * A matcher ignoring case compares characters like {@link String#equalsIgnoreCase(String)}. If
+	 * several search strings differ only in case, matches report one of them.
+	 * </p>
+	 * <p>
+	 * A compiled matcher has its automaton flattened into primitive transition tables, so that each
+	 * character of a text is processed by a single table lookup. This takes more time and memory to
+	 * build and pays off when matching large texts. If the tables would get too large, the matcher
+	 * is not compiled.
+	 * </p>
+	 *
+	 * @param ignoreCase whether the matcher ignores the case of characters
+	 * @param compile whether the matcher is compiled into transition tables
+	 * @return the {@link Builder}
+	 * @since 3.14
+	 */
+	public static Builder builder(boolean ignoreCase, boolean compile) {
+		return new BuilderImpl(ignoreCase, compile);
 	}
 
 	private static class MatchResult implements Match {
@@ -189,6 +229,9 @@ public class MultiStringMatcher {
 	private static class Node {
 		HashMap<Character, Node> children;
 
+		/** Index of the node in a {@link CompiledMatcher}. */
+		int index;
+
 		String match;
 
 		Node fail;
@@ -234,6 +277,9 @@ public class MultiStringMatcher {
 		}
 	};
 
+	/** Whether the case of characters is ignored. */
+	private boolean ignoreCase;
+
 	private MultiStringMatcher() {
 		// Always use a Builder or the static helper methods to create a MultiStringMatcher
 	}
@@ -246,13 +292,29 @@ public class MultiStringMatcher {
 				}
 				Node node= root;
 				for (char c : searchString.toCharArray()) {
-					node= node.add(c);
+					node= node.add(ignoreCase ? fold(c) : c);
+				}
+				if (node.match == null) {
+					node.match= searchString;
 				}
-				node.match= searchString;
 			}
 		}
 	}
 
+	/**
+	 * Folds the case of the given character such that two characters are equal ignoring case if
+	 * and only if their folded characters are equal.
+	 *
+	 * @param c the character
+	 * @return the folded character
+	 */
+	private static char fold(char c) {
+		if (c < 128) {
+			return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+		}
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
 	private void buildLinks() {
 		// Build the fail and output links. See the paper referenced at the top; this
 		// is a one-to-one implementation of the original algorithm. Variable names
@@ -304,7 +366,7 @@ public class MultiStringMatcher {
 		int textEnd= text.length();
 		Node node= root;
 		for (int i= offset; i < textEnd; i++) {
-			Character c= Character.valueOf(text.charAt(i));
+			Character c= Character.valueOf(ignoreCase ? fold(text.charAt(i)) : text.charAt(i));
 			Node next;
 			while ((next= node.next(c)) == null) {
 				node= node.fail;
@@ -377,7 +439,7 @@ public class MultiStringMatcher {
 		Match subMatch= null;
 		Node node= root;
 		for (int i= offset; i < textEnd; i++) {
-			Character c= Character.valueOf(text.charAt(i));
+			Character c= Character.valueOf(ignoreCase ? fold(text.charAt(i)) : text.charAt(i));
 			Node next= node.next(c);
 			if (next == null) {
 				// Can't continue on this path.
@@ -430,6 +492,207 @@ public class MultiStringMatcher {
 		return primaryMatch != null ? primaryMatch : subMatch;
 	}
 
+	/**
+	 * Finds all leftmost longest non-overlapping occurrences of any of the search strings of the
+	 * {@link MultiStringMatcher} in the given {@code text} starting at the given {@code offset}.
+	 * <p>
+	 * The first match is the one returned by {@link #indexOf(CharSequence, int)}, each following
+	 * match is the leftmost longest match after the end of the previous one. This is how an editor
+	 * highlights keywords, for instance.
+	 * </p>
+	 *
+	 * @param text to search (not {@code null})
+	 * @param offset to start searching at
+	 * @param matches {@link Consumer} all matches are fed to, in text order
+	 *
+	 * @since 3.14
+	 */
+	public void findNonOverlapping(CharSequence text, int offset, Consumer<Match> matches) {
+		Match match= indexOf(text, offset);
+		while (match != null) {
+			matches.accept(match);
+			match= indexOf(text, match.getOffset() + match.getText().length());
+		}
+	}
+
+	/**
+	 * A {@link MultiStringMatcher} using the deterministic automaton from section 6 of the paper,
+	 * flattened into primitive arrays. Characters are mapped to classes first: all characters not
+	 * occurring in any search string share class 0. ASCII characters are mapped by a table lookup,
+	 * other characters by a binary search.
+	 */
+	private static class CompiledMatcher extends MultiStringMatcher {
+
+		/** Maximum number of entries of the transition table. */
+		private static final int MAX_TRANSITIONS= 1 << 24;
+
+		/** Classes of the ASCII characters. */
+		private final int[] asciiClasses= new int[128];
+
+		/** Sorted non-ASCII characters of the search strings; the class of chars[i] is firstCharClass + i. */
+		private final char[] chars;
+
+		private final int firstCharClass;
+
+		private final int classCount;
+
+		/** The transition table, indexed by {@code state * classCount + class}. The root is state 0. */
+		private final int[] transitions;
+
+		/** The depth of each state in the trie. */
+		private final int[] depths;
+
+		/** The search string matched by each state, or {@code null}. */
+		private final String[] matches;
+
+		/** The next state on the output chain of each state, or -1. */
+		private final int[] outputs;
+
+		/** Whether a state has no children in the trie. */
+		private final boolean[] leaves;
+
+		private final boolean ignoreCase;
+
+		private CompiledMatcher(List<Node> nodes, char[] asciiChars, char[] chars, boolean ignoreCase) {
+			this.chars= chars;
+			this.ignoreCase= ignoreCase;
+			firstCharClass= asciiChars.length + 1;
+			classCount= firstCharClass + chars.length;
+			char[] classChars= new char[classCount];
+			for (int i= 0; i < asciiChars.length; i++) {
+				char c= asciiChars[i];
+				classChars[i + 1]= c;
+				asciiClasses[c]= i + 1;
+				if (ignoreCase && c >= 'a' && c <= 'z') {
+					asciiClasses[c - ('a' - 'A')]= i + 1;
+				}
+			}
+			System.arraycopy(chars, 0, classChars, firstCharClass, chars.length);
+
+			int stateCount= nodes.size();
+			transitions= new int[stateCount * classCount];
+			depths= new int[stateCount];
+			matches= new String[stateCount];
+			outputs= new int[stateCount];
+			leaves= new boolean[stateCount];
+			for (int state= 0; state < stateCount; state++) {
+				Node node= nodes.get(state);
+				int row= state * classCount;
+				if (state > 0) {
+					// Nodes are in breadth-first order, so the transitions of the fail state are known.
+					System.arraycopy(transitions, node.fail.index * classCount, transitions, row, classCount);
+				}
+				if (node.hasChildren()) {
+					for (int cls= 1; cls < classCount; cls++) {
+						Node child= node.children.get(Character.valueOf(classChars[cls]));
+						if (child != null) {
+							transitions[row + cls]= child.index;
+						}
+					}
+				}
+				depths[state]= node.depth;
+				matches[state]= node.match;
+				outputs[state]= node.output != null ? node.output.index : -1;
+				leaves[state]= !node.hasChildren();
+			}
+		}
+
+		/**
+		 * Compiles the given matcher.
+		 *
+		 * @param matcher the matcher with fail and output links built
+		 * @return the compiled matcher, or {@code null} if the transition table would be too large
+		 */
+		static CompiledMatcher create(MultiStringMatcher matcher) {
+			List<Node> nodes= new ArrayList<>();
+			StringBuilder asciiChars= new StringBuilder();
+			StringBuilder chars= new StringBuilder();
+			boolean[] seen= new boolean[Character.MAX_VALUE + 1];
+			nodes.add(matcher.root);
+			for (int i= 0; i < nodes.size(); i++) {
+				Node node= nodes.get(i);
+				node.index= i;
+				if (node.hasChildren()) {
+					for (Map.Entry<Character, Node> entry : node.children.entrySet()) {
+						char c= entry.getKey().charValue();
+						if (!seen[c]) {
+							seen[c]= true;
+							(c < 128 ? asciiChars : chars).append(c);
+						}
+						nodes.add(entry.getValue());
+					}
+				}
+			}
+			long classCount= 1 + asciiChars.length() + chars.length();
+			if (nodes.size() * classCount > MAX_TRANSITIONS) {
+				return null;
+			}
+			char[] sortedChars= chars.toString().toCharArray();
+			Arrays.sort(sortedChars);
+			return new CompiledMatcher(nodes, asciiChars.toString().toCharArray(), sortedChars, matcher.ignoreCase);
+		}
+
+		private int classOf(char c) {
+			if (c < 128) {
+				return asciiClasses[c];
+			}
+			if (ignoreCase) {
+				c= fold(c);
+				if (c < 128) {
+					return asciiClasses[c];
+				}
+			}
+			int i= Arrays.binarySearch(chars, c);
+			return i >= 0 ? firstCharClass + i : 0;
+		}
+
+		@Override
+		public void find(CharSequence text, int offset, Consumer<Match> matchConsumer) {
+			int textEnd= text.length();
+			int state= 0;
+			for (int i= offset; i < textEnd; i++) {
+				state= transitions[state * classCount + classOf(text.charAt(i))];
+				if (matches[state] != null) {
+					matchConsumer.accept(new MatchResult(matches[state], i - depths[state] + 1));
+				}
+				for (int out= outputs[state]; out >= 0; out= outputs[out]) {
+					matchConsumer.accept(new MatchResult(matches[out], i - depths[out] + 1));
+				}
+			}
+		}
+
+		@Override
+		public Match indexOf(CharSequence text, int offset) {
+			// The longest match ending at a given index is the first one on the output chain of the
+			// state. The start of the path of the state (index - depth + 1) never decreases, and any
+			// match found later starts at or after it. Hence we can stop as soon as the path starts
+			// after the best match found so far.
+			int textEnd= text.length();
+			String best= null;
+			int bestOffset= -1;
+			int state= 0;
+			for (int i= offset; i < textEnd; i++) {
+				state= transitions[state * classCount + classOf(text.charAt(i))];
+				if (best != null && i - depths[state] + 1 > bestOffset) {
+					break;
+				}
+				int match= matches[state] != null ? state : outputs[state];
+				if (match >= 0) {
+					int matchOffset= i - depths[match] + 1;
+					if (best == null || matchOffset < bestOffset || (matchOffset == bestOffset && depths[match] > best.length())) {
+						best= matches[match];
+						bestOffset= matchOffset;
+					}
+					if (leaves[state]) {
+						// We would fall off the trie on the next character.
+						break;
+					}
+				}
+			}
+			return best != null ? new MatchResult(best, bestOffset) : null;
+		}
+	}
+
 	/**
 	 * Finds the leftmost longest occurrence of any of the given {@code searchStrings} in the
 	 * {@code text} starting at the given {@code offset}.
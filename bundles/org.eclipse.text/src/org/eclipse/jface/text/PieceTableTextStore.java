@@ -0,0 +1,407 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+
+/**
+ * A piece table text store for very large documents. The content is described by a sequence of
+ * pieces, each referring to a range of an immutable buffer: either the string passed to
+ * {@link #set(String)} or one of the append-only chunks that receive inserted text. The pieces
+ * are kept in a balanced binary tree (a treap) ordered by document offset where each node knows
+ * the length of its subtree.
+ * <p>
+ * <strong>Performance:</strong> Unlike {@link GapTextStore}, the cost of a change does not depend
+ * on the distance to the previous change. Let <var>p</var> be the number of pieces, then
+ * {@link #replace(int, int, String) replace} performs in expected <i>O(log p)</i> plus the cost of
+ * copying the inserted text, {@link #get(int)} in expected <i>O(log p)</i> and
+ * {@linkplain #get(int, int) get(int, <var>length</var>)} in expected
+ * <i>O(log p + length)</i>. {@link #set(String)} does not copy the given text.
+ * </p>
+ * <p>
+ * Tree nodes are never modified once created; a change creates new nodes along the affected
+ * paths only. Removed text is retained in the append buffers until the next call to
+ * {@link #set(String)}. This also allows {@link #getSnapshot()} to share the tree with the
+ * snapshot instead of copying the content.
+ * </p>
+ * <p>
+ * This class is not intended to be subclassed.
+ * </p>
+ *
+ * @see GapTextStore
+ * @since 3.14
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public class PieceTableTextStore implements ITextStore, ITextStoreExtension {
+
+	/**
+	 * A node of the piece tree. A node describes one piece of text and is the root of the subtree
+	 * containing all pieces left and right of it. Nodes are immutable.
+	 */
+	private static final class Piece {
+		/** The string buffer of this piece, <code>null</code> if {@link #fChars} is used */
+		final String fString;
+		/** The char buffer of this piece, <code>null</code> if {@link #fString} is used */
+		final char[] fChars;
+		/** The start index of this piece in its buffer */
+		final int fStart;
+		/** The number of characters of this piece */
+		final int fLength;
+		/** The heap priority of this node */
+		final int fPriority;
+		/** The left subtree, may be <code>null</code> */
+		final Piece fLeft;
+		/** The right subtree, may be <code>null</code> */
+		final Piece fRight;
+		/** The total number of characters in this subtree */
+		final int fTotalLength;
+
+		Piece(String string, char[] chars, int start, int length, int priority, Piece left, Piece right) {
+			fString= string;
+			fChars= chars;
+			fStart= start;
+			fLength= length;
+			fPriority= priority;
+			fLeft= left;
+			fRight= right;
+			fTotalLength= length(left) + length + length(right);
+		}
+
+		/**
+		 * Returns a node describing the same piece with different children.
+		 *
+		 * @param left the new left subtree
+		 * @param right the new right subtree
+		 * @return the new node
+		 */
+		Piece with(Piece left, Piece right) {
+			if (left == fLeft && right == fRight)
+				return this;
+			return new Piece(fString, fChars, fStart, fLength, fPriority, left, right);
+		}
+
+		/**
+		 * Returns a leaf node describing a sub range of this piece.
+		 *
+		 * @param start the start relative to this piece
+		 * @param length the length of the range
+		 * @return the new node
+		 */
+		Piece slice(int start, int length) {
+			return new Piece(fString, fChars, fStart + start, length, fPriority, null, null);
+		}
+
+		char charAt(int index) {
+			return fChars != null ? fChars[fStart + index] : fString.charAt(fStart + index);
+		}
+
+		void getChars(int start, int end, char[] dest, int destPos) {
+			if (fChars != null)
+				System.arraycopy(fChars, fStart + start, dest, destPos, end - start);
+			else
+				fString.getChars(fStart + start, fStart + end, dest, destPos);
+		}
+	}
+
+	/**
+	 * An immutable view of the content of the store. As tree nodes are never modified and the
+	 * chunks are only appended to, the view shares the tree of the store.
+	 */
+	private static final class Snapshot implements CharSequence {
+		/** The root of the piece tree, <code>null</code> if the content is empty */
+		private final Piece fTree;
+
+		Snapshot(Piece tree) {
+			fTree= tree;
+		}
+
+		@Override
+		public int length() {
+			return PieceTableTextStore.length(fTree);
+		}
+
+		@Override
+		public char charAt(int index) {
+			if (index < 0 || index >= length())
+				throw new IndexOutOfBoundsException("index: " + index); //$NON-NLS-1$
+			return PieceTableTextStore.charAt(fTree, index);
+		}
+
+		@Override
+		public String subSequence(int start, int end) {
+			if (start < 0 || start > end || end > length())
+				throw new IndexOutOfBoundsException("start: " + start + ", end: " + end); //$NON-NLS-1$ //$NON-NLS-2$
+			if (start == end)
+				return ""; //$NON-NLS-1$
+			char[] result= new char[end - start];
+			copy(fTree, start, end, result, 0);
+			return new String(result);
+		}
+
+		@Override
+		public String toString() {
+			return subSequence(0, length());
+		}
+	}
+
+	/** The size of the chunks receiving inserted text */
+	private static final int CHUNK_SIZE= 16 * 1024;
+
+	/** The root of the piece tree, <code>null</code> if the store is empty */
+	private Piece fRoot;
+	/** The chunk currently receiving inserted text */
+	private char[] fChunk;
+	/** The number of characters used in {@link #fChunk} */
+	private int fChunkLength;
+	/** The state of the priority generator */
+	private int fSeed= 0x2545F491;
+
+	/**
+	 * Creates a new empty text store.
+	 */
+	public PieceTableTextStore() {
+		fChunk= new char[0];
+	}
+
+	@Override
+	public char get(int offset) {
+		checkRange(offset, 1);
+		return charAt(fRoot, offset);
+	}
+
+	@Override
+	public String get(int offset, int length) {
+		checkRange(offset, length);
+		if (length == 0)
+			return ""; //$NON-NLS-1$
+		char[] result= new char[length];
+		copy(fRoot, offset, offset + length, result, 0);
+		return new String(result);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The snapshot shares the piece tree of this store and is created in <i>O(1)</i>.
+	 * </p>
+	 */
+	@Override
+	public CharSequence getSnapshot() {
+		return new Snapshot(fRoot);
+	}
+
+	/**
+	 * Returns the character at the given offset of the given tree.
+	 *
+	 * @param tree the tree
+	 * @param offset the offset, must be valid in the tree
+	 * @return the character at the offset
+	 */
+	private static char charAt(Piece tree, int offset) {
+		Piece piece= tree;
+		while (true) {
+			int leftLength= length(piece.fLeft);
+			if (offset < leftLength) {
+				piece= piece.fLeft;
+			} else {
+				offset -= leftLength;
+				if (offset < piece.fLength)
+					return piece.charAt(offset);
+				offset -= piece.fLength;
+				piece= piece.fRight;
+			}
+		}
+	}
+
+	@Override
+	public int getLength() {
+		return length(fRoot);
+	}
+
+	@Override
+	public void replace(int offset, int length, String text) {
+		checkRange(offset, length);
+		Piece[] split= split(fRoot, offset);
+		Piece before= split[0];
+		Piece after= split(split[1], length)[1];
+
+		if (text != null && !text.isEmpty())
+			before= insert(before, text);
+
+		fRoot= merge(before, after);
+	}
+
+	@Override
+	public void set(String text) {
+		fChunk= new char[0];
+		fChunkLength= 0;
+		if (text == null || text.isEmpty())
+			fRoot= null;
+		else
+			fRoot= new Piece(text, null, 0, text.length(), nextPriority(), null, null);
+	}
+
+	/**
+	 * Appends the given text to the given tree. If the last piece of the tree ends where the text
+	 * is appended to the current chunk, that piece is extended instead of adding a new piece, so
+	 * that typing does not increase the number of pieces.
+	 *
+	 * @param tree the tree to append to, may be <code>null</code>
+	 * @param text the non-empty text to append
+	 * @return the new tree
+	 */
+	private Piece insert(Piece tree, String text) {
+		int textLength= text.length();
+		if (textLength > CHUNK_SIZE / 4) {
+			// large insertions get their own piece and are not copied
+			return merge(tree, new Piece(text, null, 0, textLength, nextPriority(), null, null));
+		}
+
+		if (fChunk.length - fChunkLength < textLength) {
+			fChunk= new char[CHUNK_SIZE];
+			fChunkLength= 0;
+		}
+
+		int start= fChunkLength;
+		text.getChars(0, textLength, fChunk, start);
+		fChunkLength += textLength;
+
+		Piece last= tree;
+		while (last != null && last.fRight != null)
+			last= last.fRight;
+		if (last != null && last.fChars == fChunk && last.fStart + last.fLength == start)
+			return extendLast(tree, textLength);
+
+		return merge(tree, new Piece(null, fChunk, start, textLength, nextPriority(), null, null));
+	}
+
+	/**
+	 * Returns a copy of the given tree in which the last piece is extended by the given number of
+	 * characters.
+	 *
+	 * @param tree the non-empty tree
+	 * @param delta the number of characters to add to the last piece
+	 * @return the new tree
+	 */
+	private static Piece extendLast(Piece tree, int delta) {
+		if (tree.fRight != null)
+			return tree.with(tree.fLeft, extendLast(tree.fRight, delta));
+		return new Piece(tree.fString, tree.fChars, tree.fStart, tree.fLength + delta, tree.fPriority, tree.fLeft, null);
+	}
+
+	/**
+	 * Splits the given tree at the given offset. Pieces spanning the offset are split in two.
+	 *
+	 * @param tree the tree to split, may be <code>null</code>
+	 * @param offset the split offset
+	 * @return an array of length two containing the tree of all characters before the offset and
+	 *         the tree of all characters after the offset
+	 */
+	private static Piece[] split(Piece tree, int offset) {
+		if (tree == null)
+			return new Piece[2];
+
+		int leftLength= length(tree.fLeft);
+		if (offset <= leftLength) {
+			Piece[] split= split(tree.fLeft, offset);
+			split[1]= tree.with(split[1], tree.fRight);
+			return split;
+		}
+
+		int pieceEnd= leftLength + tree.fLength;
+		if (offset >= pieceEnd) {
+			Piece[] split= split(tree.fRight, offset - pieceEnd);
+			split[0]= tree.with(tree.fLeft, split[0]);
+			return split;
+		}
+
+		// the offset is inside this piece - both halves keep the priority and are valid heaps
+		int delta= offset - leftLength;
+		Piece head= tree.slice(0, delta);
+		Piece tail= tree.slice(delta, tree.fLength - delta);
+		return new Piece[] { head.with(tree.fLeft, null), tail.with(null, tree.fRight) };
+	}
+
+	/**
+	 * Concatenates two trees.
+	 *
+	 * @param left the tree containing the first characters, may be <code>null</code>
+	 * @param right the tree containing the last characters, may be <code>null</code>
+	 * @return the concatenated tree
+	 */
+	private static Piece merge(Piece left, Piece right) {
+		if (left == null)
+			return right;
+		if (right == null)
+			return left;
+		if (left.fPriority > right.fPriority)
+			return left.with(left.fLeft, merge(left.fRight, right));
+		return right.with(merge(left, right.fLeft), right.fRight);
+	}
+
+	/**
+	 * Copies the characters of the given range of the given tree.
+	 *
+	 * @param tree the tree, may be <code>null</code>
+	 * @param start the start offset relative to the tree
+	 * @param end the exclusive end offset relative to the tree
+	 * @param dest the destination array
+	 * @param destPos the index in <code>dest</code> corresponding to the tree offset 0
+	 */
+	private static void copy(Piece tree, int start, int end, char[] dest, int destPos) {
+		while (tree != null && start < end) {
+			int leftLength= length(tree.fLeft);
+			if (start < leftLength)
+				copy(tree.fLeft, start, Math.min(end, leftLength), dest, destPos);
+
+			int pieceEnd= leftLength + tree.fLength;
+			int from= Math.max(start, leftLength);
+			int to= Math.min(end, pieceEnd);
+			if (from < to)
+				tree.getChars(from - leftLength, to - leftLength, dest, destPos + from - start);
+
+			if (end <= pieceEnd)
+				return;
+
+			// continue in the right subtree
+			destPos += Math.max(pieceEnd - start, 0);
+			start= Math.max(start - pieceEnd, 0);
+			end -= pieceEnd;
+			tree= tree.fRight;
+		}
+	}
+
+	private static int length(Piece tree) {
+		return tree == null ? 0 : tree.fTotalLength;
+	}
+
+	private void checkRange(int offset, int length) {
+		if (offset < 0 || length < 0 || offset + length > getLength())
+			throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Returns a pseudo random priority for a new tree node.
+	 *
+	 * @return the priority
+	 */
+	private int nextPriority() {
+		// xorshift
+		int seed= fSeed;
+		seed ^= seed << 13;
+		seed ^= seed >>> 17;
+		seed ^= seed << 5;
+		fSeed= seed;
+		return seed;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,8 +16,8 @@ package org.eclipse.jface.text.source;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -42,7 +42,7 @@ class AnnotationMap implements IAnnotationMap {
 	 */
 	private final Object fInternalLockObject= new Object();
 
-	/** The map holding the annotations */
+	/** The map holding the annotations, in the order they have been added */
 	private Map<Annotation, Position> fInternalMap;
 
 	/**
@@ -51,7 +51,7 @@ class AnnotationMap implements IAnnotationMap {
 	 * @param capacity the capacity
 	 */
 	public AnnotationMap(int capacity) {
-		fInternalMap= new HashMap<>(capacity);
+		fInternalMap= new LinkedHashMap<>(capacity);
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,22 +16,24 @@
 package org.eclipse.jface.text.source;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.Assert;
 
-import org.eclipse.jface.text.AbstractDocument;
 import org.eclipse.jface.text.BadLocationException;
-import org.eclipse.jface.text.BadPositionCategoryException;
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.ISynchronizable;
 import org.eclipse.jface.text.Position;
@@ -113,23 +115,336 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 				Annotation next= fParentIterator.next();
 				Position position= fModel.getPosition(next);
 				if (position != null) {
-					int offset= position.getOffset();
-					if (isWithinRegion(offset, position.getLength()))
+					if (isWithinRegion(fRegion, position, fCanStartBefore, fCanEndAfter))
 						return next;
 				}
 			}
 			return null;
 		}
+	}
 
-		private boolean isWithinRegion(int start, int length) {
-			if (fCanStartBefore && fCanEndAfter)
-				return fRegion.overlapsWith(start, length);
-			else if (fCanStartBefore)
-				return fRegion.includes(start + length - (length > 0 ? 1 : 0));
-			else if (fCanEndAfter)
-				return fRegion.includes(start);
-			else
-				return fRegion.includes(start) && fRegion.includes(start + length - (length > 0 ? 1 : 0));
+	/**
+	 * Index of the positions of a model's annotations. The positions are kept sorted by offset in
+	 * an implicit binary tree whose nodes hold the largest end offset of their subtree, so that the
+	 * positions in a region are found in <code>O(log n + k)</code>.
+	 * <p>
+	 * The document updates the positions in place: the positions before a change keep their
+	 * offset, the positions after it are shifted by the same amount. The index therefore records
+	 * the span of sorted positions a change touches when the document is about to be changed, and
+	 * once the document has been changed it re-sorts this span only, recomputes the end offsets of
+	 * the positions overlapping the change and shifts the end offsets of the following subtrees
+	 * lazily. A position deleted by the change or an unreported modification of the positions
+	 * makes the next query rebuild the index.
+	 * </p>
+	 *
+	 * @since 3.14
+	 */
+	private static final class PositionIndex {
+
+		private static final Comparator<Position> OFFSET_ORDER= Comparator.comparingInt(Position::getOffset);
+
+		/** The indexed positions */
+		private final Set<Position> fPositions= Collections.newSetFromMap(new IdentityHashMap<>());
+		/** The indexed positions which are not deleted, sorted by offset */
+		private Position[] fSorted= new Position[0];
+		/** The largest end offset in each subtree, the leaves start at <code>fLeafCount</code> */
+		private int[] fMaxEnds= new int[0];
+		/** The shift of the end offsets of the children of each node that is still to be applied */
+		private int[] fShifts= new int[0];
+		/** The number of leaves of the tree, a power of two */
+		private int fLeafCount;
+		/** Whether the index has to be rebuilt from {@link #fPositions} on the next query */
+		private boolean fRebuild= true;
+		/** The document's modification stamp the index is consistent with */
+		private long fDocumentStamp= IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+		/** Whether a document change has been recorded but not yet repaired */
+		private boolean fChangePending;
+		/** The index of the first sorted position starting in the pending change */
+		private int fChangeLow;
+		/** The index of the first sorted position starting after the pending change */
+		private int fChangeHigh;
+		/** The document's length before the pending change */
+		private int fLengthBefore;
+		/** The positions starting before the pending change and ending in or after it */
+		private final List<Position> fOverlapping= new ArrayList<>();
+
+		synchronized void add(Position position) {
+			fRebuild|= fPositions.add(position);
+		}
+
+		synchronized void remove(Position position) {
+			fRebuild|= fPositions.remove(position);
+		}
+
+		synchronized void clear() {
+			fPositions.clear();
+			fRebuild= true;
+		}
+
+		synchronized void positionsChanged() {
+			fRebuild= true;
+		}
+
+		/**
+		 * Records the sorted positions the given change touches, so that only these have to be
+		 * repaired once the document has been changed.
+		 *
+		 * @param event the document event, sent before the document is changed
+		 */
+		synchronized void documentAboutToBeChanged(DocumentEvent event) {
+			IDocument document= event.getDocument();
+			long stamp= getModificationStamp(document);
+			if (fRebuild || stamp == IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP)
+				return;
+
+			if (fChangePending)
+				repair(document, stamp);
+			if (fRebuild || stamp != fDocumentStamp) {
+				fRebuild= true;
+				return;
+			}
+
+			int offset= event.getOffset();
+			fChangeLow= getFirstIndexStartingAfter(offset - 1);
+			fChangeHigh= getFirstIndexStartingAfter(offset + event.getLength());
+			fLengthBefore= document.getLength();
+			fOverlapping.clear();
+			collect(1, 0, fLeafCount, fChangeLow, offset, fOverlapping);
+			fChangePending= true;
+		}
+
+		/**
+		 * Makes the next query rebuild the index if the changed document does not report its
+		 * modification stamp, since the span touched by the change cannot be told apart then.
+		 *
+		 * @param event the document event, sent after the document has been changed
+		 */
+		synchronized void documentChanged(DocumentEvent event) {
+			if (getModificationStamp(event.getDocument()) == IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP)
+				fRebuild= true;
+		}
+
+		/**
+		 * Returns the indexed positions in the given region, sorted by offset.
+		 *
+		 * @param document the document updating the positions or <code>null</code>
+		 * @param region the region
+		 * @param canStartBefore include positions starting before the region
+		 * @param canEndAfter include positions ending after the region
+		 * @return the positions in the region
+		 * @see IAnnotationModelExtension2
+		 */
+		synchronized Position[] getPositions(IDocument document, Position region, boolean canStartBefore, boolean canEndAfter) {
+			update(document);
+
+			int offset= region.getOffset();
+			int end= offset + region.getLength();
+			int high= getFirstIndexStartingAfter(end);
+
+			List<Position> candidates= new ArrayList<>();
+			if (canStartBefore) {
+				collect(1, 0, fLeafCount, high, offset, candidates);
+			} else {
+				for (int i= getFirstIndexStartingAfter(offset - 1); i < high; i++)
+					candidates.add(fSorted[i]);
+			}
+
+			List<Position> positions= new ArrayList<>(candidates.size());
+			for (Position position : candidates) {
+				if (!position.isDeleted() && isWithinRegion(region, position, canStartBefore, canEndAfter))
+					positions.add(position);
+			}
+			return positions.toArray(new Position[positions.size()]);
+		}
+
+		private void update(IDocument document) {
+			long stamp= getModificationStamp(document);
+			if (!fRebuild) {
+				if (fChangePending)
+					repair(document, stamp);
+				else if (stamp != fDocumentStamp)
+					fRebuild= true;
+			}
+
+			if (fRebuild) {
+				fRebuild= false;
+				fChangePending= false;
+				fOverlapping.clear();
+				fDocumentStamp= stamp;
+				rebuild();
+			}
+		}
+
+		private static long getModificationStamp(IDocument document) {
+			if (document instanceof IDocumentExtension4)
+				return ((IDocumentExtension4) document).getModificationStamp();
+			return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+		}
+
+		/**
+		 * Repairs the span touched by the pending change once the document has been changed, that
+		 * is once its modification stamp differs from the one the index is consistent with.
+		 *
+		 * @param document the changed document
+		 * @param stamp the document's current modification stamp
+		 */
+		private void repair(IDocument document, long stamp) {
+			if (stamp == fDocumentStamp)
+				return;
+
+			fChangePending= false;
+			fDocumentStamp= stamp;
+			int low= fChangeLow;
+			int high= fChangeHigh;
+			int delta= document.getLength() - fLengthBefore;
+			if (delta != 0)
+				shift(1, 0, fLeafCount, high, fSorted.length, delta);
+
+			Arrays.sort(fSorted, low, high, OFFSET_ORDER);
+			for (int i= low; i < high; i++) {
+				if (fSorted[i].isDeleted()) {
+					fRebuild= true;
+					return;
+				}
+				setEnd(i);
+			}
+			if (low > 0 && low < fSorted.length && fSorted[low - 1].getOffset() > fSorted[low].getOffset()
+					|| high > 0 && high < fSorted.length && fSorted[high - 1].getOffset() > fSorted[high].getOffset()) {
+				fRebuild= true;
+				return;
+			}
+
+			for (Position position : fOverlapping) {
+				int i= getFirstIndexStartingAfter(position.getOffset() - 1);
+				while (i < low && fSorted[i] != position)
+					i++;
+				if (i == low) {
+					fRebuild= true;
+					return;
+				}
+				setEnd(i);
+			}
+			fOverlapping.clear();
+		}
+
+		private void rebuild() {
+			List<Position> positions= new ArrayList<>(fPositions.size());
+			for (Position position : fPositions) {
+				if (!position.isDeleted())
+					positions.add(position);
+			}
+			fSorted= positions.toArray(new Position[positions.size()]);
+			Arrays.sort(fSorted, OFFSET_ORDER);
+
+			fLeafCount= Integer.highestOneBit(Math.max(1, fSorted.length - 1)) << 1;
+			if (fMaxEnds.length != 2 * fLeafCount) {
+				fMaxEnds= new int[2 * fLeafCount];
+				fShifts= new int[fLeafCount];
+			} else {
+				Arrays.fill(fShifts, 0);
+			}
+			for (int i= 0; i < fLeafCount; i++)
+				fMaxEnds[fLeafCount + i]= i < fSorted.length ? fSorted[i].getOffset() + fSorted[i].getLength() : Integer.MIN_VALUE;
+			for (int i= fLeafCount - 1; i > 0; i--)
+				fMaxEnds[i]= Math.max(fMaxEnds[2 * i], fMaxEnds[2 * i + 1]);
+		}
+
+		/**
+		 * Shifts the end offsets of the positions of the given subtree with an index between
+		 * <code>from</code> and <code>to</code>.
+		 *
+		 * @param node the root of the subtree
+		 * @param low the index of the first leaf of the subtree
+		 * @param size the number of leaves of the subtree
+		 * @param from the index of the first position to shift
+		 * @param to the index behind the last position to shift
+		 * @param shift the shift
+		 */
+		private void shift(int node, int low, int size, int from, int to, int shift) {
+			if (to <= low || low + size <= from)
+				return;
+			if (from <= low && low + size <= to) {
+				fMaxEnds[node]+= shift;
+				if (size > 1)
+					fShifts[node]+= shift;
+			} else {
+				push(node);
+				shift(2 * node, low, size / 2, from, to, shift);
+				shift(2 * node + 1, low + size / 2, size / 2, from, to, shift);
+				fMaxEnds[node]= Math.max(fMaxEnds[2 * node], fMaxEnds[2 * node + 1]);
+			}
+		}
+
+		/**
+		 * Applies the pending shift of the given inner node to its children.
+		 *
+		 * @param node the inner node
+		 */
+		private void push(int node) {
+			int shift= fShifts[node];
+			if (shift != 0) {
+				fShifts[node]= 0;
+				for (int child= 2 * node; child <= 2 * node + 1; child++) {
+					fMaxEnds[child]+= shift;
+					if (child < fLeafCount)
+						fShifts[child]+= shift;
+				}
+			}
+		}
+
+		/**
+		 * Sets the leaf of the given sorted position to its current end offset.
+		 *
+		 * @param index the index of the sorted position
+		 */
+		private void setEnd(int index) {
+			int leaf= fLeafCount + index;
+			for (int level= Integer.numberOfTrailingZeros(fLeafCount); level > 0; level--)
+				push(leaf >>> level);
+			fMaxEnds[leaf]= fSorted[index].getOffset() + fSorted[index].getLength();
+			for (int node= leaf >>> 1; node > 0; node>>>= 1)
+				fMaxEnds[node]= Math.max(fMaxEnds[2 * node], fMaxEnds[2 * node + 1]);
+		}
+
+		/**
+		 * Adds the positions of the given subtree with an index below <code>high</code> which end
+		 * at or after <code>offset</code>.
+		 *
+		 * @param node the root of the subtree
+		 * @param low the index of the first leaf of the subtree
+		 * @param size the number of leaves of the subtree
+		 * @param high the index behind the positions to consider
+		 * @param offset the offset
+		 * @param result the list to add the positions to
+		 */
+		private void collect(int node, int low, int size, int high, int offset, List<Position> result) {
+			if (low >= high || fMaxEnds[node] < offset)
+				return;
+			if (size == 1) {
+				result.add(fSorted[low]);
+			} else {
+				push(node);
+				collect(2 * node, low, size / 2, high, offset, result);
+				collect(2 * node + 1, low + size / 2, size / 2, high, offset, result);
+			}
+		}
+
+		/**
+		 * Returns the index of the first sorted position which starts after the given offset.
+		 *
+		 * @param offset the offset
+		 * @return the index of the first position starting after the offset
+		 */
+		private int getFirstIndexStartingAfter(int offset) {
+			int low= 0, high= fSorted.length;
+			while (low < high) {
+				int mid= (low + high) >>> 1;
+				if (fSorted[mid].getOffset() <= offset)
+					low= mid + 1;
+				else
+					high= mid;
+			}
+			return low;
 		}
 	}
 
@@ -268,6 +583,11 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 	 * @since 3.4
 	 **/
 	private IdentityHashMap<Position, Annotation> fPositions;
+	/**
+	 * The index of the positions in {@link #fPositions}.
+	 * @since 3.14
+	 */
+	private final PositionIndex fPositionIndex= new PositionIndex();
 	/** The list of annotation model listeners */
 	protected ArrayList<IAnnotationModelListener> fAnnotationModelListeners;
 	/** The document connected with this model */
@@ -312,11 +632,13 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 
 			@Override
 			public void documentAboutToBeChanged(DocumentEvent event) {
+				fPositionIndex.documentAboutToBeChanged(event);
 			}
 
 			@Override
 			public void documentChanged(DocumentEvent event) {
 				fDocumentChanged= true;
+				fPositionIndex.documentChanged(event);
 			}
 		};
 	}
@@ -427,6 +749,7 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 			addPosition(fDocument, position);
 			annotations.put(annotation, position);
 			fPositions.put(position, annotation);
+			fPositionIndex.add(position);
 			synchronized (getLockObject()) {
 				getAnnotationModelEvent().annotationAdded(annotation);
 			}
@@ -720,19 +1043,33 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 	 * @since 3.4
 	 */
 	private Iterator<Annotation> getRegionAnnotationIterator(int offset, int length, boolean canStartBefore, boolean canEndAfter) {
-		if (!(fDocument instanceof AbstractDocument))
-			return new RegionIterator(getAnnotationIterator(true), this, offset, length, canStartBefore, canEndAfter);
-
-		AbstractDocument document= (AbstractDocument) fDocument;
 		cleanup(true);
+		Position[] positions= fPositionIndex.getPositions(fDocument, new Position(offset, length), canStartBefore, canEndAfter);
+		return new AnnotationsInterator(positions, fPositions);
+	}
 
-		try {
-			Position[] positions= document.getPositions(IDocument.DEFAULT_CATEGORY, offset, length, canStartBefore, canEndAfter);
-			return new AnnotationsInterator(positions, fPositions);
-		} catch (BadPositionCategoryException e) {
-			// can happen if e.g. the document doesn't contain such a category, or when removed in a different thread
-			return Collections.<Annotation>emptyList().iterator();
-		}
+	/**
+	 * Returns whether the given position is inside the given region. See
+	 * {@link IAnnotationModelExtension2} for a definition of inside.
+	 *
+	 * @param region the region
+	 * @param position the position
+	 * @param canStartBefore include positions starting before the region
+	 * @param canEndAfter include positions ending after the region
+	 * @return <code>true</code> if the position is inside the region
+	 * @since 3.14
+	 */
+	private static boolean isWithinRegion(Position region, Position position, boolean canStartBefore, boolean canEndAfter) {
+		int start= position.getOffset();
+		int length= position.getLength();
+		if (canStartBefore && canEndAfter)
+			return region.overlapsWith(start, length);
+		else if (canStartBefore)
+			return region.includes(start + length - (length > 0 ? 1 : 0));
+		else if (canEndAfter)
+			return region.includes(start);
+		else
+			return region.includes(start) && region.includes(start + length - (length > 0 ? 1 : 0));
 	}
 
 	/**
@@ -815,6 +1152,7 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 
 		annotations.clear();
 		fPositions.clear();
+		fPositionIndex.clear();
 
 		if (fireModelChanged)
 			fireModelChanged();
@@ -845,6 +1183,7 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 
 			annotations.remove(annotation);
 			fPositions.remove(p);
+			fPositionIndex.remove(p);
 			synchronized (getLockObject()) {
 				getAnnotationModelEvent().annotationRemoved(annotation, p);
 			}
@@ -891,6 +1230,7 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 					} catch (BadLocationException e) {
 						// ignore invalid position
 					}
+					fPositionIndex.positionsChanged();
 				}
 				synchronized (getLockObject()) {
 					getAnnotationModelEvent().annotationChanged(annotation);
@@ -0,0 +1,229 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.edits;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.BadPositionCategoryException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.DocumentRewriteSession;
+import org.eclipse.jface.text.DocumentRewriteSessionType;
+import org.eclipse.jface.text.GapTextStore;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.Position;
+
+
+/**
+ * A document used by the {@link TextEditProcessor} to apply an edit tree with
+ * {@link TextEdit#BULK_UPDATE}. The edits modify a copy of the content kept in a gap text store.
+ * As the edits of a tree are executed from the end of the document to its start, the gap moves
+ * over the content only once, so that the resulting text is computed in linear time.
+ * <p>
+ * The executed changes are recorded and finally replayed on the target document. Consecutive
+ * changes are combined into a single replace unless a position of the target document starts or
+ * ends in the combined range, so the positions are updated exactly as if the changes were applied
+ * one by one, while documents without positions in the modified range receive a single change.
+ * If more than one replace is needed, the replaces are executed in a
+ * {@link DocumentRewriteSession} if the document implements {@link IDocumentExtension4} and is not
+ * in a session already.
+ * </p>
+ * <p>
+ * Document listeners are supported to let the {@link UndoCollector} record the executed edits.
+ * </p>
+ */
+class BulkEditDocument extends EditDocument {
+
+	/**
+	 * A change executed on this document.
+	 */
+	private static class Change {
+		final int fOffset;
+		final int fLength;
+		final String fText;
+
+		Change(int offset, int length, String text) {
+			fOffset= offset;
+			fLength= length;
+			fText= text;
+		}
+
+		int getEnd() {
+			return fOffset + fLength;
+		}
+	}
+
+	/** The minimal gap size of the text store */
+	private static final int MIN_GAP_SIZE= 4096;
+	/** The gap factor of the text store; the gap grows with the content to amortize re-allocations */
+	private static final float GAP_FACTOR= 0.5f;
+
+	/** The executed changes in the order of their execution */
+	private final List<Change> fChanges= new ArrayList<>();
+	/** The registered document listeners */
+	private final List<IDocumentListener> fListeners= new ArrayList<>(1);
+
+	/**
+	 * Creates a new bulk edit document with the content of the given document.
+	 *
+	 * @param document the document whose content is edited
+	 */
+	public BulkEditDocument(IDocument document) {
+		super(new GapTextStore(MIN_GAP_SIZE, Integer.MAX_VALUE / 2, GAP_FACTOR), document.get());
+	}
+
+	@Override
+	public void addDocumentListener(IDocumentListener listener) {
+		fListeners.add(listener);
+	}
+
+	@Override
+	public void removeDocumentListener(IDocumentListener listener) {
+		fListeners.remove(listener);
+	}
+
+	@Override
+	public void replace(int offset, int length, String text) throws BadLocationException {
+		if (offset < 0 || length < 0 || offset + length > getLength())
+			throw new BadLocationException();
+
+		DocumentEvent event= new DocumentEvent(this, offset, length, text);
+		for (IDocumentListener listener : fListeners)
+			listener.documentAboutToBeChanged(event);
+
+		String newText= text == null ? "" : text; //$NON-NLS-1$
+		super.replace(offset, length, newText);
+		if (length > 0 || !newText.isEmpty())
+			fChanges.add(new Change(offset, length, newText));
+
+		for (IDocumentListener listener : fListeners)
+			listener.documentChanged(event);
+	}
+
+	/**
+	 * Replays the changes executed on this document on the given document. Nothing happens if
+	 * this document has not been modified.
+	 *
+	 * @param document the document whose content has been copied into this document
+	 * @throws BadLocationException if the given document has been modified meanwhile
+	 */
+	public void applyTo(IDocument document) throws BadLocationException {
+		DocumentRewriteSession session= null;
+		int[] boundaries= null;
+		try {
+			// the boundaries of the positions below the replayed changes are not affected by them
+			int lowest= Integer.MAX_VALUE;
+			int size= fChanges.size();
+			int i= 0;
+			while (i < size) {
+				Change first= fChanges.get(i);
+				if (first.getEnd() > lowest) {
+					boundaries= null;
+					lowest= Integer.MAX_VALUE;
+				}
+				int start= first.fOffset;
+				int end= first.getEnd();
+
+				// combine the following changes below this one as long as no position starts or ends in the combined range
+				int next= i + 1;
+				if (next < size && end < lowest && fChanges.get(next).getEnd() <= start) {
+					if (boundaries == null)
+						boundaries= getPositionBoundaries(document);
+					if (!containsBoundary(boundaries, start, end)) {
+						while (next < size) {
+							Change change= fChanges.get(next);
+							if (change.getEnd() > start || containsBoundary(boundaries, change.fOffset, start))
+								break;
+							start= change.fOffset;
+							next++;
+						}
+					}
+				}
+
+				// more replaces follow this one, execute them in a rewrite session
+				if (next < size && session == null && document instanceof IDocumentExtension4) {
+					IDocumentExtension4 extension= (IDocumentExtension4) document;
+					if (extension.getActiveRewriteSession() == null)
+						session= extension.startRewriteSession(DocumentRewriteSessionType.UNRESTRICTED);
+				}
+
+				if (next == i + 1) {
+					document.replace(first.fOffset, first.fLength, first.fText);
+				} else {
+					StringBuilder text= new StringBuilder();
+					int gapStart= start;
+					for (int j= next - 1; j >= i; j--) {
+						Change change= fChanges.get(j);
+						text.append(document.get(gapStart, change.fOffset - gapStart));
+						text.append(change.fText);
+						gapStart= change.getEnd();
+					}
+					document.replace(start, end - start, text.toString());
+				}
+				lowest= Math.min(lowest, start);
+				i= next;
+			}
+		} finally {
+			if (session != null)
+				((IDocumentExtension4) document).stopRewriteSession(session);
+		}
+	}
+
+	/**
+	 * Returns the sorted start and end offsets of all positions of the given document.
+	 *
+	 * @param document the document
+	 * @return the sorted boundaries of the positions
+	 */
+	private static int[] getPositionBoundaries(IDocument document) {
+		int[] boundaries= new int[16];
+		int count= 0;
+		for (String category : document.getPositionCategories()) {
+			try {
+				for (Position position : document.getPositions(category)) {
+					if (count + 2 > boundaries.length)
+						boundaries= Arrays.copyOf(boundaries, boundaries.length * 2);
+					boundaries[count++]= position.getOffset();
+					boundaries[count++]= position.getOffset() + position.getLength();
+				}
+			} catch (BadPositionCategoryException e) {
+				// the category has been removed
+			}
+		}
+		boundaries= Arrays.copyOf(boundaries, count);
+		Arrays.sort(boundaries);
+		return boundaries;
+	}
+
+	/**
+	 * Tells whether one of the given boundaries lies between the given offsets, both included.
+	 *
+	 * @param boundaries the sorted boundaries
+	 * @param from the start offset
+	 * @param to the end offset
+	 * @return <code>true</code> if a boundary <code>b</code> with <code>from &lt;= b &lt;= to</code>
+	 *         exists
+	 */
+	private static boolean containsBoundary(int[] boundaries, int from, int to) {
+		int index= Arrays.binarySearch(boundaries, from);
+		if (index >= 0)
+			return true;
+		index= -index - 1;
+		return index < boundaries.length && boundaries[index] <= to;
+	}
+}
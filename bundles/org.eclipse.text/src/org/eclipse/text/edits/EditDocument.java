@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,21 +16,34 @@ package org.eclipse.text.edits;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.BadPositionCategoryException;
 import org.eclipse.jface.text.FindReplaceDocumentAdapter;
+import org.eclipse.jface.text.GapTextStore;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.IDocumentPartitioner;
 import org.eclipse.jface.text.IDocumentPartitioningListener;
 import org.eclipse.jface.text.IPositionUpdater;
 import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITextStore;
 import org.eclipse.jface.text.ITypedRegion;
 import org.eclipse.jface.text.Position;
 
 class EditDocument implements IDocument {
 
-	private StringBuilder fBuffer;
+	private final ITextStore fStore;
 
 	public EditDocument(String content) {
-		fBuffer= new StringBuilder(content);
+		this(new GapTextStore(), content);
+	}
+
+	/**
+	 * Creates a new document with the given content, kept in the given text store.
+	 *
+	 * @param store the text store
+	 * @param content the initial content
+	 */
+	EditDocument(ITextStore store, String content) {
+		fStore= store;
+		fStore.set(content);
 	}
 
 	@Override
@@ -95,12 +108,12 @@ class EditDocument implements IDocument {
 
 	@Override
 	public String get() {
-		return fBuffer.toString();
+		return fStore.get(0, fStore.getLength());
 	}
 
 	@Override
 	public String get(int offset, int length) throws BadLocationException {
-		return fBuffer.substring(offset, offset + length);
+		return fStore.get(offset, length);
 	}
 
 	@Override
@@ -130,7 +143,7 @@ class EditDocument implements IDocument {
 
 	@Override
 	public int getLength() {
-		return fBuffer.length();
+		return fStore.getLength();
 	}
 
 	@Override
@@ -235,7 +248,7 @@ class EditDocument implements IDocument {
 
 	@Override
 	public void replace(int offset, int length, String text) throws BadLocationException {
-		fBuffer.replace(offset, offset + length, text);
+		fStore.replace(offset, length, text);
 	}
 
 	/**
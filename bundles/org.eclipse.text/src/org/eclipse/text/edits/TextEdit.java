@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -105,6 +105,33 @@ public abstract class TextEdit {
 	 */
 	public static final int UPDATE_REGIONS= 1 << 1;
 
+	/**
+	 * Flag indicating that the edit tree is executed on a copy of the
+	 * document's content and the result is transferred to the document
+	 * with as few replace operations as possible. Consecutive modifications
+	 * are transferred with a single replace operation unless a position of
+	 * the document starts or ends between them. This is considerably faster
+	 * for trees with many edits, as the document's listeners, line
+	 * information and positions are updated less often.
+	 * <p>
+	 * The document receives a single change if no position of the document
+	 * starts or ends between the first and the last modification, which
+	 * includes documents without positions. Otherwise, the modifications are
+	 * transferred with one replace operation per group of modifications not
+	 * separated by a position boundary, in the worst case one per edit. These
+	 * replace operations are executed in a {@link org.eclipse.jface.text.DocumentRewriteSession}
+	 * if the document implements {@link org.eclipse.jface.text.IDocumentExtension4}
+	 * and is not in a rewrite session already.
+	 * </p>
+	 * <p>
+	 * Positions are updated as if the edits were applied one by one.
+	 * Regions of edits and the undo edit are computed as without this flag.
+	 * </p>
+	 *
+	 * @since 3.14
+	 */
+	public static final int BULK_UPDATE= 1 << 2;
+
 	private static class InsertionComparator implements Comparator<TextEdit> {
 		@Override
 		public int compare(TextEdit edit1, TextEdit edit2) throws MalformedTreeException {
@@ -695,7 +722,8 @@ public abstract class TextEdit {
 	 *
 	 * @param document the document to be manipulated
 	 * @param style flags controlling the execution of the edit tree. Valid
-	 *  flags are: <code>CREATE_UNDO</code> and <code>UPDATE_REGIONS</code>.
+	 *  flags are: <code>CREATE_UNDO</code>, <code>UPDATE_REGIONS</code> and
+	 *  <code>BULK_UPDATE</code>.
 	 * @return a undo edit, if <code>CREATE_UNDO</code> is specified. Otherwise
 	 *  <code>null</code> is returned.
 	 *
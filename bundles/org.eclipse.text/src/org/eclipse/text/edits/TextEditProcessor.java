@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -55,7 +55,8 @@ public class TextEditProcessor {
 	 *  text edit processors. Clients must not modify the edit
 	 *  (e.g adding new children) any longer.
 	 *
-	 * @param style {@link TextEdit#NONE}, {@link TextEdit#CREATE_UNDO} or {@link TextEdit#UPDATE_REGIONS})
+	 * @param style {@link TextEdit#NONE} or a combination of {@link TextEdit#CREATE_UNDO},
+	 *  {@link TextEdit#UPDATE_REGIONS} and {@link TextEdit#BULK_UPDATE}
 	 */
 	public TextEditProcessor(IDocument document, TextEdit root, int style) {
 		this(document, root, style, false);
@@ -113,6 +114,7 @@ public class TextEditProcessor {
 	 * @return the style bits
 	 * @see TextEdit#CREATE_UNDO
 	 * @see TextEdit#UPDATE_REGIONS
+	 * @see TextEdit#BULK_UPDATE
 	 */
 	public int getStyle() {
 		return fStyle;
@@ -189,16 +191,20 @@ public class TextEditProcessor {
 
 	UndoEdit executeDo() throws BadLocationException {
 		UndoCollector collector= new UndoCollector(fRoot);
+		BulkEditDocument bulkDocument= bulkUpdate() ? new BulkEditDocument(fDocument) : null;
+		IDocument document= bulkDocument != null ? bulkDocument : fDocument;
 		try {
 			if (createUndo())
-				collector.connect(fDocument);
+				collector.connect(document);
 			computeSources();
-			fRoot.traverseDocumentUpdating(this, fDocument);
+			fRoot.traverseDocumentUpdating(this, document);
+			if (bulkDocument != null)
+				bulkDocument.applyTo(fDocument);
 			if (updateRegions()) {
 				fRoot.traverseRegionUpdating(this, fDocument, 0, false);
 			}
 		} finally {
-			collector.disconnect(fDocument);
+			collector.disconnect(document);
 		}
 		return collector.undo;
 	}
@@ -215,15 +221,19 @@ public class TextEditProcessor {
 
 	UndoEdit executeUndo() throws BadLocationException {
 		UndoCollector collector= new UndoCollector(fRoot);
+		BulkEditDocument bulkDocument= bulkUpdate() ? new BulkEditDocument(fDocument) : null;
+		IDocument document= bulkDocument != null ? bulkDocument : fDocument;
 		try {
 			if (createUndo())
-				collector.connect(fDocument);
+				collector.connect(document);
 			TextEdit[] edits= fRoot.getChildren();
 			for (int i= edits.length - 1; i >= 0; i--) {
-				edits[i].performDocumentUpdating(fDocument);
+				edits[i].performDocumentUpdating(document);
 			}
+			if (bulkDocument != null)
+				bulkDocument.applyTo(fDocument);
 		} finally {
-			collector.disconnect(fDocument);
+			collector.disconnect(document);
 		}
 		return collector.undo;
 	}
@@ -235,4 +245,8 @@ public class TextEditProcessor {
 	private boolean updateRegions() {
 		return (fStyle & TextEdit.UPDATE_REGIONS) != 0;
 	}
+
+	private boolean bulkUpdate() {
+		return (fStyle & TextEdit.BULK_UPDATE) != 0;
+	}
 }
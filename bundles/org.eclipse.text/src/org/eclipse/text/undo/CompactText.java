@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.undo;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.lang.ref.Cleaner.Cleanable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+
+/**
+ * A large text of the undo history stored in compressed form, either in memory or, for very large
+ * texts, in a temporary file. The characters are stored as UTF-16 code units so that any string,
+ * including unpaired surrogates, is restored exactly.
+ * <p>
+ * A temporary file is deleted by {@link #dispose()}, when the text is garbage collected without
+ * having been disposed, or at the latest when the virtual machine exits normally.
+ * </p>
+ */
+final class CompactText {
+
+	/** The minimal number of characters of a text to be compacted */
+	static final int COMPACT_THRESHOLD= 16 * 1024;
+	/** The minimal number of characters of a text to be written to a temporary file */
+	static final int SPILL_THRESHOLD= 4 * 1024 * 1024;
+	/** The number of characters converted at once */
+	private static final int BUFFER_SIZE= 8 * 1024;
+	/** Deletes the temporary files of texts that have not been disposed */
+	private static final Cleaner fgCleaner= Cleaner.create();
+
+	/** The number of characters of the text */
+	private final int fLength;
+	/** The compressed text, <code>null</code> if the text is stored in {@link #fFile} */
+	private final byte[] fBytes;
+	/** The temporary file containing the compressed text, or <code>null</code> */
+	private final Path fFile;
+	/** Deletes {@link #fFile}, or <code>null</code> if there is no file */
+	private final Cleanable fCleanable;
+
+	private CompactText(int length, byte[] bytes, Path file) {
+		fLength= length;
+		fBytes= bytes;
+		fFile= file;
+		fCleanable= file != null ? fgCleaner.register(this, () -> delete(file)) : null;
+	}
+
+	/**
+	 * Compacts the given text. Texts of at least {@link #SPILL_THRESHOLD} characters are written
+	 * to a temporary file if possible, smaller texts are compressed in memory.
+	 *
+	 * @param text the text to compact
+	 * @return the compacted text
+	 */
+	static CompactText create(String text) {
+		if (text.length() >= SPILL_THRESHOLD) {
+			Path file= null;
+			try {
+				file= Files.createTempFile("undo", ".bin"); //$NON-NLS-1$ //$NON-NLS-2$
+				file.toFile().deleteOnExit();
+				try (OutputStream out= Files.newOutputStream(file)) {
+					write(text, out);
+				}
+				return new CompactText(text.length(), null, file);
+			} catch (IOException e) {
+				// keep the text in memory
+				delete(file);
+			}
+		}
+
+		ByteArrayOutputStream out= new ByteArrayOutputStream(text.length() / 4);
+		try {
+			write(text, out);
+		} catch (IOException e) {
+			// does not happen for a byte array stream
+			throw new UncheckedIOException(e);
+		}
+		return new CompactText(text.length(), out.toByteArray(), null);
+	}
+
+	/**
+	 * Returns the number of characters of the text.
+	 *
+	 * @return the length of the text
+	 */
+	int length() {
+		return fLength;
+	}
+
+	/**
+	 * Returns the number of bytes of heap memory used by this text.
+	 *
+	 * @return the memory used by the compressed text
+	 */
+	long getMemoryUsage() {
+		return fBytes != null ? fBytes.length : 0;
+	}
+
+	/**
+	 * Restores the text.
+	 *
+	 * @return the text
+	 * @throws IOException if the temporary file cannot be read
+	 */
+	String get() throws IOException {
+		char[] chars= new char[fLength];
+		byte[] buffer= new byte[2 * BUFFER_SIZE];
+		try (InputStream in= new InflaterInputStream(fFile != null ? Files.newInputStream(fFile) : new ByteArrayInputStream(fBytes))) {
+			int position= 0;
+			while (position < fLength) {
+				int count= 2 * Math.min(BUFFER_SIZE, fLength - position);
+				for (int read= 0; read < count;) {
+					int n= in.read(buffer, read, count - read);
+					if (n < 0)
+						throw new EOFException();
+					read += n;
+				}
+				for (int i= 0; i < count; i += 2)
+					chars[position++]= (char) ((buffer[i] & 0xFF) << 8 | buffer[i + 1] & 0xFF);
+			}
+		}
+		return new String(chars);
+	}
+
+	/**
+	 * Deletes the temporary file of this text, if any.
+	 */
+	void dispose() {
+		if (fCleanable != null)
+			fCleanable.clean();
+	}
+
+	private static void write(String text, OutputStream stream) throws IOException {
+		char[] chars= new char[BUFFER_SIZE];
+		byte[] bytes= new byte[2 * BUFFER_SIZE];
+		try (OutputStream out= new DeflaterOutputStream(stream)) {
+			for (int start= 0, length= text.length(); start < length; start += BUFFER_SIZE) {
+				int end= Math.min(start + BUFFER_SIZE, length);
+				text.getChars(start, end, chars, 0);
+				int count= end - start;
+				for (int i= 0; i < count; i++) {
+					bytes[2 * i]= (byte) (chars[i] >> 8);
+					bytes[2 * i + 1]= (byte) chars[i];
+				}
+				out.write(bytes, 0, 2 * count);
+			}
+		}
+	}
+
+	private static void delete(Path file) {
+		if (file == null)
+			return;
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			// the file remains in the temporary directory
+		}
+	}
+}
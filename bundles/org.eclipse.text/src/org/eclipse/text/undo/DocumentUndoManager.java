@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2019 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
  *******************************************************************************/
 package org.eclipse.text.undo;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -57,6 +58,12 @@ import org.eclipse.jface.text.TextUtilities;
  * were promoted from inner types to their own classes in order to support
  * reassignment to a different undo manager.</p>
  * <p>
+ * Besides the number of undo levels, the history can be limited by the memory used for the text
+ * of the changes, see {@link #setMaximalUndoMemory(long)}. With such a limit, large texts of
+ * completed changes are compressed or written to temporary files, adjacent changes of a compound
+ * change are coalesced and the oldest changes are removed from the history when the limit is
+ * exceeded. {@link #getUndoMemoryUsage()} reports the memory used by the history.</p>
+ * <p>
  * This class is not intended to be subclassed.
  * </p>
  *
@@ -69,6 +76,12 @@ import org.eclipse.jface.text.TextUtilities;
  */
 public class DocumentUndoManager implements IDocumentUndoManager {
 
+	/**
+	 * The initial memory limit of the undo history of new undo managers, see
+	 * {@link #setMaximalUndoMemory(long)}. Configured with the system property
+	 * <code>org.eclipse.text.undo.maximalUndoMemory</code>, no limit by default.
+	 */
+	private static final long DEFAULT_MAXIMAL_UNDO_MEMORY= Long.getLong("org.eclipse.text.undo.maximalUndoMemory", -1).longValue(); //$NON-NLS-1$
 
 	/**
 	 * Represents an undo-able text change, described as the
@@ -91,6 +104,15 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		/** The replaced text. */
 		protected String fPreservedText;
 
+		/** The compacted inserted text, replaces {@link #fText} once the change is complete. */
+		protected CompactText fCompactText;
+
+		/** The compacted replaced text, replaces {@link #fPreservedText} once the change is complete. */
+		protected CompactText fCompactPreservedText;
+
+		/** The number of bytes this change adds to the undo memory usage of its manager. */
+		protected long fMemoryUsage;
+
 		/** The undo modification stamp. */
 		protected long fUndoModificationStamp= IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
 
@@ -119,6 +141,101 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 			fText= fPreservedText= null;
 			fUndoModificationStamp= IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
 			fRedoModificationStamp= IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+			releaseMemory();
+		}
+
+		/**
+		 * Releases the compacted texts of this change and removes it from the undo memory usage of
+		 * its manager.
+		 */
+		protected void releaseMemory() {
+			if (fCompactText != null) {
+				fCompactText.dispose();
+				fCompactText= null;
+			}
+			if (fCompactPreservedText != null) {
+				fCompactPreservedText.dispose();
+				fCompactPreservedText= null;
+			}
+			fDocumentUndoManager.fUndoMemoryUsage -= fMemoryUsage;
+			fMemoryUsage= 0;
+		}
+
+		/**
+		 * Compacts the large texts of this completed change and updates the undo memory usage of
+		 * its manager.
+		 *
+		 * @param compact <code>true</code> to compact large texts, <code>false</code> to only
+		 *            update the memory usage
+		 */
+		protected void complete(boolean compact) {
+			if (compact) {
+				if (fText != null && fText.length() >= CompactText.COMPACT_THRESHOLD) {
+					fCompactText= CompactText.create(fText);
+					fText= null;
+				}
+				if (fPreservedText != null && fPreservedText.length() >= CompactText.COMPACT_THRESHOLD) {
+					fCompactPreservedText= CompactText.create(fPreservedText);
+					fPreservedText= null;
+				}
+			}
+			long usage= getTextMemoryUsage(fText, fCompactText) + getTextMemoryUsage(fPreservedText, fCompactPreservedText);
+			fDocumentUndoManager.fUndoMemoryUsage += usage - fMemoryUsage;
+			fMemoryUsage= usage;
+		}
+
+		private static long getTextMemoryUsage(String text, CompactText compactText) {
+			if (text != null)
+				return 2L * text.length();
+			return compactText != null ? compactText.getMemoryUsage() : 0;
+		}
+
+		/**
+		 * Returns the number of bytes used by the texts of this change.
+		 *
+		 * @return the memory used by this change
+		 */
+		protected long getMemoryUsage() {
+			return fMemoryUsage;
+		}
+
+		/**
+		 * Restores the compacted texts of this change for an undo or redo.
+		 *
+		 * @return <code>true</code> if the texts are available, <code>false</code> if a compacted
+		 *         text could not be restored
+		 */
+		protected boolean expand() {
+			try {
+				if (fText == null && fCompactText != null)
+					fText= fCompactText.get();
+				if (fPreservedText == null && fCompactPreservedText != null)
+					fPreservedText= fCompactPreservedText.get();
+				return true;
+			} catch (IOException e) {
+				return false;
+			}
+		}
+
+		/**
+		 * Drops the texts restored by {@link #expand()}.
+		 */
+		protected void collapse() {
+			if (fCompactText != null)
+				fText= null;
+			if (fCompactPreservedText != null)
+				fPreservedText= null;
+		}
+
+		/**
+		 * Moves this change to the given undo manager.
+		 *
+		 * @param manager the new undo manager of this change
+		 */
+		protected void setDocumentUndoManager(DocumentUndoManager manager) {
+			fDocumentUndoManager.fUndoMemoryUsage -= fMemoryUsage;
+			manager.fUndoMemoryUsage += fMemoryUsage;
+			fDocumentUndoManager= manager;
 		}
 
 		/**
@@ -144,11 +261,12 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		 */
 		protected void undoTextChange() {
 			try {
+				int length= fText != null ? fText.length() : fCompactText.length();
 				if (fDocumentUndoManager.fDocument instanceof IDocumentExtension4) {
-					((IDocumentExtension4) fDocumentUndoManager.fDocument).replace(fStart, fText
-							.length(), fPreservedText, fUndoModificationStamp);
+					((IDocumentExtension4) fDocumentUndoManager.fDocument).replace(fStart, length,
+							fPreservedText, fUndoModificationStamp);
 				} else {
-					fDocumentUndoManager.fDocument.replace(fStart, fText.length(),
+					fDocumentUndoManager.fDocument.replace(fStart, length,
 							fPreservedText);
 				}
 			} catch (BadLocationException x) {
@@ -257,11 +375,12 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		 */
 		@Override
 		public IStatus undo(IProgressMonitor monitor, IAdaptable uiInfo) {
-			if (isValid()) {
+			if (isValid() && expand()) {
 				fDocumentUndoManager.fireDocumentUndo(fStart, fPreservedText, fText, uiInfo, DocumentUndoEvent.ABOUT_TO_UNDO, false);
 				undoTextChange();
 				fDocumentUndoManager.resetProcessChangeState();
 				fDocumentUndoManager.fireDocumentUndo(fStart, fPreservedText, fText, uiInfo, DocumentUndoEvent.UNDONE, false);
+				collapse();
 				return Status.OK_STATUS;
 			}
 			return IOperationHistory.OPERATION_INVALID_STATUS;
@@ -291,11 +410,12 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		 */
 		@Override
 		public IStatus redo(IProgressMonitor monitor, IAdaptable uiInfo) {
-			if (isValid()) {
+			if (isValid() && expand()) {
 				fDocumentUndoManager.fireDocumentUndo(fStart, fText, fPreservedText, uiInfo, DocumentUndoEvent.ABOUT_TO_REDO, false);
 				redoTextChange();
 				fDocumentUndoManager.resetProcessChangeState();
 				fDocumentUndoManager.fireDocumentUndo(fStart, fText, fPreservedText, uiInfo, DocumentUndoEvent.REDONE, false);
+				collapse();
 				return Status.OK_STATUS;
 			}
 			return IOperationHistory.OPERATION_INVALID_STATUS;
@@ -337,6 +457,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 				}
 			} else {
 				updateTextChange();
+				fDocumentUndoManager.textChangeCompleted(this);
 				fDocumentUndoManager.fCurrent= createCurrent();
 			}
 			fDocumentUndoManager.resetProcessChangeState();
@@ -375,7 +496,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		 * @return <code>true</code> if the change is valid for undo or redo
 		 */
 		protected boolean isValid() {
-			return fStart > -1 && fEnd > -1 && fText != null;
+			return fStart > -1 && fEnd > -1 && (fText != null || fCompactText != null);
 		}
 
 		@Override
@@ -451,11 +572,93 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 			fChanges.add(change);
 		}
 
+		/**
+		 * Appends the given change to the last individual change if it directly follows it and
+		 * the texts of the last change have not been compacted.
+		 *
+		 * @param change the change to coalesce
+		 * @return <code>true</code> if the change was appended, <code>false</code> otherwise
+		 */
+		protected boolean coalesce(UndoableTextChange change) {
+			if (fChanges.isEmpty())
+				return false;
+			UndoableTextChange last= fChanges.get(fChanges.size() - 1);
+			if (last.fText == null || last.fPreservedText == null || change.fStart != last.fStart + last.fText.length())
+				return false;
+			if (last.fText.length() + change.fText.length() >= CompactText.COMPACT_THRESHOLD
+					|| last.fPreservedText.length() + change.fPreservedText.length() >= CompactText.COMPACT_THRESHOLD)
+				return false;
+
+			last.fText= last.fText + change.fText;
+			last.fPreservedText= last.fPreservedText + change.fPreservedText;
+			last.fEnd= last.fStart + last.fPreservedText.length();
+			last.fRedoModificationStamp= change.fRedoModificationStamp;
+			fDocumentUndoManager.textChangeCompleted(last);
+			return true;
+		}
+
+		@Override
+		protected long getMemoryUsage() {
+			long usage= fMemoryUsage;
+			for (UndoableTextChange change : fChanges) {
+				usage += change.getMemoryUsage();
+			}
+			return usage;
+		}
+
+		@Override
+		protected void setDocumentUndoManager(DocumentUndoManager manager) {
+			super.setDocumentUndoManager(manager);
+			for (UndoableTextChange change : fChanges) {
+				change.setDocumentUndoManager(manager);
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * Restores the texts of all individual changes. If one of them cannot be restored, the
+		 * changes restored so far are collapsed again.
+		 * </p>
+		 */
+		@Override
+		protected boolean expand() {
+			for (int i= 0; i < fChanges.size(); i++) {
+				if (!fChanges.get(i).expand()) {
+					for (int j= 0; j < i; j++) {
+						fChanges.get(j).collapse();
+					}
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		protected void collapse() {
+			for (UndoableTextChange change : fChanges) {
+				change.collapse();
+			}
+		}
+
+		@Override
+		public void dispose() {
+			for (UndoableTextChange change : fChanges) {
+				change.dispose();
+			}
+			super.dispose();
+		}
+
 		@Override
 		public IStatus undo(IProgressMonitor monitor, IAdaptable uiInfo) {
 
 			int size= fChanges.size();
 			if (size > 0) {
+				// restore all texts before the document is touched, so that the change is either
+				// undone completely or not at all
+				if (!expand())
+					return IOperationHistory.OPERATION_INVALID_STATUS;
+
 				UndoableTextChange c;
 
 				c= fChanges.get(0);
@@ -471,6 +674,9 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 				for (int i= size - 1; i >= 0; --i) {
 					c= fChanges.get(i);
 					c.undoTextChange();
+					if (i > 0) {
+						c.collapse();
+					}
 				}
 
 				if (rewriteSession != null) {
@@ -479,6 +685,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 				fDocumentUndoManager.resetProcessChangeState();
 				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.fPreservedText, c.fText, uiInfo,
 						DocumentUndoEvent.UNDONE, size > 1);
+				c.collapse();
 			}
 			return Status.OK_STATUS;
 		}
@@ -488,6 +695,8 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 
 			int size= fChanges.size();
 			if (size > 0) {
+				if (!expand())
+					return IOperationHistory.OPERATION_INVALID_STATUS;
 
 				UndoableTextChange c;
 				c= fChanges.get(size - 1);
@@ -503,6 +712,9 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 				for (int i= 0; i < size; ++i) {
 					c= fChanges.get(i);
 					c.redoTextChange();
+					if (i < size - 1) {
+						c.collapse();
+					}
 				}
 
 				if (rewriteSession != null) {
@@ -510,6 +722,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 				}
 				fDocumentUndoManager.resetProcessChangeState();
 				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.fText, c.fPreservedText, uiInfo, DocumentUndoEvent.REDONE, size > 1);
+				c.collapse();
 			}
 
 			return Status.OK_STATUS;
@@ -528,7 +741,10 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 			c.fPreservedText= fPreservedText;
 			c.fUndoModificationStamp= fUndoModificationStamp;
 			c.fRedoModificationStamp= fRedoModificationStamp;
-			add(c);
+			if (!fDocumentUndoManager.isUndoMemoryLimited() || !coalesce(c)) {
+				add(c);
+				fDocumentUndoManager.textChangeCompleted(c);
+			}
 
 			// clear out all indexes now that the child is added
 			reinitialize();
@@ -772,6 +988,15 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 	/** The list of clients connected. */
 	private List<Object> fConnected;
 
+	/**
+	 * The maximal number of bytes used by the texts of the undo history, or a negative value for
+	 * no limit.
+	 */
+	private long fMaximalUndoMemory= DEFAULT_MAXIMAL_UNDO_MEMORY;
+
+	/** The number of bytes used by the texts of the completed changes of the undo history. */
+	private long fUndoMemoryUsage;
+
 	/**
 	 *
 	 * Create a DocumentUndoManager for the given document.
@@ -894,6 +1119,99 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		fHistory.setLimit(fUndoContext, undoLimit);
 	}
 
+	/**
+	 * Limits the memory used by the texts of the undo history of this document. Once a change
+	 * is complete, its large texts are compressed in memory or, if very large, written to a
+	 * temporary file, and adjacent changes of a compound change are coalesced. If the texts of
+	 * the history use more than the given number of bytes, the oldest changes are removed from
+	 * the history. The most recent change is always kept, even if it exceeds the limit on its
+	 * own.
+	 * <p>
+	 * The limit applies in addition to the maximal undo level. Texts are counted with two bytes
+	 * per character unless they are compressed.
+	 * </p>
+	 *
+	 * @param maximalUndoMemory the maximal number of bytes, or a negative value for no limit
+	 * @see #getUndoMemoryUsage()
+	 * @since 3.14
+	 */
+	public void setMaximalUndoMemory(long maximalUndoMemory) {
+		fMaximalUndoMemory= maximalUndoMemory;
+		enforceMaximalUndoMemory();
+	}
+
+	/**
+	 * Returns the memory limit of the undo history of this document.
+	 *
+	 * @return the maximal number of bytes, or a negative value if there is no limit
+	 * @see #setMaximalUndoMemory(long)
+	 * @since 3.14
+	 */
+	public long getMaximalUndoMemory() {
+		return fMaximalUndoMemory;
+	}
+
+	/**
+	 * Returns the number of bytes of heap memory currently used by the texts of the undo history
+	 * of this document, including the change which is currently being recorded. Compacted texts
+	 * written to temporary files are not included.
+	 *
+	 * @return the memory used by the undo history
+	 * @since 3.14
+	 */
+	public long getUndoMemoryUsage() {
+		long usage= fUndoMemoryUsage;
+		if (fTextBuffer != null) {
+			usage += 2L * (fTextBuffer.length() + fPreservedTextBuffer.length());
+		}
+		return usage;
+	}
+
+	/**
+	 * Returns whether the memory of the undo history is limited.
+	 *
+	 * @return <code>true</code> if a memory limit is set
+	 */
+	boolean isUndoMemoryLimited() {
+		return fMaximalUndoMemory >= 0;
+	}
+
+	/**
+	 * Called when the given change has been completed and will not be extended any more.
+	 *
+	 * @param change the completed change
+	 */
+	private void textChangeCompleted(UndoableTextChange change) {
+		change.complete(isUndoMemoryLimited());
+		enforceMaximalUndoMemory();
+	}
+
+	/**
+	 * Removes the oldest changes from the undo history until the memory limit is met, keeping at
+	 * least the most recent change.
+	 */
+	private void enforceMaximalUndoMemory() {
+		if (!isUndoMemoryLimited() || fUndoMemoryUsage <= fMaximalUndoMemory) {
+			return;
+		}
+
+		IUndoableOperation[] operations= fHistory.getUndoHistory(fUndoContext);
+		long usage= fUndoMemoryUsage;
+		int removed= 0;
+		while (removed < operations.length - 1 && usage > fMaximalUndoMemory) {
+			if (operations[removed] instanceof UndoableTextChange) {
+				usage -= ((UndoableTextChange) operations[removed]).getMemoryUsage();
+			}
+			removed++;
+		}
+		if (removed > 0) {
+			// the history removes the oldest operations beyond the limit
+			int limit= fHistory.getLimit(fUndoContext);
+			fHistory.setLimit(fUndoContext, operations.length - removed);
+			fHistory.setLimit(fUndoContext, limit);
+		}
+	}
+
 	/**
 	 * Fires a document undo event to all registered document undo listeners.
 	 * Uses a robust iterator.
@@ -1256,7 +1574,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 			}
 			// Now update the manager that owns the text edit.
 			if (op instanceof UndoableTextChange) {
-				((UndoableTextChange)op).fDocumentUndoManager= this;
+				((UndoableTextChange)op).setDocumentUndoManager(this);
 			}
 		}
 
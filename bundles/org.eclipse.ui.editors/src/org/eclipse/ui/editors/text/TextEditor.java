@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,8 +20,11 @@ import org.eclipse.jface.action.IAction;
 import org.eclipse.jface.action.IMenuManager;
 import org.eclipse.jface.util.PropertyChangeEvent;
 
+import org.eclipse.jface.text.ITextViewerExtension6;
+import org.eclipse.jface.text.reconciler.IReconciler;
 import org.eclipse.jface.text.source.ISourceViewer;
 import org.eclipse.jface.text.source.ISourceViewerExtension2;
+import org.eclipse.jface.text.source.ISourceViewerExtension5;
 
 import org.eclipse.ui.IEditorInput;
 
@@ -62,7 +65,13 @@ public class TextEditor extends AbstractDecoratedTextEditor {
 	public TextEditor() {
 		if (getSourceViewerConfiguration() == null) {
 			// Configuration not yet set by subclass in initializeEditor()
-			setSourceViewerConfiguration(new TextSourceViewerConfiguration(getPreferenceStore()));
+			setSourceViewerConfiguration(new TextSourceViewerConfiguration(getPreferenceStore()) {
+				@Override
+				public IReconciler getReconciler(ISourceViewer sourceViewer) {
+					// no spell checking in the large file profile
+					return isLargeFileProfileActive() ? null : super.getReconciler(sourceViewer);
+				}
+			});
 		}
 	}
 
@@ -150,9 +159,12 @@ public class TextEditor extends AbstractDecoratedTextEditor {
 
 	@Override
 	protected void doSetInput(IEditorInput input) throws CoreException {
+		boolean wasLargeFileProfileActive= isLargeFileProfileActive();
 		super.doSetInput(input);
 		if (fEncodingSupport != null)
 			fEncodingSupport.reset();
+		if (wasLargeFileProfileActive != isLargeFileProfileActive())
+			reconfigureSourceViewer(!isLargeFileProfileActive());
 	}
 
 	@SuppressWarnings("unchecked")
@@ -173,27 +185,46 @@ public class TextEditor extends AbstractDecoratedTextEditor {
 	@Override
 	protected void handlePreferenceStoreChanged(PropertyChangeEvent event) {
 		if (event.getProperty().equals(SpellingService.PREFERENCE_SPELLING_ENABLED)) {
-			ISourceViewer viewer= getSourceViewer();
-
-			if (!(viewer instanceof ISourceViewerExtension2))
-				return; // cannot unconfigure - do nothing
-
-			// XXX: this is pretty heavy-weight
-			((ISourceViewerExtension2)viewer).unconfigure();
-			viewer.configure(getSourceViewerConfiguration());
-
-			if (Boolean.FALSE.equals(event.getNewValue()))
-				SpellingProblem.removeAll(getSourceViewer(), null);
-
-			IAction quickAssistAction= getAction(ITextEditorActionConstants.QUICK_ASSIST);
-			if (quickAssistAction instanceof IUpdate)
-				((IUpdate)quickAssistAction).update();
-
+			reconfigureSourceViewer(!Boolean.FALSE.equals(event.getNewValue()));
 			return;
 		}
 		super.handlePreferenceStoreChanged(event);
 	}
 
+	/**
+	 * Configures the source viewer again, so that its reconciler is installed or removed according
+	 * to the spelling preference and the large file profile.
+	 *
+	 * @param spelling <code>false</code> if the spelling problems should be removed
+	 */
+	private void reconfigureSourceViewer(boolean spelling) {
+		ISourceViewer viewer= getSourceViewer();
+
+		if (!(viewer instanceof ISourceViewerExtension2))
+			return; // cannot unconfigure - do nothing
+
+		// XXX: this is pretty heavy-weight
+		((ISourceViewerExtension2)viewer).unconfigure();
+		viewer.configure(getSourceViewerConfiguration());
+
+		// configure does not install the code minings of the editor and ignores the large file profile
+		if (viewer instanceof ISourceViewerExtension5) {
+			if (isLargeFileProfileActive())
+				((ISourceViewerExtension5)viewer).setCodeMiningProviders(null);
+			else
+				installCodeMiningProviders();
+		}
+		if (isLargeFileProfileActive() && viewer instanceof ITextViewerExtension6)
+			((ITextViewerExtension6)viewer).setHyperlinkDetectors(null, getSourceViewerConfiguration().getHyperlinkStateMask(viewer));
+
+		if (!spelling)
+			SpellingProblem.removeAll(getSourceViewer(), null);
+
+		IAction quickAssistAction= getAction(ITextEditorActionConstants.QUICK_ASSIST);
+		if (quickAssistAction instanceof IUpdate)
+			((IUpdate)quickAssistAction).update();
+	}
+
 	@Override
 	protected void editorContextMenuAboutToShow(IMenuManager menu) {
 		super.editorContextMenuAboutToShow(menu);
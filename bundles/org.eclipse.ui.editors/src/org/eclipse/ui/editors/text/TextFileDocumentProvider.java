@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -64,6 +64,7 @@ import org.eclipse.jface.operation.IRunnableWithProgress;
 
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.ISynchronizable;
+import org.eclipse.jface.text.MappedFileDocument;
 import org.eclipse.jface.text.source.IAnnotationModel;
 
 import org.eclipse.ui.IEditorInput;
@@ -992,7 +993,7 @@ public class TextFileDocumentProvider implements IDocumentProvider, IDocumentPro
 	public boolean isReadOnly(Object element) {
 		FileInfo info= fFileInfoMap.get(element);
 		if (info != null)
-			return info.fCachedReadOnlyState;
+			return info.fCachedReadOnlyState || isMappedDocument(info);
 		return ((IDocumentProviderExtension) getParentProvider()).isReadOnly(element);
 	}
 
@@ -1000,10 +1001,21 @@ public class TextFileDocumentProvider implements IDocumentProvider, IDocumentPro
 	public boolean isModifiable(Object element) {
 		FileInfo info= fFileInfoMap.get(element);
 		if (info != null)
-			return info.fTextFileBuffer.isStateValidated() ? !isReadOnly(element) : true;
+			return info.fTextFileBuffer.isStateValidated() ? !isReadOnly(element) : !isMappedDocument(info);
 		return ((IDocumentProviderExtension) getParentProvider()).isModifiable(element);
 	}
 
+	/**
+	 * Returns whether the document of the given file info is a read-only memory-mapped document,
+	 * which the file buffer manager creates for very large files.
+	 *
+	 * @param info the file info
+	 * @return <code>true</code> if the document cannot be modified
+	 */
+	private boolean isMappedDocument(FileInfo info) {
+		return info.fTextFileBuffer.getDocument() instanceof MappedFileDocument;
+	}
+
 	@Override
 	public void validateState(Object element, final Object computationContext) throws CoreException {
 		final FileInfo info= fFileInfoMap.get(element);
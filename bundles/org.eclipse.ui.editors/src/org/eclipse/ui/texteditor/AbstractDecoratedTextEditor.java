@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -631,14 +631,16 @@ public abstract class AbstractDecoratedTextEditor extends StatusTextEditor {
 
 	/**
 	 * Returns whether quick diff info should be visible upon opening an editor
-	 * according to the preference store settings.
+	 * according to the preference store settings. It is never visible upon opening
+	 * in the large file profile.
 	 *
 	 * @return <code>true</code> if the line numbers should be visible
+	 * @see #isLargeFileProfileActive()
 	 */
 	protected boolean isPrefQuickDiffAlwaysOn() {
 		IPreferenceStore store= getPreferenceStore();
 		boolean setting= store != null ? store.getBoolean(AbstractDecoratedTextEditorPreferenceConstants.QUICK_DIFF_ALWAYS_ON) : false;
-		return setting && isEditorInputModifiable();
+		return setting && isEditorInputModifiable() && !isLargeFileProfileActive();
 	}
 
 	/**
@@ -883,7 +885,7 @@ public abstract class AbstractDecoratedTextEditor extends StatusTextEditor {
 				HyperlinkDetectorDescriptor[] descriptor= EditorsUI.getHyperlinkDetectorRegistry().getHyperlinkDetectorDescriptors();
 				for (HyperlinkDetectorDescriptor d : descriptor) {
 					if (d.getId().equals(property) || (d.getId() + HyperlinkDetectorDescriptor.STATE_MASK_POSTFIX).equals(property)) {
-						IHyperlinkDetector[] detectors= getSourceViewerConfiguration().getHyperlinkDetectors(sourceViewer);
+						IHyperlinkDetector[] detectors= isLargeFileProfileActive() ? null : getSourceViewerConfiguration().getHyperlinkDetectors(sourceViewer);
 						int stateMask= getSourceViewerConfiguration().getHyperlinkStateMask(sourceViewer);
 						textViewer6.setHyperlinkDetectors(detectors, stateMask);
 						return;
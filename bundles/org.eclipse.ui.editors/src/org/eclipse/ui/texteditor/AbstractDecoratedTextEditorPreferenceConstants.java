@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -817,6 +817,8 @@ public class AbstractDecoratedTextEditorPreferenceConstants {
 		store.setDefault(EDITOR_SHOW_TEXT_HOVER_AFFORDANCE, true);
 		store.setDefault(EDITOR_HOVER_ENRICH_MODE, 0);
 		store.setDefault(AbstractTextEditor.PREFERENCE_WORD_WRAP_ENABLED, false);
+		store.setDefault(AbstractTextEditor.PREFERENCE_LARGE_FILE_SIZE_LIMIT, 20 * 1024 * 1024);
+		store.setDefault(AbstractTextEditor.PREFERENCE_LARGE_FILE_LINE_LENGTH_LIMIT, 50000);
 
 		MarkerAnnotationPreferences.initializeDefaultValues(store);
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017 Red Hat Inc. and others.
+ * Copyright (c) 2017, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,6 +24,7 @@ public class DefaultWordHighlightReconciler extends Reconciler {
 	public DefaultWordHighlightReconciler() {
 		fStrategy = new DefaultWordHighlightStrategy();
 		this.setReconcilingStrategy(fStrategy, IDocument.DEFAULT_CONTENT_TYPE);
+		setUseSharedScheduler(true);
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017, 2018 Red Hat Inc. and others.
+ * Copyright (c) 2017, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,16 +15,21 @@ package org.eclipse.ui.internal.genericeditor;
 
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences.PreferenceChangeEvent;
 import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ISynchronizable;
@@ -32,6 +37,7 @@ import org.eclipse.jface.text.ITextSelection;
 import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.ITextViewerExtension5;
 import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.reconciler.DirtyRegion;
 import org.eclipse.jface.text.reconciler.IReconcilingStrategy;
 import org.eclipse.jface.text.reconciler.IReconcilingStrategyExtension;
@@ -43,6 +49,8 @@ import org.eclipse.jface.viewers.IPostSelectionProvider;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.ISelectionChangedListener;
 import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.widgets.Display;
 
 /**
  *
@@ -51,6 +59,9 @@ import org.eclipse.osgi.util.NLS;
  *
  * E.g. if your file contains "t^he dog in the bog" and you leave your caret at ^ you will get both instances of 'the' highlighted.
  *
+ * The occurrences are looked up in a {@link WordIndex} of the document in a background job. The occurrences in the visible
+ * lines are highlighted first, the others after them.
+ *
  */
 public class DefaultWordHighlightStrategy implements IReconcilingStrategy, IReconcilingStrategyExtension, IPreferenceChangeListener {
 
@@ -58,15 +69,18 @@ public class DefaultWordHighlightStrategy implements IReconcilingStrategy, IReco
 
 	private boolean enabled;
 	private ISourceViewer sourceViewer;
-	private IDocument document;
 
-	private static final String WORD_REGEXP = "\\w+"; //$NON-NLS-1$
-	private static final Pattern WORD_PATTERN = Pattern.compile(WORD_REGEXP, Pattern.UNICODE_CHARACTER_CLASS);
-	private static final Pattern CURRENT_WORD_START_PATTERN = Pattern.compile(WORD_REGEXP + "$", //$NON-NLS-1$
+	private static final Pattern WORD_PATTERN = WordIndex.WORD_PATTERN;
+	private static final Pattern CURRENT_WORD_START_PATTERN = Pattern.compile(WORD_PATTERN.pattern() + "$", //$NON-NLS-1$
 			Pattern.UNICODE_CHARACTER_CLASS);
 
 	private Annotation[] fOccurrenceAnnotations = null;
 
+	private WordIndex fWordIndex;
+	private Job fHighlightJob;
+	/** Incremented with each highlight request, only accessed in the UI thread. */
+	private int fRequestCount;
+
 	private ISelectionChangedListener editorSelectionChangedListener = event -> applyHighlights(event.getSelection());
 
 	private void applyHighlights(ISelection selection) {
@@ -79,31 +93,95 @@ public class DefaultWordHighlightStrategy implements IReconcilingStrategy, IReco
 			return;
 		}
 
-		String text = document.get();
 		int offset = textSelection.getOffset();
 		if (sourceViewer instanceof ITextViewerExtension5) {
 			offset = ((ITextViewerExtension5) sourceViewer).widgetOffset2ModelOffset(textSelection.getOffset());
 		}
 
-		String word = findCurrentWord(text, offset);
+		int request = ++fRequestCount;
+		if (fHighlightJob != null) {
+			fHighlightJob.cancel();
+			fHighlightJob = null;
+		}
+
+		WordIndex index = fWordIndex;
+		String word = null;
+		if (index != null && offset >= 0) {
+			try {
+				word = findCurrentWord(index.getDocument(), offset);
+			} catch (BadLocationException e) {
+				// no word
+			}
+		}
 		if (word == null) {
 			removeOccurrenceAnnotations();
 			return;
 		}
 
-		Matcher m = WORD_PATTERN.matcher(text);
-		Map<Annotation, Position> annotationMap = new HashMap<>();
-		while (m.find()) {
-			if (m.group().equals(word)) {
-				annotationMap.put(new Annotation(ANNOTATION_TYPE, false, NLS.bind(Messages.DefaultWordHighlightStrategy_OccurrencesOf, word)), new Position(m.start(), m.end() - m.start()));
+		long generation = index.getGeneration();
+		int top = sourceViewer.getTopIndexStartOffset();
+		int bottom = sourceViewer.getBottomIndexEndOffset();
+		IRegion visibleRegion = top >= 0 && bottom >= top ? new Region(top, bottom - top + 1) : null;
+		Display display = sourceViewer.getTextWidget().getDisplay();
+		String currentWord = word;
+		fHighlightJob = new Job("Highlight occurrences") { //$NON-NLS-1$
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				if (!index.build() || monitor.isCanceled()) {
+					// the document changed, a new request follows
+					return Status.CANCEL_STATUS;
+				}
+				List<Position> visible = null;
+				if (visibleRegion != null) {
+					visible = index.findOccurrences(currentWord, visibleRegion);
+					if (visible == null) {
+						return Status.CANCEL_STATUS;
+					}
+					if (visible.size() > 1) {
+						post(visible);
+					}
+				}
+				if (monitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+				List<Position> all = index.findOccurrences(currentWord, null);
+				if (all == null) {
+					return Status.CANCEL_STATUS;
+				}
+				if (visible == null || visible.size() < 2 || all.size() > visible.size()) {
+					post(all);
+				}
+				return Status.OK_STATUS;
 			}
-		}
 
-		if (annotationMap.size() < 2) {
+			private void post(List<Position> positions) {
+				if (index.getGeneration() != generation) {
+					return;
+				}
+				display.asyncExec(() -> {
+					StyledText textWidget = sourceViewer == null ? null : sourceViewer.getTextWidget();
+					if (request == fRequestCount && textWidget != null && !textWidget.isDisposed() && index == fWordIndex
+							&& index.getGeneration() == generation) {
+						updateOccurrenceAnnotations(currentWord, positions);
+					}
+				});
+			}
+		};
+		fHighlightJob.setSystem(true);
+		fHighlightJob.schedule();
+	}
+
+	private void updateOccurrenceAnnotations(String word, List<Position> positions) {
+		if (positions.size() < 2 || !enabled) {
 			removeOccurrenceAnnotations();
 			return;
 		}
 
+		Map<Annotation, Position> annotationMap = new HashMap<>();
+		for (Position position : positions) {
+			annotationMap.put(new Annotation(ANNOTATION_TYPE, false, NLS.bind(Messages.DefaultWordHighlightStrategy_OccurrencesOf, word)), position);
+		}
+
 		IAnnotationModel annotationModel = sourceViewer.getAnnotationModel();
 		if (annotationModel != null) {
 			synchronized (getLockObject(annotationModel)) {
@@ -124,7 +202,12 @@ public class DefaultWordHighlightStrategy implements IReconcilingStrategy, IReco
 		}
 	}
 
-	private static String findCurrentWord(String text, int offset) {
+	private static String findCurrentWord(IDocument document, int offset) throws BadLocationException {
+		// words do not span lines, so only the line of the offset is needed
+		IRegion line = document.getLineInformationOfOffset(offset);
+		String text = document.get(line.getOffset(), line.getLength());
+		offset = Math.min(offset - line.getOffset(), text.length());
+
 		String wordStart = null;
 		String wordEnd = null;
 
@@ -157,6 +240,14 @@ public class DefaultWordHighlightStrategy implements IReconcilingStrategy, IReco
 	}
 
 	public void uninstall() {
+		if (fHighlightJob != null) {
+			fHighlightJob.cancel();
+			fHighlightJob = null;
+		}
+		if (fWordIndex != null) {
+			fWordIndex.disconnect();
+			fWordIndex = null;
+		}
 		if (sourceViewer != null) {
 			((IPostSelectionProvider) sourceViewer.getSelectionProvider()).removePostSelectionChangedListener(editorSelectionChangedListener);
 		}
@@ -214,7 +305,14 @@ public class DefaultWordHighlightStrategy implements IReconcilingStrategy, IReco
 	}
 
 	@Override public void setDocument(IDocument document) {
-		this.document = document;
+		if (fWordIndex != null) {
+			fWordIndex.disconnect();
+			fWordIndex = null;
+		}
+		if (document != null) {
+			fWordIndex = new WordIndex(document);
+			fWordIndex.connect();
+		}
 	}
 
 	@Override public void reconcile(DirtyRegion dirtyRegion, IRegion subRegion) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 Red Hat Inc. and others.
+ * Copyright (c) 2000, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -94,6 +94,27 @@ public class ExtensionBasedTextEditor extends TextEditor {
 	protected void doSetInput(IEditorInput input) throws CoreException {
 		super.doSetInput(input);
 		configuration.watchDocument(getDocumentProvider().getDocument(input));
+		updateProjection();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * Overridden to make it visible to the viewer configuration.
+	 */
+	@Override
+	protected boolean isLargeFileProfileActive() {
+		return super.isLargeFileProfileActive();
+	}
+
+	/**
+	 * Enables folding, unless the large file profile is active.
+	 */
+	private void updateProjection() {
+		ProjectionViewer viewer = (ProjectionViewer) getSourceViewer();
+		if (viewer != null && viewer.isProjectionMode() == isLargeFileProfileActive()) {
+			viewer.doOperation(ProjectionViewer.TOGGLE);
+		}
 	}
 
 	@Override
@@ -176,7 +197,7 @@ public class ExtensionBasedTextEditor extends TextEditor {
 		ProjectionViewer viewer = (ProjectionViewer) getSourceViewer();
 
 		new ProjectionSupport(viewer, getAnnotationAccess(), getSharedColors()).install();
-		viewer.doOperation(ProjectionViewer.TOGGLE);
+		updateProjection();
 		computeImage();
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2021 Red Hat Inc. and others.
+ * Copyright (c) 2016, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -248,6 +248,11 @@ public final class ExtensionBasedTextViewerConfiguration extends TextSourceViewe
 		return quickAssistAssistant;
 	}
 
+	private boolean isLargeFileProfileActive() {
+		return editor instanceof ExtensionBasedTextEditor
+				&& ((ExtensionBasedTextEditor) editor).isLargeFileProfileActive();
+	}
+
 	@Override
 	public IReconciler getReconciler(ISourceViewer sourceViewer) {
 		ReconcilerRegistry registry = GenericEditorPlugin.getDefault().getReconcilerRegistry();
@@ -255,28 +260,31 @@ public final class ExtensionBasedTextViewerConfiguration extends TextSourceViewe
 		List<IReconciler> reconcilers = registry.getReconcilers(sourceViewer, editor, reconcilingStrategies,
 				getContentTypes(sourceViewer.getDocument()));
 
-		// Fill with highlight reconcilers
-		List<IReconcilingStrategy> highlightReconcilingStrategies = new ArrayList<>();
-		List<IReconciler> highlightReconcilers = registry.getHighlightReconcilers(sourceViewer, editor,
-				highlightReconcilingStrategies, getContentTypes(sourceViewer.getDocument()));
-		if (!highlightReconcilers.isEmpty()) {
-			reconcilers.addAll(highlightReconcilers);
-		} else if (highlightReconcilingStrategies.isEmpty()) {
-			reconcilers.add(new DefaultWordHighlightReconciler());
-		}
-		reconcilingStrategies.addAll(highlightReconcilingStrategies);
-
-		// Fill with folding reconcilers
-		List<IReconcilingStrategy> foldingReconcilingStrategies = new ArrayList<>();
-		List<IReconciler> foldingReconcilers = registry.getFoldingReconcilers(sourceViewer, editor,
-				foldingReconcilingStrategies, getContentTypes(sourceViewer.getDocument()));
-		if (!foldingReconcilers.isEmpty()) {
-			reconcilers.addAll(foldingReconcilers);
-		}
-		// add default reconciler:
-		reconcilers.add(new DefaultFoldingReconciler());
+		// no word highlighting and folding in the large file profile
+		if (!isLargeFileProfileActive()) {
+			// Fill with highlight reconcilers
+			List<IReconcilingStrategy> highlightReconcilingStrategies = new ArrayList<>();
+			List<IReconciler> highlightReconcilers = registry.getHighlightReconcilers(sourceViewer, editor,
+					highlightReconcilingStrategies, getContentTypes(sourceViewer.getDocument()));
+			if (!highlightReconcilers.isEmpty()) {
+				reconcilers.addAll(highlightReconcilers);
+			} else if (highlightReconcilingStrategies.isEmpty()) {
+				reconcilers.add(new DefaultWordHighlightReconciler());
+			}
+			reconcilingStrategies.addAll(highlightReconcilingStrategies);
+
+			// Fill with folding reconcilers
+			List<IReconcilingStrategy> foldingReconcilingStrategies = new ArrayList<>();
+			List<IReconciler> foldingReconcilers = registry.getFoldingReconcilers(sourceViewer, editor,
+					foldingReconcilingStrategies, getContentTypes(sourceViewer.getDocument()));
+			if (!foldingReconcilers.isEmpty()) {
+				reconcilers.addAll(foldingReconcilers);
+			}
+			// add default reconciler:
+			reconcilers.add(new DefaultFoldingReconciler());
 
-		reconcilingStrategies.addAll(foldingReconcilingStrategies);
+			reconcilingStrategies.addAll(foldingReconcilingStrategies);
+		}
 
 		if (!reconcilingStrategies.isEmpty()) {
 			// Create the main Reconciler of the generic editor
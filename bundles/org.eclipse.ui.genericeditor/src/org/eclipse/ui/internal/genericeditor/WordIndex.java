@@ -0,0 +1,347 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.genericeditor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Position;
+
+/**
+ * Index of the words of a document, which are the matches of {@link #WORD_PATTERN}.
+ * <p>
+ * The document is split into blocks of about {@link #BLOCK_SIZE} characters which end after a
+ * whitespace character, so that no word spans two blocks. Each block only knows the hash codes of
+ * the distinct words it contains. A query scans the text of the blocks that may contain the word,
+ * all other blocks are skipped. On a document change only the blocks touched by the change are
+ * read and split again, the blocks after them are only moved.
+ * </p>
+ * <p>
+ * The index needs four bytes per distinct word of a block, which is a small fraction of the size
+ * of the document, so that documents of any size are indexed.
+ * </p>
+ * <p>
+ * The index is built with {@link #build()}, which may run in any thread. Document changes must be
+ * reported from the thread that changes the document, which is the case when the index is
+ * connected as document listener with {@link #connect()}. Queries may run in any thread, they read
+ * the document and fail if it changes concurrently.
+ * </p>
+ */
+public class WordIndex implements IDocumentListener {
+
+	/** The pattern matching a word. */
+	public static final Pattern WORD_PATTERN = Pattern.compile("\\w+", Pattern.UNICODE_CHARACTER_CLASS); //$NON-NLS-1$
+
+	/** The preferred number of characters of a block. */
+	static final int BLOCK_SIZE = 4096;
+
+	private static final class Block {
+
+		/** The offset of the block in the document. */
+		int fOffset;
+		/** The length of the block. */
+		final int fLength;
+		/** The sorted hash codes of the distinct words of the block. */
+		final int[] fWordHashes;
+
+		Block(int offset, int length, int[] wordHashes) {
+			fOffset = offset;
+			fLength = length;
+			fWordHashes = wordHashes;
+		}
+
+		boolean mayContain(String word) {
+			return Arrays.binarySearch(fWordHashes, word.hashCode()) >= 0;
+		}
+	}
+
+	private final IDocument fDocument;
+	/**
+	 * The blocks covering the document in document order, <code>null</code> if the index is not
+	 * built. Guarded by <code>this</code>.
+	 */
+	private List<Block> fBlocks;
+	/** Incremented with each document change. Guarded by <code>this</code>. */
+	private long fGeneration;
+
+	/**
+	 * Creates a word index of the given document. The index is empty until it is built.
+	 *
+	 * @param document the document
+	 */
+	public WordIndex(IDocument document) {
+		fDocument = document;
+	}
+
+	/**
+	 * Starts to update the index on document changes.
+	 */
+	public void connect() {
+		fDocument.addDocumentListener(this);
+	}
+
+	/**
+	 * Stops to update the index on document changes and discards it.
+	 */
+	public void disconnect() {
+		fDocument.removeDocumentListener(this);
+		synchronized (this) {
+			fBlocks = null;
+			fGeneration++;
+		}
+	}
+
+	/**
+	 * Returns the document of this index.
+	 *
+	 * @return the document
+	 */
+	public IDocument getDocument() {
+		return fDocument;
+	}
+
+	/**
+	 * Returns a number that changes with each document change. Positions returned by
+	 * {@link #findOccurrences(String, IRegion)} are valid for the document as long as the number
+	 * returned before the query does not change.
+	 *
+	 * @return the generation of the document
+	 */
+	public synchronized long getGeneration() {
+		return fGeneration;
+	}
+
+	/**
+	 * Tells whether the index is built.
+	 *
+	 * @return <code>true</code> if the index is built
+	 */
+	public synchronized boolean isBuilt() {
+		return fBlocks != null;
+	}
+
+	/**
+	 * Builds the index if it is not built yet. If the document changes while the index is built,
+	 * the result is discarded.
+	 *
+	 * @return <code>true</code> if the index is built
+	 */
+	public boolean build() {
+		long generation;
+		synchronized (this) {
+			if (fBlocks != null) {
+				return true;
+			}
+			generation = fGeneration;
+		}
+		List<Block> blocks;
+		try {
+			blocks = split(0, fDocument.getLength());
+		} catch (BadLocationException | RuntimeException e) {
+			// the document changed concurrently, try again with the next query
+			return false;
+		}
+		synchronized (this) {
+			if (generation != fGeneration) {
+				return false;
+			}
+			fBlocks = blocks;
+			return true;
+		}
+	}
+
+	/**
+	 * Returns the positions of the occurrences of the given word that intersect the given region,
+	 * in document order.
+	 *
+	 * @param word the word
+	 * @param region the region or <code>null</code> for the whole document
+	 * @return the positions or <code>null</code> if the index is not built or the document has
+	 *         changed while it was read
+	 */
+	public List<Position> findOccurrences(String word, IRegion region) {
+		int start = region == null ? 0 : region.getOffset();
+		int end = region == null ? Integer.MAX_VALUE : region.getOffset() + region.getLength();
+		long generation;
+		// offset and length of the blocks that may contain the word, the text is read without the lock
+		int[] candidates;
+		int count = 0;
+		synchronized (this) {
+			if (fBlocks == null) {
+				return null;
+			}
+			generation = fGeneration;
+			candidates = new int[16];
+			for (int i = findBlock(start); i < fBlocks.size(); i++) {
+				Block block = fBlocks.get(i);
+				if (block.fOffset > end) {
+					break;
+				}
+				if (block.mayContain(word)) {
+					if (count + 2 > candidates.length) {
+						candidates = Arrays.copyOf(candidates, candidates.length * 2);
+					}
+					candidates[count++] = block.fOffset;
+					candidates[count++] = block.fLength;
+				}
+			}
+		}
+		List<Position> positions = new ArrayList<>();
+		try {
+			for (int i = 0; i < count; i += 2) {
+				Matcher m = WORD_PATTERN.matcher(fDocument.get(candidates[i], candidates[i + 1]));
+				while (m.find()) {
+					int wordStart = candidates[i] + m.start();
+					if (wordStart + word.length() >= start && wordStart <= end && m.group().equals(word)) {
+						positions.add(new Position(wordStart, word.length()));
+					}
+				}
+			}
+		} catch (BadLocationException | RuntimeException e) {
+			// the document changed concurrently
+			return null;
+		}
+		synchronized (this) {
+			return generation == fGeneration ? positions : null;
+		}
+	}
+
+	@Override
+	public void documentAboutToBeChanged(DocumentEvent event) {
+		// nothing to do
+	}
+
+	@Override
+	public synchronized void documentChanged(DocumentEvent event) {
+		fGeneration++;
+		if (fBlocks == null) {
+			return;
+		}
+		int start = event.getOffset();
+		int end = start + event.getLength();
+		int delta = (event.getText() == null ? 0 : event.getText().length()) - event.getLength();
+
+		// the blocks touching the change, including the following block if the change ends at its start
+		int first = findBlock(start);
+		int last = first;
+		while (last + 1 < fBlocks.size() && fBlocks.get(last + 1).fOffset <= end) {
+			last++;
+		}
+
+		int rangeStart = fBlocks.isEmpty() ? 0 : fBlocks.get(first).fOffset;
+		int rangeEnd = fBlocks.isEmpty() ? 0 : fBlocks.get(last).fOffset + fBlocks.get(last).fLength;
+		rangeEnd = Math.max(rangeEnd + delta, rangeStart);
+		List<Block> blocks;
+		try {
+			blocks = split(rangeStart, rangeEnd - rangeStart);
+		} catch (BadLocationException e) {
+			fBlocks = null;
+			return;
+		}
+
+		List<Block> affected = fBlocks.subList(first, Math.min(last + 1, fBlocks.size()));
+		affected.clear();
+		affected.addAll(blocks);
+		for (int i = first + blocks.size(); i < fBlocks.size(); i++) {
+			fBlocks.get(i).fOffset += delta;
+		}
+	}
+
+	/**
+	 * Returns the index of the block containing the given offset.
+	 *
+	 * @param offset the offset
+	 * @return the index of the last block starting at or before the offset, or 0
+	 */
+	private int findBlock(int offset) {
+		int low = 0;
+		int high = fBlocks.size() - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (fBlocks.get(mid).fOffset <= offset) {
+				low = mid;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Splits the given range of the document into blocks and indexes their words. The range must
+	 * start at the document start or after a whitespace character and end after a whitespace
+	 * character or at the document end.
+	 *
+	 * @param offset the offset of the range
+	 * @param length the length of the range
+	 * @return the blocks
+	 * @throws BadLocationException if the range is not in the document
+	 */
+	private List<Block> split(int offset, int length) throws BadLocationException {
+		List<Block> blocks = new ArrayList<>();
+		int end = offset + length;
+		int blockStart = offset;
+		while (blockStart < end) {
+			int chunkLength = Math.min(BLOCK_SIZE, end - blockStart);
+			String text = fDocument.get(blockStart, chunkLength);
+			while (blockStart + text.length() < end && lastWhitespace(text) < 0) {
+				// a run of more than a block without whitespace, read until the next whitespace
+				text = fDocument.get(blockStart, Math.min(text.length() + BLOCK_SIZE, end - blockStart));
+			}
+			if (blockStart + text.length() < end) {
+				text = text.substring(0, lastWhitespace(text) + 1);
+			}
+			blocks.add(new Block(blockStart, text.length(), hashWords(text)));
+			blockStart += text.length();
+		}
+		return blocks;
+	}
+
+	private static int lastWhitespace(String text) {
+		for (int i = text.length() - 1; i >= 0; i--) {
+			if (Character.isWhitespace(text.charAt(i))) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static int[] hashWords(String text) {
+		int[] hashes = new int[16];
+		int count = 0;
+		Matcher m = WORD_PATTERN.matcher(text);
+		while (m.find()) {
+			if (count == hashes.length) {
+				hashes = Arrays.copyOf(hashes, count * 2);
+			}
+			hashes[count++] = m.group().hashCode();
+		}
+		Arrays.sort(hashes, 0, count);
+		int distinct = 0;
+		for (int i = 0; i < count; i++) {
+			if (distinct == 0 || hashes[i] != hashes[distinct - 1]) {
+				hashes[distinct++] = hashes[i];
+			}
+		}
+		return Arrays.copyOf(hashes, distinct);
+	}
+}
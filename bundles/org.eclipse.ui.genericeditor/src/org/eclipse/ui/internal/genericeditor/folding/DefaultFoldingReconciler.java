@@ -1,5 +1,5 @@
 /**
- *  Copyright (c) 2018 Angelo ZERR.
+ *  Copyright (c) 2018, 2026 Angelo ZERR.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -27,6 +27,7 @@ public class DefaultFoldingReconciler extends AbstractReconciler {
 
 	public DefaultFoldingReconciler() {
 		this.foldingStrategy = new IndentFoldingStrategy();
+		setUseSharedScheduler(true);
 	}
 
 	@Override public void install(ITextViewer textViewer) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,10 +15,16 @@
 package org.eclipse.ui.internal.texteditor;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -27,13 +33,20 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.FindReplaceDocumentAdapter;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.IRegion;
 
 import org.eclipse.ui.IEditorPart;
 import org.eclipse.ui.IEditorReference;
+import org.eclipse.ui.IPartListener2;
+import org.eclipse.ui.IWorkbench;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.IWorkbenchPartReference;
 import org.eclipse.ui.IWorkbenchWindow;
+import org.eclipse.ui.PlatformUI;
 
 import org.eclipse.ui.texteditor.IDocumentProvider;
 import org.eclipse.ui.texteditor.ITextEditor;
@@ -68,12 +81,17 @@ public final class HippieCompletionEngine {
 	 */
 	private static final Pattern COMPLETION_WORD_PATTERN= Pattern.compile(COMPLETION_WORD_REGEX);
 
+	/**
+	 * A single word boundary character.
+	 */
+	private static final String COMPLETION_BOUNDARY_CHAR= "[\\s\\p{Z}[\\p{P}&&[\\P{Pc}]][\\p{S}&&[\\P{Sc}]]]"; //$NON-NLS-1$
+
 	/**
 	 * Word boundary pattern that does not allow searching at the beginning of the document.
 	 *
 	 * @since 3.2
 	 */
-	private static final String NON_EMPTY_COMPLETION_BOUNDARY= "[\\s\\p{Z}[\\p{P}&&[\\P{Pc}]][\\p{S}&&[\\P{Sc}]]]+"; //$NON-NLS-1$
+	private static final String NON_EMPTY_COMPLETION_BOUNDARY= COMPLETION_BOUNDARY_CHAR + "+"; //$NON-NLS-1$
 
 	/**
 	 * The word boundary pattern string.
@@ -85,6 +103,42 @@ public final class HippieCompletionEngine {
 //	private static final String COMPLETION_WORD_REGEX= "\\p{javaUnicodeIdentifierPart}+"; //$NON-NLS-1$
 //	private static final String COMPLETION_WORD_REGEX= "\\p{javaJavaIdentifierPart}+"; //$NON-NLS-1$
 
+	/**
+	 * The pattern matching the words that are found by a forward search from the beginning of a
+	 * document, i.e. the words at the beginning of the text or after a word boundary.
+	 */
+	private static final Pattern INDEXED_WORD_PATTERN= Pattern.compile("(?:^|(?<=" + COMPLETION_BOUNDARY_CHAR + "))" + COMPLETION_WORD_REGEX); //$NON-NLS-1$ //$NON-NLS-2$
+
+	/**
+	 * The word indexes of the documents that were searched, shared by all engines. The indexes do
+	 * not reference their document, so that they are discarded together with it. When a text
+	 * editor is closed or gets another input, the indexes of the documents that are no longer open
+	 * in a text editor are removed together with their document listener.
+	 */
+	private static final Map<IDocument, DocumentWordIndex> fgWordIndexes= new WeakHashMap<>();
+
+	/**
+	 * The workbench pages to which {@link #fgEditorListener} was added.
+	 */
+	private static final Set<IWorkbenchPage> fgTrackedPages= Collections.newSetFromMap(new WeakHashMap<>());
+
+	/**
+	 * Releases the word indexes of the documents that are no longer open in a text editor.
+	 */
+	private static final IPartListener2 fgEditorListener= new IPartListener2() {
+		@Override
+		public void partClosed(IWorkbenchPartReference partRef) {
+			if (partRef instanceof IEditorReference)
+				releaseWordIndexes(partRef);
+		}
+
+		@Override
+		public void partInputChanged(IWorkbenchPartReference partRef) {
+			if (partRef instanceof IEditorReference)
+				releaseWordIndexes(null);
+		}
+	};
+
 	/**
 	 * Is completion case sensitive? Even if set to <code>false</code>, the
 	 * case of the prefix won't be changed.
@@ -337,6 +391,87 @@ public final class HippieCompletionEngine {
 		return new MultipleDocumentsIterator(document, otherDocuments, prefix, firstPosition);
 	}
 
+	/**
+	 * Returns the completions that start with the passed prefix in the given document. These are
+	 * the completions found by a forward search from the beginning of the document, but without
+	 * duplicates and ordered by the number of occurrences of the word, the most frequent first.
+	 * <p>
+	 * The words of the document are indexed with the first call and the index is updated on
+	 * document changes, so that later calls do not scan the document.
+	 * </p>
+	 *
+	 * @param document the document to be searched
+	 * @param prefix the prefix to search for
+	 * @return a {@link List} of possible completions, excluding the common prefix. The empty
+	 *         suggestion is not included in the results.
+	 */
+	public List<String> getIndexedCompletions(IDocument document, CharSequence prefix) {
+		trackEditors();
+		DocumentWordIndex index;
+		synchronized (fgWordIndexes) {
+			index= fgWordIndexes.get(document);
+			if (index == null) {
+				index= new DocumentWordIndex();
+				document.addDocumentListener(index);
+				fgWordIndexes.put(document, index);
+			}
+		}
+		return index.getCompletions(document, prefix.toString());
+	}
+
+	/**
+	 * Adds the listener that releases the word indexes of closed documents to the workbench pages
+	 * that do not have it yet. Does nothing outside of the UI thread.
+	 */
+	private static void trackEditors() {
+		if (!PlatformUI.isWorkbenchRunning())
+			return;
+		IWorkbench workbench= PlatformUI.getWorkbench();
+		if (workbench.getDisplay().getThread() != Thread.currentThread())
+			return;
+		for (IWorkbenchWindow window : workbench.getWorkbenchWindows()) {
+			for (IWorkbenchPage page : window.getPages()) {
+				if (fgTrackedPages.add(page))
+					page.addPartListener(fgEditorListener);
+			}
+		}
+	}
+
+	/**
+	 * Removes the word indexes of the documents that are not open in a text editor, together with
+	 * their document listener.
+	 *
+	 * @param closed the reference of the editor that is being closed, or <code>null</code>
+	 */
+	private static void releaseWordIndexes(IWorkbenchPartReference closed) {
+		Set<IDocument> openDocuments= new HashSet<>();
+		for (IWorkbenchWindow window : PlatformUI.getWorkbench().getWorkbenchWindows()) {
+			for (IWorkbenchPage page : window.getPages()) {
+				for (IEditorReference reference : page.getEditorReferences()) {
+					if (reference == closed)
+						continue;
+					IEditorPart editor= reference.getEditor(false);
+					if (editor instanceof ITextEditor) {
+						ITextEditor textEditor= (ITextEditor) editor;
+						IDocumentProvider provider= textEditor.getDocumentProvider();
+						IDocument document= provider == null ? null : provider.getDocument(textEditor.getEditorInput());
+						if (document != null)
+							openDocuments.add(document);
+					}
+				}
+			}
+		}
+		synchronized (fgWordIndexes) {
+			for (Iterator<Map.Entry<IDocument, DocumentWordIndex>> it= fgWordIndexes.entrySet().iterator(); it.hasNext();) {
+				Map.Entry<IDocument, DocumentWordIndex> entry= it.next();
+				if (!openDocuments.contains(entry.getKey())) {
+					entry.getKey().removeDocumentListener(entry.getValue());
+					it.remove();
+				}
+			}
+		}
+	}
+
 
 
 	/**
@@ -424,8 +559,8 @@ public final class HippieCompletionEngine {
 
 
 			while (fCurrLocation < this.fOtherDocuments.size()) {
-				fCompletionsForwardIterator= getForwardIterator(
-						(this.fOtherDocuments.get(fCurrLocation)), fPrefix, 0, false);
+				fCompletionsForwardIterator= getIndexedCompletions(
+						(this.fOtherDocuments.get(fCurrLocation)), fPrefix).iterator();
 				fCurrLocation++;
 				if (checkNext()) {
 					return;
@@ -805,6 +940,151 @@ public final class HippieCompletionEngine {
 
 	}
 
+	/**
+	 * Index of the number of occurrences of the words of a document that can be completed, i.e.
+	 * the matches of {@link HippieCompletionEngine#INDEXED_WORD_PATTERN}. The index is built with
+	 * the first query and updated from the document events by re-counting only the words touched
+	 * by a change. It does not reference the document.
+	 */
+	private static final class DocumentWordIndex implements IDocumentListener {
+
+		/** The number of occurrences by word, <code>null</code> if the index is not built. */
+		private NavigableMap<String, int[]> fWords;
+
+		/** Whether the words of the pending change were removed from the index. */
+		private boolean fChangePending;
+
+		/** The start of the text that is counted again after the pending change. */
+		private int fChangeStart;
+
+		/** The end of the text that is counted again after the pending change, before the change. */
+		private int fChangeEnd;
+
+		/**
+		 * Returns the completions of the given prefix, the most frequent word first.
+		 *
+		 * @param document the document of this index
+		 * @param prefix the prefix
+		 * @return the completions, excluding the prefix
+		 */
+		synchronized List<String> getCompletions(IDocument document, String prefix) {
+			if (fWords == null) {
+				fWords= new TreeMap<>();
+				count(document.get(), 0, 1);
+			}
+			List<Map.Entry<String, int[]>> matches= new ArrayList<>();
+			for (Map.Entry<String, int[]> entry : fWords.tailMap(prefix, false).entrySet()) {
+				if (!entry.getKey().startsWith(prefix))
+					break;
+				matches.add(entry);
+			}
+			// stable, words with the same number of occurrences stay sorted
+			matches.sort((a, b) -> Integer.compare(b.getValue()[0], a.getValue()[0]));
+
+			List<String> completions= new ArrayList<>(matches.size());
+			for (Map.Entry<String, int[]> entry : matches)
+				completions.add(entry.getKey().substring(prefix.length()));
+			return completions;
+		}
+
+		@Override
+		public synchronized void documentAboutToBeChanged(DocumentEvent event) {
+			fChangePending= false;
+			if (fWords == null)
+				return;
+			IDocument document= event.getDocument();
+			try {
+				int start= event.getOffset();
+				while (start > 0 && isWordPart(document.getChar(start - 1)))
+					start--;
+				int end= event.getOffset() + event.getLength();
+				int length= document.getLength();
+				while (end < length && isWordPart(document.getChar(end)))
+					end++;
+				fChangeStart= start;
+				fChangeEnd= end;
+				count(document, start, end, -1);
+				fChangePending= true;
+			} catch (BadLocationException e) {
+				fWords= null;
+			}
+		}
+
+		@Override
+		public synchronized void documentChanged(DocumentEvent event) {
+			if (!fChangePending || fWords == null)
+				return;
+			fChangePending= false;
+			String text= event.getText();
+			int end= fChangeEnd - event.getLength() + (text == null ? 0 : text.length());
+			try {
+				count(event.getDocument(), fChangeStart, end, 1);
+			} catch (BadLocationException e) {
+				fWords= null;
+			}
+		}
+
+		/**
+		 * Adds the given increment to the counts of the words in the given range of the document.
+		 * The range must neither start nor end inside of a word.
+		 *
+		 * @param document the document
+		 * @param start the start of the range
+		 * @param end the end of the range
+		 * @param increment the increment
+		 * @throws BadLocationException if the range is not in the document
+		 */
+		private void count(IDocument document, int start, int end, int increment) throws BadLocationException {
+			// include the character before the range, it decides whether the first word is a match
+			int textStart= Math.max(start - 1, 0);
+			count(document.get(textStart, end - textStart), start - textStart, increment);
+		}
+
+		private void count(String text, int start, int increment) {
+			Matcher m= INDEXED_WORD_PATTERN.matcher(text);
+			m.useTransparentBounds(true);
+			m.useAnchoringBounds(false);
+			m.region(start, text.length());
+			while (m.find()) {
+				String word= m.group();
+				int[] count= fWords.get(word);
+				if (count == null) {
+					count= new int[1];
+					fWords.put(word, count);
+				}
+				count[0]+= increment;
+				if (count[0] <= 0)
+					fWords.remove(word);
+			}
+		}
+
+		/**
+		 * Tells whether the given character may be part of a word. Surrogates are treated as word
+		 * parts, which may only enlarge the range that is counted again after a change.
+		 *
+		 * @param c the character
+		 * @return <code>true</code> if the character may be part of a word
+		 */
+		private static boolean isWordPart(char c) {
+			switch (Character.getType(c)) {
+				case Character.UPPERCASE_LETTER:
+				case Character.LOWERCASE_LETTER:
+				case Character.TITLECASE_LETTER:
+				case Character.MODIFIER_LETTER:
+				case Character.OTHER_LETTER:
+				case Character.NON_SPACING_MARK:
+				case Character.CONNECTOR_PUNCTUATION:
+				case Character.DECIMAL_DIGIT_NUMBER:
+				case Character.LETTER_NUMBER:
+				case Character.CURRENCY_SYMBOL:
+				case Character.SURROGATE:
+					return true;
+				default:
+					return false;
+			}
+		}
+	}
+
 	/**
 	 * Logs the exception.
 	 *
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -57,17 +57,13 @@ import org.eclipse.jface.text.source.LineRange;
 import org.eclipse.ui.internal.texteditor.NLSUtility;
 import org.eclipse.ui.internal.texteditor.TextEditorPlugin;
 import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DJBHashFunction;
-import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocEquivalenceComparator;
 import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocumentEquivalenceClass;
 import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.IHashFunction;
 import org.eclipse.ui.progress.IProgressConstants;
 
 import org.eclipse.ui.texteditor.quickdiff.IQuickDiffReferenceProvider;
 
-import org.eclipse.compare.rangedifferencer.AbstractRangeDifferenceFactory;
-import org.eclipse.compare.rangedifferencer.IRangeComparator;
 import org.eclipse.compare.rangedifferencer.RangeDifference;
-import org.eclipse.compare.rangedifferencer.RangeDifferencer;
 
 /**
  * Standard implementation of <code>ILineDiffer</code> as an incremental diff engine. A
@@ -87,19 +83,6 @@ import org.eclipse.compare.rangedifferencer.RangeDifferencer;
 public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnnotationModel, ILineDifferExtension, ILineDifferExtension2 {
 
 
-	/**
-	 * Custom range difference factory.
-	 *
-	 * @since 3.5
-	 */
-	private static class RangeDifferenceFactory extends AbstractRangeDifferenceFactory {
-		@Override
-		protected org.eclipse.compare.rangedifferencer.RangeDifference createRangeDifference() {
-			return new QuickDiffRangeDifference();
-		}
-	}
-
-
 	/**
 	 * Artificial line difference information indicating a change with an empty line as original text.
 	 */
@@ -138,6 +121,27 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 
 	/** The delay after which the initialization job is triggered. */
 	private static final int INITIALIZE_DELAY= 500;
+	/**
+	 * The maximal number of lines changed by a document event that are diffed incrementally
+	 * between consistent ranges around them. Larger changes are diffed in a window of
+	 * {@link #LARGE_CHANGE_CONTEXT} lines around them.
+	 */
+	private static final int MAX_INCREMENTAL_LINES= 50;
+	/**
+	 * The maximal number of lines between the consistent ranges around a change that are diffed
+	 * incrementally. Larger windows are replaced by a window of {@link #LARGE_CHANGE_CONTEXT}
+	 * lines around the change.
+	 */
+	private static final int MAX_INCREMENTAL_WINDOW= 50;
+	/**
+	 * The number of lines before and after a large change that are diffed with the changed lines.
+	 */
+	private static final int LARGE_CHANGE_CONTEXT= 50;
+	/**
+	 * The maximal number of lines of the window around a large change that is diffed in the UI
+	 * thread. Larger windows are diffed by the initialization job.
+	 */
+	private static final int MAX_LARGE_CHANGE_WINDOW= 20000;
 
 	/** Suspended state */
 	private static final int SUSPENDED= 0;
@@ -246,8 +250,6 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 	private Thread fThread;
 	private DocumentEvent fLastUIEvent;
 
-	private RangeDifferenceFactory fRangeDiffFactory= new RangeDifferenceFactory();
-
 
 	/**
 	 * Creates a new differ.
@@ -523,7 +525,7 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 			public IStatus run(IProgressMonitor monitor) {
 
 				// 1:	wait for any previous job that was canceled to avoid job flooding
-				// It will return relatively quickly as RangeDifferencer supports canceling
+				// It will return relatively quickly as HistogramDiff supports canceling
 				if (oldJob != null)
 					try {
 						oldJob.join();
@@ -640,12 +642,10 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 				IHashFunction hash= new DJBHashFunction();
 				DocumentEquivalenceClass leftEquivalent= new DocumentEquivalenceClass(reference, hash);
 				fLeftEquivalent= leftEquivalent;
-				IRangeComparator ref= new DocEquivalenceComparator(leftEquivalent, null);
 
 				DocumentEquivalenceClass rightEquivalent= new DocumentEquivalenceClass(actual, hash);
 				fRightEquivalent= rightEquivalent;
-				IRangeComparator act= new DocEquivalenceComparator(rightEquivalent, null);
-				ArrayList<QuickDiffRangeDifference> diffs= asQuickDiffRangeDifference(RangeDifferencer.findRanges(fRangeDiffFactory, monitor, ref, act));
+				ArrayList<QuickDiffRangeDifference> diffs= HistogramDiff.findRanges(monitor, leftEquivalent, null, rightEquivalent, null);
 				// 7:	Reset the model to the just gotten differences
 				// 		re-inject stored events to get up to date.
 				synchronized (DocumentLineDiffer.this) {
@@ -936,8 +936,9 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 		// size: the size of the document change in lines
 
 		// put an upper bound to the delay we can afford
-		if (added > 50 || fNLines > 50) {
-			initialize();
+		if (added > MAX_INCREMENTAL_LINES || fNLines > MAX_INCREMENTAL_LINES) {
+			if (leftToRight || !handleLargeChange(leftEquivalent, rightEquivalent, added))
+				initialize();
 			return;
 		}
 
@@ -1000,7 +1001,6 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 			leftLine += lineDelta;
 		int leftEndLine= leftLine - shiftAfter;
 		ILineRange leftRange= new LineRange(leftStartLine, leftEndLine - leftStartLine);
-		IRangeComparator reference= new DocEquivalenceComparator(leftEquivalent, leftRange);
 
 		// right (actual) document
 		int rightStartLine= consistentBefore.rightStart() + shiftBefore;
@@ -1009,11 +1009,11 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 			rightLine += lineDelta;
 		int rightEndLine= rightLine - shiftAfter;
 		ILineRange rightRange= new LineRange(rightStartLine, rightEndLine - rightStartLine);
-		IRangeComparator change= new DocEquivalenceComparator(rightEquivalent, rightRange);
 
 		// put an upper bound to the delay we can afford
-		if (leftLine - shiftAfter - leftStartLine > 50 || rightLine - shiftAfter - rightStartLine > 50) {
-			initialize();
+		if (leftLine - shiftAfter - leftStartLine > MAX_INCREMENTAL_WINDOW || rightLine - shiftAfter - rightStartLine > MAX_INCREMENTAL_WINDOW) {
+			if (leftToRight || !handleLargeChange(leftEquivalent, rightEquivalent, added))
+				initialize();
 			return;
 		}
 
@@ -1022,10 +1022,7 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 //					">\n\n<" + right.get(rightRegion.getOffset(), rightRegion.getLength()) + ">\n"); //$NON-NLS-1$ //$NON-NLS-2$
 
 		// compare
-		List<QuickDiffRangeDifference> diffs= asQuickDiffRangeDifference(RangeDifferencer.findRanges(fRangeDiffFactory, null, reference, change));
-		if (diffs.isEmpty()) {
-			diffs.add(new QuickDiffRangeDifference(RangeDifference.CHANGE, 0, 0, 0, 0));
-		}
+		List<QuickDiffRangeDifference> diffs= HistogramDiff.findRanges(null, leftEquivalent, leftRange, rightEquivalent, rightRange);
 
 
 		// shift the partial diffs to the absolute document positions
@@ -1141,16 +1138,146 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 	}
 
 	/**
-	 * Converts a {@code RangeDifference[]} into an {@code ArrayList<QuickDiffRangeDifference>}.
-	 * This is unsafe in general, but OK if used carefully.
-	 * Workaround for <a href="https://bugs.eclipse.org/483319">bug 483319</a>.
+	 * Re-diffs a change of the right document that is too large to be diffed between consistent
+	 * ranges. The changed lines are diffed together with {@link #LARGE_CHANGE_CONTEXT} lines
+	 * before and after them, the borders of this window are mapped to the left document through
+	 * the differences overlapping them. The result replaces these differences.
+	 *
+	 * @param leftEquivalent the equivalence class of the left document
+	 * @param rightEquivalent the equivalence class of the right document, already updated
+	 * @param added the number of lines of the right document covered by the change after it
+	 * @return <code>true</code> if the differences have been updated, <code>false</code> if the
+	 *         window is too large or if its differences start or end with a change next to a
+	 *         change outside the window, in which case the differ has to be re-initialized
+	 */
+	private boolean handleLargeChange(DocumentEquivalenceClass leftEquivalent, DocumentEquivalenceClass rightEquivalent, int added) {
+		List<QuickDiffRangeDifference> differences= fDifferences;
+		if (differences.isEmpty())
+			return false;
+		int lineDelta= added - fNLines;
+		int rightLines= differences.get(differences.size() - 1).rightEnd();
+
+		// the window in the right document before the change, extended to the borders of the changes it cuts
+		int windowStart= Math.max(0, fFirstLine - LARGE_CHANGE_CONTEXT);
+		int windowEnd= Math.min(rightLines, fFirstLine + fNLines + LARGE_CHANGE_CONTEXT);
+		if (windowEnd < fFirstLine + fNLines)
+			return false;
+		int first= indexOfRightLine(differences, windowStart);
+		int last= indexOfRightLine(differences, windowEnd - 1);
+		if (first == -1 || last == -1)
+			return false;
+
+		QuickDiffRangeDifference firstRange= differences.get(first);
+		int leftStart;
+		if (firstRange.kind() == RangeDifference.NOCHANGE) {
+			leftStart= firstRange.leftStart() + windowStart - firstRange.rightStart();
+		} else {
+			windowStart= firstRange.rightStart();
+			leftStart= firstRange.leftStart();
+		}
+		QuickDiffRangeDifference lastRange= differences.get(last);
+		int leftEnd;
+		if (lastRange.kind() == RangeDifference.NOCHANGE) {
+			leftEnd= lastRange.leftStart() + windowEnd - lastRange.rightStart();
+		} else {
+			windowEnd= lastRange.rightEnd();
+			leftEnd= lastRange.leftEnd();
+		}
+		int newWindowEnd= windowEnd + lineDelta;
+		if (newWindowEnd - windowStart > MAX_LARGE_CHANGE_WINDOW || leftEnd - leftStart > MAX_LARGE_CHANGE_WINDOW)
+			return false;
+
+		List<QuickDiffRangeDifference> diffs= HistogramDiff.findRanges(null, leftEquivalent, new LineRange(leftStart, leftEnd - leftStart), rightEquivalent, new LineRange(windowStart, newWindowEnd - windowStart));
+
+		// the unchanged lines of the cut differences before and after the window, the right lines after the change
+		List<QuickDiffRangeDifference> replacement= new ArrayList<>();
+		int before= windowStart - firstRange.rightStart();
+		if (before > 0)
+			replacement.add(new QuickDiffRangeDifference(RangeDifference.NOCHANGE, firstRange.rightStart(), before, firstRange.leftStart(), before));
+		for (QuickDiffRangeDifference d : diffs) {
+			d.shiftLeft(leftStart);
+			d.shiftRight(windowStart);
+			append(replacement, d);
+		}
+		int after= lastRange.rightEnd() - windowEnd;
+		if (after > 0)
+			append(replacement, new QuickDiffRangeDifference(RangeDifference.NOCHANGE, newWindowEnd, after, leftEnd, after));
+
+		// merge with the differences next to the window, which must not both be changes
+		if (first > 0 && differences.get(first - 1).kind() == replacement.get(0).kind()) {
+			if (replacement.get(0).kind() != RangeDifference.NOCHANGE)
+				return false;
+			first--;
+			List<QuickDiffRangeDifference> merged= new ArrayList<>();
+			QuickDiffRangeDifference previous= differences.get(first);
+			merged.add(new QuickDiffRangeDifference(RangeDifference.NOCHANGE, previous.rightStart(), previous.rightLength(), previous.leftStart(), previous.leftLength()));
+			for (QuickDiffRangeDifference d : replacement)
+				append(merged, d);
+			replacement= merged;
+		}
+		if (last + 1 < differences.size() && differences.get(last + 1).kind() == replacement.get(replacement.size() - 1).kind()) {
+			if (replacement.get(replacement.size() - 1).kind() != RangeDifference.NOCHANGE)
+				return false;
+			last++;
+			QuickDiffRangeDifference next= differences.get(last);
+			append(replacement, new QuickDiffRangeDifference(RangeDifference.NOCHANGE, next.rightStart() + lineDelta, next.rightLength(), next.leftStart(), next.leftLength()));
+		}
+
+		synchronized (differences) {
+			fChanged.clear();
+			fRemoved.clear();
+			fAdded.clear();
+
+			List<QuickDiffRangeDifference> replaced= differences.subList(first, last + 1);
+			fRemoved.addAll(replaced);
+			replaced.clear();
+			replaced.addAll(replacement);
+			fAdded.addAll(replacement);
+
+			// shift the remaining diffs
+			if (lineDelta != 0) {
+				for (int i= first + replacement.size(); i < differences.size(); i++)
+					differences.get(i).shiftRight(lineDelta);
+			}
+			fUpdateNeeded= true;
+		}
+
+		fLastDifference= null;
+		return true;
+	}
+
+	/**
+	 * Appends a difference to the given differences, merging it into the last one if both are
+	 * of the same kind.
+	 *
+	 * @param differences the differences
+	 * @param difference the difference following the given differences
+	 */
+	private static void append(List<QuickDiffRangeDifference> differences, QuickDiffRangeDifference difference) {
+		if (!differences.isEmpty()) {
+			QuickDiffRangeDifference last= differences.get(differences.size() - 1);
+			if (last.kind() == difference.kind()) {
+				differences.set(differences.size() - 1, new QuickDiffRangeDifference(last.kind(), last.rightStart(), last.rightLength() + difference.rightLength(), last.leftStart(), last.leftLength() + difference.leftLength()));
+				return;
+			}
+		}
+		differences.add(difference);
+	}
+
+	/**
+	 * Returns the index of the difference containing the given line of the right document.
 	 *
-	 * @param ranges the ranges, <em>must</em> be of type {@link QuickDiffRangeDifference}
-	 * @return the ranges as a modifiable list
+	 * @param differences the differences
+	 * @param rightLine the line of the right document
+	 * @return the index of the difference or <code>-1</code>
 	 */
-	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private static ArrayList<QuickDiffRangeDifference> asQuickDiffRangeDifference(RangeDifference[] ranges) {
-		return new ArrayList(Arrays.asList(ranges));
+	private static int indexOfRightLine(List<QuickDiffRangeDifference> differences, int rightLine) {
+		for (int i= 0; i < differences.size(); i++) {
+			QuickDiffRangeDifference d= differences.get(i);
+			if (rightLine >= d.rightStart() && rightLine < d.rightEnd())
+				return i;
+		}
+		return -1;
 	}
 
 	/**
@@ -0,0 +1,330 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.texteditor.quickdiff;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.jface.text.source.ILineRange;
+
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocumentEquivalenceClass;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.Hash;
+
+import org.eclipse.compare.rangedifferencer.IRangeComparator;
+import org.eclipse.compare.rangedifferencer.RangeDifference;
+import org.eclipse.compare.rangedifferencer.RangeDifferencer;
+
+/**
+ * Line diff based on histograms of the line hashes, as known from git's histogram diff.
+ * <p>
+ * The lines of both sides are mapped to integer ids of their hashes. A range is diffed by first
+ * stripping its common prefix and suffix. Then, of the lines occurring on both sides, the
+ * longest common run of lines that occur least often on the left side is taken as anchor, and
+ * the ranges before and after the anchor are diffed the same way. Ranges whose common lines all
+ * occur very often are diffed with the {@link RangeDifferencer}.
+ * </p>
+ * <p>
+ * The time needed is about linear in the number of lines for typical documents, while the
+ * {@link RangeDifferencer} needs time proportional to the number of lines times the number of
+ * differences.
+ * </p>
+ */
+public final class HistogramDiff {
+
+	/**
+	 * Lines occurring more often than this in a range of the left side are not used as anchor of
+	 * that range.
+	 */
+	private static final int MAX_CHAIN_LENGTH= 64;
+
+	/** Task kind: diff the range. */
+	private static final int RANGE= 0;
+	/** Task kind: the lines match. */
+	private static final int MATCH= 1;
+
+	/**
+	 * Compares ranges of line ids for the {@link RangeDifferencer}.
+	 */
+	private static final class IdComparator implements IRangeComparator {
+
+		private final int[] fIds;
+		private final int fStart;
+		private final int fLength;
+
+		IdComparator(int[] ids, int start, int end) {
+			fIds= ids;
+			fStart= start;
+			fLength= end - start;
+		}
+
+		@Override
+		public int getRangeCount() {
+			return fLength;
+		}
+
+		@Override
+		public boolean rangesEqual(int thisIndex, IRangeComparator other, int otherIndex) {
+			IdComparator comparator= (IdComparator) other;
+			return fIds[fStart + thisIndex] == comparator.fIds[comparator.fStart + otherIndex];
+		}
+
+		@Override
+		public boolean skipRangeComparison(int length, int maxLength, IRangeComparator other) {
+			return false;
+		}
+	}
+
+	private final int[] fLeft;
+	private final int[] fRight;
+	/** The number of occurrences of an id in the left range being diffed, by id. */
+	private final int[] fCount;
+	/** The last occurrence of an id in the left range being diffed, by id, or -1. */
+	private final int[] fLast;
+	/** The previous occurrence of the id of a left line in the range being diffed, or -1. */
+	private final int[] fPrevious;
+	/** The matching runs found so far, as triples of left start, right start and length. */
+	private int[] fMatches= new int[48];
+	private int fMatchCount;
+
+	private HistogramDiff(int[] left, int[] right, int idCount) {
+		fLeft= left;
+		fRight= right;
+		fCount= new int[idCount];
+		fLast= new int[idCount];
+		Arrays.fill(fLast, -1);
+		fPrevious= new int[left.length];
+	}
+
+	/**
+	 * Computes the differences between the given line ranges of two documents. The returned
+	 * ranges cover both line ranges, with lines relative to the line ranges. They alternate
+	 * between {@link RangeDifference#NOCHANGE} and {@link RangeDifference#CHANGE}, like the
+	 * result of {@link RangeDifferencer#findRanges(IRangeComparator, IRangeComparator)}. There is
+	 * always at least one range; if both line ranges are empty, it is an empty
+	 * {@link RangeDifference#CHANGE}.
+	 *
+	 * @param monitor the progress monitor, may be <code>null</code>; if it is canceled the result
+	 *            is incomplete
+	 * @param left the left (reference) document
+	 * @param leftRange the line range of the left document, or <code>null</code> for all lines
+	 * @param right the right (actual) document
+	 * @param rightRange the line range of the right document, or <code>null</code> for all lines
+	 * @return the differences, at least one
+	 */
+	public static ArrayList<QuickDiffRangeDifference> findRanges(IProgressMonitor monitor, DocumentEquivalenceClass left, ILineRange leftRange, DocumentEquivalenceClass right, ILineRange rightRange) {
+		Map<Hash, Integer> ids= new HashMap<>();
+		int[] leftIds= toIds(left, leftRange, ids);
+		int[] rightIds= toIds(right, rightRange, ids);
+		return findRanges(monitor, leftIds, rightIds, ids.size());
+	}
+
+	/**
+	 * Computes the differences between two sequences of line ids.
+	 *
+	 * @param monitor the progress monitor, may be <code>null</code>; if it is canceled the result
+	 *            is incomplete
+	 * @param left the ids of the left lines
+	 * @param right the ids of the right lines
+	 * @param idCount the ids are between 0 and this, exclusive
+	 * @return the differences, at least one
+	 * @see #findRanges(IProgressMonitor, DocumentEquivalenceClass, ILineRange,
+	 *      DocumentEquivalenceClass, ILineRange)
+	 */
+	public static ArrayList<QuickDiffRangeDifference> findRanges(IProgressMonitor monitor, int[] left, int[] right, int idCount) {
+		HistogramDiff diff= new HistogramDiff(left, right, idCount);
+		diff.diff(monitor);
+		return diff.toRanges();
+	}
+
+	private static int[] toIds(DocumentEquivalenceClass equivalenceClass, ILineRange range, Map<Hash, Integer> ids) {
+		int start= range == null ? 0 : range.getStartLine();
+		int count= range == null ? equivalenceClass.getCount() : range.getNumberOfLines();
+		int[] result= new int[count];
+		for (int i= 0; i < count; i++) {
+			Hash hash= equivalenceClass.getHash(start + i);
+			Integer id= ids.get(hash);
+			if (id == null) {
+				id= Integer.valueOf(ids.size());
+				ids.put(hash, id);
+			}
+			result[i]= id.intValue();
+		}
+		return result;
+	}
+
+	private void diff(IProgressMonitor monitor) {
+		// tasks are taken from the top, so a range is pushed after the ones following it
+		Deque<int[]> tasks= new ArrayDeque<>();
+		tasks.push(new int[] { RANGE, 0, fLeft.length, 0, fRight.length });
+		while (!tasks.isEmpty()) {
+			if (monitor != null && monitor.isCanceled())
+				return;
+			int[] task= tasks.pop();
+			if (task[0] == MATCH)
+				addMatch(task[1], task[2], task[3]);
+			else
+				diffRange(task[1], task[2], task[3], task[4], tasks);
+		}
+	}
+
+	private void diffRange(int leftStart, int leftEnd, int rightStart, int rightEnd, Deque<int[]> tasks) {
+		int prefix= 0;
+		while (leftStart + prefix < leftEnd && rightStart + prefix < rightEnd && fLeft[leftStart + prefix] == fRight[rightStart + prefix])
+			prefix++;
+		addMatch(leftStart, rightStart, prefix);
+		leftStart+= prefix;
+		rightStart+= prefix;
+
+		int suffix= 0;
+		while (leftStart < leftEnd - suffix && rightStart < rightEnd - suffix && fLeft[leftEnd - suffix - 1] == fRight[rightEnd - suffix - 1])
+			suffix++;
+		leftEnd-= suffix;
+		rightEnd-= suffix;
+		if (suffix > 0)
+			tasks.push(new int[] { MATCH, leftEnd, rightEnd, suffix });
+
+		if (leftStart == leftEnd || rightStart == rightEnd)
+			return;
+
+		int[] anchor= findAnchor(leftStart, leftEnd, rightStart, rightEnd);
+		if (anchor == null) {
+			diffWithRangeDifferencer(leftStart, leftEnd, rightStart, rightEnd);
+		} else if (anchor.length > 0) {
+			int anchorLeft= anchor[0];
+			int anchorRight= anchor[1];
+			int anchorLength= anchor[2];
+			tasks.push(new int[] { RANGE, anchorLeft + anchorLength, leftEnd, anchorRight + anchorLength, rightEnd });
+			tasks.push(new int[] { MATCH, anchorLeft, anchorRight, anchorLength });
+			tasks.push(new int[] { RANGE, leftStart, anchorLeft, rightStart, anchorRight });
+		}
+	}
+
+	/**
+	 * Finds the longest run of common lines whose lines occur least often in the left range.
+	 *
+	 * @param leftStart the start of the left range
+	 * @param leftEnd the end of the left range, exclusive
+	 * @param rightStart the start of the right range
+	 * @param rightEnd the end of the right range, exclusive
+	 * @return the left start, right start and length of the anchor, an empty array if the ranges
+	 *         have no lines in common, or <code>null</code> if all common lines occur too often
+	 */
+	private int[] findAnchor(int leftStart, int leftEnd, int rightStart, int rightEnd) {
+		for (int i= leftStart; i < leftEnd; i++) {
+			int id= fLeft[i];
+			fPrevious[i]= fLast[id];
+			fLast[id]= i;
+			fCount[id]++;
+		}
+
+		boolean hasCommon= false;
+		int bestLeft= -1, bestRight= -1, bestLength= 0;
+		int bestCount= MAX_CHAIN_LENGTH + 1;
+		int right= rightStart;
+		while (right < rightEnd) {
+			int id= fRight[right];
+			int next= right + 1;
+			int count= fCount[id];
+			if (count > 0)
+				hasCommon= true;
+			if (count > 0 && count <= bestCount) {
+				for (int left= fLast[id]; left != -1; left= fPrevious[left]) {
+					int start= left, matchRight= right;
+					while (start > leftStart && matchRight > rightStart && fLeft[start - 1] == fRight[matchRight - 1]) {
+						start--;
+						matchRight--;
+					}
+					int end= left + 1, endRight= right + 1;
+					while (end < leftEnd && endRight < rightEnd && fLeft[end] == fRight[endRight]) {
+						end++;
+						endRight++;
+					}
+					int minCount= count;
+					for (int i= start; i < end; i++)
+						minCount= Math.min(minCount, fCount[fLeft[i]]);
+					if (minCount < bestCount || minCount == bestCount && end - start > bestLength) {
+						bestLeft= start;
+						bestRight= matchRight;
+						bestLength= end - start;
+						bestCount= minCount;
+					}
+					next= Math.max(next, endRight);
+				}
+			}
+			right= next;
+		}
+
+		for (int i= leftStart; i < leftEnd; i++) {
+			int id= fLeft[i];
+			fLast[id]= -1;
+			fCount[id]= 0;
+		}
+
+		if (bestLength > 0)
+			return new int[] { bestLeft, bestRight, bestLength };
+		return hasCommon ? null : new int[0];
+	}
+
+	private void diffWithRangeDifferencer(int leftStart, int leftEnd, int rightStart, int rightEnd) {
+		RangeDifference[] differences= RangeDifferencer.findDifferences(new IdComparator(fLeft, leftStart, leftEnd), new IdComparator(fRight, rightStart, rightEnd));
+		int left= 0, right= 0;
+		for (RangeDifference difference : differences) {
+			addMatch(leftStart + left, rightStart + right, difference.leftStart() - left);
+			left= difference.leftEnd();
+			right= difference.rightEnd();
+		}
+		addMatch(leftStart + left, rightStart + right, leftEnd - leftStart - left);
+	}
+
+	private void addMatch(int left, int right, int length) {
+		if (length <= 0)
+			return;
+		if (fMatchCount > 0) {
+			int last= fMatchCount - 3;
+			if (fMatches[last] + fMatches[last + 2] == left && fMatches[last + 1] + fMatches[last + 2] == right) {
+				fMatches[last + 2]+= length;
+				return;
+			}
+		}
+		if (fMatchCount == fMatches.length)
+			fMatches= Arrays.copyOf(fMatches, fMatches.length * 2);
+		fMatches[fMatchCount++]= left;
+		fMatches[fMatchCount++]= right;
+		fMatches[fMatchCount++]= length;
+	}
+
+	private ArrayList<QuickDiffRangeDifference> toRanges() {
+		ArrayList<QuickDiffRangeDifference> ranges= new ArrayList<>();
+		int left= 0, right= 0;
+		for (int i= 0; i < fMatchCount; i+= 3) {
+			int matchLeft= fMatches[i];
+			int matchRight= fMatches[i + 1];
+			int length= fMatches[i + 2];
+			if (matchLeft > left || matchRight > right)
+				ranges.add(new QuickDiffRangeDifference(RangeDifference.CHANGE, right, matchRight - right, left, matchLeft - left));
+			ranges.add(new QuickDiffRangeDifference(RangeDifference.NOCHANGE, matchRight, length, matchLeft, length));
+			left= matchLeft + length;
+			right= matchRight + length;
+		}
+		if (fLeft.length > left || fRight.length > right || ranges.isEmpty())
+			ranges.add(new QuickDiffRangeDifference(RangeDifference.CHANGE, right, fRight.length - right, left, fLeft.length - left));
+		return ranges;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -100,6 +100,7 @@ import org.eclipse.text.undo.IDocumentUndoManager;
 import org.eclipse.jface.action.Action;
 import org.eclipse.jface.action.GroupMarker;
 import org.eclipse.jface.action.IAction;
+import org.eclipse.jface.action.IContributionItem;
 import org.eclipse.jface.action.IMenuListener;
 import org.eclipse.jface.action.IMenuManager;
 import org.eclipse.jface.action.IStatusLineManager;
@@ -2255,6 +2256,30 @@ public abstract class AbstractTextEditor extends EditorPart implements ITextEdit
 	 */
 	public static final String PREFERENCE_SHOW_SELECTION_SIZE = "showSelectionSize"; //$NON-NLS-1$
 
+	/**
+	 * A named preference that holds the number of characters of a document above which the editor
+	 * uses its large file profile. A value of <code>0</code> disables the limit.
+	 * <p>
+	 * Value is of type <code>Integer</code>.
+	 * </p>
+	 *
+	 * @see #isLargeFileProfileActive()
+	 * @since 3.18
+	 */
+	public static final String PREFERENCE_LARGE_FILE_SIZE_LIMIT= "largeFileSizeLimit"; //$NON-NLS-1$
+
+	/**
+	 * A named preference that holds the number of characters of a line above which the editor uses
+	 * its large file profile. A value of <code>0</code> disables the limit.
+	 * <p>
+	 * Value is of type <code>Integer</code>.
+	 * </p>
+	 *
+	 * @see #isLargeFileProfileActive()
+	 * @since 3.18
+	 */
+	public static final String PREFERENCE_LARGE_FILE_LINE_LENGTH_LIMIT= "largeFileLineLengthLimit"; //$NON-NLS-1$
+
 	/** Menu id for the editor context menu. */
 	public static final String DEFAULT_EDITOR_CONTEXT_MENU_ID= "#EditorContext"; //$NON-NLS-1$
 	/** Menu id for the ruler context menu. */
@@ -2330,6 +2355,8 @@ public abstract class AbstractTextEditor extends EditorPart implements ITextEdit
 	private final String fInsertModeLabel= EditorMessages.Editor_statusline_mode_insert_label;
 	private final String fOverwriteModeLabel= EditorMessages.Editor_statusline_mode_overwrite_label;
 	private final String fSmartInsertModeLabel= EditorMessages.Editor_statusline_mode_smartinsert_label;
+	/** @since 3.18 */
+	private final String fLargeFileLabel= EditorMessages.Editor_statusline_largeFile_label;
 
 	/** The error message shown in the status line in case of failed information look up. */
 	protected final String fErrorLabel= EditorMessages.Editor_statusline_error_label;
@@ -2629,6 +2656,12 @@ public abstract class AbstractTextEditor extends EditorPart implements ITextEdit
 	 */
 	private IWorkbenchAction fSaveAction;
 
+	/**
+	 * Tells whether the large file profile is used for the current input.
+	 * @since 3.18
+	 */
+	private boolean fLargeFileProfileActive= false;
+
 
 	/**
 	 * Creates a new text editor. If not explicitly set, this editor uses
@@ -4007,8 +4040,15 @@ public abstract class AbstractTextEditor extends EditorPart implements ITextEdit
 			((ITextViewerExtension8)fSourceViewer).setHoverEnrichMode(mode);
 		}
 
-		if (fSourceViewer instanceof ISourceViewerExtension5)
-			installCodeMiningProviders();
+		if (fSourceViewer instanceof ISourceViewerExtension5) {
+			if (isLargeFileProfileActive())
+				((ISourceViewerExtension5) fSourceViewer).setCodeMiningProviders(null);
+			else
+				installCodeMiningProviders();
+		}
+
+		if (isLargeFileProfileActive() && fSourceViewer instanceof ITextViewerExtension6)
+			((ITextViewerExtension6) fSourceViewer).setHyperlinkDetectors(null, getSourceViewerConfiguration().getHyperlinkStateMask(fSourceViewer));
 	}
 
 	/**
@@ -4022,6 +4062,61 @@ public abstract class AbstractTextEditor extends EditorPart implements ITextEdit
 		((ISourceViewerExtension5) fSourceViewer).setCodeMiningProviders(providers);
 	}
 
+	/**
+	 * Tells whether this editor uses its large file profile for the current input. The profile is
+	 * chosen with {@link #isLargeDocument(IDocument)} when the input is set.
+	 * <p>
+	 * In this profile, contributions whose cost grows with the size of the document are not
+	 * installed: code minings, hyperlink detection and the whitespace characters painter. The
+	 * profile is shown in the status line. Subclasses should not install their own expensive
+	 * contributions, like quick diff, spell checking or folding, while this profile is active.
+	 * </p>
+	 *
+	 * @return <code>true</code> if the large file profile is used
+	 * @since 3.18
+	 */
+	protected boolean isLargeFileProfileActive() {
+		return fLargeFileProfileActive;
+	}
+
+	/**
+	 * Tells whether the given document is too large for the normal profile of this editor. This is
+	 * the case if it has more characters than {@link #PREFERENCE_LARGE_FILE_SIZE_LIMIT} or a line
+	 * with more characters than {@link #PREFERENCE_LARGE_FILE_LINE_LENGTH_LIMIT}.
+	 * <p>
+	 * Subclasses may extend or replace.
+	 * </p>
+	 *
+	 * @param document the document of the editor input
+	 * @return <code>true</code> if the large file profile should be used for the document
+	 * @see #isLargeFileProfileActive()
+	 * @since 3.18
+	 */
+	protected boolean isLargeDocument(IDocument document) {
+		IPreferenceStore store= getPreferenceStore();
+		if (store == null)
+			return false;
+
+		int length= document.getLength();
+		int sizeLimit= store.getInt(PREFERENCE_LARGE_FILE_SIZE_LIMIT);
+		if (sizeLimit > 0 && length > sizeLimit)
+			return true;
+
+		int lineLengthLimit= store.getInt(PREFERENCE_LARGE_FILE_LINE_LENGTH_LIMIT);
+		if (lineLengthLimit <= 0 || length <= lineLengthLimit)
+			return false;
+
+		try {
+			for (int line= 0, lines= document.getNumberOfLines(); line < lines; line++) {
+				if (document.getLineLength(line) > lineLengthLimit)
+					return true;
+			}
+		} catch (BadLocationException x) {
+			// the document has been changed concurrently, use the normal profile
+		}
+		return false;
+	}
+
 	/**
 	 * Converts the {link #PREFERENCE_HOVER_ENRICH_MODE} preference value to
 	 * {@link org.eclipse.jface.text.ITextViewerExtension8.EnrichMode}.
@@ -4178,7 +4273,17 @@ public abstract class AbstractTextEditor extends EditorPart implements ITextEdit
 
 			initializeTitle(input);
 
+			boolean wasLargeFileProfileActive= fLargeFileProfileActive;
+			IDocument document= provider.getDocument(input);
+			fLargeFileProfileActive= document != null && isLargeDocument(document);
+
 			if (fSourceViewer != null) {
+				if (wasLargeFileProfileActive && !fLargeFileProfileActive && fSourceViewer instanceof ITextViewerExtension6) {
+					IHyperlinkDetector[] detectors= getSourceViewerConfiguration().getHyperlinkDetectors(fSourceViewer);
+					int stateMask= getSourceViewerConfiguration().getHyperlinkStateMask(fSourceViewer);
+					((ITextViewerExtension6) fSourceViewer).setHyperlinkDetectors(detectors, stateMask);
+				}
+
 				initializeSourceViewer(input);
 
 				// Reset the undo context for the undo and redo action handlers
@@ -4200,6 +4305,13 @@ public abstract class AbstractTextEditor extends EditorPart implements ITextEdit
 			updateCaret();
 
 			updateStatusField(ITextEditorActionConstants.STATUS_CATEGORY_ELEMENT_STATE);
+			updateStatusField(ITextEditorActionConstants.STATUS_CATEGORY_LARGE_FILE);
+
+			if (wasLargeFileProfileActive != fLargeFileProfileActive) {
+				IAction action= getAction(ITextEditorActionConstants.SHOW_WHITESPACE_CHARACTERS);
+				if (action instanceof IUpdate)
+					((IUpdate) action).update();
+			}
 
 			if (fSelectionListener != null)
 				fSelectionListener.setDocument(getDocumentProvider().getDocument(input));
@@ -4553,7 +4665,7 @@ public abstract class AbstractTextEditor extends EditorPart implements ITextEdit
 
 		if (PREFERENCE_HYPERLINKS_ENABLED.equals(property)) {
 			if (fSourceViewer instanceof ITextViewerExtension6) {
-				IHyperlinkDetector[] detectors= getSourceViewerConfiguration().getHyperlinkDetectors(fSourceViewer);
+				IHyperlinkDetector[] detectors= isLargeFileProfileActive() ? null : getSourceViewerConfiguration().getHyperlinkDetectors(fSourceViewer);
 				int stateMask= getSourceViewerConfiguration().getHyperlinkStateMask(fSourceViewer);
 				ITextViewerExtension6 textViewer6= (ITextViewerExtension6)fSourceViewer;
 				textViewer6.setHyperlinkDetectors(detectors, stateMask);
@@ -4564,7 +4676,7 @@ public abstract class AbstractTextEditor extends EditorPart implements ITextEdit
 		if (PREFERENCE_HYPERLINK_KEY_MODIFIER.equals(property)) {
 			if (fSourceViewer instanceof ITextViewerExtension6) {
 				ITextViewerExtension6 textViewer6= (ITextViewerExtension6)fSourceViewer;
-				IHyperlinkDetector[] detectors= getSourceViewerConfiguration().getHyperlinkDetectors(fSourceViewer);
+				IHyperlinkDetector[] detectors= isLargeFileProfileActive() ? null : getSourceViewerConfiguration().getHyperlinkDetectors(fSourceViewer);
 				int stateMask= getSourceViewerConfiguration().getHyperlinkStateMask(fSourceViewer);
 				textViewer6.setHyperlinkDetectors(detectors, stateMask);
 			}
@@ -6677,6 +6789,17 @@ public abstract class AbstractTextEditor extends EditorPart implements ITextEdit
 				else if (SMART_INSERT == mode)
 					text= fSmartInsertModeLabel;
 				break;
+			case ITextEditorActionConstants.STATUS_CATEGORY_LARGE_FILE:
+				boolean visible= isLargeFileProfileActive();
+				text= visible ? fLargeFileLabel : ""; //$NON-NLS-1$
+				if (field instanceof IStatusFieldExtension) {
+					((IStatusFieldExtension) field).setToolTipText(visible ? EditorMessages.Editor_statusline_largeFile_tooltip : null);
+					if (field instanceof IContributionItem && ((IContributionItem) field).isVisible() != visible) {
+						((IStatusFieldExtension) field).setVisible(visible);
+						getStatusLineManager().update(true);
+					}
+				}
+				break;
 			default:
 				break;
 			}
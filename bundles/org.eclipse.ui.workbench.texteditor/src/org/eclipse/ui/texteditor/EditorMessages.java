@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -97,6 +97,8 @@ final class EditorMessages extends NLS {
 	public static String Editor_statusline_position_pattern_offset;
 	public static String Editor_statusline_position_pattern_selection;
 	public static String Editor_statusline_error_label;
+	public static String Editor_statusline_largeFile_label;
+	public static String Editor_statusline_largeFile_tooltip;
 	public static String WorkbenchChainedTextFontFieldEditor_defaultWorkbenchTextFont;
 	public static String FindReplace_title;
 	public static String FindReplace_Find_label;
@@ -126,6 +128,9 @@ final class EditorMessages extends NLS {
 	public static String FindReplace_Status_selection_label;
 	public static String FindReplace_Status_selections_label;
 	public static String FindReplace_Status_wrapped_label;
+	public static String FindReplace_Status_match_label;
+	public static String FindReplace_Status_matches_label;
+	public static String FindReplace_searchJob_name;
 	public static String FindNext_Status_noMatch_label;
 	public static String AbstractDocumentProvider_ok;
 	public static String AbstractDocumentProvider_error;
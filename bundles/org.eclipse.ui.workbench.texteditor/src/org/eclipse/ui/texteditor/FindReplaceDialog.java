@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -61,10 +61,12 @@ import org.eclipse.jface.util.Util;
 
 import org.eclipse.jface.text.FindReplaceDocumentAdapter;
 import org.eclipse.jface.text.FindReplaceDocumentAdapterContentProposalProvider;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IFindReplaceTarget;
 import org.eclipse.jface.text.IFindReplaceTargetExtension;
 import org.eclipse.jface.text.IFindReplaceTargetExtension3;
 import org.eclipse.jface.text.IFindReplaceTargetExtension4;
+import org.eclipse.jface.text.IFindReplaceTargetExtension5;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.TextUtilities;
@@ -141,7 +143,8 @@ class FindReplaceDialog extends Dialog {
 				return;
 			}
 
-			if (isIncrementalSearch() && !isRegExSearchAvailableAndChecked()) {
+			boolean incremental= isIncrementalSearch() && !isRegExSearchAvailableAndChecked();
+			if (incremental) {
 				if (fFindField.getText().equals("") && fTarget != null) { //$NON-NLS-1$
 					// empty selection at base location
 					int offset= fIncrementalBaseLocation.x;
@@ -151,12 +154,54 @@ class FindReplaceDialog extends Dialog {
 
 					fNeedsInitialFindBeforeReplace= false;
 					findAndSelect(offset, "", isForwardSearch(), isCaseSensitiveSearch(), isWholeWordSearch(), isRegExSearchAvailableAndChecked()); //$NON-NLS-1$
-				} else {
+				} else if (getBackgroundSearchTarget() == null) {
 					performSearch(false, false, isForwardSearch());
 				}
 			}
 
 			updateButtonState(!isIncrementalSearch());
+			searchInBackground(incremental);
+		}
+	}
+
+	/**
+	 * Highlights the matches found by the background search, reports their number and selects the
+	 * next match in case of an incremental search.
+	 */
+	private class SearchResultListener implements FindReplaceSearchEngine.IResultListener {
+
+		@Override
+		public void matchesFound(IRegion[] matches, IRegion searchedRegion, boolean complete) {
+			IFindReplaceTargetExtension5 target= getBackgroundSearchTarget();
+			if (target == null || !okToUse(fStatusLabel))
+				return;
+
+			target.setHighlightedMatches(matches);
+			if (fIncrementalMatchPending)
+				selectIncrementalMatch(target, matches, searchedRegion, complete);
+
+			if (!complete)
+				return;
+
+			if (matches.length == 0) {
+				String msg= NLSUtility.format(EditorMessages.FindReplace_Status_noMatchWithValue_label, getFindString());
+				statusMessage(false, EditorMessages.FindReplace_Status_noMatch_label, msg);
+			} else if (matches.length == 1) { // not plural
+				statusMessage(EditorMessages.FindReplace_Status_match_label);
+			} else {
+				statusMessage(NLSUtility.format(EditorMessages.FindReplace_Status_matches_label, String.valueOf(matches.length)));
+			}
+		}
+
+		@Override
+		public void searchFailed(PatternSyntaxException e) {
+			fIncrementalMatchPending= false;
+			IFindReplaceTargetExtension5 target= getBackgroundSearchTarget();
+			if (target != null)
+				target.setHighlightedMatches(null);
+			// no error beep while the expression is being typed
+			if (okToUse(fStatusLabel))
+				statusMessage(e.getDescription());
 		}
 	}
 
@@ -164,6 +209,21 @@ class FindReplaceDialog extends Dialog {
 	private static final int HISTORY_SIZE= 15;
 
 	private Point fIncrementalBaseLocation;
+	/**
+	 * The incremental base location in offsets of the document searched in the background,
+	 * <code>null</code> if the target does not support background searches.
+	 */
+	private Point fIncrementalDocumentBaseLocation;
+	/**
+	 * The engine searching the target in the background, <code>null</code> until the dialog is
+	 * created.
+	 */
+	private FindReplaceSearchEngine fSearchEngine;
+	/**
+	 * Tells whether the running background search has to select the match following the
+	 * incremental base location.
+	 */
+	private boolean fIncrementalMatchPending;
 	private boolean fWrapInit, fCaseInit, fWholeWordInit, fForwardInit, fGlobalInit, fIncrementalInit;
 	/**
 	 * Tells whether an initial find operation is needed
@@ -296,6 +356,7 @@ class FindReplaceDialog extends Dialog {
 
 		Shell shell= getShell();
 		shell.addShellListener(fActivationListener);
+		fSearchEngine= new FindReplaceSearchEngine(shell.getDisplay(), new SearchResultListener());
 
 		// set help context
 		PlatformUI.getWorkbench().getHelpSystem().setHelp(shell, IAbstractTextEditorHelpContextIds.FIND_REPLACE_DIALOG);
@@ -594,6 +655,7 @@ class FindReplaceDialog extends Dialog {
 					return;
 				fUseSelectedLines= false;
 				useSelectedLines(false);
+				searchInBackground(false);
 			}
 
 			@Override
@@ -614,6 +676,7 @@ class FindReplaceDialog extends Dialog {
 					return;
 				fUseSelectedLines= true;
 				useSelectedLines(true);
+				searchInBackground(false);
 			}
 
 			@Override
@@ -744,6 +807,7 @@ class FindReplaceDialog extends Dialog {
 			@Override
 			public void widgetSelected(SelectionEvent e) {
 				storeSettings();
+				searchInBackground(false);
 			}
 
 			@Override
@@ -804,6 +868,7 @@ class FindReplaceDialog extends Dialog {
 				updateButtonState();
 				storeSettings();
 				setContentAssistsEnablement(newState);
+				searchInBackground(false);
 			}
 		});
 		storeButtonWithMnemonicInMap(fIsRegExCheckBox);
@@ -1091,6 +1156,10 @@ class FindReplaceDialog extends Dialog {
 		// store current settings in case of re-open
 		storeSettings();
 
+		if (fSearchEngine != null)
+			fSearchEngine.cancel();
+		fIncrementalMatchPending= false;
+
 		if (fTarget != null && fTarget instanceof IFindReplaceTargetExtension)
 			((IFindReplaceTargetExtension) fTarget).endSession();
 
@@ -1169,8 +1238,13 @@ class FindReplaceDialog extends Dialog {
 	private void initIncrementalBaseLocation() {
 		if (fTarget != null && isIncrementalSearch() && !isRegExSearchAvailableAndChecked()) {
 			fIncrementalBaseLocation= fTarget.getSelection();
+			if (fTarget instanceof IFindReplaceTargetExtension5)
+				fIncrementalDocumentBaseLocation= ((IFindReplaceTargetExtension5) fTarget).getDocumentSelection();
+			else
+				fIncrementalDocumentBaseLocation= null;
 		} else {
 			fIncrementalBaseLocation= new Point(0, 0);
+			fIncrementalDocumentBaseLocation= new Point(0, 0);
 		}
 	}
 
@@ -1415,6 +1489,7 @@ class FindReplaceDialog extends Dialog {
 
 		int selectCount = 0;
 		final String findString = getFindString();
+		fIncrementalMatchPending = false;
 
 		if (findString != null && !findString.isEmpty()) {
 
@@ -1533,6 +1608,9 @@ class FindReplaceDialog extends Dialog {
 	 */
 	private void performSearch(boolean mustInitIncrementalBaseLocation, boolean beep, boolean forwardSearch) {
 
+		// the search replaces the selection of a pending incremental search
+		fIncrementalMatchPending= false;
+
 		if (mustInitIncrementalBaseLocation)
 			initIncrementalBaseLocation();
 
@@ -1607,6 +1685,10 @@ class FindReplaceDialog extends Dialog {
 		if (!validateTargetState())
 			return replaceCount;
 
+		IRegion[] matches = findAllMatches(findString, caseSensitive, wholeWord, regExSearch);
+		if (matches != null && (matches.length == 0 || ((IFindReplaceTargetExtension5) fTarget).selectAndReveal(matches)))
+			return matches.length;
+
 		List<Region> selectedRegions = new ArrayList<>();
 		int index = 0;
 		do {
@@ -1625,6 +1707,146 @@ class FindReplaceDialog extends Dialog {
 		return replaceCount;
 	}
 
+	/**
+	 * Returns all matches of the find string in the document of the target, in one pass over the
+	 * document. The matches of the last background search are reused if it was done with the same
+	 * options and the document has not changed since.
+	 *
+	 * @param findString the string to search for
+	 * @param caseSensitive should the search be case sensitive
+	 * @param wholeWord does the search string represent a complete word
+	 * @param regExSearch if <code>true</code> findString represents a regular expression
+	 * @return the matches in document offsets or <code>null</code> if the target does not support
+	 *         searching its document
+	 */
+	private IRegion[] findAllMatches(String findString, boolean caseSensitive, boolean wholeWord, boolean regExSearch) {
+		IFindReplaceTargetExtension5 target= getBackgroundSearchTarget();
+		if (target == null)
+			return null;
+
+		IRegion[] matches= fSearchEngine.getMatches(target, findString, caseSensitive, wholeWord, regExSearch);
+		if (matches == null)
+			matches= new FindReplaceDocumentAdapter(target.getDocument()).findAll(findString, caseSensitive, wholeWord, regExSearch, null);
+		return matches;
+	}
+
+	/**
+	 * Returns the target if its document can be searched in the background. This is not the case
+	 * if the search is restricted to the selected lines.
+	 *
+	 * @return the target or <code>null</code>
+	 */
+	private IFindReplaceTargetExtension5 getBackgroundSearchTarget() {
+		if (fSearchEngine == null || fUseSelectedLines || !(fTarget instanceof IFindReplaceTargetExtension5))
+			return null;
+		IFindReplaceTargetExtension5 target= (IFindReplaceTargetExtension5) fTarget;
+		return target.getDocument() instanceof IDocumentExtension4 ? target : null;
+	}
+
+	/**
+	 * Starts to search the target in the background for the find string, canceling the search
+	 * started before. The matches are highlighted and counted as soon as they are found, the
+	 * matches in the visible part of the target first.
+	 *
+	 * @param selectMatch <code>true</code> to select the match following the incremental base
+	 *            location once it is known
+	 */
+	private void searchInBackground(boolean selectMatch) {
+		fIncrementalMatchPending= false;
+		if (fSearchEngine == null)
+			return;
+
+		fSearchEngine.cancel();
+		IFindReplaceTargetExtension5 target= getBackgroundSearchTarget();
+		if (target == null) {
+			if (fTarget instanceof IFindReplaceTargetExtension5)
+				((IFindReplaceTargetExtension5) fTarget).setHighlightedMatches(null);
+			return;
+		}
+
+		String findString= getFindString();
+		if (findString.isEmpty()) {
+			target.setHighlightedMatches(null);
+			return;
+		}
+
+		if (fSearchEngine.search(target, findString, isCaseSensitiveSearch(), isWholeWordSearch(), isRegExSearchAvailableAndChecked()))
+			fIncrementalMatchPending= selectMatch;
+	}
+
+	/**
+	 * Selects the match following the incremental base location in the search direction, if it is
+	 * among the given matches. Matches of the visible part of the target are only used if the base
+	 * location is inside that part, as matches before it are not known yet. All offsets are
+	 * document offsets, the match is revealed even if it is folded.
+	 *
+	 * @param target the target searched in the background
+	 * @param matches the matches sorted by offset
+	 * @param searchedRegion the region the matches have been searched in
+	 * @param complete <code>true</code> if the matches are the matches of the whole document
+	 */
+	private void selectIncrementalMatch(IFindReplaceTargetExtension5 target, IRegion[] matches, IRegion searchedRegion, boolean complete) {
+		if (fIncrementalDocumentBaseLocation == null) {
+			fIncrementalMatchPending= false;
+			return;
+		}
+
+		boolean forwardSearch= isForwardSearch();
+		int position= fIncrementalDocumentBaseLocation.x;
+		if (forwardSearch && !fNeedsInitialFindBeforeReplace || !forwardSearch && fNeedsInitialFindBeforeReplace)
+			position+= fIncrementalDocumentBaseLocation.y;
+
+		int searchedEnd= searchedRegion.getOffset() + searchedRegion.getLength();
+		if (!complete && (position < searchedRegion.getOffset() || position > searchedEnd))
+			return;
+
+		// index of the first match at or after the position
+		int low= 0;
+		int high= matches.length;
+		while (low < high) {
+			int mid= (low + high) >>> 1;
+			if (matches[mid].getOffset() < position)
+				low= mid + 1;
+			else
+				high= mid;
+		}
+
+		IRegion match= null;
+		boolean wrapped= false;
+		if (forwardSearch) {
+			if (low < matches.length)
+				match= matches[low];
+			else if (complete && isWrapSearch() && matches.length > 0) {
+				match= matches[0];
+				wrapped= true;
+			}
+		} else {
+			if (low > 0)
+				match= matches[low - 1];
+			else if (complete && isWrapSearch() && matches.length > 0) {
+				match= matches[matches.length - 1];
+				wrapped= true;
+			}
+		}
+
+		if (match == null) {
+			if (complete)
+				fIncrementalMatchPending= false;
+			return;
+		}
+
+		fIncrementalMatchPending= false;
+		if (!target.selectAndReveal(new IRegion[] { match })) {
+			// the match cannot be shown, e.g. it is outside of the visible region
+			performSearch(false, false, forwardSearch);
+			return;
+		}
+		fNeedsInitialFindBeforeReplace= false;
+		if (wrapped)
+			statusMessage(EditorMessages.FindReplace_Status_wrapped_label);
+		writeSelection();
+	}
+
 	// ------- UI creation ---------------------------------------
 
 	/**
@@ -1801,6 +2023,10 @@ class FindReplaceDialog extends Dialog {
 		fNeedsInitialFindBeforeReplace= true;
 
 		if (target != fTarget) {
+			if (fSearchEngine != null)
+				fSearchEngine.cancel();
+			fIncrementalMatchPending= false;
+
 			if (fTarget != null && fTarget instanceof IFindReplaceTargetExtension)
 				((IFindReplaceTargetExtension) fTarget).endSession();
 
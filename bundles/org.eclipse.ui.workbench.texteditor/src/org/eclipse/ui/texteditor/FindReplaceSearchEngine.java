@@ -0,0 +1,290 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.texteditor;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.regex.PatternSyntaxException;
+
+import org.eclipse.swt.widgets.Display;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.jface.text.FindReplaceDocumentAdapter;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.IDocumentExtension5;
+import org.eclipse.jface.text.IFindReplaceTargetExtension5;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+
+
+/**
+ * Searches the document of a find/replace target in a background job.
+ * <p>
+ * Each search cancels the search started before. The job searches a snapshot of the document
+ * text, which is taken in the UI thread and reused as long as the document does not change. The
+ * snapshot is an {@link org.eclipse.jface.text.IDocumentSnapshot} if the document supports it,
+ * which does not copy the text for documents sharing their content with snapshots. The matches
+ * in the viewport of the target are searched and reported first, then the matches in the whole
+ * document. The results are reported in the UI thread, results of canceled searches and results
+ * that do not match the document anymore are dropped.
+ * </p>
+ */
+class FindReplaceSearchEngine {
+
+	/**
+	 * Receives the results of a search in the UI thread.
+	 */
+	interface IResultListener {
+
+		/**
+		 * Called with the matches found by the search.
+		 *
+		 * @param matches the matches sorted by offset
+		 * @param searchedRegion the region of the document that has been searched
+		 * @param complete <code>true</code> if these are the matches of the whole document,
+		 *            <code>false</code> if these are the matches in the viewport only
+		 */
+		void matchesFound(IRegion[] matches, IRegion searchedRegion, boolean complete);
+
+		/**
+		 * Called if the find string is not a valid regular expression.
+		 *
+		 * @param e the exception describing the error
+		 */
+		void searchFailed(PatternSyntaxException e);
+	}
+
+	/**
+	 * The search options.
+	 */
+	private static final class Query {
+
+		final String fFindString;
+		final boolean fCaseSensitive;
+		final boolean fWholeWord;
+		final boolean fRegExSearch;
+
+		Query(String findString, boolean caseSensitive, boolean wholeWord, boolean regExSearch) {
+			fFindString= findString;
+			fCaseSensitive= caseSensitive;
+			fWholeWord= wholeWord;
+			fRegExSearch= regExSearch;
+		}
+
+		IRegion[] findAll(CharSequence text, IProgressMonitor monitor) {
+			return FindReplaceDocumentAdapter.findAll(text, fFindString, fCaseSensitive, fWholeWord, fRegExSearch, monitor);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Query))
+				return false;
+			Query other= (Query) obj;
+			return fFindString.equals(other.fFindString) && fCaseSensitive == other.fCaseSensitive && fWholeWord == other.fWholeWord && fRegExSearch == other.fRegExSearch;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(fFindString, Boolean.valueOf(fCaseSensitive), Boolean.valueOf(fWholeWord), Boolean.valueOf(fRegExSearch));
+		}
+	}
+
+	/**
+	 * The text of a document at a given modification stamp. The source document must implement
+	 * {@link IDocumentExtension4}.
+	 */
+	private static final class Snapshot {
+
+		final IDocument fSource;
+		final long fStamp;
+		/** The immutable text, read by the job. */
+		final CharSequence fText;
+
+		Snapshot(IDocument source) {
+			fSource= source;
+			fStamp= ((IDocumentExtension4) source).getModificationStamp();
+			if (source instanceof IDocumentExtension5)
+				fText= ((IDocumentExtension5) source).getSnapshot();
+			else
+				fText= source.get();
+		}
+
+		/**
+		 * Tells whether the source document is unchanged since the snapshot was taken. Must be
+		 * called in the UI thread.
+		 *
+		 * @param document the current document of the target
+		 * @return <code>true</code> if the snapshot has the text of the document
+		 */
+		boolean isCurrent(IDocument document) {
+			return document == fSource && fStamp == ((IDocumentExtension4) document).getModificationStamp();
+		}
+	}
+
+	/**
+	 * The job searching the snapshot for a query.
+	 */
+	private final class SearchJob extends Job {
+
+		private final Snapshot fSnapshot;
+		private final Query fQuery;
+		private final IRegion fViewport;
+
+		SearchJob(Snapshot snapshot, Query query, IRegion viewport) {
+			super(EditorMessages.FindReplace_searchJob_name);
+			fSnapshot= snapshot;
+			fQuery= query;
+			fViewport= viewport;
+			setSystem(true);
+			setPriority(Job.INTERACTIVE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				CharSequence text= fSnapshot.fText;
+				if (fViewport != null && fViewport.getLength() < text.length()) {
+					int offset= fViewport.getOffset();
+					CharSequence viewportText= text.subSequence(offset, Math.min(offset + fViewport.getLength(), text.length()));
+					IRegion[] matches= fQuery.findAll(viewportText, monitor);
+					for (int i= 0; i < matches.length; i++)
+						matches[i]= new Region(matches[i].getOffset() + offset, matches[i].getLength());
+					report(this, matches, new Region(offset, viewportText.length()), null);
+				}
+				report(this, fQuery.findAll(text, monitor), new Region(0, text.length()), null);
+			} catch (OperationCanceledException e) {
+				return Status.CANCEL_STATUS;
+			} catch (IllegalStateException e) {
+				// the snapshot can no longer be read, the document has been reloaded
+				return Status.CANCEL_STATUS;
+			} catch (PatternSyntaxException e) {
+				report(this, null, null, e);
+			}
+			return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+		}
+	}
+
+	private final Display fDisplay;
+	private final IResultListener fListener;
+	/** The running search or <code>null</code>. Accessed in the UI thread only. */
+	private SearchJob fJob;
+	/** The last snapshot, reused while its document does not change. Accessed in the UI thread only. */
+	private Snapshot fSnapshot;
+	/** The query of the last complete result or <code>null</code>. Accessed in the UI thread only. */
+	private Query fCompletedQuery;
+	/** The matches of the last complete result. Accessed in the UI thread only. */
+	private IRegion[] fCompletedMatches;
+
+	/**
+	 * Creates a new search engine.
+	 *
+	 * @param display the display of the UI thread
+	 * @param listener the listener that receives the results
+	 */
+	FindReplaceSearchEngine(Display display, IResultListener listener) {
+		fDisplay= display;
+		fListener= listener;
+	}
+
+	/**
+	 * Starts to search the document of the given target, canceling the running search.
+	 *
+	 * @param target the target
+	 * @param findString the string to find
+	 * @param caseSensitive <code>true</code> for a case sensitive search
+	 * @param wholeWord <code>true</code> to find whole words only
+	 * @param regExSearch <code>true</code> if the find string is a regular expression
+	 * @return <code>true</code> if the search has been started, <code>false</code> if the document
+	 *         of the target cannot be searched in the background
+	 */
+	boolean search(IFindReplaceTargetExtension5 target, String findString, boolean caseSensitive, boolean wholeWord, boolean regExSearch) {
+		cancel();
+		IDocument document= target.getDocument();
+		if (!(document instanceof IDocumentExtension4))
+			return false;
+
+		if (fSnapshot == null || !fSnapshot.isCurrent(document))
+			fSnapshot= new Snapshot(document);
+		fJob= new SearchJob(fSnapshot, new Query(findString, caseSensitive, wholeWord, regExSearch), target.getViewport());
+		fJob.schedule();
+		return true;
+	}
+
+	/**
+	 * Returns the matches of the last complete search if it was done with the given options and
+	 * the document of the target has not changed since.
+	 *
+	 * @param target the target
+	 * @param findString the string to find
+	 * @param caseSensitive <code>true</code> for a case sensitive search
+	 * @param wholeWord <code>true</code> to find whole words only
+	 * @param regExSearch <code>true</code> if the find string is a regular expression
+	 * @return the matches sorted by offset or <code>null</code> if they are not known
+	 */
+	IRegion[] getMatches(IFindReplaceTargetExtension5 target, String findString, boolean caseSensitive, boolean wholeWord, boolean regExSearch) {
+		if (fCompletedQuery == null || fSnapshot == null || !fSnapshot.isCurrent(target.getDocument()))
+			return null;
+		if (!fCompletedQuery.equals(new Query(findString, caseSensitive, wholeWord, regExSearch)))
+			return null;
+		return Arrays.copyOf(fCompletedMatches, fCompletedMatches.length);
+	}
+
+	/**
+	 * Cancels the running search and discards the results not yet reported.
+	 */
+	void cancel() {
+		if (fJob != null) {
+			fJob.cancel();
+			fJob= null;
+		}
+		fCompletedQuery= null;
+		fCompletedMatches= null;
+	}
+
+	/**
+	 * Reports a result in the UI thread unless the search has been superseded or the document has
+	 * changed in the meantime.
+	 *
+	 * @param job the job that found the result
+	 * @param matches the matches or <code>null</code> on failure
+	 * @param searchedRegion the searched region or <code>null</code> on failure
+	 * @param failure the syntax error or <code>null</code>
+	 */
+	private void report(SearchJob job, IRegion[] matches, IRegion searchedRegion, PatternSyntaxException failure) {
+		if (fDisplay.isDisposed())
+			return;
+		fDisplay.asyncExec(() -> {
+			if (fJob != job || !job.fSnapshot.isCurrent(job.fSnapshot.fSource))
+				return;
+			if (failure != null) {
+				fJob= null;
+				fListener.searchFailed(failure);
+				return;
+			}
+			boolean complete= searchedRegion.getLength() == job.fSnapshot.fText.length();
+			if (complete) {
+				fJob= null;
+				fCompletedQuery= job.fQuery;
+				fCompletedMatches= matches;
+			}
+			fListener.matchesFound(matches, searchedRegion, complete);
+		});
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2007 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,10 +16,12 @@ package org.eclipse.ui.texteditor;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Point;
 
+import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IFindReplaceTarget;
 import org.eclipse.jface.text.IFindReplaceTargetExtension;
 import org.eclipse.jface.text.IFindReplaceTargetExtension3;
 import org.eclipse.jface.text.IFindReplaceTargetExtension4;
+import org.eclipse.jface.text.IFindReplaceTargetExtension5;
 import org.eclipse.jface.text.IRegion;
 
 
@@ -28,7 +30,7 @@ import org.eclipse.jface.text.IRegion;
  * @since 2.1
  */
 class FindReplaceTarget implements IFindReplaceTarget, IFindReplaceTargetExtension, IFindReplaceTargetExtension2,
-		IFindReplaceTargetExtension3, IFindReplaceTargetExtension4 {
+		IFindReplaceTargetExtension3, IFindReplaceTargetExtension4, IFindReplaceTargetExtension5 {
 
 	/** The editor */
 	private AbstractTextEditor fEditor;
@@ -179,6 +181,40 @@ class FindReplaceTarget implements IFindReplaceTarget, IFindReplaceTargetExtensi
 		}
 	}
 
+	@Override
+	public IDocument getDocument() {
+		if (fTarget instanceof IFindReplaceTargetExtension5)
+			return ((IFindReplaceTargetExtension5) fTarget).getDocument();
+		return null;
+	}
+
+	@Override
+	public IRegion getViewport() {
+		if (fTarget instanceof IFindReplaceTargetExtension5)
+			return ((IFindReplaceTargetExtension5) fTarget).getViewport();
+		return null;
+	}
+
+	@Override
+	public Point getDocumentSelection() {
+		if (fTarget instanceof IFindReplaceTargetExtension5)
+			return ((IFindReplaceTargetExtension5) fTarget).getDocumentSelection();
+		return null;
+	}
+
+	@Override
+	public boolean selectAndReveal(IRegion[] regions) {
+		if (fTarget instanceof IFindReplaceTargetExtension5)
+			return ((IFindReplaceTargetExtension5) fTarget).selectAndReveal(regions);
+		return false;
+	}
+
+	@Override
+	public void setHighlightedMatches(IRegion[] matches) {
+		if (fTarget instanceof IFindReplaceTargetExtension5)
+			((IFindReplaceTargetExtension5) fTarget).setHighlightedMatches(matches);
+	}
+
 	@Override
 	public void setScopeHighlightColor(Color color) {
 		if (getExtension() != null)
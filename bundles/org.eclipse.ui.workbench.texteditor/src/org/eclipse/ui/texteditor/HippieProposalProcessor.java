@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2016 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -304,7 +304,7 @@ public final class HippieProposalProcessor implements IContentAssistProcessor {
 		for (ITextEditor editor : findTextEditors()) {
 			IDocument doc = editor.getDocumentProvider().getDocument(editor.getEditorInput());
 			if (doc != null && !doc.equals(currentDocument)) {
-				suggestions.addAll(fEngine.getCompletionsForward(doc, prefix, 0, false));
+				suggestions.addAll(fEngine.getIndexedCompletions(doc, prefix));
 			}
 		}
 		// add the empty suggestion
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -359,6 +359,15 @@ public interface ITextEditorActionConstants extends IWorkbenchActionConstants {
 	 */
 	String STATUS_CATEGORY_FIND_FIELD= "findField"; //$NON-NLS-1$
 
+	/**
+	 * Status line category "large file", only visible while the editor uses its large file
+	 * profile. Value: <code>"LargeFile"</code>
+	 *
+	 * @see AbstractTextEditor#PREFERENCE_LARGE_FILE_SIZE_LIMIT
+	 * @since 3.18
+	 */
+	String STATUS_CATEGORY_LARGE_FILE= "LargeFile"; //$NON-NLS-1$
+
 	/**
 	 * Name of standard Copy global action in the Edit menu.
 	 * Value <code>"copy"</code>
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2010 Wind River Systems, Inc., IBM Corporation and others.
+ * Copyright (c) 2006, 2026 Wind River Systems, Inc., IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -106,11 +106,15 @@ public class ShowWhitespaceCharactersAction extends TextEditorAction {
 	}
 
 	/**
-	 * Installs the painter on the editor.
+	 * Installs the painter on the editor, unless the editor uses its large file profile.
 	 */
 	private void installPainter() {
 		Assert.isTrue(fWhitespaceCharPainter == null);
 
+		ITextEditor editor= getTextEditor();
+		if (editor instanceof AbstractTextEditor && ((AbstractTextEditor) editor).isLargeFileProfileActive())
+			return;
+
 		ITextViewer viewer= getTextViewer();
 		if (viewer instanceof ITextViewerExtension2) {
 			if (fStore != null) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 Red Hat, Inc. and others.
+ * Copyright (c) 2019, 2026 Red Hat, Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -38,11 +38,13 @@ import org.eclipse.jface.viewers.ISelection;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentRewriteSessionEvent;
 import org.eclipse.jface.text.IMultiTextSelection;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.MultiTextSelection;
 import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.TextViewer;
+import org.eclipse.jface.text.TextViewerUndoManager;
 import org.eclipse.jface.text.tests.util.DisplayHelper;
 
 public class MultiSelectionTest {
@@ -103,6 +105,48 @@ public class MultiSelectionTest {
 				((IMultiTextSelection) textViewer.getSelectionProvider().getSelection()).getRegions());
 	}
 
+	@Test
+	public void testManyRanges() throws BadLocationException {
+		Shell shell= new Shell();
+		TextViewer textViewer= new TextViewer(shell, SWT.NONE);
+		StringBuilder builder= new StringBuilder();
+		for (int i= 0; i < 20000; i++) {
+			builder.append("ab\n");
+		}
+		String content= builder.toString();
+		Document document= new Document(content);
+		textViewer.setDocument(document);
+		TextViewerUndoManager undoManager= new TextViewerUndoManager(10);
+		undoManager.connect(textViewer);
+		List<Region> regions= new ArrayList<>();
+		int index= 0;
+		while ((index= content.indexOf('a', index)) >= 0) {
+			regions.add(new Region(index, 1));
+			index++;
+		}
+		MultiTextSelection selection= new MultiTextSelection(document, regions.toArray(new IRegion[regions.size()]));
+		textViewer.setSelection(selection);
+		AtomicInteger sessions= new AtomicInteger();
+		document.addDocumentRewriteSessionListener(event -> {
+			if (event.getChangeType() == DocumentRewriteSessionEvent.SESSION_START) {
+				sessions.incrementAndGet();
+			}
+		});
+
+		new SelectionProcessor(textViewer).doReplace(selection, "cc");
+		assertEquals(content.replace("a", "cc"), document.get());
+		assertEquals(1, sessions.get());
+		IRegion[] carets= ((IMultiTextSelection) textViewer.getSelection()).getRegions();
+		assertEquals(regions.size(), carets.length);
+		for (int i= 0; i < carets.length; i++) {
+			assertEquals(new Region(i * 4 + 2, 0), carets[i]);
+		}
+
+		undoManager.undo();
+		assertEquals(content, document.get());
+		undoManager.disconnect();
+	}
+
 	@Test
 	public void testCopyPaste() throws MalformedTreeException, BadLocationException {
 		Shell shell= new Shell();
@@ -11,18 +11,25 @@
 package org.eclipse.jface.text.tests;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.dnd.Clipboard;
 import org.eclipse.swt.dnd.TextTransfer;
+import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.layout.FillLayout;
 import org.eclipse.swt.widgets.Shell;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.FindReplaceDocumentAdapter;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IFindReplaceTargetExtension5;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextOperationTarget;
 import org.eclipse.jface.text.ITextSelection;
@@ -75,4 +82,37 @@ public class ProjectionViewerTest {
 			shell.dispose();
 		}
 	}
+
+	@Test
+	public void testFindReplaceTargetSearchesFoldedText() throws BadLocationException {
+		Shell shell = new Shell();
+		shell.setLayout(new FillLayout());
+		ProjectionViewer viewer = new ProjectionViewer(shell, null, null, false, SWT.NONE);
+		Document document= new Document("first\nfold foo\nhidden foo\nhidden foo\nlast foo\n");
+		viewer.setDocument(document, new AnnotationModel());
+		viewer.enableProjection();
+		int foldStart= document.getLineOffset(1);
+		viewer.getProjectionAnnotationModel().addAnnotation(new ProjectionAnnotation(true), new Position(foldStart, document.getLineOffset(4) - foldStart));
+		shell.setVisible(true);
+		try {
+			IFindReplaceTargetExtension5 target= (IFindReplaceTargetExtension5) viewer.getFindReplaceTarget();
+			assertSame(document, target.getDocument());
+
+			IRegion[] matches= new FindReplaceDocumentAdapter(target.getDocument()).findAll("foo", true, false, false, null);
+			assertEquals(4, matches.length);
+			IRegion hidden= matches[1];
+			assertNull(viewer.modelRange2WidgetRange(hidden));
+
+			target.setHighlightedMatches(matches);
+			viewer.getTextWidget().update();
+
+			assertTrue(target.selectAndReveal(new IRegion[] { hidden }));
+			assertNotNull(viewer.modelRange2WidgetRange(hidden));
+			assertEquals(new Point(hidden.getOffset(), hidden.getLength()), target.getDocumentSelection());
+			assertEquals("foo", ((ITextSelection) viewer.getSelection()).getText());
+			assertEquals(hidden.getOffset(), ((ITextSelection) viewer.getSelection()).getOffset());
+		} finally {
+			shell.dispose();
+		}
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 Red Hat Inc. and others.
+ * Copyright (c) 2019, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.jface.text.tests.codemining;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -45,8 +46,11 @@ import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.codemining.ICodeMining;
 import org.eclipse.jface.text.codemining.ICodeMiningProvider;
+import org.eclipse.jface.text.codemining.ICodeMiningProviderExtension;
+import org.eclipse.jface.text.codemining.LineHeaderCodeMining;
 import org.eclipse.jface.text.reconciler.DirtyRegion;
 import org.eclipse.jface.text.reconciler.IReconcilingStrategy;
 import org.eclipse.jface.text.reconciler.MonoReconciler;
@@ -222,6 +226,89 @@ public class CodeMiningTest {
 		}.waitForCondition(fViewer.getTextWidget().getDisplay(), 1000));
 	}
 
+	private static class ViewportScopedCodeMiningProvider implements ICodeMiningProvider, ICodeMiningProviderExtension {
+
+		final List<IRegion> fRequests= Collections.synchronizedList(new ArrayList<>());
+
+		@Override
+		public CompletableFuture<List<? extends ICodeMining>> provideCodeMinings(ITextViewer viewer, IProgressMonitor monitor) {
+			IDocument document= viewer.getDocument();
+			return provideCodeMinings(viewer, new Region(0, document.getLength()), monitor);
+		}
+
+		@Override
+		public CompletableFuture<List<? extends ICodeMining>> provideCodeMinings(ITextViewer viewer, IRegion region, IProgressMonitor monitor) {
+			fRequests.add(region);
+			IDocument document= viewer.getDocument();
+			return CompletableFuture.supplyAsync(() -> {
+				List<ICodeMining> minings= new ArrayList<>();
+				try {
+					int last= document.getLineOfOffset(region.getOffset() + region.getLength());
+					for (int line= document.getLineOfOffset(region.getOffset()); line <= last; line++) {
+						LineHeaderCodeMining mining= new LineHeaderCodeMining(line, document, this) {
+							// Nothing in particular
+						};
+						mining.setLabel("line " + line);
+						minings.add(mining);
+					}
+				} catch (BadLocationException e) {
+					throw new AssertionError(e);
+				}
+				return minings;
+			});
+		}
+
+		@Override
+		public void dispose() {
+		}
+	}
+
+	@Test
+	public void testViewportScopedCodeMiningProvider() throws BadLocationException {
+		ViewportScopedCodeMiningProvider provider= new ViewportScopedCodeMiningProvider();
+		fViewer.setCodeMiningProviders(new ICodeMiningProvider[] { provider });
+		IDocument document= fViewer.getDocument();
+		document.set(TextViewerTest.generate5000Lines());
+		StyledText widget= fViewer.getTextWidget();
+		Display display= widget.getDisplay();
+		Assert.assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return widget.getLineVerticalIndent(0) > 0;
+			}
+		}.waitForCondition(display, 3000));
+		int lastLine= document.getNumberOfLines() - 1;
+		Assert.assertEquals("Code mining requested for invisible lines", 0, widget.getLineVerticalIndent(lastLine));
+		for (IRegion region : provider.fRequests) {
+			Assert.assertTrue("Whole document requested", region.getLength() < document.getLength() / 2);
+		}
+
+		fViewer.setTopIndex(lastLine);
+		Assert.assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return widget.getLineVerticalIndent(lastLine) > 0;
+			}
+		}.waitForCondition(display, 3000));
+		Assert.assertTrue("Code minings of first lines removed", widget.getLineVerticalIndent(0) > 0);
+
+		// the code minings of the first lines are cached
+		int requests= provider.fRequests.size();
+		fViewer.setTopIndex(0);
+		DisplayHelper.sleep(display, 500);
+		Assert.assertEquals(requests, provider.fRequests.size());
+
+		// a change of the document discards the cache
+		document.replace(0, 0, "\n");
+		fViewer.updateCodeMinings();
+		Assert.assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return provider.fRequests.size() > requests;
+			}
+		}.waitForCondition(display, 3000));
+	}
+
 	private static boolean hasCodeMiningPrintedAfterTextOnLine(ITextViewer viewer, int line) throws BadLocationException {
 		StyledText widget = viewer.getTextWidget();
 		IDocument document= viewer.getDocument();
@@ -320,6 +320,49 @@ public class FilteringAsyncContentAssistTests {
 		assertTrue(filteredProposals == null || filteredProposals.isEmpty());
 	}
 
+	/**
+	 * CA with filtering with 1 immediate and 1 delayed CA processors. Empty text initially. Invoke
+	 * CA, type `a` before the delayed proposals are calculated, verify the immediate proposals are
+	 * filtered right away and the delayed proposals are filtered when they arrive
+	 *
+	 * @throws Exception exception
+	 */
+	@Test
+	public void testFastCompletionsFilteredWhileLongCompletionsCalculated() throws Exception {
+		IDocument document = viewer.getDocument();
+
+		ca.addContentAssistProcessor(new ImmediateContentAssistProcessor("xxxx", "abcd"), IDocument.DEFAULT_CONTENT_TYPE);
+		ca.addContentAssistProcessor(new DelayedContentAssistProcessor(Arrays.asList("yyyy", "ayyy"), 2000, false),
+				IDocument.DEFAULT_CONTENT_TYPE);
+
+		ca.install(viewer);
+
+		viewer.setSelectedRange(0, 0);
+
+		ca.showPossibleCompletions();
+
+		DisplayHelper.sleep(shell.getDisplay(), 300);
+
+		List<ICompletionProposal> filteredProposals = getFilteredProposals(ca,
+				p -> p instanceof CompletionProposal);
+		assertEquals(2, filteredProposals.size());
+
+		new InsertEdit(0, "a").apply(document);
+		viewer.setSelectedRange(1, 0);
+
+		DisplayHelper.sleep(shell.getDisplay(), 300);
+
+		filteredProposals = getFilteredProposals(ca, p -> p instanceof CompletionProposal);
+		assertEquals(1, filteredProposals.size());
+		assertEquals("abcd", filteredProposals.get(0).getDisplayString());
+
+		DisplayHelper.sleep(shell.getDisplay(), 3000);
+
+		filteredProposals = getFilteredProposals(ca, p -> p instanceof CompletionProposal);
+		assertEquals(2, filteredProposals.size());
+		assertTrue(filteredProposals.stream().anyMatch(p -> "ayyy".equals(p.getDisplayString())));
+	}
+
 	@Test
 	public void testProposalValidation() throws Exception {
 		IDocument document= viewer.getDocument();
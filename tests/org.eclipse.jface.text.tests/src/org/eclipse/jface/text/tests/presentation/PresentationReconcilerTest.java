@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.presentation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.StyleRange;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentSnapshot;
+import org.eclipse.jface.text.TextAttribute;
+import org.eclipse.jface.text.presentation.PresentationReconciler;
+import org.eclipse.jface.text.rules.DefaultDamagerRepairer;
+import org.eclipse.jface.text.rules.IRule;
+import org.eclipse.jface.text.rules.IWordDetector;
+import org.eclipse.jface.text.rules.RuleBasedScanner;
+import org.eclipse.jface.text.rules.Token;
+import org.eclipse.jface.text.rules.WordRule;
+import org.eclipse.jface.text.source.SourceViewer;
+import org.eclipse.jface.text.tests.util.DisplayHelper;
+
+public class PresentationReconcilerTest {
+
+	private Shell fShell;
+	private SourceViewer fViewer;
+	private SourceViewer fReferenceViewer;
+	private Color fKeywordColor;
+
+	@Before
+	public void setUp() {
+		fShell= new Shell(Display.getDefault());
+		fShell.setSize(500, 400);
+		fShell.setLayout(new FillLayout());
+		fKeywordColor= fShell.getDisplay().getSystemColor(SWT.COLOR_RED);
+		fViewer= createViewer(true);
+		fReferenceViewer= createViewer(false);
+		fShell.open();
+	}
+
+	@After
+	public void tearDown() {
+		fShell.dispose();
+	}
+
+	private SourceViewer createViewer(boolean backgroundRepair) {
+		SourceViewer viewer= new SourceViewer(fShell, null, SWT.NONE);
+		RuleBasedScanner scanner= new RuleBasedScanner();
+		WordRule rule= new WordRule(new IWordDetector() {
+			@Override
+			public boolean isWordStart(char c) {
+				return Character.isLetter(c);
+			}
+
+			@Override
+			public boolean isWordPart(char c) {
+				return Character.isLetter(c);
+			}
+		});
+		rule.addWord("foo", new Token(new TextAttribute(fKeywordColor)));
+		scanner.setRules(new IRule[] { rule });
+
+		DefaultDamagerRepairer damagerRepairer= new DefaultDamagerRepairer(scanner);
+		PresentationReconciler reconciler= new PresentationReconciler();
+		reconciler.setDamager(damagerRepairer, IDocument.DEFAULT_CONTENT_TYPE);
+		reconciler.setRepairer(damagerRepairer, IDocument.DEFAULT_CONTENT_TYPE);
+		reconciler.setBackgroundRepair(backgroundRepair);
+		reconciler.install(viewer);
+		return viewer;
+	}
+
+	private static String createText(int lines) {
+		StringBuilder builder= new StringBuilder();
+		for (int i= 0; i < lines; i++)
+			builder.append(i % 3 == 0 ? "foo bar baz\n" : "bar baz foo x\n");
+		return builder.toString();
+	}
+
+	private boolean isKeyword(StyledText textWidget, int offset) {
+		StyleRange range= textWidget.getStyleRangeAtOffset(offset);
+		return range != null && fKeywordColor.equals(range.foreground);
+	}
+
+	private void waitForKeyword(int offset) {
+		StyledText textWidget= fViewer.getTextWidget();
+		assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return isKeyword(textWidget, offset);
+			}
+		}.waitForCondition(textWidget.getDisplay(), 10000));
+	}
+
+	private void assertSamePresentation() {
+		fReferenceViewer.setDocument(new Document(fViewer.getDocument().get()));
+		StyledText textWidget= fViewer.getTextWidget();
+		StyledText referenceWidget= fReferenceViewer.getTextWidget();
+		assertEquals(referenceWidget.getCharCount(), textWidget.getCharCount());
+		for (int offset= 0; offset < textWidget.getCharCount(); offset++)
+			assertEquals("offset " + offset, isKeyword(referenceWidget, offset), isKeyword(textWidget, offset));
+	}
+
+	@Test
+	public void testBackgroundRepairOfLargeDocument() {
+		String text= createText(20000);
+		fViewer.setDocument(new Document(text));
+		waitForKeyword(0);
+		waitForKeyword(text.lastIndexOf("foo"));
+		DisplayHelper.sleep(fViewer.getTextWidget().getDisplay(), 500);
+		assertSamePresentation();
+	}
+
+	@Test
+	public void testBackgroundRepairStartsWithViewport() {
+		String text= createText(20000);
+		fViewer.setDocument(new Document(text));
+		fViewer.setTopIndex(10000);
+		int offset= fViewer.getTopIndexStartOffset();
+		int keyword= text.indexOf("foo", offset);
+		waitForKeyword(keyword);
+		waitForKeyword(text.lastIndexOf("foo"));
+		waitForKeyword(0);
+	}
+
+	@Test
+	public void testEditsDuringBackgroundRepair() throws Exception {
+		fViewer.setDocument(new Document(createText(20000)));
+		IDocument document= fViewer.getDocument();
+		Display display= fViewer.getTextWidget().getDisplay();
+		Random random= new Random(42);
+		for (int i= 0; i < 100; i++) {
+			int offset= random.nextInt(document.getLength());
+			if (random.nextBoolean())
+				document.replace(offset, 0, "foo ");
+			else
+				document.replace(offset, Math.min(3, document.getLength() - offset), "");
+			display.readAndDispatch();
+		}
+		document.replace(0, 0, "foo\n");
+		document.replace(document.getLength(), 0, "foo\n");
+		waitForKeyword(0);
+		waitForKeyword(document.getLength() - 4);
+		DisplayHelper.sleep(display, 500);
+		assertSamePresentation();
+	}
+
+	@Test
+	public void testBurstOfEditsTakesFewSnapshots() throws Exception {
+		int[] snapshots= new int[1];
+		IDocument document= new Document(createText(20000)) {
+			@Override
+			public IDocumentSnapshot getSnapshot() {
+				snapshots[0]++;
+				return super.getSnapshot();
+			}
+		};
+		fViewer.setDocument(document);
+		waitForKeyword(document.get().lastIndexOf("foo"));
+		Display display= fViewer.getTextWidget().getDisplay();
+		DisplayHelper.sleep(display, 500);
+
+		snapshots[0]= 0;
+		for (int i= 0; i < 20; i++) {
+			document.replace(0, 0, "x");
+			while (display.readAndDispatch()) {
+				// process the pending events
+			}
+		}
+		document.replace(0, 0, "foo\n");
+		waitForKeyword(0);
+		assertTrue(snapshots[0] < 10);
+	}
+}
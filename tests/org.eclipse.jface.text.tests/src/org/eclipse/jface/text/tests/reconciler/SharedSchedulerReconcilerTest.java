@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.reconciler;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.reconciler.AbstractReconciler;
+import org.eclipse.jface.text.reconciler.DirtyRegion;
+import org.eclipse.jface.text.reconciler.IReconcilingStrategy;
+import org.eclipse.jface.text.tests.TestTextViewer;
+
+/**
+ * Runs the reconciler tests with the shared scheduler.
+ */
+public class SharedSchedulerReconcilerTest extends AbstractReconcilerTest {
+
+	@Override
+	boolean useSharedScheduler() {
+		return true;
+	}
+
+	@Test
+	public void testManyReconcilersShareBoundedWorkers() throws Exception {
+		int count= 200;
+		CountDownLatch initialized= new CountDownLatch(count);
+		CountDownLatch processed= new CountDownLatch(count);
+		List<AbstractReconciler> reconcilers= new ArrayList<>();
+		List<IDocument> documents= new ArrayList<>();
+		try {
+			for (int i= 0; i < count; i++) {
+				AbstractReconciler reconciler= new AbstractReconciler() {
+					@Override
+					protected void initialProcess() {
+						initialized.countDown();
+					}
+					@Override
+					protected void process(DirtyRegion dirtyRegion) {
+						processed.countDown();
+					}
+					@Override
+					protected void reconcilerDocumentChanged(IDocument newDocument) {
+					}
+					@Override
+					public IReconcilingStrategy getReconcilingStrategy(String contentType) {
+						return null;
+					}
+				};
+				reconciler.setIsIncrementalReconciler(false);
+				reconciler.setDelay(10);
+				reconciler.setUseSharedScheduler(true);
+				ITextViewer viewer= new TestTextViewer();
+				reconciler.install(viewer);
+				reconcilers.add(reconciler);
+
+				IDocument document= new Document("foo");
+				viewer.setDocument(document);
+				documents.add(document);
+			}
+			assertTrue(initialized.await(5, TimeUnit.SECONDS));
+
+			for (IDocument document : documents)
+				document.replace(0, 0, "bar");
+			assertTrue(processed.await(5, TimeUnit.SECONDS));
+
+			long workers= Thread.getAllStackTraces().keySet().stream().filter(t -> t.getName().startsWith("Reconciler Worker")).count();
+			assertTrue(workers > 0 && workers <= 4);
+		} finally {
+			for (AbstractReconciler reconciler : reconcilers)
+				reconciler.uninstall();
+		}
+	}
+
+	@Test
+	public void testErrorsDoNotExhaustWorkers() throws Exception {
+		int count= 8;
+		CountDownLatch failed= new CountDownLatch(count);
+		CountDownLatch initialized= new CountDownLatch(1);
+		List<AbstractReconciler> reconcilers= new ArrayList<>();
+		try {
+			for (int i= 0; i < count; i++) {
+				reconcilers.add(install(() -> {
+					failed.countDown();
+					throw new LinkageError("Failing reconciler");
+				}));
+			}
+			assertTrue(failed.await(5, TimeUnit.SECONDS));
+
+			reconcilers.add(install(initialized::countDown));
+			assertTrue(initialized.await(5, TimeUnit.SECONDS));
+		} finally {
+			for (AbstractReconciler reconciler : reconcilers)
+				reconciler.uninstall();
+		}
+	}
+
+	private static AbstractReconciler install(Runnable initialProcess) {
+		AbstractReconciler reconciler= new AbstractReconciler() {
+			@Override
+			protected void initialProcess() {
+				initialProcess.run();
+			}
+			@Override
+			protected void process(DirtyRegion dirtyRegion) {
+			}
+			@Override
+			protected void reconcilerDocumentChanged(IDocument newDocument) {
+			}
+			@Override
+			public IReconcilingStrategy getReconcilingStrategy(String contentType) {
+				return null;
+			}
+		};
+		reconciler.setUseSharedScheduler(true);
+		ITextViewer viewer= new TestTextViewer();
+		reconciler.install(viewer);
+		viewer.setDocument(new Document("foo"));
+		return reconciler;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.jface.text.tests.rules;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 import org.junit.Before;
@@ -321,6 +322,73 @@ public class FastPartitionerTest {
 
 	}
 
+	@Test
+	public void testRepairWithCheckpoints() throws Exception {
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < 100; i++)
+			text.append(i % 4 == 0 ? "/* comment\n * continued */\n" : "code /* c */ code\n");
+		fDoc.set(text.toString());
+
+		String[] edits= { "/*", "*/", "\n", "x", "/* ", " */\n", "" };
+		for (int i= 0; i < 200; i++) {
+			int offset= (i * 7919) % (fDoc.getLength() + 1);
+			int length= Math.min(i % 3, fDoc.getLength() - offset);
+			fDoc.replace(offset, length, edits[i % edits.length]);
+			assertSamePartitioning(fDoc.get(), fPartitioner.computePartitioning(0, fDoc.getLength()));
+		}
+	}
+
+	@Test
+	public void testRepairOfCommentOpenedAbove() throws Exception {
+		fDoc.set("code\n/* c */\ncode\ncode */ code\n/* c */\n");
+		assertSamePartitioning(fDoc.get(), fPartitioner.computePartitioning(0, fDoc.getLength()));
+
+		fDoc.replace(0, 0, "/*");
+		assertSamePartitioning(fDoc.get(), fPartitioner.computePartitioning(0, fDoc.getLength()));
+
+		fDoc.replace(0, 2, "");
+		assertSamePartitioning(fDoc.get(), fPartitioner.computePartitioning(0, fDoc.getLength()));
+	}
+
+	@Test
+	public void testBackgroundInitialization() throws Exception {
+		fPartitioner.disconnect();
+		StringBuilder text= new StringBuilder();
+		while (text.length() < 2 * 1024 * 1024)
+			text.append("code /* comment\n comment */ code\ncode code\n");
+
+		FastPartitioner partitioner= new FastPartitioner(createScanner(), new String[] { DEFAULT, COMMENT });
+		partitioner.setBackgroundInitialization(true);
+		fDoc.set(text.toString());
+		fDoc.setDocumentPartitioner(partitioner);
+		partitioner.connect(fDoc);
+
+		int offset= fDoc.getLength() / 2;
+		ITypedRegion partition= partitioner.getPartition(offset);
+		IDocument reference= new Document(fDoc.get());
+		FastPartitioner referencePartitioner= new FastPartitioner(createScanner(), new String[] { DEFAULT, COMMENT });
+		referencePartitioner.connect(reference);
+		assertEquals(referencePartitioner.getPartition(offset), partition);
+
+		fDoc.replace(offset, 0, "/*");
+		fDoc.replace(0, 0, "code\n");
+		fDoc.replace(fDoc.getLength(), 0, "*/");
+		assertSamePartitioning(fDoc.get(), partitioner.computePartitioning(0, fDoc.getLength()));
+	}
+
+	private static IPartitionTokenScanner createScanner() {
+		RuleBasedPartitionScanner scanner= new RuleBasedPartitionScanner();
+		scanner.setPredicateRules(new IPredicateRule[] { new MultiLineRule("/*", "*/", new Token(COMMENT)) });
+		return scanner;
+	}
+
+	private void assertSamePartitioning(String text, ITypedRegion[] partitioning) {
+		IDocument reference= new Document(text);
+		FastPartitioner referencePartitioner= new FastPartitioner(createScanner(), new String[] { DEFAULT, COMMENT });
+		referencePartitioner.connect(reference);
+		assertArrayEquals(referencePartitioner.computePartitioning(0, reference.getLength()), partitioning);
+	}
+
 	private void assertComputePartitioning_InterleavingPartitions(int[] offsets) {
 		assertComputePartitioning_InterleavingPartitions(0, fDoc.getLength(), offsets, DEFAULT);
 	}
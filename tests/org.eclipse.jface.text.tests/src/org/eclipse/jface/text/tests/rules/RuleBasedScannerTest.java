@@ -0,0 +1,273 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.rules;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.rules.EndOfLineRule;
+import org.eclipse.jface.text.rules.ICharacterScanner;
+import org.eclipse.jface.text.rules.IPredicateRule;
+import org.eclipse.jface.text.rules.IRule;
+import org.eclipse.jface.text.rules.IToken;
+import org.eclipse.jface.text.rules.ITokenScanner;
+import org.eclipse.jface.text.rules.IWhitespaceDetector;
+import org.eclipse.jface.text.rules.IWordDetector;
+import org.eclipse.jface.text.rules.MultiLineRule;
+import org.eclipse.jface.text.rules.NumberRule;
+import org.eclipse.jface.text.rules.RuleBasedPartitionScanner;
+import org.eclipse.jface.text.rules.RuleBasedScanner;
+import org.eclipse.jface.text.rules.SingleLineRule;
+import org.eclipse.jface.text.rules.Token;
+import org.eclipse.jface.text.rules.WhitespaceRule;
+import org.eclipse.jface.text.rules.WordRule;
+
+/**
+ * Tests that the dispatch of rules by their first character does not change the tokens of a
+ * {@link RuleBasedScanner}.
+ */
+public class RuleBasedScannerTest {
+
+	private static final String[] KEYWORDS= { "abstract", "boolean", "break", "case", "catch", "class", "else", "extends", "final", "for", "if", "import", "int", "new",
+			"package", "private", "protected", "public", "return", "static", "super", "this", "throw", "try", "void", "while" };
+
+	private static final IWordDetector WORD_DETECTOR= new IWordDetector() {
+		@Override
+		public boolean isWordStart(char c) {
+			return Character.isJavaIdentifierStart(c);
+		}
+
+		@Override
+		public boolean isWordPart(char c) {
+			return Character.isJavaIdentifierPart(c);
+		}
+	};
+
+	private static final IWhitespaceDetector WHITESPACE_DETECTOR= Character::isWhitespace;
+
+	private static IRule[] createRules() {
+		List<IRule> rules= new ArrayList<>();
+		rules.add(new EndOfLineRule("//", new Token("comment")));
+		rules.add(new MultiLineRule("/*", "*/", new Token("comment")));
+		rules.add(new SingleLineRule("\"", "\"", new Token("string"), '\\'));
+		rules.add(new SingleLineRule("'", "'", new Token("character"), '\\'));
+		rules.add(new SingleLineRule("@", " ", new Token("annotation")));
+		rules.add(new SingleLineRule("\u00e4", "\u00e4", new Token("umlaut")));
+		rules.add(new SingleLineRule("\u20ac", "\u20ac", new Token("euro")));
+		rules.add(new WhitespaceRule(WHITESPACE_DETECTOR, new Token("whitespace")));
+		rules.add(new NumberRule(new Token("number")));
+		WordRule wordRule= new WordRule(WORD_DETECTOR, new Token("identifier"));
+		for (String keyword : KEYWORDS)
+			wordRule.addWord(keyword, new Token("keyword"));
+		rules.add(wordRule);
+		rules.add(new IRule() {
+			@Override
+			public IToken evaluate(ICharacterScanner scanner) {
+				int c= scanner.read();
+				if (c == '{' || c == '}')
+					return new Token("brace");
+				scanner.unread();
+				return Token.UNDEFINED;
+			}
+		});
+		return rules.toArray(new IRule[rules.size()]);
+	}
+
+	/**
+	 * Wraps the given rules so that the scanner cannot tell their types and has to evaluate all of
+	 * them at every offset.
+	 *
+	 * @param rules the rules
+	 * @return the wrapped rules
+	 */
+	private static IRule[] hideTypes(IRule[] rules) {
+		IRule[] wrapped= new IRule[rules.length];
+		for (int i= 0; i < rules.length; i++) {
+			IRule rule= rules[i];
+			if (rule instanceof IPredicateRule) {
+				IPredicateRule predicateRule= (IPredicateRule) rule;
+				wrapped[i]= new IPredicateRule() {
+					@Override
+					public IToken evaluate(ICharacterScanner scanner) {
+						return predicateRule.evaluate(scanner);
+					}
+
+					@Override
+					public IToken evaluate(ICharacterScanner scanner, boolean resume) {
+						return predicateRule.evaluate(scanner, resume);
+					}
+
+					@Override
+					public IToken getSuccessToken() {
+						return predicateRule.getSuccessToken();
+					}
+				};
+			} else {
+				wrapped[i]= scanner -> rule.evaluate(scanner);
+			}
+		}
+		return wrapped;
+	}
+
+	private static String createSample(int length) {
+		StringBuilder builder= new StringBuilder();
+		int i= 0;
+		while (builder.length() < length) {
+			builder.append("package org.example;\n\n");
+			builder.append("/*\n * Class number ").append(i).append(" \u00e4tsch \u20ac\n */\n");
+			builder.append("@SuppressWarnings (\"unused\")\n");
+			builder.append("public class Sample").append(i).append(" extends Object {\n");
+			builder.append("\tprivate static final int COUNT= ").append(i * 31).append("; // the count\n");
+			builder.append("\tpublic String get(char c) {\n\t\tif (c == '\\'') return \"quote \\\"").append(i).append("\\\"\";\n");
+			builder.append("\t\treturn this.toString() + c + \u00e4\u00f6\u00fc\u00e4;\n\t}\n}\n");
+			i++;
+		}
+		return builder.toString();
+	}
+
+	private static List<String> scan(ITokenScanner scanner, IDocument document) {
+		List<String> tokens= new ArrayList<>();
+		scanner.setRange(document, 0, document.getLength());
+		IToken token= scanner.nextToken();
+		while (!token.isEOF()) {
+			tokens.add(token.getData() + "@" + scanner.getTokenOffset() + ":" + scanner.getTokenLength());
+			token= scanner.nextToken();
+		}
+		return tokens;
+	}
+
+	@Test
+	public void testSameTokensAsUndispatchedRules() {
+		IDocument document= new Document(createSample(20000));
+		RuleBasedScanner scanner= new RuleBasedScanner();
+		scanner.setRules(createRules());
+		RuleBasedScanner reference= new RuleBasedScanner();
+		reference.setRules(hideTypes(createRules()));
+
+		assertEquals(scan(reference, document), scan(scanner, document));
+	}
+
+	@Test
+	public void testSameTokensInSubrange() throws Exception {
+		IDocument document= new Document(createSample(5000));
+		RuleBasedScanner scanner= new RuleBasedScanner();
+		scanner.setRules(createRules());
+		RuleBasedScanner reference= new RuleBasedScanner();
+		reference.setRules(hideTypes(createRules()));
+
+		for (int offset= 0; offset < 400; offset+= 7) {
+			int line= document.getLineOfOffset(offset) + 1;
+			int length= document.getLineOffset(line) + document.getLineLength(line) - offset;
+			scanner.setRange(document, offset, length);
+			reference.setRange(document, offset, length);
+			IToken token;
+			do {
+				token= scanner.nextToken();
+				IToken referenceToken= reference.nextToken();
+				assertSame(referenceToken.getData(), token.getData());
+				assertEquals(reference.getTokenOffset(), scanner.getTokenOffset());
+				assertEquals(reference.getTokenLength(), scanner.getTokenLength());
+			} while (!token.isEOF());
+		}
+	}
+
+	@Test
+	public void testRulesChangedAfterScanning() {
+		IDocument document= new Document("if 42");
+		RuleBasedScanner scanner= new RuleBasedScanner();
+		scanner.setRules(new NumberRule(new Token("number")));
+		scanner.setRange(document, 0, document.getLength());
+		assertEquals(null, scanner.nextToken().getData());
+
+		WordRule wordRule= new WordRule(WORD_DETECTOR);
+		wordRule.addWord("if", new Token("keyword"));
+		scanner.setRules(wordRule, new NumberRule(new Token("number")));
+		scanner.setRange(document, 0, document.getLength());
+		assertEquals("keyword", scanner.nextToken().getData());
+		assertEquals(null, scanner.nextToken().getData());
+		assertEquals("number", scanner.nextToken().getData());
+		assertSame(Token.EOF, scanner.nextToken());
+	}
+
+	@Test
+	public void testPartitionScanner() {
+		IDocument document= new Document(createSample(20000));
+		RuleBasedPartitionScanner scanner= new RuleBasedPartitionScanner();
+		scanner.setPredicateRules(createPredicateRules(false));
+		RuleBasedPartitionScanner reference= new RuleBasedPartitionScanner();
+		reference.setPredicateRules(createPredicateRules(true));
+
+		assertEquals(scan(reference, document), scan(scanner, document));
+	}
+
+	private static IPredicateRule[] createPredicateRules(boolean hideTypes) {
+		IRule[] rules= new IRule[] {
+				new EndOfLineRule("//", new Token("comment")),
+				new MultiLineRule("/*", "*/", new Token("comment")),
+				new SingleLineRule("\"", "\"", new Token("string"), '\\'),
+				new SingleLineRule("'", "'", new Token("character"), '\\') };
+		if (hideTypes)
+			rules= hideTypes(rules);
+		IPredicateRule[] predicateRules= new IPredicateRule[rules.length];
+		System.arraycopy(rules, 0, predicateRules, 0, rules.length);
+		return predicateRules;
+	}
+
+	@Test
+	public void testRulesAssignedBySubclass() {
+		IDocument document= new Document(createSample(5000));
+		RuleBasedScanner scanner= new RuleBasedScanner() {
+			{
+				fRules= createRules();
+			}
+		};
+		RuleBasedScanner reference= new RuleBasedScanner();
+		reference.setRules(hideTypes(createRules()));
+
+		assertEquals(scan(reference, document), scan(scanner, document));
+	}
+
+	@Test
+	public void testDetectorWithState() {
+		IDocument document= new Document("if if 42 if");
+		boolean[] enabled= new boolean[1];
+		WordRule wordRule= new WordRule(new IWordDetector() {
+			@Override
+			public boolean isWordStart(char c) {
+				return enabled[0] && Character.isLetter(c);
+			}
+
+			@Override
+			public boolean isWordPart(char c) {
+				return Character.isLetter(c);
+			}
+		});
+		wordRule.addWord("if", new Token("keyword"));
+		RuleBasedScanner scanner= new RuleBasedScanner();
+		scanner.setRules(wordRule, new NumberRule(new Token("number")));
+		scanner.setRange(document, 0, document.getLength());
+		assertEquals(null, scanner.nextToken().getData());
+
+		enabled[0]= true;
+		scanner.setRange(document, 0, document.getLength());
+		assertEquals("keyword", scanner.nextToken().getData());
+	}
+}
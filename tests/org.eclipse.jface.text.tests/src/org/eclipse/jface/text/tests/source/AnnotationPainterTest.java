@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.source;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.Region;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.AnnotationModel;
+import org.eclipse.jface.text.source.AnnotationModelEvent;
+import org.eclipse.jface.text.source.AnnotationPainter;
+
+/**
+ * Tests how the {@link AnnotationPainter} merges the annotation model events of a burst and which
+ * lines it repaints after an incremental update.
+ */
+public class AnnotationPainterTest {
+
+	private static final String TYPE= "test.annotation";
+
+	private final AnnotationModel fModel= new AnnotationModel();
+
+	private static AnnotationModelEvent merge(AnnotationModelEvent... events) throws Exception {
+		Method method= AnnotationPainter.class.getDeclaredMethod("mergeEvents", AnnotationModelEvent[].class);
+		method.setAccessible(true);
+		return (AnnotationModelEvent) method.invoke(null, (Object) events);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<IRegion> computeLineRanges(IDocument document, Position... positions) throws Exception {
+		Method method= AnnotationPainter.class.getDeclaredMethod("computeLineRanges", List.class, IDocument.class);
+		method.setAccessible(true);
+		return (List<IRegion>) method.invoke(null, Arrays.asList(positions), document);
+	}
+
+	private AnnotationModelEvent added(Annotation annotation) {
+		AnnotationModelEvent event= new AnnotationModelEvent(fModel, false);
+		event.annotationAdded(annotation);
+		return event;
+	}
+
+	private AnnotationModelEvent removed(Annotation annotation) {
+		AnnotationModelEvent event= new AnnotationModelEvent(fModel, false);
+		event.annotationRemoved(annotation);
+		return event;
+	}
+
+	private AnnotationModelEvent changed(Annotation annotation) {
+		AnnotationModelEvent event= new AnnotationModelEvent(fModel, false);
+		event.annotationChanged(annotation);
+		return event;
+	}
+
+	private static IDocument createDocument(int lines) {
+		StringBuilder builder= new StringBuilder();
+		for (int i= 0; i < lines; i++)
+			builder.append("line ").append(i).append('\n');
+		return new Document(builder.toString());
+	}
+
+	private static IRegion lines(IDocument document, int first, int last) throws Exception {
+		int offset= document.getLineOffset(first);
+		return new Region(offset, document.getLineOffset(last) + document.getLineLength(last) - offset);
+	}
+
+	@Test
+	public void testSingleEvent() throws Exception {
+		AnnotationModelEvent event= added(new Annotation(TYPE, false, null));
+		assertSame(event, merge(event));
+	}
+
+	@Test
+	public void testAddThenRemove() throws Exception {
+		Annotation a= new Annotation(TYPE, false, "a");
+		Annotation b= new Annotation(TYPE, false, "b");
+		AnnotationModelEvent merged= merge(added(a), added(b), removed(a));
+
+		assertFalse(merged.isWorldChange());
+		assertArrayEquals(new Annotation[] { b }, merged.getAddedAnnotations());
+		assertEquals(0, merged.getRemovedAnnotations().length);
+		assertEquals(0, merged.getChangedAnnotations().length);
+	}
+
+	@Test
+	public void testRemoveThenAdd() throws Exception {
+		Annotation a= new Annotation(TYPE, false, "a");
+		AnnotationModelEvent merged= merge(removed(a), added(a));
+
+		assertArrayEquals(new Annotation[] { a }, merged.getRemovedAnnotations());
+		assertArrayEquals(new Annotation[] { a }, merged.getAddedAnnotations());
+		assertEquals(0, merged.getChangedAnnotations().length);
+	}
+
+	@Test
+	public void testChangeAfterAdd() throws Exception {
+		Annotation a= new Annotation(TYPE, false, "a");
+		Annotation b= new Annotation(TYPE, false, "b");
+		AnnotationModelEvent merged= merge(added(a), changed(a), changed(b), changed(b));
+
+		assertArrayEquals(new Annotation[] { a }, merged.getAddedAnnotations());
+		assertArrayEquals(new Annotation[] { b }, merged.getChangedAnnotations());
+		assertEquals(0, merged.getRemovedAnnotations().length);
+	}
+
+	@Test
+	public void testChangeThenRemove() throws Exception {
+		Annotation a= new Annotation(TYPE, false, "a");
+		AnnotationModelEvent merged= merge(changed(a), removed(a));
+
+		assertArrayEquals(new Annotation[] { a }, merged.getRemovedAnnotations());
+		assertEquals(0, merged.getChangedAnnotations().length);
+		assertEquals(0, merged.getAddedAnnotations().length);
+	}
+
+	@Test
+	public void testWorldChange() throws Exception {
+		Annotation a= new Annotation(TYPE, false, "a");
+		Annotation b= new Annotation(TYPE, false, "b");
+		AnnotationModelEvent worldChange= new AnnotationModelEvent(fModel, true);
+
+		assertSame(worldChange, merge(added(a), worldChange, removed(b)));
+		assertSame(worldChange, merge(worldChange, changed(a)));
+		assertTrue(merge(changed(a), worldChange).isWorldChange());
+	}
+
+	@Test
+	public void testInternalChange() throws Exception {
+		Annotation a= new Annotation(TYPE, false, "a");
+		assertNull(merge(added(a), null, removed(a)));
+	}
+
+	@Test
+	public void testLineRangesCoverOldAndNewPositions() throws Exception {
+		IDocument document= createDocument(10);
+		// an annotation replaced by one on a later line
+		Position oldPosition= new Position(document.getLineOffset(2) + 1, 2);
+		Position newPosition= new Position(document.getLineOffset(7) + 3, 1);
+
+		List<IRegion> expected= new ArrayList<>();
+		expected.add(lines(document, 2, 2));
+		expected.add(lines(document, 7, 7));
+		assertEquals(expected, computeLineRanges(document, newPosition, oldPosition));
+	}
+
+	@Test
+	public void testLineRangesMerge() throws Exception {
+		IDocument document= createDocument(10);
+		Position first= new Position(document.getLineOffset(1), document.getLineOffset(3) - document.getLineOffset(1) + 2);
+		Position second= new Position(document.getLineOffset(3) + 4, 1);
+		Position third= new Position(document.getLineOffset(4), 1);
+		Position fourth= new Position(document.getLineOffset(6), 1);
+
+		List<IRegion> expected= new ArrayList<>();
+		expected.add(lines(document, 1, 4));
+		expected.add(lines(document, 6, 6));
+		assertEquals(expected, computeLineRanges(document, fourth, third, first, second));
+	}
+
+	@Test
+	public void testLineRangesOfStalePosition() throws Exception {
+		IDocument document= createDocument(3);
+		// a removed annotation whose position is no longer updated
+		Position stale= new Position(document.getLength() + 10, 5);
+
+		List<IRegion> expected= new ArrayList<>();
+		expected.add(new Region(document.getLength(), 0));
+		assertEquals(expected, computeLineRanges(document, stale));
+	}
+
+	@Test
+	public void testTooManyLineRanges() throws Exception {
+		IDocument document= createDocument(100);
+		Position[] positions= new Position[50];
+		for (int i= 0; i < positions.length; i++)
+			positions[i]= new Position(document.getLineOffset(2 * i), 1);
+		assertNull(computeLineRanges(document, positions));
+		assertEquals(16, computeLineRanges(document, Arrays.copyOf(positions, 16)).size());
+	}
+}
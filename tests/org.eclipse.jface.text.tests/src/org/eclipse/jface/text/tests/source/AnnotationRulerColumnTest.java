@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.source;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Canvas;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.AnnotationModel;
+import org.eclipse.jface.text.source.AnnotationRulerColumn;
+import org.eclipse.jface.text.source.CompositeRuler;
+import org.eclipse.jface.text.source.IAnnotationAccess;
+import org.eclipse.jface.text.source.IAnnotationAccessExtension;
+import org.eclipse.jface.text.source.SourceViewer;
+import org.eclipse.jface.text.tests.util.DisplayHelper;
+
+/**
+ * Tests that the retained image of the {@link AnnotationRulerColumn} shows the same as a fully
+ * repainted one after scrolling and annotation changes.
+ */
+public class AnnotationRulerColumnTest {
+
+	private static final String TYPE= "test.annotation";
+
+	private static class AnnotationAccess implements IAnnotationAccess, IAnnotationAccessExtension {
+
+		@Override
+		public Object getType(Annotation annotation) {
+			return annotation.getType();
+		}
+
+		@Override
+		public boolean isMultiLine(Annotation annotation) {
+			return true;
+		}
+
+		@Override
+		public boolean isTemporary(Annotation annotation) {
+			return false;
+		}
+
+		@Override
+		public String getTypeLabel(Annotation annotation) {
+			return null;
+		}
+
+		@Override
+		public int getLayer(Annotation annotation) {
+			return DEFAULT_LAYER;
+		}
+
+		@Override
+		public void paint(Annotation annotation, GC gc, Canvas canvas, Rectangle bounds) {
+			gc.setBackground(canvas.getDisplay().getSystemColor(SWT.COLOR_RED));
+			gc.fillRectangle(bounds.x + 1, bounds.y + 1, bounds.width - 2, bounds.height - 2);
+		}
+
+		@Override
+		public boolean isPaintable(Annotation annotation) {
+			return true;
+		}
+
+		@Override
+		public boolean isSubtype(Object annotationType, Object potentialSupertype) {
+			return annotationType.equals(potentialSupertype);
+		}
+
+		@Override
+		public Object[] getSupertypes(Object annotationType) {
+			return new Object[0];
+		}
+	}
+
+	private Shell fShell;
+	private SourceViewer fViewer;
+	private AnnotationRulerColumn fColumn;
+	private AnnotationModel fModel;
+
+	@Before
+	public void setUp() {
+		fShell= new Shell();
+		fShell.setSize(400, 300);
+		fShell.setLayout(new FillLayout());
+		fColumn= new AnnotationRulerColumn(12, new AnnotationAccess());
+		fColumn.addAnnotationType(TYPE);
+		CompositeRuler ruler= new CompositeRuler();
+		ruler.addDecorator(0, fColumn);
+		fViewer= new SourceViewer(fShell, ruler, SWT.V_SCROLL);
+
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < 1000; i++)
+			text.append("line ").append(i).append('\n');
+		IDocument document= new Document(text.toString());
+		fModel= new AnnotationModel();
+		for (int i= 0; i < 1000; i+= 7)
+			addAnnotation(document, i);
+		fViewer.setDocument(document, fModel);
+		fShell.open();
+		DisplayHelper.driveEventQueue(fShell.getDisplay());
+	}
+
+	@After
+	public void tearDown() {
+		fShell.dispose();
+	}
+
+	private void addAnnotation(IDocument document, int line) {
+		try {
+			fModel.addAnnotation(new Annotation(TYPE, false, null), new Position(document.getLineOffset(line), document.getLineLength(line)));
+		} catch (Exception e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	private ImageData capture() {
+		Control control= fColumn.getControl();
+		Rectangle bounds= control.getBounds();
+		Image image= new Image(control.getDisplay(), bounds.width, bounds.height);
+		try {
+			GC gc= new GC(image);
+			try {
+				control.print(gc);
+			} finally {
+				gc.dispose();
+			}
+			return image.getImageData();
+		} finally {
+			image.dispose();
+		}
+	}
+
+	private void assertSameAsRepainted() {
+		Display display= fShell.getDisplay();
+		DisplayHelper.driveEventQueue(display);
+		ImageData retained= capture();
+		fColumn.redraw();
+		ImageData repainted= capture();
+		assertEquals(repainted.width, retained.width);
+		assertEquals(repainted.height, retained.height);
+		for (int y= 0; y < retained.height; y++) {
+			for (int x= 0; x < retained.width; x++)
+				assertEquals("pixel " + x + "," + y, repainted.getPixel(x, y), retained.getPixel(x, y));
+		}
+	}
+
+	@Test
+	public void testScrolling() {
+		capture();
+		int[] topIndices= { 3, 100, 97, 98, 500, 480, 0, 999 };
+		for (int topIndex : topIndices) {
+			fViewer.setTopIndex(topIndex);
+			assertSameAsRepainted();
+		}
+	}
+
+	@Test
+	public void testAnnotationChanges() {
+		IDocument document= fViewer.getDocument();
+		capture();
+		addAnnotation(document, 2);
+		addAnnotation(document, 900);
+		assertSameAsRepainted();
+
+		fModel.removeAllAnnotations();
+		assertSameAsRepainted();
+
+		fViewer.setTopIndex(10);
+		capture();
+		addAnnotation(document, 12);
+		fViewer.setTopIndex(11);
+		assertSameAsRepainted();
+	}
+
+	@Test
+	public void testScrollingLineByLine() {
+		Display display= fShell.getDisplay();
+		for (int i= 1; i <= 50; i++) {
+			fViewer.setTopIndex(i);
+			DisplayHelper.driveEventQueue(display);
+			capture();
+			if (i % 10 == 0)
+				assertSameAsRepainted();
+		}
+	}
+}
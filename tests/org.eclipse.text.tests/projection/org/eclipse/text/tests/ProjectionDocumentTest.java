@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,6 +22,7 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -2651,4 +2652,75 @@ public class ProjectionDocumentTest {
 			assertTrue(false);
 		}
 	}
+
+	@Test
+	public void test30_1() throws Exception {
+		// fold and unfold many ranges in random order
+		StringBuilder builder= new StringBuilder();
+		for (int i= 0; i < 2000; i++)
+			builder.append("line ").append(i).append('\n');
+		fMasterDocument.set(builder.toString());
+		createIdenticalProjection();
+
+		boolean[] folded= new boolean[fMasterDocument.getNumberOfLines() - 1];
+		Random random= new Random(42);
+		for (int i= 0; i < 3000; i++) {
+			int line= random.nextInt(folded.length);
+			IRegion region= fMasterDocument.getLineInformation(line);
+			int length= region.getLength() + 1;
+			if (folded[line])
+				fSlaveDocument.addMasterDocumentRange(region.getOffset(), length);
+			else
+				fSlaveDocument.removeMasterDocumentRange(region.getOffset(), length);
+			folded[line]= !folded[line];
+			if (i % 100 == 0)
+				Assert.assertEquals(getUnfoldedContent(folded), fSlaveDocument.get());
+		}
+		Assert.assertEquals(getUnfoldedContent(folded), fSlaveDocument.get());
+		Assert.assertEquals(fSlaveDocument.get().length(), fSlaveDocument.getLength());
+
+		fSlaveDocument.replaceMasterDocumentRanges(0, fMasterDocument.getLength());
+		Assert.assertEquals(fMasterDocument.get(), fSlaveDocument.get());
+		Assert.assertEquals(1, fSlaveDocument.getFragments2().length);
+		Assert.assertEquals(1, fSlaveDocument.getSegments2().length);
+	}
+
+	private String getUnfoldedContent(boolean[] folded) throws BadLocationException {
+		StringBuilder builder= new StringBuilder();
+		for (int line= 0; line < folded.length; line++) {
+			if (!folded[line]) {
+				IRegion region= fMasterDocument.getLineInformation(line);
+				builder.append(fMasterDocument.get(region.getOffset(), region.getLength() + 1));
+			}
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Folds, accesses and unfolds a document with 50000 folded ranges.
+	 */
+	@Test
+	public void test30_2() throws Exception {
+		StringBuilder builder= new StringBuilder();
+		for (int i= 0; i < 100_000; i++)
+			builder.append("int value").append(i).append(" = 42;\n");
+		fMasterDocument.set(builder.toString());
+		createIdenticalProjection();
+
+		boolean[] folded= new boolean[100_000];
+		for (int line= 99_999; line > 0; line-= 2) {
+			IRegion region= fMasterDocument.getLineInformation(line);
+			fSlaveDocument.removeMasterDocumentRange(region.getOffset(), region.getLength() + 1);
+			folded[line]= true;
+		}
+
+		int length= fSlaveDocument.getLength();
+		char[] content= new char[length];
+		for (int offset= 0; offset < length; offset++)
+			content[offset]= fSlaveDocument.getChar(offset);
+		Assert.assertEquals(getUnfoldedContent(folded), new String(content));
+
+		fSlaveDocument.replaceMasterDocumentRanges(0, fMasterDocument.getLength());
+		Assert.assertEquals(fMasterDocument.get(), fSlaveDocument.get());
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,13 +20,16 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Random;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.source.Annotation;
 import org.eclipse.jface.text.source.AnnotationModel;
@@ -276,4 +279,109 @@ public class AnnotationModelExtension2Test {
 		assertPermutations(true, true, expected);
 	}
 
+	@Test
+	public void testRegionsAfterChanges() throws Exception {
+		Random random= new Random(42);
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < 1000; i++)
+			text.append("line ").append(i).append('\n');
+		fDocument.set(text.toString());
+
+		for (int i= 0; i < 500; i++) {
+			int offset= random.nextInt(fDocument.getLength());
+			int length= random.nextInt(4) == 0 ? 0 : random.nextInt(Math.min(200, fDocument.getLength() - offset));
+			IAnnotationModel model= getModel(random.nextInt(2));
+			model.addAnnotation(new Annotation(false), new Position(offset, length));
+		}
+
+		for (int i= 0; i < 200; i++) {
+			int offset= random.nextInt(fDocument.getLength());
+			int length= Math.min(random.nextInt(20), fDocument.getLength() - offset);
+			fDocument.replace(offset, length, random.nextBoolean() ? "" : "inserted\n");
+
+			if (i % 20 == 0) {
+				Iterator<Annotation> iterator= fAnnotationModel.getAnnotationIterator();
+				for (int j= 0; j < 10 && iterator.hasNext(); j++)
+					fAnnotationModel.removeAnnotation(iterator.next());
+			}
+
+			assertRegion(random.nextInt(fDocument.getLength()), random.nextInt(300));
+		}
+	}
+
+	@Test
+	public void testRegionsQueriedDuringChanges() throws Exception {
+		Random random= new Random(17);
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < 1000; i++)
+			text.append("line ").append(i).append('\n');
+		fDocument.set(text.toString());
+
+		for (int i= 0; i < 300; i++) {
+			int offset= random.nextInt(fDocument.getLength());
+			int length= random.nextInt(50);
+			fAnnotationModel.addAnnotation(new Annotation(false), new Position(offset, Math.min(length, fDocument.getLength() - offset)));
+		}
+
+		// listeners may query the model before and after the positions are updated
+		fDocument.addDocumentListener(new IDocumentListener() {
+			@Override
+			public void documentAboutToBeChanged(DocumentEvent event) {
+				assertRegion(event.getOffset() / 2, event.getOffset());
+			}
+
+			@Override
+			public void documentChanged(DocumentEvent event) {
+				assertRegion(event.getOffset() / 2, event.getOffset());
+			}
+		});
+
+		for (int i= 0; i < 100; i++) {
+			// several changes between two queries, none of them deletes a position
+			for (int j= random.nextInt(4); j >= 0; j--) {
+				int offset= random.nextInt(fDocument.getLength());
+				if (random.nextBoolean())
+					fDocument.replace(offset, 0, "inserted\n");
+				else
+					fDocument.replace(offset, 1, "replaced");
+			}
+			assertRegion(random.nextInt(fDocument.getLength()), random.nextInt(300));
+		}
+	}
+
+	private void assertRegion(int regionOffset, int regionLength) {
+		for (int mode= 0; mode < 4; mode++) {
+			boolean canStartBefore= (mode & 1) != 0;
+			boolean canEndAfter= (mode & 2) != 0;
+			Iterator<Annotation> iterator= fAnnotationModel.getAnnotationIterator(regionOffset, regionLength, canStartBefore, canEndAfter);
+			ArrayList<Annotation> actual= new ArrayList<>();
+			while (iterator.hasNext())
+				actual.add(iterator.next());
+
+			ArrayList<Annotation> expected= new ArrayList<>();
+			iterator= fAnnotationModel.getAnnotationIterator();
+			Position region= new Position(regionOffset, regionLength);
+			while (iterator.hasNext()) {
+				Annotation annotation= iterator.next();
+				Position position= fAnnotationModel.getPosition(annotation);
+				if (!position.isDeleted() && isInside(region, position, canStartBefore, canEndAfter))
+					expected.add(annotation);
+			}
+			assertEquals(expected.toArray(new Annotation[expected.size()]), actual.toArray(new Annotation[actual.size()]), fAnnotationModel, fNewInnerModel, fAnnotationModel);
+		}
+	}
+
+	private static boolean isInside(Position region, Position position, boolean canStartBefore, boolean canEndAfter) {
+		int start= position.getOffset();
+		int last= start + position.getLength() - (position.getLength() > 0 ? 1 : 0);
+		if (canStartBefore && canEndAfter)
+			return region.overlapsWith(start, position.getLength());
+		else if (canStartBefore)
+			return region.includes(last);
+		else if (canEndAfter)
+			return region.includes(start);
+		else
+			return region.includes(start) && region.includes(last);
+	}
+
 }
@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.ArrayLineTracker;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DefaultLineTracker;
+import org.eclipse.jface.text.ILineTracker;
+import org.eclipse.jface.text.IRegion;
+
+public class ArrayLineTrackerTest {
+
+	private static final String[] FRAGMENTS= { "a", "bc", "\n", "\r", "\r\n", "x\ny", "\n\r", "\r\r\n\n", "" };
+
+	@Test
+	public void testSet() throws Exception {
+		String[] texts= { "", "a", "\n", "\r", "\r\n", "a\n", "a\r\nb", "\n\n", "\r\r\n\n", "line1\rline2\nline3\r\nline4" };
+		for (String text : texts) {
+			ILineTracker tracker= new ArrayLineTracker();
+			tracker.set(text);
+			checkTracker(text, tracker);
+		}
+	}
+
+	@Test
+	public void testSetLargeText() throws Exception {
+		// large enough to be scanned in parallel, with "\r\n" delimiters crossing the scanned segments
+		StringBuilder builder= new StringBuilder();
+		Random random= new Random(17);
+		while (builder.length() < 3 * 1024 * 1024)
+			builder.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+		String text= builder.toString();
+
+		ILineTracker tracker= new ArrayLineTracker();
+		tracker.set(text);
+		checkTracker(text, tracker);
+	}
+
+	@Test
+	public void testRandomReplace() throws Exception {
+		Random random= new Random(4711);
+		StringBuilder text= new StringBuilder();
+		ILineTracker tracker= new ArrayLineTracker();
+
+		for (int i= 0; i < 20000; i++) {
+			int offset= random.nextInt(text.length() + 1);
+			int length= random.nextInt(Math.min(text.length() - offset, 6) + 1);
+			StringBuilder inserted= new StringBuilder();
+			for (int j= random.nextInt(4); j > 0; j--)
+				inserted.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+			if (i % 1000 == 999) {
+				// large paste, spanning several blocks
+				for (int j= 0; j < 3000; j++)
+					inserted.append("line\n");
+			}
+
+			text.replace(offset, offset + length, inserted.toString());
+			tracker.replace(offset, length, inserted.toString());
+			if (i % 100 == 0)
+				checkTracker(text.toString(), tracker);
+		}
+		checkTracker(text.toString(), tracker);
+
+		// delete everything in steps
+		while (text.length() > 0) {
+			int length= Math.min(text.length(), 1 + random.nextInt(5000));
+			int offset= random.nextInt(text.length() - length + 1);
+			text.delete(offset, offset + length);
+			tracker.replace(offset, length, null);
+			assertEquals(tracker.computeNumberOfLines(text.toString()) + 1, tracker.getNumberOfLines());
+		}
+		checkTracker(text.toString(), tracker);
+	}
+
+	@Test
+	public void testBadLocations() throws Exception {
+		ILineTracker tracker= new ArrayLineTracker();
+		tracker.set("a\nb");
+		try {
+			tracker.replace(2, 2, "");
+			fail();
+		} catch (BadLocationException e) {
+			// expected
+		}
+		try {
+			tracker.getLineNumberOfOffset(4);
+			fail();
+		} catch (BadLocationException e) {
+			// expected
+		}
+		try {
+			tracker.getLineOffset(3);
+			fail();
+		} catch (BadLocationException e) {
+			// expected
+		}
+	}
+
+	/**
+	 * Sets a text that is scanned in several segments and compares the result with a
+	 * {@link DefaultLineTracker}.
+	 */
+	@Test
+	public void testLargeText() throws Exception {
+		StringBuilder builder= new StringBuilder();
+		for (int i= 0; i < 100_000; i++)
+			builder.append("int value").append(i).append(i % 7 == 0 ? " = 42;\r\n" : " = 42;\n");
+		String text= builder.toString();
+
+		ILineTracker tracker= new ArrayLineTracker();
+		tracker.set(text);
+		checkTracker(text, tracker);
+
+		tracker.replace(0, 0, "\n");
+		checkTracker("\n" + text, tracker);
+	}
+
+	/**
+	 * Compares the given tracker with a {@link DefaultLineTracker} set to the given text.
+	 */
+	private static void checkTracker(String text, ILineTracker actual) throws BadLocationException {
+		ILineTracker expected= new DefaultLineTracker();
+		expected.set(text);
+		int lines= expected.getNumberOfLines();
+		assertEquals(lines, actual.getNumberOfLines());
+		for (int line= 0; line < lines; line++) {
+			assertEquals(expected.getLineOffset(line), actual.getLineOffset(line));
+			assertEquals(expected.getLineLength(line), actual.getLineLength(line));
+			assertEquals(expected.getLineDelimiter(line), actual.getLineDelimiter(line));
+			assertRegion(expected.getLineInformation(line), actual.getLineInformation(line));
+		}
+
+		int step= Math.max(1, text.length() / 3000);
+		for (int offset= 0; offset < text.length() + step; offset+= step) {
+			offset= Math.min(offset, text.length());
+			assertEquals(expected.getLineNumberOfOffset(offset), actual.getLineNumberOfOffset(offset));
+			assertRegion(expected.getLineInformationOfOffset(offset), actual.getLineInformationOfOffset(offset));
+			int length= Math.min(text.length() - offset, offset % 100);
+			assertEquals(expected.getNumberOfLines(offset, length), actual.getNumberOfLines(offset, length));
+		}
+	}
+
+	private static void assertRegion(IRegion expected, IRegion actual) {
+		assertEquals(expected.getOffset(), actual.getOffset());
+		assertEquals(expected.getLength(), actual.getLength());
+	}
+}
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.ArrayLineTracker;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DefaultLineTracker;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.GapTextStore;
+import org.eclipse.jface.text.IDocumentSnapshot;
+import org.eclipse.jface.text.ILineTracker;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.PieceTableTextStore;
+
+public class DocumentSnapshotTest {
+
+	private static final String[] FRAGMENTS= { "a", "bc", "\n", "\r", "\r\n", "x\ny", "" };
+
+	@Test
+	public void testSnapshotOfDefaultDocument() throws Exception {
+		Document document= new Document("first\nsecond\r\nthird");
+		IDocumentSnapshot snapshot= document.getSnapshot();
+		long stamp= document.getModificationStamp();
+
+		document.replace(5, 1, "\r\n\r\n");
+		document.replace(0, 0, "zero\n");
+
+		assertEquals(stamp, snapshot.getModificationStamp());
+		assertNotEquals(stamp, document.getModificationStamp());
+		checkSnapshot("first\nsecond\r\nthird", snapshot);
+
+		snapshot= document.getSnapshot();
+		document.set("");
+		checkSnapshot("zero\nfirst\r\n\r\nsecond\r\nthird", snapshot);
+	}
+
+	@Test
+	public void testSnapshotsDuringRandomChanges() throws Exception {
+		checkRandomChanges(new Document("", new PieceTableTextStore(), new ArrayLineTracker()));
+		checkRandomChanges(new Document("", new GapTextStore(), new ArrayLineTracker()));
+		checkRandomChanges(new Document(""));
+	}
+
+	@Test
+	public void testReadSnapshotInBackground() throws Exception {
+		StringBuilder builder= new StringBuilder();
+		for (int i= 0; i < 100_000; i++)
+			builder.append("line ").append(i).append('\n');
+		String text= builder.toString();
+		Document document= new Document(text, new PieceTableTextStore(), new ArrayLineTracker());
+
+		IDocumentSnapshot snapshot= document.getSnapshot();
+		CompletableFuture<Integer> lines= CompletableFuture.supplyAsync(() -> {
+			int count= 0;
+			for (int i= 0; i < snapshot.length(); i++) {
+				if (snapshot.charAt(i) == '\n')
+					count++;
+			}
+			return count;
+		});
+		for (int i= 0; i < 1000; i++)
+			document.replace(i * 7, 1, "\n");
+
+		assertEquals(100_000, lines.get().intValue());
+		assertEquals(text, snapshot.toString());
+		assertEquals(100_001, snapshot.getNumberOfLines());
+	}
+
+	private static void checkRandomChanges(Document document) throws BadLocationException {
+		Random random= new Random(1234);
+		List<String> texts= new ArrayList<>();
+		List<IDocumentSnapshot> snapshots= new ArrayList<>();
+		for (int i= 0; i < 3000; i++) {
+			int offset= random.nextInt(document.getLength() + 1);
+			int length= random.nextInt(Math.min(document.getLength() - offset, 5) + 1);
+			StringBuilder inserted= new StringBuilder();
+			for (int j= random.nextInt(4); j > 0; j--)
+				inserted.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+			if (i % 500 == 499) {
+				for (int j= 0; j < 2000; j++)
+					inserted.append("line\n");
+			}
+			document.replace(offset, length, inserted.toString());
+
+			if (i % 100 == 0) {
+				texts.add(document.get());
+				snapshots.add(document.getSnapshot());
+			}
+		}
+		for (int i= 0; i < snapshots.size(); i++)
+			checkSnapshot(texts.get(i), snapshots.get(i));
+	}
+
+	/**
+	 * Compares the given snapshot with a {@link DefaultLineTracker} set to the given text.
+	 */
+	private static void checkSnapshot(String text, IDocumentSnapshot snapshot) throws BadLocationException {
+		assertEquals(text.length(), snapshot.length());
+		assertEquals(text, snapshot.toString());
+		for (int offset= 0; offset < text.length(); offset+= 7) {
+			assertEquals(text.charAt(offset), snapshot.charAt(offset));
+			int end= Math.min(text.length(), offset + 13);
+			assertEquals(text.substring(offset, end), snapshot.subSequence(offset, end).toString());
+			assertEquals(text.substring(offset, end), snapshot.get(offset, end - offset));
+		}
+
+		ILineTracker expected= new DefaultLineTracker();
+		expected.set(text);
+		int lines= expected.getNumberOfLines();
+		assertEquals(lines, snapshot.getNumberOfLines());
+		for (int line= 0; line < lines; line++) {
+			assertEquals(expected.getLineOffset(line), snapshot.getLineOffset(line));
+			assertEquals(expected.getLineLength(line), snapshot.getLineLength(line));
+			assertEquals(expected.getLineDelimiter(line), snapshot.getLineDelimiter(line));
+			assertRegion(expected.getLineInformation(line), snapshot.getLineInformation(line));
+		}
+		for (int offset= 0; offset <= text.length(); offset+= 5) {
+			assertEquals(expected.getLineNumberOfOffset(offset), snapshot.getLineOfOffset(offset));
+			assertRegion(expected.getLineInformationOfOffset(offset), snapshot.getLineInformationOfOffset(offset));
+		}
+	}
+
+	private static void assertRegion(IRegion expected, IRegion actual) {
+		assertEquals(expected.getOffset(), actual.getOffset());
+		assertEquals(expected.getLength(), actual.getLength());
+	}
+}
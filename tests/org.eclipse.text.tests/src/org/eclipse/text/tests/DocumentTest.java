@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,12 +16,17 @@ package org.eclipse.text.tests;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.BadPositionCategoryException;
+import org.eclipse.jface.text.DefaultPositionUpdater;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.Position;
@@ -471,4 +476,77 @@ public class DocumentTest {
 
 		checkPositions(positions);
 	}
+
+	private static Position[] sortedPositions(IDocument document) throws BadPositionCategoryException {
+		Position[] positions= document.getPositions(IDocument.DEFAULT_CATEGORY);
+		Arrays.sort(positions, Comparator.comparingInt((Position p) -> p.offset).thenComparingInt(p -> p.length));
+		return positions;
+	}
+
+	@Test
+	public void testUpdatePositionsWithChangedEndOrder() throws Exception {
+		Document document= new Document("0123456789abcdef");
+		Document reference= new Document(document.get());
+		reference.removePositionUpdater(reference.getPositionUpdaters()[0]);
+		reference.addPositionUpdater(new DefaultPositionUpdater(IDocument.DEFAULT_CATEGORY));
+		for (Position position : new Position[] { new Position(0, 10), new Position(5, 2), new Position(12, 2) }) {
+			document.addPosition(new Position(position.offset, position.length));
+			reference.addPosition(new Position(position.offset, position.length));
+		}
+
+		// the second position ends after the first one afterwards
+		document.replace(5, 5, "ab");
+		reference.replace(5, 5, "ab");
+		int length= document.getLength();
+		for (int offset= 0; offset <= length; offset++) {
+			document.replace(offset, 0, "x");
+			reference.replace(offset, 0, "x");
+			checkPositions(sortedPositions(reference), sortedPositions(document));
+		}
+	}
+
+	@Test
+	public void testUpdatePositionsAfterDirectChange() throws Exception {
+		Document document= new Document("0123456789abcdefghijklmn");
+		Position moved= new Position(0, 2);
+		document.addPosition(moved);
+		document.addPosition(new Position(5, 2));
+		document.addPosition(new Position(10, 2));
+
+		// the position now ends after the other ones, without the document knowing it
+		moved.setOffset(20);
+		document.replace(15, 0, "xyz");
+		assertEquals(new Position(23, 2), moved);
+	}
+
+	@Test
+	public void testUpdatePositionsComparedToFullScan() throws Exception {
+		for (int seed= 0; seed < 10; seed++) {
+			Random random= new Random(seed);
+			Document document= new Document(fDocument.get());
+			Document reference= new Document(fDocument.get());
+			reference.removePositionUpdater(reference.getPositionUpdaters()[0]);
+			reference.addPositionUpdater(new DefaultPositionUpdater(IDocument.DEFAULT_CATEGORY));
+
+			for (int i= 0; i < 300; i++) {
+				int offset= random.nextInt(document.getLength());
+				int length= random.nextInt(Math.min(30, document.getLength() - offset));
+				reference.addPosition(new Position(offset, length));
+				document.addPosition(new Position(offset, length));
+			}
+
+			for (int i= 0; i < 500; i++) {
+				int offset= random.nextInt(document.getLength() + 1);
+				int length= random.nextInt(Math.min(12, document.getLength() - offset) + 1);
+				String text= "xy\nz".substring(0, random.nextInt(5));
+				reference.replace(offset, length, text);
+				document.replace(offset, length, text);
+				if (document.getLength() < 100) {
+					document.replace(document.getLength(), 0, "refill\n");
+					reference.replace(reference.getLength(), 0, "refill\n");
+				}
+				checkPositions(sortedPositions(reference), sortedPositions(document));
+			}
+		}
+	}
 }
@@ -18,6 +18,14 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Set;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -113,6 +121,174 @@ public class DocumentUndoManagerTest {
 		fUndoManager.setMaximalUndoLevel(MAX_UNDO_LEVEL);
 	}
 
+	/**
+	 * Tests that large texts are compacted when the undo memory is limited.
+	 *
+	 * @throws ExecutionException   if undo fails
+	 * @throws BadLocationException if document change fails
+	 */
+	@Test
+	public void testUndoMemoryCompactsLargeTexts() throws ExecutionException, BadLocationException {
+		final String original = createRepeatedString("original text\n", 200_000);
+		final String replaced = createRepeatedString("replaced text\r\n", 200_000);
+		final IDocument document = new Document(original);
+		createUndoManager(document);
+		DocumentUndoManager undoManager = (DocumentUndoManager) fUndoManager;
+		undoManager.setMaximalUndoMemory(10_000_000);
+
+		document.replace(0, document.getLength(), replaced);
+		fUndoManager.commit();
+		assertTrue(undoManager.getUndoMemoryUsage() < original.length() / 10);
+
+		fUndoManager.undo();
+		assertEquals(original, document.get());
+		fUndoManager.redo();
+		assertEquals(replaced, document.get());
+		fUndoManager.undo();
+		assertEquals(original, document.get());
+	}
+
+	/**
+	 * Tests that texts too large to be kept in memory are written to temporary files.
+	 *
+	 * @throws ExecutionException   if undo fails
+	 * @throws BadLocationException if document change fails
+	 */
+	@Test
+	public void testUndoMemorySpillsVeryLargeTexts() throws ExecutionException, BadLocationException {
+		final String original = createRepeatedString("0123456789", 5_000_000);
+		final IDocument document = new Document(original);
+		createUndoManager(document);
+		DocumentUndoManager undoManager = (DocumentUndoManager) fUndoManager;
+		undoManager.setMaximalUndoMemory(1_000_000);
+
+		document.replace(0, document.getLength(), "");
+		fUndoManager.commit();
+		assertEquals(0, undoManager.getUndoMemoryUsage());
+
+		fUndoManager.undo();
+		assertEquals(original, document.get());
+		fUndoManager.redo();
+		assertEquals("", document.get());
+	}
+
+	/**
+	 * Tests that a compound change is not undone at all if the spilled text of one of its changes
+	 * cannot be restored.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testUndoMemoryCompoundChangeWithLostText() throws Exception {
+		final String original = createRepeatedString("0123456789", 5_000_000);
+		final IDocument document = new Document(original);
+		createUndoManager(document);
+		DocumentUndoManager undoManager = (DocumentUndoManager) fUndoManager;
+		undoManager.setMaximalUndoMemory(1_000_000);
+		Path tempDirectory = Paths.get(System.getProperty("java.io.tmpdir"));
+		Set<Path> existing = listUndoFiles(tempDirectory);
+
+		fUndoManager.beginCompoundChange();
+		document.replace(0, 0, "first");
+		document.replace(5, document.getLength() - 5, "");
+		document.replace(0, 0, "last");
+		fUndoManager.endCompoundChange();
+		fUndoManager.commit();
+		assertEquals("lastfirst", document.get());
+
+		Set<Path> spilled = listUndoFiles(tempDirectory);
+		spilled.removeAll(existing);
+		assertFalse(spilled.isEmpty());
+		for (Path file : spilled)
+			Files.delete(file);
+
+		fUndoManager.undo();
+		assertEquals("lastfirst", document.get());
+	}
+
+	private static Set<Path> listUndoFiles(Path directory) throws IOException {
+		Set<Path> files = new HashSet<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "undo*.bin")) {
+			for (Path file : stream)
+				files.add(file);
+		}
+		return files;
+	}
+
+	/**
+	 * Tests that the oldest changes are removed from the undo history when the undo memory
+	 * limit is exceeded.
+	 *
+	 * @throws ExecutionException   if undo fails
+	 * @throws BadLocationException if document change fails
+	 */
+	@Test
+	public void testUndoMemoryLimitRemovesOldestChanges() throws ExecutionException, BadLocationException {
+		final IDocument document = new Document("");
+		createUndoManager(document);
+		DocumentUndoManager undoManager = (DocumentUndoManager) fUndoManager;
+		undoManager.setMaximalUndoMemory(10_000);
+
+		String[] contents = new String[10];
+		for (int i = 0; i < contents.length; i++) {
+			contents[i] = document.get();
+			document.replace(document.getLength(), 0, createRandomString(1000));
+			fUndoManager.commit();
+			assertTrue(undoManager.getUndoMemoryUsage() <= 10_000);
+		}
+
+		int undone = 0;
+		while (fUndoManager.undoable()) {
+			fUndoManager.undo();
+			undone++;
+			assertEquals(contents[contents.length - undone], document.get());
+		}
+		assertTrue(undone >= 4 && undone < contents.length);
+
+		// the undone changes are kept for redo
+		assertTrue(undoManager.getUndoMemoryUsage() > 0);
+		fUndoManager.disconnect(this);
+		assertEquals(0, undoManager.getUndoMemoryUsage());
+		fUndoManager.connect(this);
+	}
+
+	/**
+	 * Tests that adjacent changes of a compound change are coalesced and can still be undone
+	 * and redone.
+	 *
+	 * @throws ExecutionException   if undo fails
+	 * @throws BadLocationException if document change fails
+	 */
+	@Test
+	public void testUndoMemoryCoalescesCompoundChanges() throws ExecutionException, BadLocationException {
+		final String original = createRepeatedString("abcdefghij", 1000);
+		final IDocument document = new Document(original);
+		createUndoManager(document);
+		DocumentUndoManager undoManager = (DocumentUndoManager) fUndoManager;
+		undoManager.setMaximalUndoMemory(1_000_000);
+
+		fUndoManager.beginCompoundChange();
+		for (int offset = 0; offset < 300; offset += 3) {
+			document.replace(offset, 2, "XYZ");
+		}
+		document.replace(1000, 10, "");
+		fUndoManager.endCompoundChange();
+		final String changed = document.get();
+		assertEquals(2 * (300 + 200 + 10), undoManager.getUndoMemoryUsage());
+
+		fUndoManager.undo();
+		assertEquals(original, document.get());
+		fUndoManager.redo();
+		assertEquals(changed, document.get());
+	}
+
+	private static String createRepeatedString(String part, int length) {
+		StringBuilder buffer = new StringBuilder(length + part.length());
+		while (buffer.length() < length)
+			buffer.append(part);
+		return buffer.toString();
+	}
+
 	/**
 	 * Randomly applies document changes.
 	 *
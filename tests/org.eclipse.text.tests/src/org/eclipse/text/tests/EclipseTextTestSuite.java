@@ -39,8 +39,13 @@ import org.eclipse.text.tests.templates.TemplatesTestSuite;
 		PositionUpdatingCornerCasesTest.class,
 		ExclusivePositionUpdaterTest.class,
 		TextEditTests.class,
+		TextEditBulkUpdateTest.class,
 		GapTextTest.class,
 		GapTextStoreTest.class,
+		PieceTableTextStoreTest.class,
+		MappedFileDocumentTest.class,
+		ArrayLineTrackerTest.class,
+		DocumentSnapshotTest.class,
 		ChildDocumentTest.class,
 		ProjectionTestSuite.class,
 		LinkTestSuite.class,
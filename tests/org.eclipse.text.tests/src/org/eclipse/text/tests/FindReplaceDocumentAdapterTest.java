@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,9 +27,13 @@ import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.FindReplaceDocumentAdapter;
+import org.eclipse.jface.text.IDocumentSnapshot;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Region;
 
@@ -503,4 +507,94 @@ public class FindReplaceDocumentAdapterTest {
 		}
 		fail();
 	}
+
+	@Test
+	public void testFindAll() throws Exception {
+		FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+
+		IRegion[] regions= adapter.findAll("comment", false, false, false, null);
+		assertEquals(3, regions.length);
+		assertEquals(new Region(26, 7), regions[0]);
+		assertEquals(new Region(64, 7), regions[1]);
+		assertEquals(new Region(108, 7), regions[2]);
+		assertEquals(3, adapter.countAll("comment", false, false, false, null));
+
+		assertEquals(1, adapter.countAll("comment", true, true, false, null));
+		assertEquals(2, adapter.countAll("comment\\d", true, false, true, null));
+		assertEquals(1, adapter.countAll("COMMENT1", false, false, false, null));
+		assertEquals(0, adapter.countAll("COMMENT1", true, false, false, null));
+		assertEquals(0, adapter.findAll("", true, false, false, null).length);
+
+		// empty matches are ignored
+		assertEquals(0, adapter.countAll("x*", true, false, true, null));
+		// \R matches line delimiters
+		assertEquals(12, adapter.countAll("\\R", true, false, true, null));
+	}
+
+	@Test
+	public void testFindAllComparedToFind() throws Exception {
+		FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+		String[][] searches= { { "public", "false" }, { "\\s+", "true" }, { "^\\s*//.*$", "true" }, { "[a-z]+\\(\\)", "true" } };
+		for (String[] search : searches) {
+			boolean regEx= Boolean.parseBoolean(search[1]);
+			IRegion[] regions= adapter.findAll(search[0], true, false, regEx, null);
+			int i= 0;
+			IRegion region= adapter.find(0, search[0], true, true, false, regEx);
+			while (region != null) {
+				assertEquals(region, regions[i++]);
+				region= adapter.find(region.getOffset() + region.getLength(), search[0], true, true, false, regEx);
+			}
+			assertEquals(i, regions.length);
+		}
+	}
+
+	@Test
+	public void testFindAllCanceled() throws Exception {
+		FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+		NullProgressMonitor monitor= new NullProgressMonitor();
+		monitor.setCanceled(true);
+		try {
+			adapter.findAll("comment", true, false, false, monitor);
+			fail();
+		} catch (OperationCanceledException e) {
+			// expected
+		}
+
+		// a long running match without any result is canceled as well
+		char[] chars= new char[200000];
+		Arrays.fill(chars, 'a');
+		fDocument.set(new String(chars));
+		try {
+			adapter.countAll("a*b", true, false, true, monitor);
+			fail();
+		} catch (OperationCanceledException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testFindAllInSnapshot() throws Exception {
+		FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+		IDocumentSnapshot snapshot= fDocument.getSnapshot();
+		String[][] searches= { { "comment", "false" }, { "\\s+", "true" }, { "^\\s*//.*$", "true" }, { "\\R", "true" } };
+		for (String[] search : searches) {
+			boolean regEx= Boolean.parseBoolean(search[1]);
+			IRegion[] expected= adapter.findAll(search[0], true, false, regEx, null);
+			assertArrayEquals(expected, FindReplaceDocumentAdapter.findAll(snapshot, search[0], true, false, regEx, null));
+		}
+
+		// the snapshot is not affected by later changes
+		IRegion[] regions= FindReplaceDocumentAdapter.findAll(snapshot, "comment", false, false, false, null);
+		fDocument.replace(0, 0, "comment ");
+		assertArrayEquals(regions, FindReplaceDocumentAdapter.findAll(snapshot, "comment", false, false, false, null));
+
+		NullProgressMonitor monitor= new NullProgressMonitor();
+		monitor.setCanceled(true);
+		try {
+			FindReplaceDocumentAdapter.findAll(snapshot, "comment", true, false, false, monitor);
+			fail();
+		} catch (OperationCanceledException e) {
+			// expected
+		}
+	}
 }
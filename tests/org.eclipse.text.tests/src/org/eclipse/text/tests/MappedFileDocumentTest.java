@@ -0,0 +1,257 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.MappedFileDocument;
+import org.eclipse.jface.text.MappedFileTextStore;
+import org.eclipse.jface.text.Position;
+
+public class MappedFileDocumentTest {
+
+	private Path fFile;
+
+	@Before
+	public void setUp() throws IOException {
+		fFile= Files.createTempFile("MappedFileDocumentTest", ".txt");
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(fFile);
+	}
+
+	@Test
+	public void testEmptyFile() throws Exception {
+		checkContent("", StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void testSmallFiles() throws Exception {
+		String[] contents= { "a", "\n", "\r", "\r\n", "a\n", "a\r\nb", "\n\n", "\r\r\n\n", "line1\rline2\nline3\r\nline4" };
+		for (String content : contents)
+			checkContent(content, StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void testLargeUTF8File() throws Exception {
+		checkContent(createContent(new Random(42), 400_000, "a", "b", "ä", "€", "😀"), StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void testLargeSingleByteFile() throws Exception {
+		checkContent(createContent(new Random(4711), 400_000, "a", "b", "ä"), StandardCharsets.ISO_8859_1);
+	}
+
+	@Test
+	public void testUTF8BOM() throws Exception {
+		byte[] text= "bom\ntext".getBytes(StandardCharsets.UTF_8);
+		byte[] bytes= new byte[text.length + 3];
+		bytes[0]= (byte) 0xEF;
+		bytes[1]= (byte) 0xBB;
+		bytes[2]= (byte) 0xBF;
+		System.arraycopy(text, 0, bytes, 3, text.length);
+		Files.write(fFile, bytes);
+
+		IDocument document= new MappedFileDocument(fFile, StandardCharsets.UTF_8);
+		assertEquals("bom\ntext", document.get());
+	}
+
+	@Test
+	public void testSupportedCharsets() throws Exception {
+		assertTrue(MappedFileTextStore.isSupported(StandardCharsets.UTF_8));
+		assertTrue(MappedFileTextStore.isSupported(StandardCharsets.ISO_8859_1));
+		assertTrue(MappedFileTextStore.isSupported(StandardCharsets.US_ASCII));
+		assertFalse(MappedFileTextStore.isSupported(StandardCharsets.UTF_16));
+	}
+
+	@Test
+	public void testReadOnly() throws Exception {
+		Files.writeString(fFile, "read only");
+		IDocument document= new MappedFileDocument(fFile, StandardCharsets.UTF_8);
+		int[] events= new int[1];
+		document.addDocumentListener(new IDocumentListener() {
+			@Override
+			public void documentAboutToBeChanged(DocumentEvent event) {
+				events[0]++;
+			}
+
+			@Override
+			public void documentChanged(DocumentEvent event) {
+				events[0]++;
+			}
+		});
+
+		try {
+			document.replace(0, 4, "");
+			fail();
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+		try {
+			document.set("");
+			fail();
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+		assertEquals(0, events[0]);
+		assertEquals("read only", document.get());
+	}
+
+	@Test
+	public void testReload() throws Exception {
+		Files.writeString(fFile, "first\nversion");
+		MappedFileDocument document= new MappedFileDocument(fFile, StandardCharsets.UTF_8);
+		Position position= new Position(6, 7);
+		document.addPosition(position);
+		long stamp= document.getModificationStamp();
+		int[] events= new int[1];
+		document.addDocumentListener(new IDocumentListener() {
+			@Override
+			public void documentAboutToBeChanged(DocumentEvent event) {
+				assertEquals(0, event.getOffset());
+				assertEquals(13, event.getLength());
+				assertNull(event.fText);
+				assertEquals("second\nversion\n", event.getText());
+				events[0]++;
+			}
+
+			@Override
+			public void documentChanged(DocumentEvent event) {
+				assertEquals("second\nversion\n", event.getText());
+				assertEquals(document.getModificationStamp(), event.getModificationStamp());
+				events[0]++;
+			}
+		});
+
+		CharSequence snapshot= document.getSnapshot();
+		Files.writeString(fFile, "second\nversion\n");
+		document.reload();
+		assertEquals(2, events[0]);
+		assertEquals("second\nversion\n", document.get());
+		assertEquals(3, document.getNumberOfLines());
+		assertTrue(stamp != document.getModificationStamp());
+		Document reference= new Document("first\nversion");
+		Position referencePosition= new Position(6, 7);
+		reference.addPosition(referencePosition);
+		reference.set("second\nversion\n");
+		assertEquals(referencePosition, position);
+
+		try {
+			snapshot.charAt(0);
+			fail("the mapping of the previous content has not been released");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testReloadDoesNotReadTheText() throws Exception {
+		Files.writeString(fFile, "first");
+		MappedFileDocument document= new MappedFileDocument(fFile, StandardCharsets.UTF_8);
+		Position position= new Position(0, 5);
+		document.addPosition(position);
+		DocumentEvent[] changed= new DocumentEvent[1];
+		document.addDocumentListener(new IDocumentListener() {
+			@Override
+			public void documentAboutToBeChanged(DocumentEvent event) {
+				// not interested
+			}
+
+			@Override
+			public void documentChanged(DocumentEvent event) {
+				changed[0]= event;
+			}
+		});
+
+		Files.writeString(fFile, "second version");
+		document.reload();
+		assertNull(changed[0].fText);
+		assertEquals(14, document.getLength());
+		assertTrue(position.isDeleted() || position.getOffset() + position.getLength() <= document.getLength());
+	}
+
+	private static String createContent(Random random, int length, String... characters) {
+		String[] delimiters= { "\n", "\r", "\r\n" };
+		StringBuilder builder= new StringBuilder(length);
+		while (builder.length() < length) {
+			if (random.nextInt(40) == 0)
+				builder.append(delimiters[random.nextInt(delimiters.length)]);
+			else
+				builder.append(characters[random.nextInt(characters.length)]);
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Writes the given content to the test file and compares a mapped document for it with a
+	 * {@link Document} for the same content.
+	 */
+	private void checkContent(String content, Charset charset) throws IOException, BadLocationException {
+		Files.write(fFile, content.getBytes(charset));
+		IDocument expected= new Document(content);
+		IDocument actual= new MappedFileDocument(fFile, charset);
+
+		assertEquals(expected.getLength(), actual.getLength());
+		assertEquals(expected.get(), actual.get());
+		assertEquals(expected.getNumberOfLines(), actual.getNumberOfLines());
+
+		int lines= expected.getNumberOfLines();
+		for (int line= 0; line < lines; line++) {
+			assertEquals(expected.getLineDelimiter(line), actual.getLineDelimiter(line));
+			assertRegion(expected.getLineInformation(line), actual.getLineInformation(line));
+			assertEquals(expected.getLineLength(line), actual.getLineLength(line));
+			assertEquals(expected.getLineOffset(line), actual.getLineOffset(line));
+		}
+
+		int step= Math.max(1, content.length() / 5000);
+		for (int offset= 0; offset < content.length() + step; offset+= step) {
+			offset= Math.min(offset, content.length());
+			assertEquals(expected.getLineOfOffset(offset), actual.getLineOfOffset(offset));
+			assertRegion(expected.getLineInformationOfOffset(offset), actual.getLineInformationOfOffset(offset));
+			if (offset < content.length())
+				assertEquals(expected.getChar(offset), actual.getChar(offset));
+			int length= Math.min(content.length() - offset, offset % 1000);
+			assertEquals(expected.get(offset, length), actual.get(offset, length));
+			assertEquals(expected.getNumberOfLines(offset, length), actual.getNumberOfLines(offset, length));
+		}
+	}
+
+	private static void assertRegion(IRegion expected, IRegion actual) {
+		assertEquals(expected.getOffset(), actual.getOffset());
+		assertEquals(expected.getLength(), actual.getLength());
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 Thomas Wolf and others.
+ * Copyright (c) 2019, 2026 Thomas Wolf and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,9 +14,13 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.Test;
 
@@ -46,6 +50,10 @@ public class MultiStringMatcherTest {
 	}
 
 	private static void testList(List<Match> matches, String expected) {
+		assertEquals("Unexpected results", expected, sort(matches).toString());
+	}
+
+	private static List<Match> sort(List<Match> matches) {
 		Collections.sort(matches, (a, b) -> {
 			int cmp = Integer.compare(a.getOffset(), b.getOffset());
 			if (cmp != 0) {
@@ -53,7 +61,7 @@ public class MultiStringMatcherTest {
 			}
 			return Integer.compare(a.getText().length(), b.getText().length());
 		});
-		assertEquals("Unexpected results", expected, matches.toString());
+		return matches;
 	}
 
 	@Test
@@ -474,6 +482,121 @@ public class MultiStringMatcherTest {
 		assertEquals("Scanned too far", 5, text.getLastIndex());
 	}
 
+	@Test
+	public void ignoreCase001() throws Exception {
+		MultiStringMatcher m = MultiStringMatcher.builder(true, false).add("he", "SHE", "His", "hERs").build();
+		testList(m.find("uShErS", 0), "[[SHE, 1], [he, 2], [hERs, 2]]");
+		test(m.indexOf("dddHISheddd", 0), "His", 3);
+	}
+
+	@Test
+	public void ignoreCase002() throws Exception {
+		MultiStringMatcher m = MultiStringMatcher.builder(true, true).add("stra\u00DFe", "\u00C4rger").build();
+		test(m.indexOf("Die STRA\u00DFE, \u00E4RGER", 0), "stra\u00DFe", 4);
+		test(m.indexOf("Die STRA\u00DFE, \u00E4RGER", 5), "\u00C4rger", 12);
+		// the Kelvin sign is folded to an ASCII 'k'
+		test(MultiStringMatcher.builder(true, true).add("ok").build().indexOf("O\u212A", 0), "ok", 0);
+	}
+
+	@Test
+	public void nonOverlapping001() throws Exception {
+		MultiStringMatcher m = MultiStringMatcher.create("he", "she", "his", "hers");
+		List<Match> matches = new ArrayList<>();
+		m.findNonOverlapping("ushershishe", 0, matches::add);
+		assertEquals("[[she, 1], [his, 6], [he, 9]]", matches.toString());
+	}
+
+	@Test
+	public void nonOverlapping002() throws Exception {
+		MultiStringMatcher m = MultiStringMatcher.builder(false, true).add("x", "xx", "xxx").build();
+		List<Match> matches = new ArrayList<>();
+		m.findNonOverlapping("xxxxxxxx", 1, matches::add);
+		assertEquals("[[xxx, 1], [xxx, 4], [x, 7]]", matches.toString());
+	}
+
+	@Test
+	public void compiledScan() throws Exception {
+		String[][] tests = { { "xxxxxxxxxxxxxxxxxxxx", "3", "x", "xx", "xxx", "xxxx" }, { "ddcababababababcabxdd", "5", "ca", "cabx", "ababc" },
+				{ "ddcabarbarazz", "5", "a", "cabby", "barbara" } };
+		for (String[] test : tests) {
+			TestCharSequence text = new TestCharSequence(test[0]);
+			String[] needles = Arrays.copyOfRange(test, 2, test.length);
+			MultiStringMatcher m = MultiStringMatcher.builder(false, true).add(needles).build();
+			assertEquals(MultiStringMatcher.indexOf(test[0], 0, needles).toString(), m.indexOf(text, 0).toString());
+			assertEquals("Algorithm backtracked", 0, text.getBackTrack());
+			assertEquals("Scanned too far", Integer.parseInt(test[1]), text.getLastIndex());
+		}
+	}
+
+	@Test
+	public void compiledRandom() throws Exception {
+		Random random = new Random(31);
+		String alphabet = "abcAB\u00E4\u00C4\u0131I";
+		for (int i = 0; i < 300; i++) {
+			String[] needles = new String[1 + random.nextInt(8)];
+			for (int j = 0; j < needles.length; j++) {
+				needles[j] = randomString(random, alphabet, 1 + random.nextInt(4));
+			}
+			String text = randomString(random, alphabet, random.nextInt(60));
+			boolean ignoreCase = random.nextBoolean();
+			MultiStringMatcher expected = MultiStringMatcher.builder(ignoreCase, false).add(needles).build();
+			MultiStringMatcher actual = MultiStringMatcher.builder(ignoreCase, true).add(needles).build();
+
+			testList(actual.find(text, 0), sort(expected.find(text, 0)).toString());
+			for (int offset = 0; offset <= text.length(); offset++) {
+				assertEquals(String.valueOf(expected.indexOf(text, offset)), String.valueOf(actual.indexOf(text, offset)));
+			}
+			List<Match> expectedMatches = new ArrayList<>();
+			List<Match> actualMatches = new ArrayList<>();
+			expected.findNonOverlapping(text, 0, expectedMatches::add);
+			actual.findNonOverlapping(text, 0, actualMatches::add);
+			assertEquals(expectedMatches.toString(), actualMatches.toString());
+			if (ignoreCase) {
+				for (Match match : actualMatches) {
+					assertEquals(0, text.substring(match.getOffset(), match.getOffset() + match.getText().length()).compareToIgnoreCase(match.getText()));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Finds all occurrences of 2000 keywords in a large text with a compiled and a non-compiled
+	 * matcher.
+	 */
+	@Test
+	public void compiledManyKeywords() throws Exception {
+		Random random = new Random(5);
+		String alphabet = "abcdefghijklmnopqrstuvwxyz_";
+		String[] keywords = new String[2000];
+		for (int i = 0; i < keywords.length; i++) {
+			keywords[i] = randomString(random, alphabet, 3 + random.nextInt(8));
+		}
+		StringBuilder builder = new StringBuilder();
+		while (builder.length() < 500_000) {
+			builder.append(random.nextInt(4) == 0 ? keywords[random.nextInt(keywords.length)] : randomString(random, alphabet, 1 + random.nextInt(10)));
+			builder.append(random.nextInt(10) == 0 ? '\n' : ' ');
+		}
+		String text = builder.toString();
+		MultiStringMatcher matcher = MultiStringMatcher.create(keywords);
+		MultiStringMatcher compiled = MultiStringMatcher.builder(false, true).add(keywords).build();
+
+		List<String> matches = new ArrayList<>();
+		List<String> compiledMatches = new ArrayList<>();
+		matcher.findNonOverlapping(text, 0, m -> matches.add(m.getOffset() + ":" + m.getText()));
+		compiled.findNonOverlapping(text, 0, m -> compiledMatches.add(m.getOffset() + ":" + m.getText()));
+
+		assertTrue(matches.size() > 0);
+		assertEquals(matches, compiledMatches);
+	}
+
+	private static String randomString(Random random, String alphabet, int length) {
+		StringBuilder builder = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+		}
+		return builder.toString();
+	}
+
 	private static class TestCharSequence implements CharSequence {
 
 		private final String value;
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.GapTextStore;
+import org.eclipse.jface.text.ITextStore;
+import org.eclipse.jface.text.PieceTableTextStore;
+
+public class PieceTableTextStoreTest extends TextStoreTest {
+
+	@Override
+	protected ITextStore createTextStore() {
+		return new PieceTableTextStore();
+	}
+
+	@Test
+	public void testRandomEdits() throws Exception {
+		Random random= new Random(4711);
+		ITextStore store= createTextStore();
+		StringBuilder expected= new StringBuilder("0123456789\nabcdefghij\n");
+		store.set(expected.toString());
+
+		for (int i= 0; i < 5000; i++) {
+			int offset= random.nextInt(expected.length() + 1);
+			int length= random.nextInt(Math.min(8, expected.length() - offset) + 1);
+			String text= i % 3 == 0 ? "" : Integer.toString(i);
+			expected.replace(offset, offset + length, text);
+			store.replace(offset, length, text);
+			assertEquals(expected.length(), store.getLength());
+			if (i % 100 == 0)
+				assertEquals(expected.toString(), store.get(0, store.getLength()));
+		}
+
+		assertEquals(expected.toString(), store.get(0, store.getLength()));
+		for (int i= 0; i < 1000; i++) {
+			int offset= random.nextInt(expected.length());
+			int length= random.nextInt(expected.length() - offset + 1);
+			assertEquals(expected.charAt(offset), store.get(offset));
+			assertEquals(expected.substring(offset, offset + length), store.get(offset, length));
+		}
+	}
+
+	/**
+	 * Alternates edits between the start and the end of a text and compares the result with a
+	 * {@link GapTextStore}.
+	 */
+	@Test
+	public void testDistantEdits() throws Exception {
+		StringBuilder content= new StringBuilder();
+		while (content.length() < 64 * 1024)
+			content.append("select * from table where id = 42;\n");
+
+		ITextStore pieceTable= createTextStore();
+		ITextStore gap= new GapTextStore();
+		pieceTable.set(content.toString());
+		gap.set(content.toString());
+
+		runDistantEdits(pieceTable);
+		runDistantEdits(gap);
+
+		assertEquals(gap.getLength(), pieceTable.getLength());
+		assertEquals(gap.get(0, gap.getLength()), pieceTable.get(0, pieceTable.getLength()));
+	}
+
+	private static void runDistantEdits(ITextStore store) {
+		for (int i= 0; i < 2000; i++) {
+			int offset= i % 2 == 0 ? i : store.getLength() - i;
+			store.replace(offset, 1, "xy");
+		}
+	}
+
+	@Test
+	public void testDocument() throws Exception {
+		Document document= new Document("a\nb\nc", new PieceTableTextStore());
+		assertEquals(3, document.getNumberOfLines());
+		document.replace(2, 1, "xyz\n");
+		assertEquals("a\nxyz\n\nc", document.get());
+		assertEquals(4, document.getNumberOfLines());
+		assertEquals("xyz", document.get(document.getLineOffset(1), document.getLineLength(1) - 1));
+	}
+}
@@ -0,0 +1,362 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.text.edits.DeleteEdit;
+import org.eclipse.text.edits.InsertEdit;
+import org.eclipse.text.edits.MoveSourceEdit;
+import org.eclipse.text.edits.MoveTargetEdit;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.RangeMarker;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.text.edits.TextEditCopier;
+import org.eclipse.text.edits.UndoEdit;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.DocumentRewriteSession;
+import org.eclipse.jface.text.DocumentRewriteSessionEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.Position;
+
+public class TextEditBulkUpdateTest {
+
+	private static final int STYLE= TextEdit.CREATE_UNDO | TextEdit.UPDATE_REGIONS;
+
+	@Test
+	public void testRandomTrees() throws Exception {
+		Random random= new Random(1234);
+		for (int i= 0; i < 200; i++) {
+			String text= createText(random, random.nextInt(500));
+			checkTree(text, createTree(random, text.length(), random.nextInt(40)));
+		}
+	}
+
+	@Test
+	public void testMove() throws Exception {
+		MultiTextEdit root= new MultiTextEdit();
+		MoveSourceEdit source= new MoveSourceEdit(2, 3);
+		MoveTargetEdit target= new MoveTargetEdit(8, source);
+		source.addChild(new ReplaceEdit(3, 1, "xyz"));
+		root.addChild(source);
+		root.addChild(new InsertEdit(6, "ins"));
+		root.addChild(target);
+		root.addChild(new RangeMarker(9, 1));
+		checkTree("0123456789", root);
+	}
+
+	@Test
+	public void testSingleEvent() throws Exception {
+		IDocument document= new Document("0123456789");
+		Position position= new Position(0, 1);
+		document.addPosition(position);
+		List<DocumentEvent> events= new ArrayList<>();
+		document.addDocumentListener(new IDocumentListener() {
+			@Override
+			public void documentAboutToBeChanged(DocumentEvent event) {
+			}
+
+			@Override
+			public void documentChanged(DocumentEvent event) {
+				events.add(event);
+			}
+		});
+
+		MultiTextEdit root= new MultiTextEdit();
+		root.addChild(new ReplaceEdit(2, 1, "ab"));
+		root.addChild(new DeleteEdit(5, 2));
+		root.addChild(new InsertEdit(8, "c"));
+		root.apply(document, STYLE | TextEdit.BULK_UPDATE);
+
+		assertEquals("01ab347c89", document.get());
+		assertEquals(1, events.size());
+		assertEquals(2, events.get(0).getOffset());
+		assertEquals(6, events.get(0).getLength());
+		assertEquals("ab347c", events.get(0).getText());
+		assertEquals(new Position(0, 1), position);
+	}
+
+	@Test
+	public void testRewriteSessionWithPositions() throws Exception {
+		Document document= new Document("0123456789abcdefghij");
+		Position[] positions= { new Position(4, 2), new Position(9, 1), new Position(13, 3) };
+		for (Position position : positions)
+			document.addPosition(position);
+		List<DocumentRewriteSessionEvent> sessionEvents= new ArrayList<>();
+		document.addDocumentRewriteSessionListener(sessionEvents::add);
+		List<DocumentRewriteSession> activeSessions= new ArrayList<>();
+		document.addDocumentListener(new IDocumentListener() {
+			@Override
+			public void documentAboutToBeChanged(DocumentEvent event) {
+			}
+
+			@Override
+			public void documentChanged(DocumentEvent event) {
+				activeSessions.add(document.getActiveRewriteSession());
+			}
+		});
+
+		MultiTextEdit root= new MultiTextEdit();
+		root.addChild(new ReplaceEdit(2, 1, "ab"));
+		root.addChild(new DeleteEdit(7, 1));
+		root.addChild(new InsertEdit(11, "c"));
+		root.addChild(new ReplaceEdit(17, 2, "xyz"));
+		root.apply(document, STYLE | TextEdit.BULK_UPDATE);
+
+		assertEquals("01ab345689acbcdefgxyzj", document.get());
+		assertEquals(new Position(5, 2), positions[0]);
+		assertEquals(new Position(9, 1), positions[1]);
+		assertEquals(new Position(14, 3), positions[2]);
+
+		// one replace per edit, all within one rewrite session
+		assertEquals(4, activeSessions.size());
+		assertNotNull(activeSessions.get(0));
+		for (DocumentRewriteSession session : activeSessions)
+			assertEquals(activeSessions.get(0), session);
+		assertEquals(2, sessionEvents.size());
+		assertEquals(DocumentRewriteSessionEvent.SESSION_START, sessionEvents.get(0).getChangeType());
+		assertEquals(DocumentRewriteSessionEvent.SESSION_STOP, sessionEvents.get(1).getChangeType());
+		assertNull(document.getActiveRewriteSession());
+	}
+
+	@Test
+	public void testSingleEventWithoutRewriteSession() throws Exception {
+		Document document= new Document("0123456789");
+		List<DocumentRewriteSessionEvent> sessionEvents= new ArrayList<>();
+		document.addDocumentRewriteSessionListener(sessionEvents::add);
+
+		MultiTextEdit root= new MultiTextEdit();
+		root.addChild(new ReplaceEdit(2, 1, "ab"));
+		root.addChild(new DeleteEdit(5, 2));
+		root.apply(document, STYLE | TextEdit.BULK_UPDATE);
+
+		assertEquals("01ab34789", document.get());
+		assertEquals(0, sessionEvents.size());
+	}
+
+	@Test
+	public void testPositionBetweenDistantEdits() throws Exception {
+		IDocument document= new Document("0123456789abcdefghij");
+		Position between= new Position(8, 4);
+		Position before= new Position(1, 2);
+		Position overlapping= new Position(14, 4);
+		document.addPosition(between);
+		document.addPosition(before);
+		document.addPosition(overlapping);
+		int[] events= new int[1];
+		document.addDocumentListener(new IDocumentListener() {
+			@Override
+			public void documentAboutToBeChanged(DocumentEvent event) {
+			}
+
+			@Override
+			public void documentChanged(DocumentEvent event) {
+				events[0]++;
+			}
+		});
+
+		MultiTextEdit root= new MultiTextEdit();
+		root.addChild(new ReplaceEdit(3, 2, "xyz"));
+		root.addChild(new DeleteEdit(15, 4));
+		root.apply(document, STYLE | TextEdit.BULK_UPDATE);
+
+		assertEquals("012xyz56789abcdej", document.get());
+		assertEquals(2, events[0]);
+		assertEquals(new Position(9, 4), between);
+		assertEquals(new Position(1, 2), before);
+		assertEquals(new Position(15, 1), overlapping);
+	}
+
+	@Test
+	public void testNoChange() throws Exception {
+		IDocument document= new Document("0123456789");
+		int[] events= new int[1];
+		document.addDocumentListener(new IDocumentListener() {
+			@Override
+			public void documentAboutToBeChanged(DocumentEvent event) {
+				events[0]++;
+			}
+
+			@Override
+			public void documentChanged(DocumentEvent event) {
+				events[0]++;
+			}
+		});
+		MultiTextEdit root= new MultiTextEdit();
+		root.addChild(new RangeMarker(3, 2));
+		UndoEdit undo= root.apply(document, STYLE | TextEdit.BULK_UPDATE);
+		assertEquals("0123456789", document.get());
+		assertEquals(0, events[0]);
+		assertEquals(0, undo.getChildrenSize());
+	}
+
+	@Test
+	public void testManyEditsWithPositions() throws Exception {
+		StringBuilder builder= new StringBuilder();
+		for (int i= 0; i < 2000; i++)
+			builder.append("int  value").append(i).append("=42 ;\n");
+		String text= builder.toString();
+
+		MultiTextEdit root= new MultiTextEdit();
+		int offset= 0;
+		for (int i= 0; i < 2000; i++) {
+			root.addChild(new DeleteEdit(offset + 4, 1));
+			offset= text.indexOf('\n', offset) + 1;
+		}
+		MultiTextEdit bulkRoot= (MultiTextEdit) new TextEditCopier(root).perform();
+
+		IDocument document= new Document(text);
+		IDocument bulkDocument= new Document(text);
+		// one position per hundred lines, between the edits
+		for (int i= 0; i < 2000; i+= 100) {
+			int lineOffset= document.getLineOffset(i);
+			document.addPosition(new Position(lineOffset + 6, 3));
+			bulkDocument.addPosition(new Position(lineOffset + 6, 3));
+		}
+		int[] events= new int[1];
+		bulkDocument.addDocumentListener(new IDocumentListener() {
+			@Override
+			public void documentAboutToBeChanged(DocumentEvent event) {
+			}
+
+			@Override
+			public void documentChanged(DocumentEvent event) {
+				events[0]++;
+			}
+		});
+
+		root.apply(document, STYLE);
+		bulkRoot.apply(bulkDocument, STYLE | TextEdit.BULK_UPDATE);
+
+		assertEquals(document.get(), bulkDocument.get());
+		checkPositions(document, bulkDocument);
+		assertEquals(21, events[0]);
+	}
+
+	/**
+	 * Applies a copy of the given tree with and without {@link TextEdit#BULK_UPDATE} and compares
+	 * the resulting text, the regions of the edits and the undo.
+	 */
+	private static void checkTree(String text, TextEdit root) throws Exception {
+		TextEdit bulkRoot= new TextEditCopier(root).perform();
+		IDocument expected= new Document(text);
+		IDocument actual= new Document(text);
+		Random random= new Random(text.length());
+		for (int i= 0; i < text.length() / 10; i++) {
+			int offset= random.nextInt(text.length() + 1);
+			int length= random.nextInt(Math.min(20, text.length() - offset) + 1);
+			expected.addPosition(new Position(offset, length));
+			actual.addPosition(new Position(offset, length));
+		}
+
+		UndoEdit expectedUndo= root.apply(expected, STYLE);
+		UndoEdit actualUndo= bulkRoot.apply(actual, STYLE | TextEdit.BULK_UPDATE);
+		assertEquals(expected.get(), actual.get());
+		checkPositions(expected, actual);
+		checkRegions(root, bulkRoot);
+		assertEquals(expectedUndo.getOffset(), actualUndo.getOffset());
+		assertEquals(expectedUndo.getLength(), actualUndo.getLength());
+
+		UndoEdit redo= actualUndo.apply(actual, TextEdit.CREATE_UNDO | TextEdit.BULK_UPDATE);
+		assertEquals(text, actual.get());
+		redo.apply(actual);
+		assertEquals(expected.get(), actual.get());
+	}
+
+	private static void checkPositions(IDocument expected, IDocument actual) throws Exception {
+		Position[] expectedPositions= expected.getPositions(IDocument.DEFAULT_CATEGORY);
+		Position[] actualPositions= actual.getPositions(IDocument.DEFAULT_CATEGORY);
+		assertEquals(expectedPositions.length, actualPositions.length);
+		for (int i= 0; i < expectedPositions.length; i++)
+			assertEquals(expectedPositions[i], actualPositions[i]);
+	}
+
+	private static void checkRegions(TextEdit expected, TextEdit actual) {
+		assertEquals(expected.isDeleted(), actual.isDeleted());
+		if (!expected.isDeleted()) {
+			assertEquals(expected.getOffset(), actual.getOffset());
+			assertEquals(expected.getLength(), actual.getLength());
+		}
+		TextEdit[] expectedChildren= expected.getChildren();
+		TextEdit[] actualChildren= actual.getChildren();
+		assertEquals(expectedChildren.length, actualChildren.length);
+		for (int i= 0; i < expectedChildren.length; i++)
+			checkRegions(expectedChildren[i], actualChildren[i]);
+	}
+
+	/**
+	 * Creates a tree of non-overlapping inserts, deletes, replaces and range markers, some of them
+	 * grouped by nested multi text edits.
+	 */
+	private static TextEdit createTree(Random random, int length, int edits) {
+		MultiTextEdit root= new MultiTextEdit();
+		int offset= 0;
+		MultiTextEdit group= null;
+		for (int i= 0; i < edits && offset <= length; i++) {
+			int editOffset= offset + random.nextInt(Math.max(1, Math.min(20, length - offset + 1)));
+			editOffset= Math.min(editOffset, length);
+			int editLength= random.nextInt(Math.min(10, length - editOffset) + 1);
+			TextEdit edit;
+			switch (random.nextInt(4)) {
+				case 0:
+					edit= new InsertEdit(editOffset, createText(random, random.nextInt(5)));
+					editLength= 0;
+					break;
+				case 1:
+					edit= new DeleteEdit(editOffset, editLength);
+					break;
+				case 2:
+					edit= new ReplaceEdit(editOffset, editLength, createText(random, random.nextInt(15)));
+					break;
+				default:
+					edit= new RangeMarker(editOffset, editLength);
+					break;
+			}
+			if (group == null && random.nextInt(5) == 0)
+				group= new MultiTextEdit();
+			if (group != null) {
+				group.addChild(edit);
+				if (random.nextInt(3) == 0) {
+					root.addChild(group);
+					group= null;
+				}
+			} else {
+				root.addChild(edit);
+			}
+			offset= editOffset + Math.max(editLength, 1);
+		}
+		if (group != null)
+			root.addChild(group);
+		return root;
+	}
+
+	private static String createText(Random random, int length) {
+		StringBuilder builder= new StringBuilder(length);
+		for (int i= 0; i < length; i++)
+			builder.append((char) ('a' + random.nextInt(26)));
+		return builder.toString();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 Thomas Wolf and others.
+ * Copyright (c) 2019, 2026 Thomas Wolf and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.ui.editors.tests;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.BufferedWriter;
@@ -43,8 +44,10 @@ import org.eclipse.ui.ide.IDE;
 import org.eclipse.ui.internal.editors.text.EditorsPlugin;
 import org.eclipse.ui.intro.IIntroPart;
 
+import org.eclipse.ui.texteditor.AbstractDecoratedTextEditorPreferenceConstants;
 import org.eclipse.ui.texteditor.AbstractTextEditor;
 import org.eclipse.ui.texteditor.ITextEditor;
+import org.eclipse.ui.texteditor.ITextEditorExtension3;
 
 /**
  * Tests opening large files in a text editor.
@@ -84,6 +87,8 @@ public class LargeFileTest {
 		ResourceHelper.deleteProject("LargeFileTestProject");
 		fLargeFile= null;
 		preferenceStore.setValue(AbstractTextEditor.PREFERENCE_WORD_WRAP_ENABLED, initialWordWrap);
+		preferenceStore.setToDefault(AbstractTextEditor.PREFERENCE_LARGE_FILE_SIZE_LIMIT);
+		preferenceStore.setToDefault(AbstractDecoratedTextEditorPreferenceConstants.QUICK_DIFF_ALWAYS_ON);
 		TestUtil.cleanUp();
 	}
 
@@ -136,4 +141,24 @@ public class LargeFileTest {
 				+ (baseline[0] / 1000000.0f) + "ms without",
 				withMarker[0] / 2 <= baseline[0]);
 	}
+
+	@Test
+	public void openLargeFileInLargeFileProfile() throws Exception {
+		IWorkbenchPage page= PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage();
+		preferenceStore.setValue(AbstractDecoratedTextEditorPreferenceConstants.QUICK_DIFF_ALWAYS_ON, true);
+
+		IEditorPart part = IDE.openEditor(page, fLargeFile);
+		TestUtil.runEventLoop();
+		assertTrue("Expected quick diff below the limit", ((ITextEditorExtension3) part).isChangeInformationShowing());
+		page.closeEditor(part, false);
+		TestUtil.runEventLoop();
+
+		// the file has about 800000 characters
+		preferenceStore.setValue(AbstractTextEditor.PREFERENCE_LARGE_FILE_SIZE_LIMIT, 100000);
+		part = IDE.openEditor(page, fLargeFile);
+		TestUtil.runEventLoop();
+		assertFalse("Expected no quick diff above the limit", ((ITextEditorExtension3) part).isChangeInformationShowing());
+		page.closeEditor(part, false);
+		TestUtil.runEventLoop();
+	}
 }
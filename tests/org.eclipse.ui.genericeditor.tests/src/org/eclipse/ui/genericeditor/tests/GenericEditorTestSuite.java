@@ -31,6 +31,7 @@ import org.junit.runners.Suite.SuiteClasses;
 		AutoEditTest.class,
 		ReconcilerTest.class,
 		HighlightTest.class,
+		WordIndexTest.class,
 		IconsTest.class,
 		TestQuickAssist.class,
 		DoubleClickTest.class
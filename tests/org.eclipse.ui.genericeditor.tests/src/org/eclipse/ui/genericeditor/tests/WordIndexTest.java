@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.genericeditor.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.Region;
+
+import org.eclipse.ui.internal.genericeditor.WordIndex;
+
+/**
+ * Tests that the {@link WordIndex} finds the same occurrences as a scan of the whole document.
+ */
+public class WordIndexTest {
+
+	private static final String[] WORDS= { "alpha", "beta", "gamma", "x", "\u00e4\u00f6\u00fc", "a_1", "beta2" };
+
+	private static final String[] SEPARATORS= { " ", "\n", "\r\n", "\t", ". ", ", ", "()" };
+
+	private static String createText(Random random, int length) {
+		StringBuilder builder= new StringBuilder();
+		while (builder.length() < length) {
+			builder.append(WORDS[random.nextInt(WORDS.length)]);
+			builder.append(SEPARATORS[random.nextInt(SEPARATORS.length)]);
+		}
+		return builder.toString();
+	}
+
+	private static List<Position> scan(IDocument document, String word) {
+		List<Position> positions= new ArrayList<>();
+		Matcher m= WordIndex.WORD_PATTERN.matcher(document.get());
+		while (m.find()) {
+			if (m.group().equals(word))
+				positions.add(new Position(m.start(), m.end() - m.start()));
+		}
+		return positions;
+	}
+
+	private static void assertSameAsScan(WordIndex index, IDocument document) {
+		for (String word : WORDS)
+			assertEquals(word, scan(document, word), index.findOccurrences(word, null));
+	}
+
+	@Test
+	public void testNotBuilt() {
+		IDocument document= new Document("alpha beta alpha");
+		WordIndex index= new WordIndex(document);
+		assertFalse(index.isBuilt());
+		assertNull(index.findOccurrences("alpha", null));
+		assertTrue(index.build());
+		assertEquals(2, index.findOccurrences("alpha", null).size());
+	}
+
+	@Test
+	public void testRegion() {
+		IDocument document= new Document("alpha beta\nalpha beta\nalpha beta");
+		WordIndex index= new WordIndex(document);
+		index.build();
+		List<Position> positions= index.findOccurrences("alpha", new Region(11, 10));
+		assertEquals(1, positions.size());
+		assertEquals(new Position(11, 5), positions.get(0));
+	}
+
+	@Test
+	public void testRandomEdits() throws Exception {
+		Random random= new Random(42);
+		IDocument document= new Document(createText(random, 50000));
+		WordIndex index= new WordIndex(document);
+		index.connect();
+		assertTrue(index.build());
+		assertSameAsScan(index, document);
+
+		for (int i= 0; i < 500; i++) {
+			int offset= random.nextInt(document.getLength() + 1);
+			int length= Math.min(random.nextInt(i % 10 == 0 ? 10000 : 20), document.getLength() - offset);
+			String text;
+			switch (random.nextInt(4)) {
+				case 0:
+					text= "";
+					break;
+				case 1:
+					text= WORDS[random.nextInt(WORDS.length)];
+					break;
+				case 2:
+					text= SEPARATORS[random.nextInt(SEPARATORS.length)];
+					break;
+				default:
+					text= createText(random, random.nextInt(i % 10 == 0 ? 10000 : 100));
+			}
+			document.replace(offset, length, text);
+			assertSameAsScan(index, document);
+		}
+
+		document.set("");
+		assertSameAsScan(index, document);
+		document.replace(0, 0, "gamma gamma");
+		assertSameAsScan(index, document);
+		index.disconnect();
+	}
+
+	@Test
+	public void testLongWord() throws Exception {
+		StringBuilder builder= new StringBuilder();
+		for (int i= 0; i < 10000; i++)
+			builder.append('x');
+		IDocument document= new Document(builder + " x " + builder);
+		WordIndex index= new WordIndex(document);
+		index.connect();
+		index.build();
+		assertEquals(1, index.findOccurrences("x", null).size());
+		assertEquals(2, index.findOccurrences(builder.toString(), null).size());
+		document.replace(5000, 1, " ");
+		assertEquals(1, index.findOccurrences(builder.toString(), null).size());
+		assertEquals(scan(document, builder.substring(5001)), index.findOccurrences(builder.substring(5001), null));
+		document.replace(5000, 1, "x");
+		assertEquals(2, index.findOccurrences(builder.toString(), null).size());
+		index.disconnect();
+	}
+
+	@Test
+	public void testLargeDocument() throws Exception {
+		Random random= new Random(7);
+		IDocument document= new Document(createText(random, 2 * 1024 * 1024));
+		WordIndex index= new WordIndex(document);
+		index.connect();
+		assertTrue(index.build());
+		assertSameAsScan(index, document);
+
+		document.replace(document.getLength() / 2, 0, createText(random, 200));
+		assertTrue(index.isBuilt());
+		assertSameAsScan(index, document);
+		index.disconnect();
+	}
+
+	@Test
+	public void testHashCollision() throws Exception {
+		// "Aa" and "BB" have the same hash code
+		IDocument document= new Document("Aa BB Aa\nBB Aa");
+		WordIndex index= new WordIndex(document);
+		index.connect();
+		assertTrue(index.build());
+		assertEquals(scan(document, "Aa"), index.findOccurrences("Aa", null));
+		assertEquals(scan(document, "BB"), index.findOccurrences("BB", null));
+		index.disconnect();
+	}
+}
@@ -14,16 +14,23 @@
 package org.eclipse.ui.workbench.texteditor.tests;
 
 import static org.eclipse.jface.text.DocumentRewriteSessionType.SEQUENTIAL;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.source.ILineDiffInfo;
 
 import org.eclipse.ui.internal.texteditor.quickdiff.DocumentLineDiffer;
 
+import org.eclipse.ui.texteditor.ITextEditor;
+import org.eclipse.ui.texteditor.quickdiff.IQuickDiffReferenceProvider;
+
 /**
  * Tests for the {@link DocumentLineDiffer}.
  */
@@ -169,4 +176,97 @@ public class DocumentLineDifferTest {
 		assertFalse(fLineDiffer.isSuspended());
 	}
 
+	/**
+	 * Test that a change of more lines than are diffed incrementally keeps the differ
+	 * {@link DocumentLineDiffer#isSynchronized() synchronized} and yields the same line
+	 * information as a differ initialized with the changed document.
+	 *
+	 * @throws Exception unexpected exception
+	 */
+	@Test
+	public void largeChangeIsDiffedWithoutReinitializing() throws Exception {
+		// given
+		Document reference= new Document(createLines(0, 2000));
+		fDocument.set(reference.get());
+		fDocument.replace(fDocument.getLineOffset(100), fDocument.getLineLength(100), "changed before\n");
+		fDocument.replace(fDocument.getLineOffset(1500), fDocument.getLineLength(1500), "changed after\n");
+		fLineDiffer.setReferenceProvider(new DocumentReferenceProvider(reference));
+		fLineDiffer.connect(fDocument);
+		waitForSynchronization(fLineDiffer);
+
+		// when
+		int offset= fDocument.getLineOffset(900);
+		fDocument.replace(offset, fDocument.getLineOffset(1100) - offset, createLines(5000, 150));
+
+		// then
+		assertTrue(fLineDiffer.isSynchronized());
+		DocumentLineDiffer expected= new DocumentLineDiffer();
+		expected.setReferenceProvider(new DocumentReferenceProvider(reference));
+		expected.connect(new Document(fDocument.get()));
+		waitForSynchronization(expected);
+		for (int line= 0; line < fDocument.getNumberOfLines(); line++) {
+			ILineDiffInfo expectedInfo= expected.getLineInfo(line);
+			ILineDiffInfo info= fLineDiffer.getLineInfo(line);
+			assertEquals("line " + line, expectedInfo.getChangeType(), info.getChangeType());
+			assertEquals("line " + line, expectedInfo.getRemovedLinesAbove(), info.getRemovedLinesAbove());
+			assertEquals("line " + line, expectedInfo.getRemovedLinesBelow(), info.getRemovedLinesBelow());
+		}
+	}
+
+	private static String createLines(int first, int count) {
+		StringBuilder builder= new StringBuilder();
+		for (int i= first; i < first + count; i++)
+			builder.append("line ").append(i).append('\n');
+		return builder.toString();
+	}
+
+	private static void waitForSynchronization(DocumentLineDiffer differ) throws InterruptedException {
+		long timeout= System.currentTimeMillis() + 10000;
+		while (!differ.isSynchronized() && System.currentTimeMillis() < timeout)
+			Thread.sleep(10);
+		assertTrue(differ.isSynchronized());
+	}
+
+	/**
+	 * A reference provider for a fixed document.
+	 */
+	private static final class DocumentReferenceProvider implements IQuickDiffReferenceProvider {
+
+		private final IDocument fReference;
+
+		private String fId;
+
+		DocumentReferenceProvider(IDocument reference) {
+			fReference= reference;
+		}
+
+		@Override
+		public IDocument getReference(IProgressMonitor monitor) {
+			return fReference;
+		}
+
+		@Override
+		public void dispose() {
+		}
+
+		@Override
+		public String getId() {
+			return fId;
+		}
+
+		@Override
+		public void setActiveEditor(ITextEditor editor) {
+		}
+
+		@Override
+		public boolean isEnabled() {
+			return true;
+		}
+
+		@Override
+		public void setId(String id) {
+			fId= id;
+		}
+	}
+
 }
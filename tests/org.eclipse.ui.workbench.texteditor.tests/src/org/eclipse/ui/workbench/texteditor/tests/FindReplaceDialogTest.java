@@ -32,6 +32,7 @@ import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Combo;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Shell;
 
 import org.eclipse.text.tests.Accessor;
@@ -316,4 +317,31 @@ public class FindReplaceDialogTest {
 		assertEquals(5, (target.getSelection()).x);
 	}
 
+	@Test
+	public void testMatchCountOfBackgroundSearch() {
+		openTextViewerAndFindReplaceDialog();
+
+		Combo findField= (Combo)fFindReplaceDialog.get("fFindField");
+		Label statusLabel= (Label)fFindReplaceDialog.get("fStatusLabel");
+		findField.setText("line");
+		runEventQueue();
+		assertEquals("3 matches", statusLabel.getText());
+
+		findField.setText("line\nl");
+		runEventQueue();
+		assertEquals("String not found", statusLabel.getText());
+
+		Button isRegExCheckBox= (Button)fFindReplaceDialog.get("fIsRegExCheckBox");
+		isRegExCheckBox.setSelection(true);
+		isRegExCheckBox.notifyListeners(SWT.Selection, null);
+		runEventQueue();
+		assertEquals("2 matches", statusLabel.getText());
+
+		fFindReplaceDialog.invoke("performSelectAll", null);
+		assertEquals(2, fTextViewer.getTextWidget().getSelectionRanges().length / 2);
+
+		isRegExCheckBox.setSelection(false);
+		isRegExCheckBox.notifyListeners(SWT.Selection, null);
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,8 +21,10 @@ import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -593,6 +595,46 @@ public class HippieCompletionTest {
 
 	}
 
+	/*
+	 * The indexed completions are the forward completions without duplicates, also after changes
+	 * of the document
+	 */
+	@Test
+	public void testIndexedCompletions() throws Exception {
+		String[] prefixes= { "t", "te", "Ec", "pl", "\u0628", "$", "\u05D4", "a" };
+		for (IDocument document : documents) {
+			assertIndexedCompletions(document, prefixes);
+		}
+
+		Random random= new Random(5);
+		IDocument document= new Document(documents[4].get());
+		assertIndexedCompletions(document, prefixes);
+		for (int i= 0; i < 300; i++) {
+			IDocument source= documents[random.nextInt(documents.length)];
+			int sourceOffset= random.nextInt(source.getLength());
+			String text= source.get(sourceOffset, Math.min(random.nextInt(40), source.getLength() - sourceOffset));
+			int offset= random.nextInt(document.getLength() + 1);
+			int length= Math.min(random.nextInt(20), document.getLength() - offset);
+			document.replace(offset, length, text);
+			assertIndexedCompletions(document, prefixes);
+		}
+
+		// the most frequent word first
+		document= new Document("bar1 bar2 bar2 bar3 bar2 bar3 bar");
+		assertEquals(Arrays.asList("2", "3", "1"), fEngine.getIndexedCompletions(document, "bar"));
+		document.replace(5, 4, "bar3");
+		assertEquals(Arrays.asList("3", "2", "1"), fEngine.getIndexedCompletions(document, "bar"));
+	}
+
+	private void assertIndexedCompletions(IDocument document, String[] prefixes) throws BadLocationException {
+		for (String prefix : prefixes) {
+			List<String> expected= fEngine.makeUnique(fEngine.getCompletionsForward(document, prefix, 0, false));
+			List<String> completions= fEngine.getIndexedCompletions(document, prefix);
+			assertEquals(expected.size(), completions.size());
+			assertEquals(new HashSet<>(expected), new HashSet<>(completions));
+		}
+	}
+
 	private List<String> createSuggestions(String prefix, IDocument doc) {
 		return createSuggestions(prefix, Arrays.asList(new IDocument[]{doc}));
 	}
@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.workbench.texteditor.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.source.LineRange;
+
+import org.eclipse.ui.internal.texteditor.quickdiff.HistogramDiff;
+import org.eclipse.ui.internal.texteditor.quickdiff.QuickDiffRangeDifference;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocEquivalenceComparator;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocumentEquivalenceClass;
+
+import org.eclipse.compare.rangedifferencer.RangeDifference;
+import org.eclipse.compare.rangedifferencer.RangeDifferencer;
+
+/**
+ * Tests for the {@link HistogramDiff}.
+ */
+public class HistogramDiffTest {
+
+	/**
+	 * Checks that the ranges cover both sides, alternate between unchanged and changed ranges and
+	 * that the lines of the unchanged ranges are equal.
+	 *
+	 * @param left the left ids
+	 * @param right the right ids
+	 * @param ranges the ranges
+	 * @return the number of unchanged lines
+	 */
+	private static int assertValid(int[] left, int[] right, List<QuickDiffRangeDifference> ranges) {
+		int leftLine= 0, rightLine= 0, unchanged= 0;
+		int lastKind= -1;
+		for (QuickDiffRangeDifference range : ranges) {
+			assertEquals(leftLine, range.leftStart());
+			assertEquals(rightLine, range.rightStart());
+			assertTrue(range.kind() != lastKind);
+			if (range.kind() == RangeDifference.NOCHANGE) {
+				assertEquals(range.leftLength(), range.rightLength());
+				assertTrue(range.leftLength() > 0);
+				for (int i= 0; i < range.leftLength(); i++)
+					assertEquals(left[range.leftStart() + i], right[range.rightStart() + i]);
+				unchanged+= range.leftLength();
+			} else {
+				assertEquals(RangeDifference.CHANGE, range.kind());
+				assertTrue(range.maxLength() > 0);
+			}
+			lastKind= range.kind();
+			leftLine= range.leftEnd();
+			rightLine= range.rightEnd();
+		}
+		assertEquals(left.length, leftLine);
+		assertEquals(right.length, rightLine);
+		return unchanged;
+	}
+
+	private static List<QuickDiffRangeDifference> diff(int[] left, int[] right) {
+		int idCount= 0;
+		for (int id : left)
+			idCount= Math.max(idCount, id + 1);
+		for (int id : right)
+			idCount= Math.max(idCount, id + 1);
+		return HistogramDiff.findRanges(null, left, right, idCount);
+	}
+
+	@Test
+	public void testEmpty() {
+		List<QuickDiffRangeDifference> ranges= diff(new int[0], new int[0]);
+		assertEquals(1, ranges.size());
+		assertEquals(RangeDifference.CHANGE, ranges.get(0).kind());
+		assertEquals(0, ranges.get(0).maxLength());
+		assertValid(new int[0], new int[] { 1, 2 }, diff(new int[0], new int[] { 1, 2 }));
+		assertValid(new int[] { 1, 2 }, new int[0], diff(new int[] { 1, 2 }, new int[0]));
+	}
+
+	@Test
+	public void testSingleChanges() {
+		int[] left= { 0, 1, 2, 3, 4, 5, 6 };
+
+		List<QuickDiffRangeDifference> ranges= diff(left, new int[] { 0, 1, 2, 7, 3, 4, 5, 6 });
+		assertEquals(3, ranges.size());
+		assertEquals(new QuickDiffRangeDifference(RangeDifference.CHANGE, 3, 1, 3, 0), ranges.get(1));
+
+		ranges= diff(left, new int[] { 0, 1, 2, 4, 5, 6 });
+		assertEquals(3, ranges.size());
+		assertEquals(new QuickDiffRangeDifference(RangeDifference.CHANGE, 3, 0, 3, 1), ranges.get(1));
+
+		ranges= diff(left, new int[] { 0, 1, 2, 7, 4, 5, 6 });
+		assertEquals(3, ranges.size());
+		assertEquals(new QuickDiffRangeDifference(RangeDifference.CHANGE, 3, 1, 3, 1), ranges.get(1));
+	}
+
+	@Test
+	public void testMovedBlock() {
+		int[] left= { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 };
+		int[] right= { 0, 6, 7, 8, 1, 2, 3, 4, 5, 9 };
+		assertEquals(7, assertValid(left, right, diff(left, right)));
+	}
+
+	@Test
+	public void testRandom() {
+		Random random= new Random(11);
+		for (int i= 0; i < 2000; i++) {
+			int alphabet= 1 + random.nextInt(i % 3 == 0 ? 3 : 200);
+			int[] left= new int[random.nextInt(300)];
+			for (int j= 0; j < left.length; j++)
+				left[j]= random.nextInt(alphabet);
+			int[] right= edit(random, left, alphabet);
+			assertValid(left, right, diff(left, right));
+		}
+	}
+
+	@Test
+	public void testRepetitiveLines() {
+		int[] left= new int[1000];
+		int[] right= new int[1001];
+		for (int i= 0; i < left.length; i++)
+			left[i]= i % 2;
+		for (int i= 0; i < right.length; i++)
+			right[i]= i == 500 ? 2 : i % 2;
+		assertTrue(assertValid(left, right, diff(left, right)) >= 999);
+	}
+
+	@Test
+	public void testDocumentRanges() {
+		IDocument left= new Document("a\nb\nc\nd\ne\n");
+		IDocument right= new Document("a\nb\nx\nd\ne\n");
+		DocumentEquivalenceClass leftEquivalent= new DocumentEquivalenceClass(left);
+		DocumentEquivalenceClass rightEquivalent= new DocumentEquivalenceClass(right);
+
+		List<QuickDiffRangeDifference> ranges= HistogramDiff.findRanges(null, leftEquivalent, null, rightEquivalent, null);
+		assertEquals(3, ranges.size());
+		assertEquals(new QuickDiffRangeDifference(RangeDifference.CHANGE, 2, 1, 2, 1), ranges.get(1));
+
+		ranges= HistogramDiff.findRanges(null, leftEquivalent, new LineRange(1, 3), rightEquivalent, new LineRange(1, 3));
+		assertEquals(3, ranges.size());
+		assertEquals(new QuickDiffRangeDifference(RangeDifference.CHANGE, 1, 1, 1, 1), ranges.get(1));
+	}
+
+	private static int[] edit(Random random, int[] lines, int alphabet) {
+		int[] result= lines.clone();
+		int edits= random.nextInt(10);
+		for (int i= 0; i < edits; i++) {
+			int position= random.nextInt(result.length + 1);
+			int removed= Math.min(random.nextInt(5), result.length - position);
+			int[] inserted= new int[random.nextInt(5)];
+			for (int j= 0; j < inserted.length; j++)
+				inserted[j]= random.nextInt(alphabet + 5);
+			int[] edited= new int[result.length - removed + inserted.length];
+			System.arraycopy(result, 0, edited, 0, position);
+			System.arraycopy(inserted, 0, edited, position, inserted.length);
+			System.arraycopy(result, position + removed, edited, position + inserted.length, result.length - position - removed);
+			result= edited;
+		}
+		return result;
+	}
+
+	private static String createText(Random random, int lines, int changes) {
+		StringBuilder builder= new StringBuilder();
+		Random changeRandom= new Random(random.nextLong());
+		for (int i= 0; i < lines; i++) {
+			if (changes > 0 && changeRandom.nextInt(lines) < changes)
+				builder.append("\tchanged(").append(changeRandom.nextInt()).append(");\n");
+			else if (i % 10 == 0)
+				builder.append("}\n");
+			else if (i % 10 == 5)
+				builder.append('\n');
+			else
+				builder.append("\tstatement").append(i).append("();\n");
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Diffs two documents with 100000 lines and some hundred changes and compares the number of
+	 * unchanged lines with the result of the {@link RangeDifferencer}.
+	 */
+	@Test
+	public void testLargeDocumentMatchesRangeDifferencer() {
+		Random random= new Random(3);
+		IDocument left= new Document(createText(random, 100000, 0));
+		IDocument right= new Document(createText(random, 100000, 300));
+
+		List<QuickDiffRangeDifference> ranges= HistogramDiff.findRanges(null, new DocumentEquivalenceClass(left), null, new DocumentEquivalenceClass(right), null);
+		RangeDifference[] reference= RangeDifferencer.findRanges(new DocEquivalenceComparator(new DocumentEquivalenceClass(left), null),
+				new DocEquivalenceComparator(new DocumentEquivalenceClass(right), null));
+
+		int unchanged= 0;
+		for (QuickDiffRangeDifference range : ranges) {
+			if (range.kind() == RangeDifference.NOCHANGE)
+				unchanged+= range.leftLength();
+		}
+		int referenceUnchanged= 0;
+		for (RangeDifference range : reference) {
+			if (range.kind() == RangeDifference.NOCHANGE)
+				referenceUnchanged+= range.leftLength();
+		}
+		assertEquals(referenceUnchanged, unchanged);
+	}
+}